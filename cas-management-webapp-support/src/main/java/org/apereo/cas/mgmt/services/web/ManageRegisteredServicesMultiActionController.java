@@ -173,7 +173,7 @@ public class ManageRegisteredServicesMultiActionController extends AbstractManag
         }
         for (int i = 0; i < id.length; i++) {
             final long svcId = id[i];
-            final RegisteredService svc = this.servicesManager.findServiceBy(svcId);
+            final RegisteredService svc = this.servicesManager.findServiceCopyBy(svcId);
             if (svc == null) {
                 throw new IllegalArgumentException("Service id " + svcId + " cannot be found.");
             }
@@ -1,5 +1,10 @@
 package org.apereo.cas.logout;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
  * for a service that supports SLO should be handled.
@@ -17,4 +22,18 @@ public interface SingleLogoutServiceMessageHandler {
      * @return the logout request
      */
     LogoutRequest handle(SingleLogoutService singleLogoutService, String ticketId);
+
+    /**
+     * Handle logout for a number of slo services, such as all services of a single sign-on session.
+     * Handlers may send logout messages to the services concurrently.
+     *
+     * @param singleLogoutServices the services, keyed by the ticket id they were granted
+     * @return the logout requests, in the order of the services
+     */
+    default Collection<LogoutRequest> handle(final Map<String, SingleLogoutService> singleLogoutServices) {
+        return singleLogoutServices.entrySet().stream()
+                .map(entry -> handle(entry.getValue(), entry.getKey()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
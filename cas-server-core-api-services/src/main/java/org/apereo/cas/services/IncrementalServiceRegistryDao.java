@@ -0,0 +1,23 @@
+package org.apereo.cas.services;
+
+/**
+ * This is {@link IncrementalServiceRegistryDao}, which describes a service registry
+ * that is able to detect changes made to registered services in its data store,
+ * so that callers need not re-read every definition in order to stay current.
+ * <p>
+ * Implementations track the state of the data store as of the last call to {@link #load()}
+ * or {@link #loadChanges()}, and only fetch and deserialize definitions that have changed since.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public interface IncrementalServiceRegistryDao extends ServiceRegistryDao {
+
+    /**
+     * Load changes made to registered services since the previous call
+     * to {@link #load()} or {@link #loadChanges()}.
+     *
+     * @return the change set, which is empty if nothing has changed.
+     */
+    RegisteredServiceChangeSet loadChanges();
+}
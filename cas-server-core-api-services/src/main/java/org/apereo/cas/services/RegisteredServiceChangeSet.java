@@ -0,0 +1,69 @@
+package org.apereo.cas.services;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * This is {@link RegisteredServiceChangeSet} that describes the changes detected
+ * in a service registry, in the form of added or modified definitions and removed identifiers.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RegisteredServiceChangeSet {
+
+    private static final RegisteredServiceChangeSet EMPTY =
+            new RegisteredServiceChangeSet(Collections.emptyList(), Collections.emptyList());
+
+    private final Collection<RegisteredService> updatedServices;
+
+    private final Collection<Long> deletedServices;
+
+    /**
+     * Instantiates a new change set.
+     *
+     * @param updatedServices services that were added or modified
+     * @param deletedServices identifiers of services that were removed
+     */
+    public RegisteredServiceChangeSet(final Collection<RegisteredService> updatedServices,
+                                      final Collection<Long> deletedServices) {
+        this.updatedServices = Collections.unmodifiableCollection(updatedServices);
+        this.deletedServices = Collections.unmodifiableCollection(deletedServices);
+    }
+
+    /**
+     * Empty change set.
+     *
+     * @return the change set
+     */
+    public static RegisteredServiceChangeSet empty() {
+        return EMPTY;
+    }
+
+    public Collection<RegisteredService> getUpdatedServices() {
+        return this.updatedServices;
+    }
+
+    public Collection<Long> getDeletedServices() {
+        return this.deletedServices;
+    }
+
+    /**
+     * Whether this change set contains any changes.
+     *
+     * @return true if nothing has changed
+     */
+    public boolean isEmpty() {
+        return this.updatedServices.isEmpty() && this.deletedServices.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("updatedServices", this.updatedServices.size())
+                .append("deletedServices", this.deletedServices.size())
+                .toString();
+    }
+}
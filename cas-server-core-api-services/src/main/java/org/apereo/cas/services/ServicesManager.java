@@ -55,6 +55,17 @@ public interface ServicesManager {
      */
     RegisteredService findServiceBy(long id);
 
+    /**
+     * Find a RegisteredService by matching with the supplied id, and return
+     * a private copy of it. Registered services returned by other lookup operations
+     * are shared and must not be modified; callers that intend to change a registered service
+     * should obtain a copy via this method and pass it back to {@link #save(RegisteredService)}.
+     *
+     * @param id the id to match with.
+     * @return a copy of the RegisteredService that matches the supplied id, or null.
+     */
+    RegisteredService findServiceCopyBy(long id);
+
     /**
      * Retrieve the collection of all registered services.
      *
@@ -70,6 +81,15 @@ public interface ServicesManager {
      */
     boolean matchesExistingService(Service service);
 
+    /**
+     * Gets the version of the registered services currently held by this manager.
+     * The version changes every time services are loaded, saved or deleted, which allows
+     * callers to cheaply invalidate anything derived from registered services.
+     *
+     * @return the version
+     */
+    long getVersion();
+
     /**
      * Inform the ServicesManager to reload its list of services if its cached
      * them. Note that this is a suggestion and that ServicesManagers are free
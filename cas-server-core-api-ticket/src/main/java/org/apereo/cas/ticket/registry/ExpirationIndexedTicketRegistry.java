@@ -0,0 +1,27 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.Collection;
+
+/**
+ * This is {@link ExpirationIndexedTicketRegistry}, describing a ticket registry
+ * that keeps track of upcoming ticket expirations as tickets are added and updated,
+ * and is thus able to locate expired tickets without examining every ticket it holds.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public interface ExpirationIndexedTicketRegistry extends TicketRegistry {
+
+    /**
+     * Gets tickets whose expiration is due and that have expired.
+     * Tickets returned are expected to be removed by the caller; they remain tracked, and are
+     * returned again by a later call should they not be removed. Tickets that are due yet have
+     * not expired are tracked again.
+     *
+     * @param limit the maximum number of tickets to return
+     * @return the expired tickets, up to the given limit
+     */
+    Collection<Ticket> getExpiredTickets(int limit);
+}
@@ -1,6 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
 import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apereo.cas.ticket.Ticket;
 
@@ -23,6 +26,17 @@ public interface TicketRegistry {
      */
     void addTicket(Ticket ticket);
 
+    /**
+     * Add the given tickets to the registry. Registries that support
+     * multi-key operations should store all tickets in as few round trips
+     * to the underlying store as possible.
+     *
+     * @param tickets the tickets to add
+     */
+    default void addTickets(final Collection<Ticket> tickets) {
+        tickets.forEach(this::addTicket);
+    }
+
     /**
      * Retrieve a ticket from the registry. If the ticket retrieved does not
      * match the expected class, an InvalidTicketException is thrown.
@@ -42,6 +56,19 @@ public interface TicketRegistry {
      */
     Ticket getTicket(String ticketId);
 
+    /**
+     * Retrieve the tickets with the given ids from the registry. Registries that
+     * support multi-key operations should fetch all tickets in as few round trips
+     * to the underlying store as possible.
+     *
+     * @param ticketIds the ids of the tickets to retrieve
+     * @return the tickets that were found. Tickets that do not exist in the registry
+     * are not included.
+     */
+    default Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().map(this::getTicket).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     /**
      * Remove a specific ticket from the registry.
      * If ticket to delete is TGT then related service tickets are removed as well.
@@ -52,6 +79,19 @@ public interface TicketRegistry {
      */
     boolean deleteTicket(String ticketId);
 
+    /**
+     * Remove the given tickets from the registry. As with {@link #deleteTicket(String)},
+     * removing a ticket-granting ticket removes its related tickets as well.
+     * Registries that support multi-key operations should remove all tickets
+     * in as few round trips to the underlying store as possible.
+     *
+     * @param ticketIds the ids of the tickets to delete
+     * @return the number of tickets that were removed, including related tickets
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return (int) ticketIds.stream().filter(this::deleteTicket).count();
+    }
+
     /**
      * Retrieve all tickets from the registry.
      *
@@ -60,6 +100,25 @@ public interface TicketRegistry {
      */
     Collection<Ticket> getTickets();
 
+    /**
+     * Stream tickets of the given type from the registry. Implementations should fetch
+     * tickets lazily from the underlying store in pages of the given size, and push
+     * the type restriction down to the store where possible, so that callers may
+     * process the registry without holding all tickets in memory at once.
+     * <p>The default implementation filters the result of {@link #getTickets()}.
+     * The returned stream should be closed once consumed, in case it holds on to
+     * resources such as query cursors.</p>
+     *
+     * @param <T>      the ticket type
+     * @param type     the type of tickets to stream
+     * @param pageSize the number of tickets to fetch from the store at a time
+     * @return stream of tickets currently stored in the registry. Tickets
+     * might or might not be valid i.e. expired.
+     */
+    default <T extends Ticket> Stream<T> streamTickets(final Class<T> type, final int pageSize) {
+        return getTickets().stream().filter(type::isInstance).map(type::cast);
+    }
+
     /**
      * Update the received ticket.
      *
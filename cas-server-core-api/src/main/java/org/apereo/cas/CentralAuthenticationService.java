@@ -16,6 +16,7 @@ import org.apereo.cas.validation.Assertion;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * CAS viewed as a set of services to generate and validate Tickets.
@@ -95,6 +96,20 @@ public interface CentralAuthenticationService {
      */
     Collection<Ticket> getTickets(Predicate<Ticket> predicate);
 
+    /**
+     * Stream tickets of the given type from the underlying ticket registry.
+     * Tickets are fetched lazily, one page at a time, so that callers may
+     * process all tickets without holding them in memory at once.
+     * The returned stream should be closed once consumed.
+     *
+     * @param <T>      the ticket type
+     * @param type     the type of tickets to stream
+     * @param pageSize the number of tickets to fetch from the registry at a time
+     * @return the tickets
+     * @since 5.0.0
+     */
+    <T extends Ticket> Stream<T> streamTickets(Class<T> type, int pageSize);
+
     /**
      * Grant a {@link ServiceTicket} that may be used to access the given service
      * by authenticating the given credentials.
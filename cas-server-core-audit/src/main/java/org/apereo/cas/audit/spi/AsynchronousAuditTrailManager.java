@@ -0,0 +1,290 @@
+package org.apereo.cas.audit.spi;
+
+import com.codahale.metrics.Timer;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is {@link AsynchronousAuditTrailManager} that records audit records on behalf
+ * of another {@link AuditTrailManager}, off the thread of the audited request.
+ * <p>
+ * Records are handed to a bounded ring buffer, which request threads append to without locking.
+ * A single background writer drains the buffer in batches, once a batch is full or once the
+ * flush interval passes, and hands each batch to the delegate. Delegates that implement
+ * {@link BatchAuditTrailManager} record a batch at once; others record it one entry at a time.
+ * <p>
+ * Once the buffer is full, the {@link OverflowPolicy} decides whether the request waits for
+ * room in the buffer, or whether the record is dropped. Since records are written after the
+ * audited request has completed, failures to write are logged and counted rather than reported
+ * to the caller.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class AsynchronousAuditTrailManager implements AuditTrailManager, DisposableBean {
+
+    /**
+     * Describes what happens to a record when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for the writer to make room in the buffer. No record is lost.
+         */
+        BLOCK,
+        /**
+         * Drop the record.
+         */
+        DROP,
+        /**
+         * Once the buffer is half full, keep one in every sample rate records
+         * and drop the rest. Records are dropped once the buffer is full.
+         */
+        SAMPLE
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousAuditTrailManager.class);
+
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditTrailManager delegate;
+
+    private final AtomicReferenceArray<AuditActionContext> buffer;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong sampled = new AtomicLong();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Timer writeLatency = new Timer();
+
+    private final Thread writer;
+
+    private int batchSize = 100;
+
+    private long flushInterval = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    private int sampleRate = 10;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new asynchronous audit trail manager.
+     *
+     * @param delegate the manager that records the audit records
+     * @param capacity the number of records the buffer holds, rounded up to a power of two
+     */
+    public AsynchronousAuditTrailManager(final AuditTrailManager delegate, final int capacity) {
+        this.delegate = delegate;
+        final int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writer = new Thread(this::drain, "audit-trail-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Sets the longest time records wait in the buffer before they are written.
+     *
+     * @param flushInterval the flush interval, in milliseconds
+     */
+    public void setFlushInterval(final long flushInterval) {
+        this.flushInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(flushInterval, 1));
+    }
+
+    public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void setSampleRate(final int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    @Override
+    public void record(final AuditActionContext context) {
+        this.recorded.increment();
+        if (!this.running) {
+            write(context);
+            return;
+        }
+        if (this.started.compareAndSet(false, true)) {
+            this.writer.start();
+        }
+
+        if (this.overflowPolicy == OverflowPolicy.SAMPLE && getQueueDepth() > this.buffer.length() / 2
+                && this.sampled.getAndIncrement() % this.sampleRate != 0) {
+            this.dropped.increment();
+            return;
+        }
+
+        while (!offer(context)) {
+            if (this.overflowPolicy != OverflowPolicy.BLOCK) {
+                this.dropped.increment();
+                LOGGER.debug("Audit buffer is full; dropped audit record of [{}]", context.getActionPerformed());
+                return;
+            }
+            if (!this.running) {
+                write(context);
+                return;
+            }
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+        }
+        if (getQueueDepth() >= this.batchSize) {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    /**
+     * Number of records waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return (int) Math.max(this.tail.get() - this.head.get(), 0);
+    }
+
+    public int getCapacity() {
+        return this.buffer.length();
+    }
+
+    public long getRecordedCount() {
+        return this.recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    public long getFailedCount() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Latency of writing batches to the delegate.
+     *
+     * @return the write latency timer
+     */
+    public Timer getWriteLatency() {
+        return this.writeLatency;
+    }
+
+    /**
+     * Stops the writer, once every record that is waiting in the buffer is written.
+     * Records submitted afterwards are written by the calling thread.
+     *
+     * @throws Exception if the writer is interrupted
+     */
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        if (this.started.get()) {
+            LockSupport.unpark(this.writer);
+            this.writer.join();
+            drain();
+        }
+    }
+
+    /**
+     * Claim the next slot of the buffer, then publish the record into it.
+     * The writer treats a claimed slot that has yet to be published as the end of the buffer.
+     */
+    private boolean offer(final AuditActionContext context) {
+        while (true) {
+            final long position = this.tail.get();
+            if (position - this.head.get() >= this.buffer.length()) {
+                return false;
+            }
+            if (this.tail.compareAndSet(position, position + 1)) {
+                this.buffer.lazySet((int) (position & this.mask), context);
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        final List<AuditActionContext> batch = new ArrayList<>(this.batchSize);
+        long deadline = System.nanoTime() + this.flushInterval;
+        while (this.running || getQueueDepth() > 0) {
+            long position = this.head.get();
+            while (batch.size() < this.batchSize) {
+                final int index = (int) (position & this.mask);
+                final AuditActionContext context = this.buffer.get(index);
+                if (context == null) {
+                    break;
+                }
+                this.buffer.lazySet(index, null);
+                this.head.lazySet(++position);
+                batch.add(context);
+            }
+
+            final long now = System.nanoTime();
+            if (batch.size() >= this.batchSize || (!batch.isEmpty() && (now >= deadline || !this.running))) {
+                flush(batch);
+                deadline = now + this.flushInterval;
+            } else if (batch.isEmpty() && !this.running) {
+                if (getQueueDepth() > 0) {
+                    Thread.yield();
+                }
+            } else {
+                LockSupport.parkNanos(this, batch.isEmpty() ? this.flushInterval : Math.max(deadline - now, 1));
+            }
+        }
+        LOGGER.debug("Audit trail writer has stopped after writing [{}] records", this.written.sum());
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        final Timer.Context timer = this.writeLatency.time();
+        try {
+            if (this.delegate instanceof BatchAuditTrailManager) {
+                ((BatchAuditTrailManager) this.delegate).record(batch);
+            } else {
+                batch.forEach(this.delegate::record);
+            }
+            this.written.add(batch.size());
+        } catch (final Exception e) {
+            this.failed.add(batch.size());
+            LOGGER.error("Failed to write [{}] audit records: {}", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            timer.stop();
+            batch.clear();
+        }
+    }
+
+    private void write(final AuditActionContext context) {
+        this.delegate.record(context);
+        this.written.increment();
+    }
+}
@@ -0,0 +1,23 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+
+import java.util.List;
+
+/**
+ * This is {@link BatchAuditTrailManager} that is able to record
+ * a number of audit records at once, such as with a single round-trip to the audit store.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public interface BatchAuditTrailManager extends AuditTrailManager {
+
+    /**
+     * Record the audit records, in order.
+     *
+     * @param contexts the audit records
+     */
+    void record(List<AuditActionContext> contexts);
+}
@@ -1,8 +1,11 @@
 package org.apereo.cas.audit.spi.config;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.spi.AssertionAsReturnValuePrincipalResolver;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
 import org.apereo.cas.audit.spi.CredentialsAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.MessageBundleAwareResourceResolver;
 import org.apereo.cas.audit.spi.PrincipalIdProvider;
@@ -10,6 +13,7 @@ import org.apereo.cas.audit.spi.ServiceResourceResolver;
 import org.apereo.cas.audit.spi.TicketAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.TicketOrCredentialPrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditProperties;
 import org.apereo.inspektr.audit.AuditTrailManagementAspect;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.apereo.inspektr.audit.spi.AuditActionResolver;
@@ -48,21 +52,47 @@ public class CasCoreAuditConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     @Bean
     public AuditTrailManagementAspect auditTrailManagementAspect(
             @Qualifier("centralAuthenticationService")
             final CentralAuthenticationService centralAuthenticationService,
             @Qualifier("auditTrailManager")
-            final AuditTrailManager auditTrailManager) {
+            final AuditTrailManager auditTrailManager,
+            @Qualifier("asynchronousAuditTrailManager")
+            final AuditTrailManager asynchronousAuditTrailManager) {
+        // failures of asynchronous writes are logged and never reach the aspect, whether or not they are ignored
         final AuditTrailManagementAspect aspect = new AuditTrailManagementAspect(
                 casProperties.getAudit().getAppCode(),
                 auditablePrincipalResolver(centralAuthenticationService),
-                ImmutableList.of(auditTrailManager), auditActionResolverMap(),
-                auditResourceResolverMap());
+                ImmutableList.of(casProperties.getAudit().getAsynchronous().isEnabled()
+                        ? asynchronousAuditTrailManager : auditTrailManager),
+                auditActionResolverMap(), auditResourceResolverMap());
         aspect.setFailOnAuditFailures(!casProperties.getAudit().isIgnoreAuditFailures());
         return aspect;
     }
 
+    @Bean
+    public AuditTrailManager asynchronousAuditTrailManager(@Qualifier("auditTrailManager")
+                                                           final AuditTrailManager auditTrailManager) {
+        final AuditProperties.Asynchronous async = casProperties.getAudit().getAsynchronous();
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(auditTrailManager, async.getCapacity());
+        mgmr.setBatchSize(async.getBatchSize());
+        mgmr.setFlushInterval(async.getFlushInterval());
+        mgmr.setOverflowPolicy(AsynchronousAuditTrailManager.OverflowPolicy.valueOf(async.getOverflowPolicy().toUpperCase()));
+        mgmr.setSampleRate(async.getSampleRate());
+
+        if (this.metricRegistry != null && async.isEnabled()) {
+            this.metricRegistry.register("cas.audit.queue.depth", (Gauge<Integer>) mgmr::getQueueDepth);
+            this.metricRegistry.register("cas.audit.dropped", (Gauge<Long>) mgmr::getDroppedCount);
+            this.metricRegistry.register("cas.audit.failed", (Gauge<Long>) mgmr::getFailedCount);
+            this.metricRegistry.register("cas.audit.write.latency", mgmr.getWriteLatency());
+        }
+        return mgmr;
+    }
+
     @ConditionalOnMissingBean(name = "auditTrailManager")
     @Bean(name = {"slf4jAuditTrailManager", "auditTrailManager"})
     public AuditTrailManager slf4jAuditTrailManager() {
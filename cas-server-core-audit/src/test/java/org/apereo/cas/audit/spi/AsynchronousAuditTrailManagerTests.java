@@ -0,0 +1,147 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousAuditTrailManagerTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class AsynchronousAuditTrailManagerTests {
+
+    @Test
+    public void verifyRecordsAreWrittenInBatches() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager(null);
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(delegate, 64);
+        mgmr.setBatchSize(10);
+        mgmr.setFlushInterval(10000);
+        for (int i = 0; i < 25; i++) {
+            mgmr.record(newContext("casuser" + i));
+        }
+        mgmr.destroy();
+
+        assertEquals(25, delegate.records.size());
+        assertEquals("casuser0", delegate.records.get(0).getPrincipal());
+        assertEquals("casuser24", delegate.records.get(24).getPrincipal());
+        assertTrue(delegate.batches.stream().allMatch(size -> size <= 10));
+        assertEquals(25, mgmr.getWrittenCount());
+        assertEquals(0, mgmr.getQueueDepth());
+        assertEquals(delegate.batches.size(), mgmr.getWriteLatency().getCount());
+    }
+
+    @Test
+    public void verifyRecordsAreFlushedAfterInterval() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager(null);
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(delegate, 64);
+        mgmr.setBatchSize(100);
+        mgmr.setFlushInterval(50);
+        mgmr.record(newContext("casuser"));
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (mgmr.getWrittenCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, delegate.records.size());
+        mgmr.destroy();
+    }
+
+    @Test
+    public void verifyRecordsAreDroppedWhenBufferIsFull() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager(latch);
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(delegate, 4);
+        mgmr.setOverflowPolicy(AsynchronousAuditTrailManager.OverflowPolicy.DROP);
+        mgmr.setBatchSize(1);
+        for (int i = 0; i < 20; i++) {
+            mgmr.record(newContext("casuser" + i));
+        }
+        assertTrue(mgmr.getDroppedCount() > 0);
+        assertTrue(mgmr.getQueueDepth() <= mgmr.getCapacity());
+
+        latch.countDown();
+        mgmr.destroy();
+        assertEquals(20, mgmr.getRecordedCount());
+        assertEquals(20, mgmr.getWrittenCount() + mgmr.getDroppedCount());
+    }
+
+    @Test
+    public void verifyBlockedRecordsAreNotLost() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager(null);
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(delegate, 4);
+        mgmr.setBatchSize(2);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    mgmr.record(newContext("casuser"));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        mgmr.destroy();
+        assertEquals(200, delegate.records.size());
+        assertEquals(0, mgmr.getDroppedCount());
+    }
+
+    @Test
+    public void verifyFailuresAreCounted() throws Exception {
+        final AsynchronousAuditTrailManager mgmr = new AsynchronousAuditTrailManager(context -> {
+            throw new IllegalStateException("Unavailable");
+        }, 16);
+        mgmr.record(newContext("casuser"));
+        mgmr.record(newContext("casuser"));
+        mgmr.destroy();
+        assertEquals(2, mgmr.getFailedCount());
+        assertEquals(0, mgmr.getWrittenCount());
+    }
+
+    private static AuditActionContext newContext(final String principal) {
+        return new AuditActionContext(principal, "TGT-1", "TICKET_GRANTING_TICKET_CREATED", "CAS",
+                new Date(), "1.2.3.4", "5.6.7.8", () -> "AsynchronousAuditTrailManagerTests");
+    }
+
+    private static class RecordingAuditTrailManager implements BatchAuditTrailManager {
+        private final List<AuditActionContext> records = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch latch;
+
+        RecordingAuditTrailManager(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void record(final List<AuditActionContext> contexts) {
+            try {
+                if (this.latch != null) {
+                    this.latch.await();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.batches.add(contexts.size());
+            this.records.addAll(contexts);
+        }
+
+        @Override
+        public void record(final AuditActionContext context) {
+            record(Collections.singletonList(context));
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class AuditProperties {
 
     private Jdbc jdbc = new Jdbc();
 
+    private Asynchronous asynchronous = new Asynchronous();
+
     private AbstractStringAuditTrailManager.AuditFormats auditFormat =
             AbstractStringAuditTrailManager.AuditFormats.DEFAULT;
 
@@ -32,6 +34,14 @@ public class AuditProperties {
         this.jdbc = jdbc;
     }
 
+    public Asynchronous getAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(final Asynchronous asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
     public String getAppCode() {
         return appCode;
     }
@@ -102,4 +112,66 @@ public class AuditProperties {
             this.isolationLevelName = isolationLevelName;
         }
     }
+
+    public static class Asynchronous {
+        private boolean enabled;
+
+        private int capacity = 8192;
+
+        private int batchSize = 100;
+
+        private long flushInterval = 500;
+
+        private String overflowPolicy = "BLOCK";
+
+        private int sampleRate = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public String getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(final String overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(final int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
 }
@@ -17,6 +17,16 @@ public class EventsProperties {
 
     private Mongodb mongodb = new Mongodb();
 
+    private Buffer buffer = new Buffer();
+
+    public Buffer getBuffer() {
+        return buffer;
+    }
+
+    public void setBuffer(final Buffer buffer) {
+        this.buffer = buffer;
+    }
+
     public Mongodb getMongodb() {
         return mongodb;
     }
@@ -44,6 +54,24 @@ public class EventsProperties {
     public static class Jpa {
 
         private Database database = new Database();
+        private long backfillStartDelay = 30000;
+        private long backfillRepeatInterval = 300000;
+
+        public long getBackfillStartDelay() {
+            return backfillStartDelay;
+        }
+
+        public void setBackfillStartDelay(final long backfillStartDelay) {
+            this.backfillStartDelay = backfillStartDelay;
+        }
+
+        public long getBackfillRepeatInterval() {
+            return backfillRepeatInterval;
+        }
+
+        public void setBackfillRepeatInterval(final long backfillRepeatInterval) {
+            this.backfillRepeatInterval = backfillRepeatInterval;
+        }
 
         public Database getDatabase() {
             return database;
@@ -89,4 +117,52 @@ public class EventsProperties {
             this.dropCollection = dropCollection;
         }
     }
+
+    public static class Buffer {
+        private boolean enabled = true;
+        private int capacity = 10000;
+        private int batchSize = 100;
+        private long flushInterval = 1000;
+        private String backPressurePolicy = "CALLER_RUNS";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public String getBackPressurePolicy() {
+            return backPressurePolicy;
+        }
+
+        public void setBackPressurePolicy(final String backPressurePolicy) {
+            this.backPressurePolicy = backPressurePolicy;
+        }
+    }
 }
@@ -38,6 +38,14 @@ public class ServiceRegistryProperties extends AbstractConfigProperties {
 
     private boolean watcherEnabled = true;
 
+    private long watcherQuietPeriod = 1000;
+
+    private long matchingCacheSize = 10000;
+
+    private int loadParallelism;
+
+    private RemoteEndpointAccess remoteEndpointAccess = new RemoteEndpointAccess();
+
     /**
      * Instantiates a new Service registry properties.
      */
@@ -61,6 +69,38 @@ public class ServiceRegistryProperties extends AbstractConfigProperties {
         this.watcherEnabled = watcherEnabled;
     }
 
+    public long getWatcherQuietPeriod() {
+        return watcherQuietPeriod;
+    }
+
+    public void setWatcherQuietPeriod(final long watcherQuietPeriod) {
+        this.watcherQuietPeriod = watcherQuietPeriod;
+    }
+
+    public long getMatchingCacheSize() {
+        return matchingCacheSize;
+    }
+
+    public void setMatchingCacheSize(final long matchingCacheSize) {
+        this.matchingCacheSize = matchingCacheSize;
+    }
+
+    public int getLoadParallelism() {
+        return loadParallelism;
+    }
+
+    public void setLoadParallelism(final int loadParallelism) {
+        this.loadParallelism = loadParallelism;
+    }
+
+    public RemoteEndpointAccess getRemoteEndpointAccess() {
+        return remoteEndpointAccess;
+    }
+
+    public void setRemoteEndpointAccess(final RemoteEndpointAccess remoteEndpointAccess) {
+        this.remoteEndpointAccess = remoteEndpointAccess;
+    }
+
     public int getStartDelay() {
         return startDelay;
     }
@@ -108,4 +148,86 @@ public class ServiceRegistryProperties extends AbstractConfigProperties {
     public void setCouchbase(final CouchbaseServiceRegistryProperties couchbase) {
         this.couchbase = couchbase;
     }
+
+    public static class RemoteEndpointAccess {
+        private long cacheTimeToLiveInSeconds = 60;
+
+        private long negativeCacheTimeToLiveInSeconds = 10;
+
+        private long cacheMaximumSize = 10000;
+
+        private long timeout = 3000;
+
+        private int threads = 10;
+
+        private int queueCapacity = 100;
+
+        private int failureThreshold = 5;
+
+        private long circuitBreakerDelayInSeconds = 30;
+
+        public long getCacheTimeToLiveInSeconds() {
+            return cacheTimeToLiveInSeconds;
+        }
+
+        public void setCacheTimeToLiveInSeconds(final long cacheTimeToLiveInSeconds) {
+            this.cacheTimeToLiveInSeconds = cacheTimeToLiveInSeconds;
+        }
+
+        public long getNegativeCacheTimeToLiveInSeconds() {
+            return negativeCacheTimeToLiveInSeconds;
+        }
+
+        public void setNegativeCacheTimeToLiveInSeconds(final long negativeCacheTimeToLiveInSeconds) {
+            this.negativeCacheTimeToLiveInSeconds = negativeCacheTimeToLiveInSeconds;
+        }
+
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(final long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(final long timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(final int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getCircuitBreakerDelayInSeconds() {
+            return circuitBreakerDelayInSeconds;
+        }
+
+        public void setCircuitBreakerDelayInSeconds(final long circuitBreakerDelayInSeconds) {
+            this.circuitBreakerDelayInSeconds = circuitBreakerDelayInSeconds;
+        }
+    }
 }
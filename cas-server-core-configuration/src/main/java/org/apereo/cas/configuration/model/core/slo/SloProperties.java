@@ -12,6 +12,10 @@ public class SloProperties {
     private boolean asynchronous = true;
     private boolean disabled;
 
+    private Dispatcher dispatcher = new Dispatcher();
+
+    private Retry retry = new Retry();
+
     public boolean isAsynchronous() {
         return asynchronous;
     }
@@ -27,4 +31,125 @@ public class SloProperties {
     public void setDisabled(final boolean disabled) {
         this.disabled = disabled;
     }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(final Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(final Retry retry) {
+        this.retry = retry;
+    }
+
+    public static class Dispatcher {
+        private boolean enabled;
+        private int threads = 20;
+        private int maxConcurrencyPerHost = 4;
+        private long timeout = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxConcurrencyPerHost() {
+            return maxConcurrencyPerHost;
+        }
+
+        public void setMaxConcurrencyPerHost(final int maxConcurrencyPerHost) {
+            this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(final long timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Retry {
+        private boolean enabled = true;
+        private String directory;
+        private int capacity = 10000;
+        private int maxAttempts = 5;
+        private long backoff = 60000;
+        private long startDelay = 20000;
+        private long repeatInterval = 60000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(final String directory) {
+            this.directory = directory;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getBackoff() {
+            return backoff;
+        }
+
+        public void setBackoff(final long backoff) {
+            this.backoff = backoff;
+        }
+
+        public long getStartDelay() {
+            return startDelay;
+        }
+
+        public void setStartDelay(final long startDelay) {
+            this.startDelay = startDelay;
+        }
+
+        public long getRepeatInterval() {
+            return repeatInterval;
+        }
+
+        public void setRepeatInterval(final long repeatInterval) {
+            this.repeatInterval = repeatInterval;
+        }
+    }
 }
@@ -150,9 +150,45 @@ public class TicketRegistryProperties extends CryptographyProperties {
         private boolean enabled = true;
         private long startDelay = 10000;
         private long repeatInterval = 60000;
+        private int batchSize = 500;
+        private int logoutConcurrency = 2;
+        private long logoutTimeout = 10000;
+        private long expirationRecheckInterval = 3600000;
 
         private String appId = "cas-ticket-registry-cleaner";
 
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getLogoutConcurrency() {
+            return logoutConcurrency;
+        }
+
+        public void setLogoutConcurrency(final int logoutConcurrency) {
+            this.logoutConcurrency = logoutConcurrency;
+        }
+
+        public long getLogoutTimeout() {
+            return logoutTimeout;
+        }
+
+        public void setLogoutTimeout(final long logoutTimeout) {
+            this.logoutTimeout = logoutTimeout;
+        }
+
+        public long getExpirationRecheckInterval() {
+            return expirationRecheckInterval;
+        }
+
+        public void setExpirationRecheckInterval(final long expirationRecheckInterval) {
+            this.expirationRecheckInterval = expirationRecheckInterval;
+        }
+
         public String getAppId() {
             return appId;
         }
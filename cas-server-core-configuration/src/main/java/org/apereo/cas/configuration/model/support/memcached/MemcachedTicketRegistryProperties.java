@@ -12,6 +12,8 @@ public class MemcachedTicketRegistryProperties {
     private String failureMode = "Redistribute";
     private String locatorType = "ARRAY_MOD";
     private String hashAlgorithm = "FNV1_64_HASH";
+    private boolean kryoRegistrationRequired;
+    private int kryoBufferSize = 4096;
 
     public String getServers() {
         return servers;
@@ -44,7 +46,20 @@ public class MemcachedTicketRegistryProperties {
     public void setHashAlgorithm(final String hashAlgorithm) {
         this.hashAlgorithm = hashAlgorithm;
     }
-}
 
+    public boolean isKryoRegistrationRequired() {
+        return kryoRegistrationRequired;
+    }
 
+    public void setKryoRegistrationRequired(final boolean kryoRegistrationRequired) {
+        this.kryoRegistrationRequired = kryoRegistrationRequired;
+    }
 
+    public int getKryoBufferSize() {
+        return kryoBufferSize;
+    }
+
+    public void setKryoBufferSize(final int kryoBufferSize) {
+        this.kryoBufferSize = kryoBufferSize;
+    }
+}
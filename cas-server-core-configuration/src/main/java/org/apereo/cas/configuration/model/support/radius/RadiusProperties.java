@@ -11,6 +11,7 @@ public class RadiusProperties {
 
     private boolean failoverOnException;
     private boolean failoverOnAuthenticationFailure;
+    private long hedgeDelay;
     private Server server = new Server();
     private Client client = new Client();
     
@@ -30,6 +31,14 @@ public class RadiusProperties {
         this.failoverOnAuthenticationFailure = failoverOnAuthenticationFailure;
     }
 
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public void setHedgeDelay(final long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
     public Server getServer() {
         return server;
     }
@@ -56,6 +65,10 @@ public class RadiusProperties {
         private int nasPortType = -1;
         private String nasIpAddress;
         private String nasIpv6Address;
+        private int clientPoolSize = 10;
+        private long clientPoolTimeout = 5000;
+        private int failureThreshold = 3;
+        private long retryInterval = 30000;
 
         public String getProtocol() {
             return protocol;
@@ -129,6 +142,38 @@ public class RadiusProperties {
             this.nasIpv6Address = nasIpv6Address;
         }
 
+        public int getClientPoolSize() {
+            return clientPoolSize;
+        }
+
+        public void setClientPoolSize(final int clientPoolSize) {
+            this.clientPoolSize = clientPoolSize;
+        }
+
+        public long getClientPoolTimeout() {
+            return clientPoolTimeout;
+        }
+
+        public void setClientPoolTimeout(final long clientPoolTimeout) {
+            this.clientPoolTimeout = clientPoolTimeout;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(final int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getRetryInterval() {
+            return retryInterval;
+        }
+
+        public void setRetryInterval(final long retryInterval) {
+            this.retryInterval = retryInterval;
+        }
+
 
     }
 
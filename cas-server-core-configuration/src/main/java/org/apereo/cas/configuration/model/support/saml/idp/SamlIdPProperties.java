@@ -71,6 +71,8 @@ public class SamlIdPProperties {
         private boolean failFast = true;
         private boolean requireValidMetadata = true;
         private long cacheExpirationMinutes = 30;
+        private long cacheMaximumSize = 1000;
+        private int cacheRefreshThreads = 2;
         private File location = new File("/etc/cas/saml");
         private String privateKeyAlgName = "RSA";
         
@@ -98,6 +100,22 @@ public class SamlIdPProperties {
             this.cacheExpirationMinutes = cacheExpirationMinutes;
         }
 
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(final long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+
+        public int getCacheRefreshThreads() {
+            return cacheRefreshThreads;
+        }
+
+        public void setCacheRefreshThreads(final int cacheRefreshThreads) {
+            this.cacheRefreshThreads = cacheRefreshThreads;
+        }
+
         public File getLocation() {
             return location;
         }
@@ -35,6 +35,10 @@ public class SpnegoProperties {
     private String kerberosDebug;
     private boolean useSubjectCredsOnly;
     private int dnsTimeout = 2000;
+    private int dnsThreads = 10;
+    private long dnsCacheSize = 10000;
+    private long dnsCacheTtl = 300000;
+    private long dnsNegativeCacheTtl = 30000;
     private String hostNamePatternString = ".+";
     private String ipsToCheckPattern = "127.+";
     private String alternativeRemoteHostAttribute = "alternateRemoteHeader";
@@ -47,6 +51,16 @@ public class SpnegoProperties {
     @NestedConfigurationProperty
     private PersonDirPrincipalResolverProperties principal = new PersonDirPrincipalResolverProperties();
 
+    private Ldap ldap = new Ldap();
+
+    public Ldap getLdap() {
+        return ldap;
+    }
+
+    public void setLdap(final Ldap ldap) {
+        this.ldap = ldap;
+    }
+
     public PersonDirPrincipalResolverProperties getPrincipal() {
         return principal;
     }
@@ -111,6 +125,38 @@ public class SpnegoProperties {
         this.dnsTimeout = dnsTimeout;
     }
 
+    public int getDnsThreads() {
+        return dnsThreads;
+    }
+
+    public void setDnsThreads(final int dnsThreads) {
+        this.dnsThreads = dnsThreads;
+    }
+
+    public long getDnsCacheSize() {
+        return dnsCacheSize;
+    }
+
+    public void setDnsCacheSize(final long dnsCacheSize) {
+        this.dnsCacheSize = dnsCacheSize;
+    }
+
+    public long getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    public void setDnsCacheTtl(final long dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+    }
+
+    public long getDnsNegativeCacheTtl() {
+        return dnsNegativeCacheTtl;
+    }
+
+    public void setDnsNegativeCacheTtl(final long dnsNegativeCacheTtl) {
+        this.dnsNegativeCacheTtl = dnsNegativeCacheTtl;
+    }
+
     public String getIpsToCheckPattern() {
         return ipsToCheckPattern;
     }
@@ -272,5 +318,89 @@ public class SpnegoProperties {
     }
     
     
-}
 
+    public static class Ldap {
+        private boolean pooled = true;
+        private int minPoolSize = 3;
+        private int maxPoolSize = 10;
+        private long blockWaitTime = 6000;
+        private boolean validatePeriodically = true;
+        private long validatePeriod = 300;
+
+        private long cacheTtl = 600000;
+        private long negativeCacheTtl = 60000;
+        private long cacheSize = 10000;
+
+        public boolean isPooled() {
+            return pooled;
+        }
+
+        public void setPooled(final boolean pooled) {
+            this.pooled = pooled;
+        }
+
+        public int getMinPoolSize() {
+            return minPoolSize;
+        }
+
+        public void setMinPoolSize(final int minPoolSize) {
+            this.minPoolSize = minPoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(final int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public long getBlockWaitTime() {
+            return blockWaitTime;
+        }
+
+        public void setBlockWaitTime(final long blockWaitTime) {
+            this.blockWaitTime = blockWaitTime;
+        }
+
+        public boolean isValidatePeriodically() {
+            return validatePeriodically;
+        }
+
+        public void setValidatePeriodically(final boolean validatePeriodically) {
+            this.validatePeriodically = validatePeriodically;
+        }
+
+        public long getValidatePeriod() {
+            return validatePeriod;
+        }
+
+        public void setValidatePeriod(final long validatePeriod) {
+            this.validatePeriod = validatePeriod;
+        }
+
+        public long getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(final long cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+
+        public long getNegativeCacheTtl() {
+            return negativeCacheTtl;
+        }
+
+        public void setNegativeCacheTtl(final long negativeCacheTtl) {
+            this.negativeCacheTtl = negativeCacheTtl;
+        }
+
+        public long getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(final long cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+}
@@ -17,17 +17,27 @@ public class ThrottleProperties {
         
     private Failure failure = new Failure();
     private Jdbc jdbc = new Jdbc();
+    private Distributed distributed = new Distributed();
     
     private String usernameParameter;
     private String appcode = DEFAULT_APPLICATION_CODE;
     
     private int repeatInterval = 20000;
     private int startDelay = 10000;
+    private int capacity = 100000;
 
     public Jdbc getJdbc() {
         return jdbc;
     }
 
+    public Distributed getDistributed() {
+        return distributed;
+    }
+
+    public void setDistributed(final Distributed distributed) {
+        this.distributed = distributed;
+    }
+
     public Failure getFailure() {
         return failure;
     }
@@ -60,6 +70,14 @@ public class ThrottleProperties {
         this.repeatInterval = repeatInterval;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
     public int getStartDelay() {
         return startDelay;
     }
@@ -75,6 +93,7 @@ public class ThrottleProperties {
         private String code = DEFAULT_AUTHN_FAILED_ACTION;
         private int threshold = -1;
         private int rangeSeconds = -1;
+        private int burst = 1;
 
         public String getCode() {
             return code;
@@ -99,6 +118,14 @@ public class ThrottleProperties {
         public void setRangeSeconds(final int rangeSeconds) {
             this.rangeSeconds = rangeSeconds;
         }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(final int burst) {
+            this.burst = burst;
+        }
     }
 
     public static class Jdbc extends AbstractJpaProperties {
@@ -115,6 +142,55 @@ public class ThrottleProperties {
             this.auditQuery = auditQuery;
         }
     }
-    
-    
+
+    /**
+     * Distributed throttling.
+     */
+    public static class Distributed {
+        private String mapName = "cas-throttle-counters";
+        private int sketchDepth = 4;
+        private int sketchWidth = 2048;
+        private int bucketsPerRange = 6;
+        private long synchronizeInterval = 2000;
+
+        public String getMapName() {
+            return mapName;
+        }
+
+        public void setMapName(final String mapName) {
+            this.mapName = mapName;
+        }
+
+        public int getSketchDepth() {
+            return sketchDepth;
+        }
+
+        public void setSketchDepth(final int sketchDepth) {
+            this.sketchDepth = sketchDepth;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public void setSketchWidth(final int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+        }
+
+        public int getBucketsPerRange() {
+            return bucketsPerRange;
+        }
+
+        public void setBucketsPerRange(final int bucketsPerRange) {
+            this.bucketsPerRange = bucketsPerRange;
+        }
+
+        public long getSynchronizeInterval() {
+            return synchronizeInterval;
+        }
+
+        public void setSynchronizeInterval(final long synchronizeInterval) {
+            this.synchronizeInterval = synchronizeInterval;
+        }
+    }
 }
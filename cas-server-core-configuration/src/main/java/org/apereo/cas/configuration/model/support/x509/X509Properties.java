@@ -65,6 +65,8 @@ public class X509Properties {
     private int refreshIntervalSeconds = 3600;
     private String principalDescriptor;
     private boolean throwOnFetchFailure;
+    private int crlFetchThreads = 4;
+    private int crlRefreshLeadTimeSeconds = 300;
     private PrincipalTypes principalType;
     
     
@@ -179,6 +181,22 @@ public class X509Properties {
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    public int getCrlFetchThreads() {
+        return crlFetchThreads;
+    }
+
+    public void setCrlFetchThreads(final int crlFetchThreads) {
+        this.crlFetchThreads = crlFetchThreads;
+    }
+
+    public int getCrlRefreshLeadTimeSeconds() {
+        return crlRefreshLeadTimeSeconds;
+    }
+
+    public void setCrlRefreshLeadTimeSeconds(final int crlRefreshLeadTimeSeconds) {
+        this.crlRefreshLeadTimeSeconds = crlRefreshLeadTimeSeconds;
+    }
+
     public String getPrincipalDescriptor() {
         return principalDescriptor;
     }
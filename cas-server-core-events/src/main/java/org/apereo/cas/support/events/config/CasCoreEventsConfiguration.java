@@ -1,6 +1,8 @@
 package org.apereo.cas.support.events.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.events.EventsProperties;
+import org.apereo.cas.support.events.dao.BufferedCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEventRepository;
 import org.apereo.cas.support.events.listener.DefaultCasEventListener;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,9 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasCoreEventsConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Autowired(required = false)
     @Qualifier("casEventRepository")
     private CasEventRepository casEventRepository;
@@ -26,7 +31,22 @@ public class CasCoreEventsConfiguration {
     @Bean
     public DefaultCasEventListener defaultCasEventListener() {
         final DefaultCasEventListener l = new DefaultCasEventListener();
-        l.setCasEventRepository(casEventRepository);
+        if (casEventRepository != null && casProperties.getEvents().getBuffer().isEnabled()) {
+            l.setCasEventRepository(bufferedCasEventRepository());
+        } else {
+            l.setCasEventRepository(casEventRepository);
+        }
         return l;
     }
+
+    @Bean
+    public BufferedCasEventRepository bufferedCasEventRepository() {
+        final EventsProperties.Buffer buffer = casProperties.getEvents().getBuffer();
+        final BufferedCasEventRepository r = new BufferedCasEventRepository(casEventRepository, buffer.getCapacity());
+        r.setBatchSize(buffer.getBatchSize());
+        r.setFlushInterval(buffer.getFlushInterval());
+        r.setBackPressurePolicy(BufferedCasEventRepository.BackPressurePolicy.valueOf(
+                buffer.getBackPressurePolicy().toUpperCase()));
+        return r;
+    }
 }
@@ -3,11 +3,17 @@ package org.apereo.cas.support.events.dao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractCasEventRepository}.
+ * Paging and time range queries are answered by filtering the results of
+ * {@link #load()} and {@link #getEventsForPrincipal(String)}; repositories
+ * should override them to push the restrictions down to the underlying store.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -15,10 +21,54 @@ import java.util.stream.Collectors;
 public abstract class AbstractCasEventRepository implements CasEventRepository {
     protected transient Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
     @Override
     public Collection<CasEvent> getEventsOfType(final String type) {
         final Collection<CasEvent> events = load();
         return events.stream().filter(event -> event.getType().equals(type)).collect(Collectors.toSet());
     }
 
+    @Override
+    public Collection<CasEvent> load(final int offset, final int limit) {
+        return page(load().stream(), offset, limit);
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime from, final ZonedDateTime to) {
+        return range(load().stream(), from, to);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final int offset, final int limit) {
+        return page(getEventsForPrincipal(id).stream(), offset, limit);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime from, final ZonedDateTime to) {
+        return range(getEventsForPrincipal(id).stream(), from, to);
+    }
+
+    private static Collection<CasEvent> page(final Stream<CasEvent> events, final int offset, final int limit) {
+        return events.sorted(Comparator.comparingLong(AbstractCasEventRepository::timestampOf))
+                .skip(Math.max(offset, 0))
+                .limit(Math.max(limit, 0))
+                .collect(Collectors.toList());
+    }
+
+    private static Collection<CasEvent> range(final Stream<CasEvent> events, final ZonedDateTime from, final ZonedDateTime to) {
+        final long start = from.toInstant().toEpochMilli();
+        final long end = to.toInstant().toEpochMilli();
+        return events.filter(event -> {
+            final long timestamp = timestampOf(event);
+            return timestamp >= start && timestamp < end;
+        }).sorted(Comparator.comparingLong(AbstractCasEventRepository::timestampOf)).collect(Collectors.toList());
+    }
+
+    private static long timestampOf(final CasEvent event) {
+        return event.get("timestamp") == null ? Long.MIN_VALUE : event.getTimestamp();
+    }
 }
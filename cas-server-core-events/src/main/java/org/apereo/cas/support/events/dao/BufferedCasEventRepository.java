@@ -0,0 +1,275 @@
+package org.apereo.cas.support.events.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link BufferedCasEventRepository} that saves events on behalf of another
+ * {@link CasEventRepository}, off the thread that produced them.
+ * <p>
+ * Events are queued into a bounded buffer. A background writer takes events off the buffer
+ * and hands them to {@link CasEventRepository#saveAll(Collection)} in batches, once a batch
+ * is full or once the flush interval passes since the first event of the batch was taken.
+ * Once the buffer is full, the {@link BackPressurePolicy} decides what happens to new events.
+ * <p>
+ * Queries are answered by the underlying repository, and so do not include events that
+ * are still waiting in the buffer.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class BufferedCasEventRepository implements CasEventRepository, DisposableBean {
+
+    /**
+     * Describes what happens to an event when the buffer is full.
+     */
+    public enum BackPressurePolicy {
+        /**
+         * Wait for the writer to make room in the buffer.
+         */
+        BLOCK,
+        /**
+         * Drop the event.
+         */
+        DROP,
+        /**
+         * Save the event on the thread that produced it.
+         */
+        CALLER_RUNS
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferedCasEventRepository.class);
+
+    private final CasEventRepository delegate;
+
+    private final BlockingQueue<CasEvent> buffer;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Thread writer;
+
+    private int batchSize = 100;
+
+    private long flushInterval = 1000;
+
+    private BackPressurePolicy backPressurePolicy = BackPressurePolicy.CALLER_RUNS;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new buffered repository.
+     *
+     * @param delegate the repository that stores the events
+     * @param capacity the number of events the buffer holds
+     */
+    public BufferedCasEventRepository(final CasEventRepository delegate, final int capacity) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.writer = new Thread(this::drain, "cas-event-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Sets the longest time events wait for a batch to fill up before they are saved.
+     *
+     * @param flushInterval the flush interval, in milliseconds
+     */
+    public void setFlushInterval(final long flushInterval) {
+        this.flushInterval = Math.max(flushInterval, 1);
+    }
+
+    public void setBackPressurePolicy(final BackPressurePolicy backPressurePolicy) {
+        this.backPressurePolicy = backPressurePolicy;
+    }
+
+    @Override
+    public void save(final CasEvent event) {
+        if (!this.running) {
+            saveNow(event);
+            return;
+        }
+        if (this.started.compareAndSet(false, true)) {
+            this.writer.start();
+        }
+        if (this.buffer.offer(event)) {
+            return;
+        }
+        switch (this.backPressurePolicy) {
+            case BLOCK:
+                try {
+                    while (!this.buffer.offer(event, this.flushInterval, TimeUnit.MILLISECONDS)) {
+                        if (!this.running) {
+                            saveNow(event);
+                            break;
+                        }
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.dropped.increment();
+                }
+                break;
+            case CALLER_RUNS:
+                saveNow(event);
+                break;
+            default:
+                this.dropped.increment();
+                LOGGER.debug("Event buffer is full; dropped event [{}]", event);
+                break;
+        }
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
+    @Override
+    public Collection<CasEvent> load() {
+        return this.delegate.load();
+    }
+
+    @Override
+    public Collection<CasEvent> load(final int offset, final int limit) {
+        return this.delegate.load(offset, limit);
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime from, final ZonedDateTime to) {
+        return this.delegate.load(from, to);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type) {
+        return this.delegate.getEventsOfType(type);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id) {
+        return this.delegate.getEventsForPrincipal(id);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final int offset, final int limit) {
+        return this.delegate.getEventsForPrincipal(id, offset, limit);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime from, final ZonedDateTime to) {
+        return this.delegate.getEventsForPrincipal(id, from, to);
+    }
+
+    /**
+     * Number of events waiting to be saved.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.buffer.size();
+    }
+
+    public long getSavedCount() {
+        return this.saved.sum();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Stops the writer, once every event that is waiting in the buffer is saved.
+     * Events produced afterwards are saved by the calling thread.
+     *
+     * @throws Exception if the writer is interrupted
+     */
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        if (this.started.get()) {
+            this.writer.join();
+        }
+        final List<CasEvent> remaining = new ArrayList<>(this.batchSize);
+        while (this.buffer.drainTo(remaining, this.batchSize) > 0) {
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + this.delegate + ']';
+    }
+
+    private void drain() {
+        final List<CasEvent> batch = new ArrayList<>(this.batchSize);
+        while (this.running) {
+            try {
+                final CasEvent first = this.buffer.poll(this.flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.flushInterval);
+                while (batch.size() < this.batchSize) {
+                    this.buffer.drainTo(batch, this.batchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.batchSize || remaining <= 0 || !this.running) {
+                        break;
+                    }
+                    final CasEvent next = this.buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Event writer is interrupted; remaining events are saved on shutdown");
+                Thread.currentThread().interrupt();
+                this.running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(final List<CasEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.delegate.saveAll(batch);
+            this.saved.add(batch.size());
+        } catch (final Exception e) {
+            this.failed.add(batch.size());
+            LOGGER.error("Failed to save [{}] events: {}", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void saveNow(final CasEvent event) {
+        this.delegate.save(event);
+        this.saved.increment();
+    }
+}
@@ -11,6 +11,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.Table;
@@ -25,7 +26,9 @@ import java.util.Map;
  * @since 5.0.0
  */
 @Entity
-@Table(name = "CasEvent")
+@Table(name = "CasEvent", indexes = {
+        @Index(name = "IDX_CAS_EVENT_TIMESTAMP", columnList = "eventTimestamp"),
+        @Index(name = "IDX_CAS_EVENT_PRINCIPAL_TIMESTAMP", columnList = "principalId,eventTimestamp")})
 public class CasEvent {
 
     @Id
@@ -38,6 +41,9 @@ public class CasEvent {
     @Column(length = 255, updatable = true, insertable = true, nullable = false)
     private String principalId;
 
+    @Column(name = "eventTimestamp", updatable = true, insertable = true, nullable = true)
+    private Long timestamp;
+
     @ElementCollection
     @MapKeyColumn(name="name")
     @Column(name="value")
@@ -67,6 +73,7 @@ public class CasEvent {
      */
     public void putTimestamp(final Long time) {
         put("timestamp", time.toString());
+        this.timestamp = time;
     }
 
     /**
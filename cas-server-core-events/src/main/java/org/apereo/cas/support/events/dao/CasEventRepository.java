@@ -1,5 +1,6 @@
 package org.apereo.cas.support.events.dao;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 
 /**
@@ -16,6 +17,14 @@ public interface CasEventRepository {
      */
     void save(CasEvent event);
 
+    /**
+     * Save the given events. Repositories should store all events
+     * in as few round trips to the underlying store as possible.
+     *
+     * @param events the events
+     */
+    void saveAll(Collection<CasEvent> events);
+
     /**
      * Load collection.
      *
@@ -23,6 +32,24 @@ public interface CasEventRepository {
      */
     Collection<CasEvent> load();
 
+    /**
+     * Load a page of events, ordered by the time they occurred.
+     *
+     * @param offset the position of the first event to load
+     * @param limit  the maximum number of events to load
+     * @return the collection
+     */
+    Collection<CasEvent> load(int offset, int limit);
+
+    /**
+     * Load events that occurred during the given time range, ordered by the time they occurred.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the collection
+     */
+    Collection<CasEvent> load(ZonedDateTime from, ZonedDateTime to);
+
     /**
      * Gets events of type.
      *
@@ -38,4 +65,25 @@ public interface CasEventRepository {
      * @return the events for principal
      */
     Collection<CasEvent> getEventsForPrincipal(String id);
+
+    /**
+     * Gets a page of events for principal, ordered by the time they occurred.
+     *
+     * @param id     the id
+     * @param offset the position of the first event to load
+     * @param limit  the maximum number of events to load
+     * @return the events for principal
+     */
+    Collection<CasEvent> getEventsForPrincipal(String id, int offset, int limit);
+
+    /**
+     * Gets events for principal that occurred during the given time range,
+     * ordered by the time they occurred.
+     *
+     * @param id   the id
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the events for principal
+     */
+    Collection<CasEvent> getEventsForPrincipal(String id, ZonedDateTime from, ZonedDateTime to);
 }
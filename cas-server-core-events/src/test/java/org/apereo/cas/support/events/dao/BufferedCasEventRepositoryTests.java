@@ -0,0 +1,147 @@
+package org.apereo.cas.support.events.dao;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link BufferedCasEventRepositoryTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class BufferedCasEventRepositoryTests {
+
+    @Test
+    public void verifyEventsAreSavedInBatches() throws Exception {
+        final InMemoryCasEventRepository delegate = new InMemoryCasEventRepository(null);
+        final BufferedCasEventRepository repository = new BufferedCasEventRepository(delegate, 100);
+        repository.setBatchSize(10);
+        repository.setFlushInterval(10000);
+        for (int i = 0; i < 25; i++) {
+            repository.save(newEvent("casuser", i));
+        }
+        repository.destroy();
+
+        assertEquals(25, delegate.load().size());
+        assertEquals(25, repository.getSavedCount());
+        assertTrue(delegate.batches.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    public void verifyEventsAreFlushedAfterInterval() throws Exception {
+        final InMemoryCasEventRepository delegate = new InMemoryCasEventRepository(null);
+        final BufferedCasEventRepository repository = new BufferedCasEventRepository(delegate, 100);
+        repository.setFlushInterval(50);
+        repository.save(newEvent("casuser", 1));
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (repository.getSavedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, delegate.getEventsForPrincipal("casuser").size());
+        repository.destroy();
+    }
+
+    @Test
+    public void verifyBackPressurePolicies() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final InMemoryCasEventRepository delegate = new InMemoryCasEventRepository(latch);
+        final BufferedCasEventRepository repository = new BufferedCasEventRepository(delegate, 2);
+        repository.setBatchSize(1);
+        repository.setBackPressurePolicy(BufferedCasEventRepository.BackPressurePolicy.DROP);
+        for (int i = 0; i < 10; i++) {
+            repository.save(newEvent("casuser", i));
+        }
+        assertTrue(repository.getDroppedCount() > 0);
+
+        repository.setBackPressurePolicy(BufferedCasEventRepository.BackPressurePolicy.CALLER_RUNS);
+        final Thread caller = new Thread(() -> repository.save(newEvent("caller", 0)));
+        caller.start();
+        latch.countDown();
+        caller.join();
+        repository.destroy();
+        assertEquals(1, delegate.getEventsForPrincipal("caller").size());
+        assertEquals(11, repository.getSavedCount() + repository.getDroppedCount());
+    }
+
+    @Test
+    public void verifyPagingAndTimeRange() {
+        final InMemoryCasEventRepository repository = new InMemoryCasEventRepository(null);
+        for (int i = 9; i >= 0; i--) {
+            repository.save(newEvent(i % 2 == 0 ? "even" : "odd", i * 1000));
+        }
+        final List<CasEvent> page = new ArrayList<>(repository.load(2, 3));
+        assertEquals(3, page.size());
+        assertEquals(Long.valueOf(2000), page.get(0).getTimestamp());
+        assertEquals(Long.valueOf(4000), page.get(2).getTimestamp());
+
+        final List<CasEvent> odd = new ArrayList<>(repository.getEventsForPrincipal("odd", 1, 10));
+        assertEquals(4, odd.size());
+        assertEquals(Long.valueOf(3000), odd.get(0).getTimestamp());
+
+        final ZonedDateTime from = ZonedDateTime.ofInstant(Instant.ofEpochMilli(3000), ZoneOffset.UTC);
+        final ZonedDateTime to = ZonedDateTime.ofInstant(Instant.ofEpochMilli(7000), ZoneOffset.UTC);
+        assertEquals(4, repository.load(from, to).size());
+        assertEquals(2, repository.getEventsForPrincipal("even", from, to).size());
+    }
+
+    private static CasEvent newEvent(final String principal, final long timestamp) {
+        final CasEvent event = new CasEvent();
+        event.setType("TEST");
+        event.setPrincipalId(principal);
+        event.putTimestamp(timestamp);
+        return event;
+    }
+
+    private static class InMemoryCasEventRepository extends AbstractCasEventRepository {
+        private final List<CasEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch latch;
+
+        InMemoryCasEventRepository(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void save(final CasEvent event) {
+            saveAll(Collections.singletonList(event));
+        }
+
+        @Override
+        public void saveAll(final Collection<CasEvent> events) {
+            try {
+                if (this.latch != null) {
+                    this.latch.await();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.batches.add(events.size());
+            this.events.addAll(events);
+        }
+
+        @Override
+        public Collection<CasEvent> load() {
+            return new ArrayList<>(this.events);
+        }
+
+        @Override
+        public Collection<CasEvent> getEventsForPrincipal(final String id) {
+            final List<CasEvent> results = new ArrayList<>();
+            load().stream().filter(e -> e.getPrincipalId().equals(id)).forEach(results::add);
+            return results;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.apereo.cas.logout;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link BackChannelLogoutDispatcher} that sends the back-channel logout messages
+ * of a single sign-on session in parallel, rather than one after the other.
+ * <p>
+ * Messages are sent by a bounded pool of threads. The number of messages sent to the same host
+ * at the same time is limited, so a session with many services of one application does not
+ * flood it. Hosts are only tracked while messages to them are being sent. All messages of a session share a single deadline: once it passes, messages that
+ * have not been answered are reported as {@link LogoutRequestStatus#FAILURE}, and the logout
+ * carries on. Messages that fail or miss the deadline are handed to the
+ * {@link LogoutRequestRetryQueue}, if one is defined, to be retried later.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class BackChannelLogoutDispatcher implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackChannelLogoutDispatcher.class);
+
+    private final ExecutorService executor;
+
+    private final int maxConcurrencyPerHost;
+
+    private final long timeout;
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    private LogoutRequestRetryQueue retryQueue;
+
+    /**
+     * Instantiates a new dispatcher.
+     *
+     * @param threads               the number of threads that send messages
+     * @param maxConcurrencyPerHost the number of messages sent to the same host at the same time
+     * @param timeout               the time allowed to send all messages of a session, in milliseconds
+     */
+    public BackChannelLogoutDispatcher(final int threads, final int maxConcurrencyPerHost, final long timeout) {
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1),
+                new ThreadFactoryBuilder().setNameFormat("slo-dispatcher-%d").setDaemon(true).build());
+        this.maxConcurrencyPerHost = Math.max(maxConcurrencyPerHost, 1);
+        this.timeout = Math.max(timeout, 1);
+    }
+
+    public void setRetryQueue(final LogoutRequestRetryQueue retryQueue) {
+        this.retryQueue = retryQueue;
+    }
+
+    public LogoutRequestRetryQueue getRetryQueue() {
+        return this.retryQueue;
+    }
+
+    /**
+     * Send the logout messages of the given requests, and wait for them until the deadline passes.
+     * The status of every request is set once this method returns.
+     *
+     * @param requests the logout requests
+     * @param sender   sends the message of a request, and tells whether it was received
+     */
+    public void dispatch(final Collection<LogoutRequest> requests, final Predicate<LogoutRequest> sender) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+        final List<Dispatch> dispatches = new ArrayList<>(requests.size());
+        requests.forEach(request -> dispatches.add(submit(request, sender, deadline)));
+
+        for (final Dispatch dispatch : dispatches) {
+            final LogoutRequest request = dispatch.request;
+            try {
+                final long remaining = deadline - System.nanoTime();
+                final boolean sent = dispatch.future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                request.setStatus(sent ? LogoutRequestStatus.SUCCESS : LogoutRequestStatus.FAILURE);
+            } catch (final TimeoutException e) {
+                request.setStatus(LogoutRequestStatus.FAILURE);
+                LOGGER.warn("Logout message to [{}] was not sent within [{}] ms; Continuing processing...",
+                        request.getService().getId(), this.timeout);
+                if (dispatch.claimed.compareAndSet(false, true)) {
+                    dispatch.future.cancel(false);
+                    retry(request);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                request.setStatus(LogoutRequestStatus.FAILURE);
+            } catch (final ExecutionException e) {
+                request.setStatus(LogoutRequestStatus.FAILURE);
+                LOGGER.error(e.getMessage(), e);
+            }
+            if (request.getStatus() == LogoutRequestStatus.FAILURE) {
+                LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", request.getService().getId());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.executor.shutdownNow();
+    }
+
+    private Dispatch submit(final LogoutRequest request, final Predicate<LogoutRequest> sender, final long deadline) {
+        final AtomicBoolean claimed = new AtomicBoolean();
+        final Future<Boolean> future = this.executor.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            final String key = hostOf(request.getLogoutUrl());
+            final Host host = acquireHost(key);
+            try {
+                if (!host.permits.tryAcquire(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                    LOGGER.debug("Too many logout messages are in flight to [{}]", request.getLogoutUrl());
+                    retry(request);
+                    return false;
+                }
+                try {
+                    final boolean sent = sender.test(request);
+                    if (!sent) {
+                        retry(request);
+                    }
+                    return sent;
+                } finally {
+                    host.permits.release();
+                }
+            } finally {
+                releaseHost(key);
+            }
+        });
+        return new Dispatch(request, future, claimed);
+    }
+
+    private Host acquireHost(final String key) {
+        return this.hosts.compute(key, (k, host) -> {
+            final Host acquired = host == null ? new Host(this.maxConcurrencyPerHost) : host;
+            acquired.users++;
+            return acquired;
+        });
+    }
+
+    private void releaseHost(final String key) {
+        this.hosts.computeIfPresent(key, (k, host) -> --host.users == 0 ? null : host);
+    }
+
+    private void retry(final LogoutRequest request) {
+        if (this.retryQueue != null) {
+            this.retryQueue.add(request);
+        }
+    }
+
+    private static String hostOf(final URL url) {
+        return url == null || url.getAuthority() == null ? "" : url.getAuthority().toLowerCase();
+    }
+
+    /**
+     * The permits of a host, along with the number of messages to it being sent or waiting for a permit.
+     * The number of users is only changed while the map entry of the host is computed.
+     */
+    private static class Host {
+        private final Semaphore permits;
+        private int users;
+
+        Host(final int maxConcurrency) {
+            this.permits = new Semaphore(maxConcurrency);
+        }
+    }
+
+    /**
+     * A logout message in flight. The message is claimed either by the thread that sends it,
+     * or by the caller once the deadline passes, so it is never sent once it has been given up on.
+     */
+    private static class Dispatch {
+        private final LogoutRequest request;
+        private final Future<Boolean> future;
+        private final AtomicBoolean claimed;
+
+        Dispatch(final LogoutRequest request, final Future<Boolean> future, final AtomicBoolean claimed) {
+            this.request = request;
+            this.future = future;
+            this.claimed = claimed;
+        }
+    }
+}
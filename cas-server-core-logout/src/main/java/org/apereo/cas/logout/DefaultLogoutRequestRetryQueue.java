@@ -0,0 +1,190 @@
+package org.apereo.cas.logout;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.SerializationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link DefaultLogoutRequestRetryQueue} that retries failed back-channel logout messages
+ * with an exponential backoff, until they are sent or run out of attempts.
+ * <p>
+ * If a directory is defined, every pending request is also written to a file of its own,
+ * so requests survive a restart of the server and are loaded back when the queue is created.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class DefaultLogoutRequestRetryQueue implements LogoutRequestRetryQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultLogoutRequestRetryQueue.class);
+
+    private static final String FILE_EXTENSION = ".slo";
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final File directory;
+
+    private final int capacity;
+
+    private int maxAttempts = 5;
+
+    private long backoff = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Instantiates a new queue held in memory.
+     *
+     * @param capacity the number of requests the queue holds
+     */
+    public DefaultLogoutRequestRetryQueue(final int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Instantiates a new queue whose requests are stored in the given directory.
+     *
+     * @param capacity  the number of requests the queue holds
+     * @param directory the directory to store requests in, or {@code null} to hold them in memory only
+     */
+    public DefaultLogoutRequestRetryQueue(final int capacity, final File directory) {
+        this.capacity = Math.max(capacity, 1);
+        this.directory = prepare(directory);
+        load();
+    }
+
+    public void setMaxAttempts(final int maxAttempts) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    /**
+     * Sets the time to wait before the first retry. The wait doubles with every attempt.
+     *
+     * @param backoff the backoff, in milliseconds
+     */
+    public void setBackoff(final long backoff) {
+        this.backoff = Math.max(backoff, 0);
+    }
+
+    @Override
+    public void add(final LogoutRequest request) {
+        if (this.entries.size() >= this.capacity) {
+            LOGGER.warn("Logout retry queue is full; logout message to [{}] will not be retried", request.getService().getId());
+            return;
+        }
+        final Entry entry = new Entry(UUID.randomUUID().toString(), request);
+        entry.nextAttempt = System.currentTimeMillis() + this.backoff;
+        this.entries.put(entry.id, entry);
+        store(entry);
+        LOGGER.debug("Queued logout message to [{}] for another attempt", request.getService().getId());
+    }
+
+    @Override
+    public void retry(final Predicate<LogoutRequest> sender) {
+        final long now = System.currentTimeMillis();
+        this.entries.values().stream().filter(entry -> entry.nextAttempt <= now).forEach(entry -> {
+            boolean sent = false;
+            try {
+                sent = sender.test(entry.request);
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            entry.attempts++;
+            if (sent) {
+                entry.request.setStatus(LogoutRequestStatus.SUCCESS);
+                remove(entry);
+                LOGGER.debug("Logout message sent to [{}] after [{}] retries", entry.request.getService().getId(), entry.attempts);
+            } else if (entry.attempts >= this.maxAttempts) {
+                remove(entry);
+                LOGGER.warn("Logout message not sent to [{}] after [{}] retries; giving up",
+                        entry.request.getService().getId(), entry.attempts);
+            } else {
+                entry.nextAttempt = now + (this.backoff << Math.min(entry.attempts, 16));
+                store(entry);
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    private void remove(final Entry entry) {
+        this.entries.remove(entry.id);
+        if (this.directory != null) {
+            try {
+                Files.deleteIfExists(fileOf(entry.id).toPath());
+            } catch (final IOException e) {
+                LOGGER.warn("Could not remove [{}]: {}", fileOf(entry.id), e.getMessage());
+            }
+        }
+    }
+
+    private void store(final Entry entry) {
+        if (this.directory != null) {
+            try {
+                Files.write(fileOf(entry.id).toPath(), SerializationUtils.serialize(entry));
+            } catch (final Exception e) {
+                LOGGER.warn("Could not store logout message to [{}]: {}", entry.request.getService().getId(), e.getMessage());
+            }
+        }
+    }
+
+    private static File prepare(final File directory) {
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            LOGGER.warn("Logout retry directory [{}] could not be created; logout messages to retry are held in memory only",
+                    directory);
+            return null;
+        }
+        return directory;
+    }
+
+    private void load() {
+        if (this.directory == null) {
+            return;
+        }
+        final File[] files = this.directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            try {
+                final Entry entry = SerializationUtils.deserialize(Files.readAllBytes(file.toPath()));
+                this.entries.put(entry.id, entry);
+            } catch (final Exception e) {
+                LOGGER.warn("Could not load logout message from [{}]: {}", file, e.getMessage());
+            }
+        }
+        LOGGER.debug("Loaded [{}] logout messages to retry from [{}]", this.entries.size(), this.directory);
+    }
+
+    private File fileOf(final String id) {
+        return new File(this.directory, StringUtils.appendIfMissing(id, FILE_EXTENSION));
+    }
+
+    /**
+     * A logout request waiting for another attempt.
+     */
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 3925438107372716829L;
+
+        private final String id;
+        private final LogoutRequest request;
+        private int attempts;
+        private long nextAttempt;
+
+        Entry(final String id, final LogoutRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+    }
+}
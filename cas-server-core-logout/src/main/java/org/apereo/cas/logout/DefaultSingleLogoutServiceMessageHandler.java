@@ -8,6 +8,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This is {@link DefaultSingleLogoutServiceMessageHandler} which handles the processing of logout messages
@@ -30,6 +35,10 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder = 
             new DefaultSingleLogoutServiceLogoutUrlBuilder();
 
+    private BackChannelLogoutDispatcher dispatcher;
+
+    private LogoutRequestRetryQueue retryQueue;
+
     /**
      * Instantiates a new Single logout service message handler.
      */
@@ -54,33 +63,61 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      */
     @Override
     public LogoutRequest handle(final SingleLogoutService singleLogoutService, final String ticketId) {
-        if (!singleLogoutService.isLoggedOutAlready()) {
-
-            final RegisteredService registeredService = this.servicesManager.findServiceBy(singleLogoutService);
-            if (serviceSupportsSingleLogout(registeredService)) {
-
-                final URL logoutUrl = this.singleLogoutServiceLogoutUrlBuilder.determineLogoutUrl(registeredService, singleLogoutService);
-                final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, singleLogoutService, logoutUrl);
-                final LogoutType type = registeredService.getLogoutType() == null
-                        ? LogoutType.BACK_CHANNEL : registeredService.getLogoutType();
-
-                switch (type) {
-                    case BACK_CHANNEL:
-                        if (performBackChannelLogout(logoutRequest)) {
-                            logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
-                        } else {
-                            logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
-                            LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", singleLogoutService.getId());
-                        }
-                        break;
-                    default:
+        final Collection<LogoutRequest> requests = handle(Collections.singletonMap(ticketId, singleLogoutService));
+        return requests.isEmpty() ? null : requests.iterator().next();
+    }
+
+    /**
+     * Handle logout for a number of slo services. Once a dispatcher is defined,
+     * back-channel logout messages are sent in parallel through the dispatcher.
+     * Otherwise, messages are sent one after the other, and messages that fail
+     * are handed to the retry queue, if one is defined.
+     *
+     * @param singleLogoutServices the services, keyed by the ticket id they were granted
+     * @return the logout requests
+     */
+    @Override
+    public Collection<LogoutRequest> handle(final Map<String, SingleLogoutService> singleLogoutServices) {
+        final List<LogoutRequest> logoutRequests = new ArrayList<>(singleLogoutServices.size());
+        final List<LogoutRequest> backChannelRequests = new ArrayList<>(singleLogoutServices.size());
+
+        singleLogoutServices.forEach((ticketId, singleLogoutService) -> {
+            if (!singleLogoutService.isLoggedOutAlready()) {
+                final RegisteredService registeredService = this.servicesManager.findServiceBy(singleLogoutService);
+                if (serviceSupportsSingleLogout(registeredService)) {
+
+                    final URL logoutUrl = this.singleLogoutServiceLogoutUrlBuilder.determineLogoutUrl(registeredService, singleLogoutService);
+                    final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, singleLogoutService, logoutUrl);
+                    final LogoutType type = registeredService.getLogoutType() == null
+                            ? LogoutType.BACK_CHANNEL : registeredService.getLogoutType();
+
+                    if (type == LogoutType.BACK_CHANNEL) {
+                        singleLogoutService.setLoggedOutAlready(true);
+                        backChannelRequests.add(logoutRequest);
+                    } else {
                         logoutRequest.setStatus(LogoutRequestStatus.NOT_ATTEMPTED);
-                        break;
+                    }
+                    logoutRequests.add(logoutRequest);
                 }
-                return logoutRequest;
             }
+        });
+
+        if (this.dispatcher != null) {
+            this.dispatcher.dispatch(backChannelRequests, request -> performBackChannelLogout(request, false));
+        } else {
+            backChannelRequests.forEach(logoutRequest -> {
+                if (performBackChannelLogout(logoutRequest)) {
+                    logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
+                } else {
+                    logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
+                    LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", logoutRequest.getService().getId());
+                    if (this.retryQueue != null) {
+                        this.retryQueue.add(logoutRequest);
+                    }
+                }
+            });
         }
-        return null;
+        return logoutRequests;
     }
 
     /**
@@ -90,13 +127,24 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      * @return if the logout has been performed.
      */
     public boolean performBackChannelLogout(final LogoutRequest request) {
+        return performBackChannelLogout(request, this.asynchronous);
+    }
+
+    /**
+     * Log out of a service through back channel.
+     *
+     * @param request the logout request.
+     * @param asynchronousCallback whether the message is sent without waiting for the response
+     * @return if the logout has been performed.
+     */
+    public boolean performBackChannelLogout(final LogoutRequest request, final boolean asynchronousCallback) {
         try {
             final String logoutRequest = this.logoutMessageBuilder.create(request);
             final SingleLogoutService logoutService = request.getService();
             logoutService.setLoggedOutAlready(true);
 
             LOGGER.debug("Sending logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
-            final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, this.asynchronous);
+            final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, asynchronousCallback);
             LOGGER.debug("Prepared logout message to send is [{}]", msg);
             return this.httpClient.sendMessageToEndPoint(msg);
         } catch (final Exception e) {
@@ -133,6 +181,35 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         this.singleLogoutServiceLogoutUrlBuilder = singleLogoutServiceLogoutUrlBuilder;
     }
 
+    /**
+     * Set the dispatcher that sends back-channel logout messages in parallel.
+     * Messages sent through the dispatcher wait for the response, within the deadline of the dispatcher.
+     *
+     * @param dispatcher the dispatcher
+     */
+    public void setDispatcher(final BackChannelLogoutDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Set the queue that holds messages that could not be sent one after the other,
+     * so they can be sent again later. Messages sent through the dispatcher are handed to
+     * the retry queue of the dispatcher instead.
+     *
+     * @param retryQueue the retry queue
+     */
+    public void setRetryQueue(final LogoutRequestRetryQueue retryQueue) {
+        this.retryQueue = retryQueue;
+    }
+
+    public LogoutRequestRetryQueue getRetryQueue() {
+        return this.retryQueue;
+    }
+
+    public BackChannelLogoutDispatcher getDispatcher() {
+        return this.dispatcher;
+    }
+
     public ServicesManager getServicesManager() {
         return this.servicesManager;
     }
@@ -1,6 +1,5 @@
 package org.apereo.cas.logout;
 
-import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.CompressionUtils;
@@ -10,7 +9,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This logout manager handles the Single Log Out process.
@@ -64,25 +65,25 @@ public class LogoutManagerImpl implements LogoutManager {
     }
 
     private void performLogoutForTicket(final TicketGrantingTicket ticket, final List<LogoutRequest> logoutRequests) {
-        ticket.getServices().entrySet().stream().filter(entry -> entry.getValue() instanceof SingleLogoutService).forEach(entry -> {
-            final Service service = entry.getValue();
-            LOGGER.debug("Handling single logout callback for {}", service);
-            final LogoutRequest logoutRequest = this.singleLogoutServiceMessageHandler.handle((SingleLogoutService) service,
-                    entry.getKey());
-            if (logoutRequest != null) {
-                LOGGER.debug("Captured logout request [{}]", logoutRequest);
-                logoutRequests.add(logoutRequest);
-            }
-        });
+        final Map<String, SingleLogoutService> services = new LinkedHashMap<>();
+        collectSingleLogoutServices(ticket, services);
+        LOGGER.debug("Handling single logout callbacks for {}", services.values());
+        final Collection<LogoutRequest> requests = this.singleLogoutServiceMessageHandler.handle(services);
+        LOGGER.debug("Captured logout requests [{}]", requests);
+        logoutRequests.addAll(requests);
+    }
+
+    private static void collectSingleLogoutServices(final TicketGrantingTicket ticket, final Map<String, SingleLogoutService> services) {
+        ticket.getServices().entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof SingleLogoutService)
+                .forEach(entry -> services.put(entry.getKey(), (SingleLogoutService) entry.getValue()));
 
         final Collection<ProxyGrantingTicket> proxyGrantingTickets = ticket.getProxyGrantingTickets();
         if (proxyGrantingTickets.isEmpty()) {
             LOGGER.info("There are no proxy-granting tickets associated with [{}] to process for single logout", ticket.getId());
         } else {
-            proxyGrantingTickets.stream().forEach(proxyGrantingTicket -> performLogoutForTicket(proxyGrantingTicket, logoutRequests));
+            proxyGrantingTickets.stream().forEach(proxyGrantingTicket -> collectSingleLogoutServices(proxyGrantingTicket, services));
         }
-
-
     }
 
     /**
@@ -0,0 +1,39 @@
+package org.apereo.cas.logout;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.function.Predicate;
+
+/**
+ * This is {@link LogoutRequestRetryJob} that periodically sends again
+ * the logout messages held by a {@link LogoutRequestRetryQueue}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class LogoutRequestRetryJob implements Runnable {
+
+    private final LogoutRequestRetryQueue queue;
+
+    private final Predicate<LogoutRequest> sender;
+
+    /**
+     * Instantiates a new retry job.
+     *
+     * @param queue  the queue of requests to retry
+     * @param sender sends the message of a request, and tells whether it was received
+     */
+    public LogoutRequestRetryJob(final LogoutRequestRetryQueue queue, final Predicate<LogoutRequest> sender) {
+        this.queue = queue;
+        this.sender = sender;
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${cas.slo.retry.startDelay:20000}",
+            fixedDelayString = "${cas.slo.retry.repeatInterval:60000}")
+    public void run() {
+        if (this.queue.size() > 0) {
+            this.queue.retry(this.sender);
+        }
+    }
+}
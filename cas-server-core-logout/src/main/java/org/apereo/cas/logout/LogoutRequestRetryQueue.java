@@ -0,0 +1,35 @@
+package org.apereo.cas.logout;
+
+import java.util.function.Predicate;
+
+/**
+ * This is {@link LogoutRequestRetryQueue} that holds back-channel logout requests
+ * whose messages could not be sent, so they can be sent again later.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public interface LogoutRequestRetryQueue {
+
+    /**
+     * Add a logout request to be retried.
+     *
+     * @param request the logout request
+     */
+    void add(LogoutRequest request);
+
+    /**
+     * Send the messages of the requests that are due for another attempt.
+     * Requests that are sent, or that run out of attempts, are removed from the queue.
+     *
+     * @param sender sends the message of a request, and tells whether it was received
+     */
+    void retry(Predicate<LogoutRequest> sender);
+
+    /**
+     * Number of requests waiting to be retried.
+     *
+     * @return the size
+     */
+    int size();
+}
@@ -1,11 +1,17 @@
 package org.apereo.cas.logout.config;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.logout.BackChannelLogoutDispatcher;
+import org.apereo.cas.logout.DefaultLogoutRequestRetryQueue;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.LogoutManagerImpl;
 import org.apereo.cas.logout.LogoutMessageCreator;
+import org.apereo.cas.logout.LogoutRequestRetryJob;
+import org.apereo.cas.logout.LogoutRequestRetryQueue;
 import org.apereo.cas.logout.SamlCompliantLogoutMessageCreator;
 import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.SingleLogoutServiceMessageHandler;
@@ -13,11 +19,14 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.File;
+
 /**
  * This is {@link CasCoreLogoutConfiguration}.
  *
@@ -54,9 +63,47 @@ public class CasCoreLogoutConfiguration {
         handler.setLogoutMessageBuilder(logoutBuilder());
         handler.setSingleLogoutServiceLogoutUrlBuilder(defaultSingleLogoutServiceLogoutUrlBuilder());
         handler.setServicesManager(servicesManager);
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            handler.setDispatcher(backChannelLogoutDispatcher());
+        }
+        if (casProperties.getSlo().getRetry().isEnabled()) {
+            handler.setRetryQueue(logoutRequestRetryQueue());
+        }
         return handler;
     }
 
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true")
+    @Bean
+    public BackChannelLogoutDispatcher backChannelLogoutDispatcher() {
+        final SloProperties.Dispatcher dispatcher = casProperties.getSlo().getDispatcher();
+        final BackChannelLogoutDispatcher bean = new BackChannelLogoutDispatcher(dispatcher.getThreads(),
+                dispatcher.getMaxConcurrencyPerHost(), dispatcher.getTimeout());
+        if (casProperties.getSlo().getRetry().isEnabled()) {
+            bean.setRetryQueue(logoutRequestRetryQueue());
+        }
+        return bean;
+    }
+
+    @ConditionalOnProperty(prefix = "cas.slo.retry", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public LogoutRequestRetryQueue logoutRequestRetryQueue() {
+        final SloProperties.Retry retry = casProperties.getSlo().getRetry();
+        final File directory = StringUtils.isBlank(retry.getDirectory()) ? null : new File(retry.getDirectory());
+        final DefaultLogoutRequestRetryQueue queue = new DefaultLogoutRequestRetryQueue(retry.getCapacity(), directory);
+        queue.setMaxAttempts(retry.getMaxAttempts());
+        queue.setBackoff(retry.getBackoff());
+        return queue;
+    }
+
+    @ConditionalOnProperty(prefix = "cas.slo.retry", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public Runnable logoutRequestRetryJob() {
+        final DefaultSingleLogoutServiceMessageHandler handler =
+                (DefaultSingleLogoutServiceMessageHandler) defaultSingleLogoutServiceMessageHandler();
+        return new LogoutRequestRetryJob(logoutRequestRetryQueue(),
+                request -> handler.performBackChannelLogout(request, false));
+    }
+
     @RefreshScope
     @Bean
     public LogoutManager logoutManager() {
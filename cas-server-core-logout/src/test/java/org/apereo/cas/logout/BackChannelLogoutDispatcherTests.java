@@ -0,0 +1,136 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.services.TestUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link BackChannelLogoutDispatcherTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class BackChannelLogoutDispatcherTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BackChannelLogoutDispatcher dispatcher;
+
+    @After
+    public void tearDown() throws Exception {
+        if (this.dispatcher != null) {
+            this.dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyMessagesAreSentInParallel() throws Exception {
+        this.dispatcher = new BackChannelLogoutDispatcher(10, 10, 5000);
+        final List<LogoutRequest> requests = newRequests(10, "http://app%d.example.org/logout");
+        final CountDownLatch latch = new CountDownLatch(requests.size());
+
+        this.dispatcher.dispatch(requests, request -> {
+            latch.countDown();
+            try {
+                return latch.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                return false;
+            }
+        });
+        assertTrue(requests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+    }
+
+    @Test
+    public void verifyConcurrencyPerHostIsLimited() throws Exception {
+        this.dispatcher = new BackChannelLogoutDispatcher(10, 2, 5000);
+        final List<LogoutRequest> requests = newRequests(10, "http://app.example.org/logout%d");
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger highest = new AtomicInteger();
+
+        this.dispatcher.dispatch(requests, request -> {
+            highest.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException e) {
+                return false;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return true;
+        });
+        assertTrue(highest.get() <= 2);
+        assertTrue(requests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(this.dispatcher, "hosts")).isEmpty());
+    }
+
+    @Test
+    public void verifyDeadlineFailsPendingMessagesAndQueuesRetries() throws Exception {
+        this.dispatcher = new BackChannelLogoutDispatcher(1, 1, 100);
+        final DefaultLogoutRequestRetryQueue queue = new DefaultLogoutRequestRetryQueue(100);
+        queue.setBackoff(0);
+        this.dispatcher.setRetryQueue(queue);
+        final List<LogoutRequest> requests = newRequests(3, "http://app%d.example.org/logout");
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final long start = System.currentTimeMillis();
+        this.dispatcher.dispatch(requests, request -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                return false;
+            }
+            return false;
+        });
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(requests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.FAILURE));
+
+        release.countDown();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (queue.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, queue.size());
+        queue.retry(request -> true);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void verifyRetriesSurviveRestart() throws Exception {
+        final DefaultLogoutRequestRetryQueue queue = new DefaultLogoutRequestRetryQueue(100, this.folder.getRoot());
+        queue.setBackoff(0);
+        queue.setMaxAttempts(2);
+        newRequests(2, "http://app%d.example.org/logout").forEach(queue::add);
+        queue.retry(request -> false);
+        assertEquals(2, queue.size());
+
+        final DefaultLogoutRequestRetryQueue restarted = new DefaultLogoutRequestRetryQueue(100, this.folder.getRoot());
+        restarted.setMaxAttempts(2);
+        assertEquals(2, restarted.size());
+        restarted.retry(request -> false);
+        assertEquals(0, restarted.size());
+        assertEquals(0, this.folder.getRoot().list().length);
+    }
+
+    private static List<LogoutRequest> newRequests(final int count, final String urlPattern) throws Exception {
+        final List<LogoutRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String url = String.format(urlPattern, i);
+            requests.add(new DefaultLogoutRequest("ST-" + i, TestUtils.getService(url), new URL(url)));
+        }
+        return requests;
+    }
+}
@@ -159,4 +159,20 @@ public class LogoutManagerImplTests {
         final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
         assertEquals(1, logoutRequests.size());
     }
+
+    @Test
+    public void verifyFailedLogoutIsQueuedForRetryWithoutDispatcher() {
+        this.registeredService.setLogoutType(LogoutType.BACK_CHANNEL);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final DefaultLogoutRequestRetryQueue queue = new DefaultLogoutRequestRetryQueue(100);
+        final DefaultSingleLogoutServiceMessageHandler handler =
+                DefaultSingleLogoutServiceMessageHandler.class.cast(this.logoutManager.getSingleLogoutServiceMessageHandler());
+        handler.setRetryQueue(queue);
+        assertNull(handler.getDispatcher());
+
+        final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(1, logoutRequests.size());
+        assertEquals(LogoutRequestStatus.FAILURE, logoutRequests.iterator().next().getStatus());
+        assertEquals(1, queue.size());
+    }
 }
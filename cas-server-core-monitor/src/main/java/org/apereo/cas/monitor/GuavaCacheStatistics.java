@@ -0,0 +1,107 @@
+package org.apereo.cas.monitor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+
+import java.util.Formatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache statistics of a Guava {@link Cache}. In addition to size and evictions,
+ * statistics report hit and miss counts, and the average time spent loading entries.
+ * Hit, miss and load statistics are only available if the cache records statistics.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class GuavaCacheStatistics implements CacheStatistics {
+    private static final int PERCENTAGE_VALUE = 100;
+
+    private final long size;
+
+    private final long capacity;
+
+    private final CacheStats stats;
+
+    private final String name;
+
+    /**
+     * Creates a new instance from a snapshot of the given cache.
+     *
+     * @param cache    the cache
+     * @param capacity the maximum number of entries the cache may hold
+     * @param name     the name of the cache
+     */
+    public GuavaCacheStatistics(final Cache<?, ?> cache, final long capacity, final String name) {
+        this.size = cache.size();
+        this.capacity = capacity;
+        this.stats = cache.stats();
+        this.name = name;
+    }
+
+    @Override
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public int getPercentFree() {
+        if (this.capacity == 0) {
+            return 0;
+        }
+        return (int) ((this.capacity - this.size) * PERCENTAGE_VALUE / this.capacity);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    public long getLoadExceptionCount() {
+        return this.stats.loadExceptionCount();
+    }
+
+    /**
+     * Gets the average time spent loading entries, in milliseconds.
+     *
+     * @return the average load time
+     */
+    public double getAverageLoadPenalty() {
+        return this.stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public void toString(final StringBuilder builder) {
+        if (this.name != null) {
+            builder.append(this.name).append(':');
+        }
+        builder.append(this.size).append(" items, ");
+        builder.append(getPercentFree()).append("% free, ");
+        builder.append(getEvictions()).append(" evictions, ");
+        builder.append(getHitCount()).append(" hits, ");
+        builder.append(getMissCount()).append(" misses, ");
+        builder.append(getLoadExceptionCount()).append(" load failures, ");
+        try (Formatter formatter = new Formatter(builder)) {
+            formatter.format("%.2f", getAverageLoadPenalty());
+            builder.append("ms average load time");
+        }
+    }
+}
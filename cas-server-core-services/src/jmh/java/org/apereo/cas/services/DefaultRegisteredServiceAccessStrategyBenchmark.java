@@ -0,0 +1,117 @@
+package org.apereo.cas.services;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.Sets;
+import org.apereo.cas.util.RegexUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks the evaluation of attribute rules by {@link DefaultRegisteredServiceAccessStrategy},
+ * against the previous evaluation that compiled patterns and copied attribute values on every request.
+ * Run with {@code gradlew :cas-server-core-services:jmh}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DefaultRegisteredServiceAccessStrategyBenchmark {
+
+    @Param({"5", "25", "50"})
+    private int rules;
+
+    private Map<String, Set<String>> requiredAttributes;
+
+    private Map<String, Set<String>> rejectedAttributes;
+
+    private Map<String, Object> principalAttributes;
+
+    private DefaultRegisteredServiceAccessStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        this.requiredAttributes = new HashMap<>();
+        this.rejectedAttributes = new HashMap<>();
+        this.principalAttributes = new HashMap<>();
+        for (int i = 0; i < this.rules; i++) {
+            if (i % 2 == 0) {
+                this.requiredAttributes.put("required" + i, Sets.newHashSet("^group-" + i + "-\\d+$", "^admin-.+", "staff"));
+            } else {
+                this.requiredAttributes.put("required" + i, Sets.newHashSet("[literal-" + i, "(other-" + i));
+            }
+            this.rejectedAttributes.put("rejected" + i, Sets.newHashSet("^banned-.+", "suspended"));
+
+            final List<String> values = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                values.add("value-" + i + '-' + j);
+            }
+            this.principalAttributes.put("required" + i, values);
+            this.principalAttributes.put("rejected" + i, "active");
+        }
+        this.principalAttributes.put("required" + (this.rules - 1), "[literal-" + (this.rules - 1));
+
+        this.strategy = new DefaultRegisteredServiceAccessStrategy();
+        this.strategy.setRequireAllAttributes(true);
+        this.strategy.setRequiredAttributes(this.requiredAttributes);
+        this.strategy.setRejectedAttributes(this.rejectedAttributes);
+    }
+
+    @Benchmark
+    public boolean compiledRules() {
+        return this.strategy.doPrincipalAttributesAllowServiceAccess("casuser", this.principalAttributes);
+    }
+
+    @Benchmark
+    public boolean uncompiledRules() {
+        return !matchUncompiled(this.rejectedAttributes, this.principalAttributes)
+                && matchUncompiled(this.requiredAttributes, this.principalAttributes);
+    }
+
+    private static boolean matchUncompiled(final Map<String, Set<String>> rules, final Map<String, Object> principalAttributes) {
+        final Set<String> copy = Sets.intersection(rules.keySet(), principalAttributes.keySet()).immutableCopy();
+        if (copy.size() < rules.size()) {
+            return false;
+        }
+        return copy.stream().filter(key -> {
+            final Set<String> values = rules.get(key);
+            final Set<String> availableValues;
+            final Object objVal = principalAttributes.get(key);
+            if (objVal instanceof Collection) {
+                availableValues = Sets.newHashSet(((Collection) objVal).iterator());
+            } else {
+                availableValues = Sets.newHashSet(objVal.toString());
+            }
+            final Set<?> differenceInValues;
+            final Pattern pattern = RegexUtils.concatenate(values, false);
+            if (pattern != null) {
+                differenceInValues = Sets.filter(availableValues, Predicates.contains(pattern));
+            } else {
+                differenceInValues = Sets.intersection(availableValues, values);
+            }
+            return !differenceInValues.isEmpty();
+        }).findFirst().isPresent();
+    }
+}
@@ -11,13 +11,19 @@ import org.apereo.cas.authentication.support.CasAttributeEncoder;
 import org.apereo.cas.authentication.support.DefaultCasAttributeEncoder;
 import org.apereo.cas.authentication.support.NoOpCasAttributeEncoder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.services.ServiceRegistryProperties;
+import org.apereo.cas.monitor.Monitor;
 import org.apereo.cas.services.AbstractResourceBasedServiceRegistryDao;
 import org.apereo.cas.services.DefaultServicesManagerImpl;
 import org.apereo.cas.services.InMemoryServiceRegistryDaoImpl;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RemoteEndpointServiceAccessDecisionCache;
+import org.apereo.cas.services.RemoteEndpointServiceAccessDecisionMonitor;
 import org.apereo.cas.services.ServiceRegistryDao;
 import org.apereo.cas.services.ServiceRegistryInitializer;
+import org.apereo.cas.services.ServiceRegistryWatcherMonitor;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.services.DefaultRegisteredServiceCipherExecutor;
 import org.apereo.cas.util.services.RegisteredServiceJsonSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +57,10 @@ public class CasCoreServicesConfiguration {
     @Autowired
     private ApplicationContext context;
 
+    @Autowired(required = false)
+    @Qualifier("noRedirectHttpClient")
+    private HttpClient noRedirectHttpClient;
+
     @RefreshScope
     @Bean
     public MultifactorTriggerSelectionStrategy defaultMultifactorTriggerSelectionStrategy() {
@@ -98,9 +108,32 @@ public class CasCoreServicesConfiguration {
                                            final ServiceRegistryDao serviceRegistryDao) {
         final DefaultServicesManagerImpl impl = new DefaultServicesManagerImpl();
         impl.setServiceRegistryDao(serviceRegistryDao);
+        impl.setMatchingCacheSize(casProperties.getServiceRegistry().getMatchingCacheSize());
         return impl;
     }
 
+    @Bean
+    public RemoteEndpointServiceAccessDecisionCache remoteEndpointServiceAccessDecisionCache() {
+        final ServiceRegistryProperties.RemoteEndpointAccess props = casProperties.getServiceRegistry().getRemoteEndpointAccess();
+        final RemoteEndpointServiceAccessDecisionCache cache = new RemoteEndpointServiceAccessDecisionCache(
+                this.noRedirectHttpClient, props.getCacheTimeToLiveInSeconds(), props.getNegativeCacheTimeToLiveInSeconds(),
+                props.getCacheMaximumSize(), props.getThreads(), props.getQueueCapacity());
+        cache.setDefaultTimeout(props.getTimeout());
+        cache.setFailureThreshold(props.getFailureThreshold());
+        cache.setCircuitBreakerDelay(props.getCircuitBreakerDelayInSeconds());
+        return cache;
+    }
+
+    @Bean
+    public Monitor remoteEndpointServiceAccessDecisionMonitor() {
+        return new RemoteEndpointServiceAccessDecisionMonitor(remoteEndpointServiceAccessDecisionCache());
+    }
+
+    @Bean
+    public Monitor serviceRegistryWatcherMonitor(@Qualifier("serviceRegistryDao") final ServiceRegistryDao serviceRegistryDao) {
+        return new ServiceRegistryWatcherMonitor(serviceRegistryDao);
+    }
+
     @ConditionalOnMissingBean(name = "serviceRegistryDao")
     @Bean(name = {"serviceRegistryDao", "inMemoryServiceRegistryDao"})
     public ServiceRegistryDao inMemoryServiceRegistryDao() {
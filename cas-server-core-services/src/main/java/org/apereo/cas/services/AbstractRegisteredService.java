@@ -1,5 +1,6 @@
 package org.apereo.cas.services;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang3.builder.CompareToBuilder;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -21,6 +22,8 @@ import javax.persistence.JoinTable;
 import javax.persistence.Lob;
 import javax.persistence.OneToMany;
 import javax.persistence.PostLoad;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 import java.net.URL;
 import java.util.HashMap;
@@ -125,6 +128,14 @@ public abstract class AbstractRegisteredService implements RegisteredService, Co
     @JoinTable(name="RegisteredServiceImpl_Props")
     private Map<String, DefaultRegisteredServiceProperty> properties = new HashMap<>();
 
+    /**
+     * Time of the last modification of this service definition in the data store,
+     * used by service registries to detect changes. Not part of the service definition itself.
+     * Persisted by the JPA service registry, whose existing schemas need the column added.
+     */
+    @Column(name = "last_modified", nullable = true)
+    private Long lastModified;
+
     @Override
     public long getId() {
         return this.id;
@@ -165,6 +176,15 @@ public abstract class AbstractRegisteredService implements RegisteredService, Co
         return this.logoutUrl;
     }
 
+    /**
+     * Records the time of modification before the service is persisted. Only triggered by JPA.
+     */
+    @PrePersist
+    @PreUpdate
+    public void prePersist() {
+        this.lastModified = System.currentTimeMillis();
+    }
+
     /**
      * Initializes the registered service with default values
      * for fields that are unspecified. Only triggered by JPA.
@@ -483,4 +503,13 @@ public abstract class AbstractRegisteredService implements RegisteredService, Co
     public void setMultifactorPolicy(final RegisteredServiceMultifactorPolicy multifactorPolicy) {
         this.multifactorPolicy = multifactorPolicy;
     }
+
+    @JsonIgnore
+    public Long getLastModified() {
+        return this.lastModified;
+    }
+
+    public void setLastModified(final Long lastModified) {
+        this.lastModified = lastModified;
+    }
 }
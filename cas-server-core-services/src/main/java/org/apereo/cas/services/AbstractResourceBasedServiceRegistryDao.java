@@ -1,6 +1,6 @@
 package org.apereo.cas.services;
 
-import org.apache.commons.io.FileUtils;
+import com.google.common.base.Throwables;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.util.LockedOutputStream;
 import org.apereo.cas.util.ResourceUtils;
@@ -13,19 +13,31 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.Watchable;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link AbstractResourceBasedServiceRegistryDao}.
@@ -33,7 +45,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
-public abstract class AbstractResourceBasedServiceRegistryDao implements ResourceBasedServiceRegistryDao {
+public abstract class AbstractResourceBasedServiceRegistryDao implements ResourceBasedServiceRegistryDao,
+        IncrementalServiceRegistryDao {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractResourceBasedServiceRegistryDao.class);
 
@@ -46,6 +59,11 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
      * Map of service ID to registered service.
      */
     private Map<Long, RegisteredService> serviceMap = new ConcurrentHashMap<>();
+
+    /**
+     * Map of service definition file to the state of the file when it was last loaded.
+     */
+    private Map<File, ServiceDefinitionFile> serviceFiles = new ConcurrentHashMap<>();
     
     /**
      * The Registered service json serializer.
@@ -56,8 +74,13 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
 
     private ServiceRegistryConfigWatcher serviceRegistryConfigWatcher;
 
-    @Autowired
+    private final AtomicLong changesApplied = new AtomicLong();
+
     private ApplicationEventPublisher eventPublisher;
+
+    private int loadParallelism = Runtime.getRuntime().availableProcessors();
+
+    private ForkJoinPool loadPool;
     
     /**
      * Instantiates a new service registry dao.
@@ -113,8 +136,72 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
      */
     @PreDestroy
     public void destroy() {
-        this.serviceRegistryConfigWatcher.close();
-        this.serviceRegistryWatcherThread.interrupt();
+        if (this.serviceRegistryConfigWatcher != null) {
+            this.serviceRegistryConfigWatcher.close();
+            this.serviceRegistryWatcherThread.interrupt();
+        }
+        synchronized (this) {
+            if (this.loadPool != null) {
+                this.loadPool.shutdown();
+                this.loadPool = null;
+            }
+        }
+    }
+
+    /**
+     * Sets the event publisher, and hands it over to the watcher thread if one is running.
+     *
+     * @param eventPublisher the event publisher
+     */
+    @Autowired
+    public void setEventPublisher(final ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        if (this.serviceRegistryConfigWatcher != null) {
+            this.serviceRegistryConfigWatcher.setApplicationEventPublisher(eventPublisher);
+        }
+    }
+
+    /**
+     * Sets the period, in milliseconds, during which the service registry directory must remain
+     * unchanged before the watcher processes the changes it has collected.
+     *
+     * @param watcherQuietPeriod the watcher quiet period
+     */
+    public void setWatcherQuietPeriod(final long watcherQuietPeriod) {
+        if (this.serviceRegistryConfigWatcher != null) {
+            this.serviceRegistryConfigWatcher.setQuietPeriod(watcherQuietPeriod);
+        }
+    }
+
+    /**
+     * Sets the maximum number of threads used to read and deserialize service definition files.
+     * A value that is zero or negative defaults to the number of available processors.
+     *
+     * @param loadParallelism the load parallelism
+     */
+    public void setLoadParallelism(final int loadParallelism) {
+        this.loadParallelism = loadParallelism > 0 ? loadParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Gets the number of watch events received for the service registry directory.
+     *
+     * @return the watch events received, or zero if the directory is not watched
+     */
+    public long getWatchEventsReceived() {
+        return this.serviceRegistryConfigWatcher != null ? this.serviceRegistryConfigWatcher.getEventsReceived() : 0;
+    }
+
+    /**
+     * Gets the number of reloads that applied changes to registered services.
+     * Reloads that found every service definition unchanged are not counted.
+     *
+     * @return the reloads applied
+     */
+    public long getReloadsApplied() {
+        final long watcherReloads = this.serviceRegistryConfigWatcher != null
+                ? this.serviceRegistryConfigWatcher.getReloadsPerformed() : 0;
+        return this.changesApplied.get() + watcherReloads;
     }
 
     @Override
@@ -141,6 +228,7 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
                 LOGGER.warn("Failed to delete service definition file [{}]", f.getCanonicalPath());
             } else {
                 this.serviceMap.remove(service.getId());
+                this.serviceFiles.remove(f);
                 LOGGER.debug("Successfully deleted service definition file [{}]", f.getCanonicalPath());
             }
             return result;
@@ -152,26 +240,28 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
     @Override
     public synchronized List<RegisteredService> load() {
         final Map<Long, RegisteredService> temp = new ConcurrentHashMap<>();
+        final Map<File, ServiceDefinitionFile> files = new ConcurrentHashMap<>();
         final int[] errorCount = {0};
-        final Collection<File> c = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true);
-        c.stream().filter(file -> file.length() > 0).forEach(file -> {
-            final RegisteredService service = load(file);
+        final long start = System.nanoTime();
+        final List<ServiceDefinitionLoadResult> results = loadServiceDefinitions(listServiceDefinitionFiles());
+        results.forEach(result -> {
+            final RegisteredService service = result.getService();
             if (service == null) {
-                LOGGER.warn("Could not load service definition from file {}", file);
+                LOGGER.warn("Could not load service definition from file {}", result.getFile());
                 errorCount[0]++;
             } else {
                 if (temp.containsKey(service.getId())) {
-                    LOGGER.warn("Found a service definition [{}] with a duplicate id [{}]. "
-                                    + "This will overwrite previous service definitions and is likely a "
-                                    + "configuration problem. Make sure all services have a unique id and try again.",
-                            service.getServiceId(), service.getId());
+                    warnDuplicateServiceId(service);
                 }
                 temp.put(service.getId(), service);
+                files.put(result.getFile(), result.getState().withServiceId(service.getId()));
             }
         });
+        logLoadStatistics(results, start);
 
         if (errorCount[0] == 0) {
             this.serviceMap = temp;
+            this.serviceFiles = files;
         } else {
             LOGGER.warn("{} errors encountered when loading service definitions. New definitions are not loaded until errors are "
                     + "corrected", errorCount[0]);
@@ -179,6 +269,181 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
         return new ArrayList(this.serviceMap.values());
     }
 
+    /**
+     * {@inheritDoc}
+     * Changes are detected by comparing the size and last-modified time of each service definition file
+     * against what was recorded before the file was last read. Only new or changed files are read and deserialized.
+     * Files that fail to load, or that are still present but can no longer be listed, such as files that are being
+     * rewritten and are momentarily empty, keep their previous definitions and are retried on the next pass.
+     */
+    @Override
+    public synchronized RegisteredServiceChangeSet loadChanges() {
+        final Map<File, ServiceDefinitionFile> files = new ConcurrentHashMap<>();
+        final List<RegisteredService> updated = new ArrayList<>();
+        final List<File> modified = new ArrayList<>();
+
+        final List<File> listed = listServiceDefinitionFiles();
+        listed.forEach(file -> {
+            final ServiceDefinitionFile previous = this.serviceFiles.get(file);
+            if (previous != null && !previous.isModified(file)) {
+                files.put(file, previous);
+            } else {
+                modified.add(file);
+            }
+        });
+
+        final Set<File> listedFiles = new HashSet<>(listed);
+        this.serviceFiles.forEach((file, previous) -> {
+            if (!listedFiles.contains(file) && file.exists()) {
+                LOGGER.warn("Service definition file {} cannot be loaded at this time. Previous definition is kept", file);
+                files.put(file, previous);
+            }
+        });
+
+        final long start = System.nanoTime();
+        final List<ServiceDefinitionLoadResult> results = loadServiceDefinitions(modified);
+        results.forEach(result -> {
+            final File file = result.getFile();
+            final ServiceDefinitionFile previous = this.serviceFiles.get(file);
+            final RegisteredService service = result.getService();
+            if (service == null) {
+                LOGGER.warn("Could not load service definition from file {}. Previous definition, if any, is kept", file);
+                if (previous != null) {
+                    files.put(file, previous);
+                }
+            } else {
+                LOGGER.debug("Service definition file [{}] has changed and is reloaded", file);
+                files.put(file, result.getState().withServiceId(service.getId()));
+                updated.add(service);
+            }
+        });
+        if (!results.isEmpty()) {
+            logLoadStatistics(results, start);
+        }
+
+        final Map<Long, Long> ids = files.values().stream()
+                .collect(Collectors.groupingBy(ServiceDefinitionFile::getServiceId, Collectors.counting()));
+        updated.stream().filter(service -> ids.get(service.getId()) > 1).forEach(this::warnDuplicateServiceId);
+
+        final Set<Long> deleted = this.serviceFiles.values().stream()
+                .map(ServiceDefinitionFile::getServiceId)
+                .filter(id -> !ids.containsKey(id))
+                .collect(Collectors.toSet());
+
+        updated.forEach(service -> this.serviceMap.put(service.getId(), service));
+        deleted.forEach(this.serviceMap::remove);
+        this.serviceFiles = files;
+
+        if (updated.isEmpty() && deleted.isEmpty()) {
+            return RegisteredServiceChangeSet.empty();
+        }
+        LOGGER.debug("Detected {} updated and {} deleted service definitions", updated.size(), deleted.size());
+        this.changesApplied.incrementAndGet();
+        return new RegisteredServiceChangeSet(updated, deleted);
+    }
+
+    /**
+     * Walk the service registry directory and collect all non-empty service definition files.
+     * Entries that disappear or cannot be read while the directory is walked are skipped.
+     *
+     * @return the service definition files
+     */
+    private List<File> listServiceDefinitionFiles() {
+        final String suffix = '.' + getExtension();
+        final List<File> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(this.serviceRegistryDirectory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile() && attrs.size() > 0 && file.getFileName().toString().endsWith(suffix)) {
+                                files.add(file.toFile());
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                            LOGGER.debug("Skipping [{}] which cannot be accessed: {}", file, e.getMessage());
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Could not list service definitions in " + this.serviceRegistryDirectory, e);
+        }
+        return files;
+    }
+
+    /**
+     * Load the given service definition files, in parallel when there is more than one file to load.
+     * Results are returned in the same order as the given files, so that duplicate ids are resolved
+     * the same way regardless of the order in which files are actually processed.
+     *
+     * @param files the files
+     * @return the load results
+     */
+    private List<ServiceDefinitionLoadResult> loadServiceDefinitions(final List<File> files) {
+        final int parallelism = Math.min(this.loadParallelism, files.size());
+        if (parallelism <= 1) {
+            return files.stream().map(this::loadServiceDefinition).collect(Collectors.toList());
+        }
+        try {
+            return getLoadPool().submit(() -> files.parallelStream()
+                    .map(this::loadServiceDefinition)
+                    .collect(Collectors.toList())).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading service definitions", e);
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the pool that loads service definition files, created once per registry
+     * and shut down when the registry is destroyed.
+     *
+     * @return the load pool
+     */
+    private synchronized ForkJoinPool getLoadPool() {
+        if (this.loadPool == null) {
+            this.loadPool = new ForkJoinPool(this.loadParallelism);
+        }
+        return this.loadPool;
+    }
+
+    /**
+     * Load a service definition file. The state of the file is recorded before the file is read,
+     * so that a file rewritten while it is being read is seen as modified and read again on the next pass.
+     *
+     * @param file the file
+     * @return the load result
+     */
+    private ServiceDefinitionLoadResult loadServiceDefinition(final File file) {
+        final long start = System.nanoTime();
+        final ServiceDefinitionFile state = new ServiceDefinitionFile(file, RegisteredService.INITIAL_IDENTIFIER_VALUE);
+        final RegisteredService service = load(file);
+        final long elapsed = System.nanoTime() - start;
+        LOGGER.debug("Loaded service definition file [{}] in {} ms", file, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new ServiceDefinitionLoadResult(file, state, service, elapsed);
+    }
+
+    private void logLoadStatistics(final List<ServiceDefinitionLoadResult> results, final long start) {
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        results.stream().max(Comparator.comparingLong(ServiceDefinitionLoadResult::getElapsed)).ifPresent(slowest ->
+                LOGGER.info("Loaded {} service definition file(s) in {} ms using up to {} thread(s). "
+                                + "The slowest file to load was [{}] at {} ms", results.size(), elapsed,
+                        Math.min(this.loadParallelism, results.size()), slowest.getFile(),
+                        TimeUnit.NANOSECONDS.toMillis(slowest.getElapsed())));
+    }
+
+    private void warnDuplicateServiceId(final RegisteredService service) {
+        LOGGER.warn("Found a service definition [{}] with a duplicate id [{}]. "
+                        + "This will overwrite previous service definitions and is likely a "
+                        + "configuration problem. Make sure all services have a unique id and try again.",
+                service.getServiceId(), service.getId());
+    }
+
     /**
      * Load registered service from file.
      *
@@ -202,15 +467,14 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
             return null;
         }
 
-        try (final BufferedInputStream in = new BufferedInputStream(new FileInputStream(file))) {
-            return this.registeredServiceSerializer.from(in);
+        try {
+            return this.registeredServiceSerializer.from(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file {}", file.getName(), e);
         }
         return null;
     }
 
-
     @Override
     public RegisteredService save(final RegisteredService service) {
         if (service.getId() == RegisteredService.INITIAL_IDENTIFIER_VALUE && service instanceof AbstractRegisteredService) {
@@ -229,6 +493,7 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
         } catch (final IOException e) {
             throw new IllegalArgumentException("IO error opening file stream.", e);
         }
+        this.serviceFiles.put(f, new ServiceDefinitionFile(f, service.getId()));
         return findServiceById(service.getId());
     }
 
@@ -270,4 +535,84 @@ public abstract class AbstractResourceBasedServiceRegistryDao implements Resourc
     public void update(final RegisteredService service) {
         this.serviceMap.put(service.getId(), service);
     }
+
+    /**
+     * The outcome of loading a single service definition file.
+     */
+    private static final class ServiceDefinitionLoadResult {
+        private final File file;
+        private final ServiceDefinitionFile state;
+        private final RegisteredService service;
+        private final long elapsed;
+
+        ServiceDefinitionLoadResult(final File file, final ServiceDefinitionFile state,
+                                    final RegisteredService service, final long elapsed) {
+            this.file = file;
+            this.state = state;
+            this.service = service;
+            this.elapsed = elapsed;
+        }
+
+        File getFile() {
+            return this.file;
+        }
+
+        ServiceDefinitionFile getState() {
+            return this.state;
+        }
+
+        RegisteredService getService() {
+            return this.service;
+        }
+
+        long getElapsed() {
+            return this.elapsed;
+        }
+    }
+
+    /**
+     * The state of a service definition file at the time it was loaded.
+     */
+    private static final class ServiceDefinitionFile {
+        private final long serviceId;
+        private final long length;
+        private final long lastModified;
+
+        ServiceDefinitionFile(final File file, final long serviceId) {
+            this(serviceId, file.length(), getLastModified(file));
+        }
+
+        private ServiceDefinitionFile(final long serviceId, final long length, final long lastModified) {
+            this.serviceId = serviceId;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * The same file state, recorded for the given service id.
+         *
+         * @param id the service id
+         * @return the file state
+         */
+        ServiceDefinitionFile withServiceId(final long id) {
+            return new ServiceDefinitionFile(id, this.length, this.lastModified);
+        }
+
+        long getServiceId() {
+            return this.serviceId;
+        }
+
+        boolean isModified(final File file) {
+            return this.length != file.length() || this.lastModified != getLastModified(file);
+        }
+
+        private static long getLastModified(final File file) {
+            try {
+                return Files.getLastModifiedTime(file.toPath()).to(TimeUnit.NANOSECONDS);
+            } catch (final IOException e) {
+                LOGGER.trace("Could not determine last-modified time of [{}]", file, e);
+                return -1;
+            }
+        }
+    }
 }
@@ -1,9 +1,5 @@
 package org.apereo.cas.services;
 
-import org.apereo.cas.util.RegexUtils;
-
-import com.google.common.base.Predicates;
-import com.google.common.collect.Sets;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -11,11 +7,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * This is {@link DefaultRegisteredServiceAccessStrategy}
@@ -72,6 +66,11 @@ public class DefaultRegisteredServiceAccessStrategy implements RegisteredService
      */
     private boolean caseInsensitive;
 
+    /**
+     * Required and rejected attribute rules, compiled on first use.
+     */
+    private transient volatile RegisteredServiceAttributeRules[] compiledRules;
+
     /**
      * Instantiates a new Default registered service authorization strategy.
      * By default, rules indicate that services are both enabled
@@ -155,6 +154,7 @@ public class DefaultRegisteredServiceAccessStrategy implements RegisteredService
      */
     public void setCaseInsensitive(final boolean caseInsensitive) {
         this.caseInsensitive = caseInsensitive;
+        this.compiledRules = null;
     }
 
     /**
@@ -167,6 +167,7 @@ public class DefaultRegisteredServiceAccessStrategy implements RegisteredService
      */
     public void setRequiredAttributes(final Map<String, Set<String>> requiredAttributes) {
         this.requiredAttributes = requiredAttributes;
+        this.compiledRules = null;
     }
 
     /**
@@ -177,10 +178,11 @@ public class DefaultRegisteredServiceAccessStrategy implements RegisteredService
      */
     public void setRejectedAttributes(final Map<String, Set<String>> rejectedAttributes) {
         this.rejectedAttributes = rejectedAttributes;
+        this.compiledRules = null;
     }
 
     public Map<String, Set<String>> getRejectedAttributes() {
-        return this.rejectedAttributes;
+        return new HashMap<>(this.rejectedAttributes);
     }
 
     /**
@@ -230,89 +232,55 @@ public class DefaultRegisteredServiceAccessStrategy implements RegisteredService
     private boolean doRequiredAttributesAllowPrincipalAccess(final Map<String, Object> principalAttributes) {
         LOGGER.debug("These required attributes [{}] are examined against [{}] before service can proceed.",
                 this.requiredAttributes, principalAttributes);
-        final Sets.SetView<String> difference = Sets.intersection(this.requiredAttributes.keySet(), principalAttributes.keySet());
-        final Set<String> copy = difference.immutableCopy();
-
-        if (this.requiredAttributes.isEmpty()) {
+        final RegisteredServiceAttributeRules rules = getCompiledRules()[0];
+        if (rules.isEmpty()) {
             LOGGER.debug("No required attributes are defined");
             return true;
         }
-        
-        if (this.requireAllAttributes && copy.size() < this.requiredAttributes.size()) {
-            LOGGER.debug("Not all required attributes are available to the principal");
-            return false;
+
+        final String attribute = rules.findMatchingAttribute(principalAttributes, this.requireAllAttributes);
+        if (attribute != null) {
+            LOGGER.info("Principal is authorized to access the service");
+            return true;
         }
-        
-        return copy.stream().filter(key -> {
-            final Set<String> requiredValues = this.requiredAttributes.get(key);
-            final Set<String> availableValues;
-
-            final Object objVal = principalAttributes.get(key);
-            if (objVal instanceof Collection) {
-                availableValues = Sets.newHashSet(((Collection) objVal).iterator());
-            } else {
-                availableValues = Sets.newHashSet(objVal.toString());
-            }
-
-            final Set<?> differenceInValues;
-            final Pattern pattern = RegexUtils.concatenate(requiredValues, this.caseInsensitive);
-            if (pattern != null) {
-                differenceInValues = Sets.filter(availableValues, Predicates.contains(pattern));
-            } else {
-                differenceInValues = Sets.intersection(availableValues, requiredValues);
-            }
-
-            if (!differenceInValues.isEmpty()) {
-                LOGGER.info("Principal is authorized to access the service");
-                return true;
-            }
-            return false;
-        }).findFirst().isPresent();
+        return false;
     }
     
     private boolean doRejectedAttributesRefusePrincipalAccess(final Map<String, Object> principalAttributes) {
         LOGGER.debug("These rejected attributes [{}] are examined against [{}] before service can proceed.",
                 this.rejectedAttributes, principalAttributes);
-        final Sets.SetView<String> rejectedDifference = Sets.intersection(this.rejectedAttributes.keySet(), principalAttributes.keySet());
-        final Set<String> rejectedCopy = rejectedDifference.immutableCopy();
-
-        if (this.rejectedAttributes.isEmpty()) {
+        final RegisteredServiceAttributeRules rules = getCompiledRules()[1];
+        if (rules.isEmpty()) {
             LOGGER.debug("No rejected attributes are defined");
             return false;
         }
-        
-        if (this.requireAllAttributes && rejectedCopy.size() < this.rejectedAttributes.size()) {
-            LOGGER.debug("Not all rejected attributes are available to the process");
-            return false;
+
+        final String attribute = rules.findMatchingAttribute(principalAttributes, this.requireAllAttributes);
+        if (attribute != null) {
+            LOGGER.info("Principal is denied access since there are rejected attributes [{}] defined as [{}]",
+                    attribute, principalAttributes.get(attribute));
+            return true;
         }
-        
-        return rejectedCopy.stream().filter(key -> {
-            final Set<String> rejectedValues = this.rejectedAttributes.get(key);
-            final Set<String> availableValues;
-
-            final Object objVal = principalAttributes.get(key);
-            if (objVal instanceof Collection) {
-                availableValues = Sets.newHashSet(((Collection) objVal).iterator());
-            } else {
-                availableValues = Sets.newHashSet(objVal.toString());
-            }
-
-            final Set<?> differenceInValues;
-            final Pattern pattern = RegexUtils.concatenate(rejectedValues, this.caseInsensitive);
-            if (pattern != null) {
-                differenceInValues = Sets.filter(availableValues, Predicates.contains(pattern));
-            } else {
-                differenceInValues = Sets.intersection(availableValues, rejectedValues);
-            }
-
-            if (!differenceInValues.isEmpty()) {
-                LOGGER.info("Principal is denied access since there are rejected attributes [{}] defined as [{}}",
-                        key, differenceInValues);
-                return true;
-            }
-            return false;
-        }).findFirst().isPresent();
+        return false;
+    }
+
+    /**
+     * Gets the compiled required and rejected attribute rules, in that order.
+     * Rules are compiled once, and compiled again once their definition changes.
+     *
+     * @return the compiled rules
+     */
+    private RegisteredServiceAttributeRules[] getCompiledRules() {
+        RegisteredServiceAttributeRules[] rules = this.compiledRules;
+        if (rules == null) {
+            rules = new RegisteredServiceAttributeRules[] {
+                    new RegisteredServiceAttributeRules(this.requiredAttributes, this.caseInsensitive),
+                    new RegisteredServiceAttributeRules(this.rejectedAttributes, this.caseInsensitive)};
+            this.compiledRules = rules;
+        }
+        return rules;
     }
+
     /**
      * Enough attributes available to process? Check collection sizes and determine
      * if we have enough data to move on. 
@@ -17,7 +17,6 @@ import org.springframework.scheduling.annotation.Scheduled;
 import javax.annotation.PostConstruct;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -42,6 +41,13 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     private ConcurrentMap<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    private long matchingCacheSize = RegisteredServiceMatchingIndex.DEFAULT_CACHE_SIZE;
+
+    private boolean loaded;
+
+    private volatile RegisteredServicesSnapshot snapshot =
+            new RegisteredServicesSnapshot(0, Collections.emptyList(), this.matchingCacheSize);
+
     public DefaultServicesManagerImpl() {
     }
 
@@ -58,6 +64,10 @@ public class DefaultServicesManagerImpl implements ServicesManager {
         this.serviceRegistryDao = serviceRegistryDao;
     }
 
+    public void setMatchingCacheSize(final long matchingCacheSize) {
+        this.matchingCacheSize = matchingCacheSize;
+    }
+
     @Audit(action = "DELETE_SERVICE", actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
             resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
     @Override
@@ -69,6 +79,7 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
         this.serviceRegistryDao.delete(r);
         this.services.remove(id);
+        publishSnapshot();
 
         publishEvent(new CasRegisteredServiceDeletedEvent(this, r));
         return r;
@@ -77,30 +88,27 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     @Override
     public RegisteredService findServiceBy(final Service service) {
-        final TreeSet<RegisteredService> c = convertToTreeSet();
-        return c.stream().filter(r -> r.matches(service)).findFirst().orElse(null);
+        return this.snapshot.getMatchingIndex().find(service);
     }
 
     @Override
     public Collection<RegisteredService> findServiceBy(final Predicate<RegisteredService> predicate) {
-        final Collection<RegisteredService> c = convertToTreeSet();
-        final Iterator<RegisteredService> it = c.iterator();
-        while (it.hasNext()) {
-            if (!predicate.apply(it.next())) {
-                it.remove();
-            }
-        }
-        return c;
+        return this.snapshot.getServices().stream().filter(predicate::apply).collect(Collectors.toList());
     }
 
     @Override
     public RegisteredService findServiceBy(final long id) {
-        final RegisteredService r = this.services.get(id);
+        return this.snapshot.findServiceBy(id);
+    }
+
+    @Override
+    public RegisteredService findServiceCopyBy(final long id) {
+        final RegisteredService r = this.snapshot.findServiceBy(id);
 
         try {
             return r == null ? null : r.clone();
         } catch (final CloneNotSupportedException e) {
-            return r;
+            throw new IllegalStateException("Registered service " + id + " cannot be copied", e);
         }
     }
 
@@ -115,7 +123,21 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     @Override
     public Collection<RegisteredService> getAllServices() {
-        return Collections.unmodifiableCollection(convertToTreeSet());
+        return this.snapshot.getServices();
+    }
+
+    @Override
+    public long getVersion() {
+        return this.snapshot.getVersion();
+    }
+
+    /**
+     * Gets the current snapshot of registered services.
+     *
+     * @return the snapshot
+     */
+    public RegisteredServicesSnapshot getSnapshot() {
+        return this.snapshot;
     }
 
     @Override
@@ -129,28 +151,64 @@ public class DefaultServicesManagerImpl implements ServicesManager {
     public synchronized RegisteredService save(final RegisteredService registeredService) {
         final RegisteredService r = this.serviceRegistryDao.save(registeredService);
         this.services.put(r.getId(), r);
+        publishSnapshot();
         publishEvent(new CasRegisteredServiceSavedEvent(this, r));
         return r;
     }
     
     /**
      * Load services that are provided by the DAO.
+     * If the DAO is able to detect changes to its data store, only the changes
+     * made since the previous load are fetched and applied, once services have been fully loaded.
      */
     @Scheduled(initialDelayString = "${cas.serviceRegistry.startDelay:20000}",
             fixedDelayString = "${cas.serviceRegistry.repeatInterval:60000}")
     @Override
     @PostConstruct
-    public void load() {
+    public synchronized void load() {
+        if (this.loaded && this.serviceRegistryDao instanceof IncrementalServiceRegistryDao) {
+            loadChanges((IncrementalServiceRegistryDao) this.serviceRegistryDao);
+            return;
+        }
+        loadAll();
+    }
+
+    /**
+     * Fully load services that are provided by the DAO, regardless of
+     * the DAO's ability to detect changes.
+     */
+    public synchronized void loadAll() {
         LOGGER.debug("Loading services from {}", this.serviceRegistryDao);
         this.services = this.serviceRegistryDao.load().stream()
                 .collect(Collectors.toConcurrentMap(r -> {
                     LOGGER.debug("Adding registered service {}", r.getServiceId());
                     return r.getId();
                 }, r -> r, (r, s) -> s == null ? r : s == null ? r : s));
+        publishSnapshot();
+        this.loaded = true;
         LOGGER.info("Loaded {} services from {}.", this.services.size(),
                 this.serviceRegistryDao);
 
     }
+
+    private void loadChanges(final IncrementalServiceRegistryDao dao) {
+        LOGGER.debug("Loading service changes from {}", dao);
+        final RegisteredServiceChangeSet changes = dao.loadChanges();
+        if (changes.isEmpty()) {
+            LOGGER.debug("No service changes found in {}", dao);
+            return;
+        }
+        changes.getUpdatedServices().forEach(r -> {
+            LOGGER.debug("Updating registered service {}", r.getServiceId());
+            this.services.put(r.getId(), r);
+        });
+        changes.getDeletedServices().forEach(id -> {
+            LOGGER.debug("Removing registered service {}", id);
+            this.services.remove(id);
+        });
+        publishSnapshot();
+        LOGGER.info("Applied {} to {} services from {}.", changes, this.services.size(), dao);
+    }
     
     /**
      * Handle services manager refresh event.
@@ -162,6 +220,15 @@ public class DefaultServicesManagerImpl implements ServicesManager {
         load();
     }
     
+    /**
+     * Publish a new immutable snapshot of the current set of registered services,
+     * replacing the previous one atomically. Callers must hold the lock on this instance.
+     */
+    private void publishSnapshot() {
+        this.snapshot = new RegisteredServicesSnapshot(this.snapshot.getVersion() + 1,
+                this.services.values(), this.matchingCacheSize);
+    }
+
     private void publishEvent(final ApplicationEvent event) {
         if (this.eventPublisher != null) {
             this.eventPublisher.publishEvent(event);
@@ -0,0 +1,120 @@
+package org.apereo.cas.services;
+
+import com.google.common.collect.ImmutableSet;
+import org.apereo.cas.util.RegexUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link RegisteredServiceAttributeRules}, an immutable and compiled form
+ * of the attribute rules defined by an access strategy, such as required or rejected attributes.
+ * <p>
+ * Rule values that form a valid regular expression when combined are compiled into a single
+ * pattern once, and are matched against attribute values using a partial match. Otherwise,
+ * rule values are held in a hash set and matched literally. Evaluation does not copy
+ * principal attributes or their values.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public final class RegisteredServiceAttributeRules {
+
+    private final Rule[] rules;
+
+    /**
+     * Compile attribute rules.
+     *
+     * @param rules           the rules, keyed by attribute name
+     * @param caseInsensitive whether patterns should match values in a case-insensitive manner
+     */
+    public RegisteredServiceAttributeRules(final Map<String, Set<String>> rules, final boolean caseInsensitive) {
+        this.rules = rules.entrySet().stream()
+                .map(entry -> new Rule(entry.getKey(), entry.getValue(), caseInsensitive))
+                .toArray(Rule[]::new);
+    }
+
+    /**
+     * Whether no rules are defined.
+     *
+     * @return true if there are no rules
+     */
+    public boolean isEmpty() {
+        return this.rules.length == 0;
+    }
+
+    /**
+     * Number of rules, which is the number of attributes they examine.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.rules.length;
+    }
+
+    /**
+     * Find the first attribute whose values match the rules.
+     * If all attributes are required to be present and one is missing, no attribute matches.
+     *
+     * @param principalAttributes  the principal attributes
+     * @param requireAllAttributes whether all attributes defined by rules must be present
+     * @return the name of the matching attribute, or null if none matches
+     */
+    public String findMatchingAttribute(final Map<String, Object> principalAttributes, final boolean requireAllAttributes) {
+        if (requireAllAttributes) {
+            for (final Rule rule : this.rules) {
+                if (!principalAttributes.containsKey(rule.name)) {
+                    return null;
+                }
+            }
+        }
+        for (final Rule rule : this.rules) {
+            final Object value = principalAttributes.get(rule.name);
+            if (value != null && rule.matches(value)) {
+                return rule.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A compiled rule for a single attribute.
+     */
+    private static final class Rule {
+        private final String name;
+
+        private final Pattern pattern;
+
+        private final Set<String> values;
+
+        Rule(final String name, final Set<String> values, final boolean caseInsensitive) {
+            this.name = name;
+            this.pattern = RegexUtils.concatenate(values, caseInsensitive);
+            this.values = this.pattern == null ? ImmutableSet.copyOf(values) : ImmutableSet.of();
+        }
+
+        boolean matches(final Object attributeValue) {
+            if (attributeValue instanceof Collection) {
+                for (final Object value : (Collection<?>) attributeValue) {
+                    if (matchesValue(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return matchesValue(attributeValue.toString());
+        }
+
+        private boolean matchesValue(final Object value) {
+            if (value == null) {
+                return false;
+            }
+            if (this.pattern != null) {
+                return this.pattern.matcher(value.toString()).find();
+            }
+            return this.values.contains(value);
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package org.apereo.cas.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.util.RegexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}, an immutable compiled view of
+ * registered services that is used to locate the registered service matching a given service.
+ * <p>
+ * Service ids of {@link RegexRegisteredService} definitions are analyzed once at construction time.
+ * Pure literal patterns are placed into an exact-match table, patterns that consist of a literal
+ * prefix followed by {@code .*} are placed into a prefix trie, and patterns that pin down
+ * a literal host after the scheme are bucketed by that host. Everything else is evaluated as a
+ * regular expression in the usual way. Candidates produced by the index are always evaluated
+ * in the original evaluation order, so that the result is identical to a linear scan
+ * over the sorted collection of services. Results are remembered in a bounded cache
+ * keyed by the service id, which is discarded alongside the index on every rebuild.
+ * <p>
+ * Since Java regular expressions created via {@link RegexUtils#createPattern(String)}
+ * are only case insensitive for US-ASCII characters, all lookups fold case for ASCII characters only.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RegisteredServiceMatchingIndex {
+
+    /**
+     * Default number of service ids whose matching results are remembered.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegisteredServiceMatchingIndex.class);
+
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private static final String ESCAPED_SCHEME_SEPARATOR = ":\\/\\/";
+
+    private static final String REGEX_META_CHARACTERS = ".[]{}()*+?^$|\\";
+
+    private static final ConcurrentMap<Class<?>, Boolean> REGEX_MATCHING_TYPES = new ConcurrentHashMap<>();
+
+    private static final int[] EMPTY = new int[0];
+
+    private final RegisteredService[] services;
+
+    private final MatchingStrategy[] strategies;
+
+    private final int[] prefixLengths;
+
+    private final Map<String, Integer> exactMatches = new HashMap<>();
+
+    private final TrieNode prefixes = new TrieNode();
+
+    private final Map<String, int[]> hosts = new HashMap<>();
+
+    private final int[] unindexed;
+
+    private final Cache<String, Optional<RegisteredService>> cache;
+
+    /**
+     * Instantiates a new matching index with the default cache size.
+     *
+     * @param registeredServices the registered services, sorted by evaluation order
+     */
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> registeredServices) {
+        this(registeredServices, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Instantiates a new matching index.
+     *
+     * @param registeredServices the registered services, sorted by evaluation order
+     * @param cacheSize          the maximum number of service ids whose results are cached;
+     *                           zero or less disables the cache.
+     */
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> registeredServices, final long cacheSize) {
+        this.services = registeredServices.toArray(new RegisteredService[registeredServices.size()]);
+        this.strategies = new MatchingStrategy[this.services.length];
+        this.prefixLengths = new int[this.services.length];
+
+        final Map<String, List<Integer>> hostBuckets = new HashMap<>();
+        final List<Integer> fallback = new ArrayList<>();
+        boolean cacheable = true;
+
+        for (int i = 0; i < this.services.length; i++) {
+            final RegisteredService registeredService = this.services[i];
+            if (!isRegexMatchingType(registeredService)) {
+                LOGGER.trace("Registered service [{}] provides its own matching logic and cannot be indexed",
+                        registeredService.getServiceId());
+                this.strategies[i] = MatchingStrategy.OPAQUE;
+                fallback.add(i);
+                cacheable = false;
+                continue;
+            }
+
+            final String serviceId = registeredService.getServiceId();
+            if (!RegexUtils.isValidRegex(serviceId)) {
+                LOGGER.trace("Registered service [{}] has an invalid pattern and will never match", serviceId);
+                this.strategies[i] = MatchingStrategy.NEVER;
+                continue;
+            }
+            indexPattern(i, serviceId, hostBuckets, fallback);
+        }
+
+        hostBuckets.forEach((host, positions) -> this.hosts.put(host, toArray(positions)));
+        this.unindexed = toArray(fallback);
+        this.prefixes.compact();
+
+        if (cacheable && cacheSize > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        } else {
+            this.cache = null;
+        }
+        LOGGER.debug("Indexed {} registered services with {} exact, {} host-based and {} unindexed entries",
+                this.services.length, this.exactMatches.size(), this.hosts.size(), this.unindexed.length);
+    }
+
+    /**
+     * Find the registered service that matches the given service,
+     * honoring the evaluation order of registered services.
+     *
+     * @param service the service
+     * @return the registered service, or null if none matches.
+     */
+    public RegisteredService find(final Service service) {
+        if (service == null || service.getId() == null) {
+            return Arrays.stream(this.services).filter(r -> r.matches(service)).findFirst().orElse(null);
+        }
+        if (this.cache == null) {
+            return locate(service);
+        }
+        final Optional<RegisteredService> result = this.cache.getIfPresent(service.getId());
+        if (result != null) {
+            return result.orElse(null);
+        }
+        final RegisteredService registeredService = locate(service);
+        this.cache.put(service.getId(), Optional.ofNullable(registeredService));
+        return registeredService;
+    }
+
+    /**
+     * Number of registered services held by this index.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.services.length;
+    }
+
+    private RegisteredService locate(final Service service) {
+        final String serviceId = service.getId();
+        final String normalized = toLowerCaseAscii(serviceId);
+
+        final Integer exact = this.exactMatches.get(normalized);
+        final int upperBound = exact == null ? this.services.length : exact;
+
+        int[] candidates = new int[16];
+        int count = 0;
+
+        TrieNode node = this.prefixes;
+        for (int i = 0; node != null; i++) {
+            for (final int position : node.positions) {
+                if (position < upperBound) {
+                    candidates = ensureCapacity(candidates, count);
+                    candidates[count++] = position;
+                }
+            }
+            node = i < normalized.length() ? node.child(normalized.charAt(i)) : null;
+        }
+
+        final String host = extractHost(normalized);
+        if (host != null) {
+            for (final int position : this.hosts.getOrDefault(host, EMPTY)) {
+                if (position < upperBound) {
+                    candidates = ensureCapacity(candidates, count);
+                    candidates[count++] = position;
+                }
+            }
+        }
+
+        for (final int position : this.unindexed) {
+            if (position < upperBound) {
+                candidates = ensureCapacity(candidates, count);
+                candidates[count++] = position;
+            }
+        }
+
+        Arrays.sort(candidates, 0, count);
+        for (int i = 0; i < count; i++) {
+            final int position = candidates[i];
+            if (matches(position, service, serviceId)) {
+                return this.services[position];
+            }
+        }
+        return exact == null ? null : this.services[exact];
+    }
+
+    private boolean matches(final int position, final Service service, final String serviceId) {
+        switch (this.strategies[position]) {
+            case PREFIX:
+                return !containsLineTerminator(serviceId, this.prefixLengths[position]);
+            case NEVER:
+                return false;
+            default:
+                return this.services[position].matches(service);
+        }
+    }
+
+    private void indexPattern(final int position, final String pattern,
+                              final Map<String, List<Integer>> hostBuckets, final List<Integer> fallback) {
+        if (pattern.contains("\\Q") || pattern.contains("(?") || hasTopLevelAlternation(pattern)) {
+            this.strategies[position] = MatchingStrategy.REGEX;
+            fallback.add(position);
+            return;
+        }
+
+        final StringBuilder literal = new StringBuilder();
+        final int end = parseLiteralPrefix(pattern, literal);
+        final String remainder = pattern.substring(end);
+        final String prefix = toLowerCaseAscii(literal.toString());
+
+        if (remainder.isEmpty() || "$".equals(remainder)) {
+            this.strategies[position] = MatchingStrategy.EXACT;
+            this.exactMatches.putIfAbsent(prefix, position);
+            return;
+        }
+
+        if (".*".equals(remainder) || ".*$".equals(remainder)) {
+            this.strategies[position] = MatchingStrategy.PREFIX;
+            this.prefixLengths[position] = prefix.length();
+            this.prefixes.insert(prefix).add(position);
+            return;
+        }
+
+        this.strategies[position] = MatchingStrategy.REGEX;
+        final int schemeIndex = prefix.indexOf(SCHEME_SEPARATOR);
+        final boolean prefixCoversHost = schemeIndex >= 0 && prefix.length() > schemeIndex + SCHEME_SEPARATOR.length();
+        final String host = prefixCoversHost ? null : parseLiteralHost(pattern);
+
+        if (host != null) {
+            hostBuckets.computeIfAbsent(host, k -> new ArrayList<>()).add(position);
+        } else if (!prefix.isEmpty()) {
+            this.prefixes.insert(prefix).add(position);
+        } else {
+            fallback.add(position);
+        }
+    }
+
+    /**
+     * Collect the literal characters at the start of the pattern that every match must begin with.
+     *
+     * @param pattern the pattern
+     * @param literal the literal characters collected
+     * @return the index in the pattern at which the literal prefix ends
+     */
+    private static int parseLiteralPrefix(final String pattern, final StringBuilder literal) {
+        int i = pattern.startsWith("^") ? 1 : 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            final char ch;
+            final int length;
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || !isEscapedLiteral(pattern.charAt(i + 1))) {
+                    return i;
+                }
+                ch = pattern.charAt(i + 1);
+                length = 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0 || c > Byte.MAX_VALUE) {
+                return i;
+            } else {
+                ch = c;
+                length = 1;
+            }
+
+            final int next = i + length;
+            if (next < pattern.length()) {
+                final char quantifier = pattern.charAt(next);
+                if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                    return i;
+                }
+                if (quantifier == '+') {
+                    literal.append(ch);
+                    return next;
+                }
+            }
+            literal.append(ch);
+            i = next;
+        }
+        return i;
+    }
+
+    /**
+     * Locate the literal host name that the pattern requires right after the scheme separator.
+     * The scheme portion may only consist of constructs that can never match a {@code :} or {@code /}, so that
+     * the first scheme separator of any matching service id is the one that the pattern spells out.
+     *
+     * @param pattern the pattern
+     * @return the host in lower case, or null if the pattern does not pin down a literal host.
+     */
+    private static String parseLiteralHost(final String pattern) {
+        int separator = pattern.indexOf(SCHEME_SEPARATOR);
+        int separatorLength = SCHEME_SEPARATOR.length();
+        final int escapedSeparator = pattern.indexOf(ESCAPED_SCHEME_SEPARATOR);
+        if (escapedSeparator >= 0 && (separator < 0 || escapedSeparator < separator)) {
+            separator = escapedSeparator;
+            separatorLength = ESCAPED_SCHEME_SEPARATOR.length();
+        }
+        if (separator < 0) {
+            return null;
+        }
+
+        int depth = 0;
+        for (int i = 0; i < separator; i++) {
+            final char c = pattern.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if ((!isAsciiLetterOrDigit(c) && "^|?*+-".indexOf(c) < 0) || (c == '^' && i > 0)) {
+                return null;
+            }
+        }
+        if (depth != 0) {
+            return null;
+        }
+
+        final StringBuilder host = new StringBuilder();
+        int i = separator + separatorLength;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            final int length;
+            if (isAsciiLetterOrDigit(c) || c == '-') {
+                host.append(c);
+                length = 1;
+            } else if (c == '\\' && i + 1 < pattern.length() && (pattern.charAt(i + 1) == '.' || pattern.charAt(i + 1) == '-')) {
+                host.append(pattern.charAt(i + 1));
+                length = 2;
+            } else {
+                break;
+            }
+            i += length;
+            if (i < pattern.length() && "?*+{".indexOf(pattern.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        if (host.length() == 0 || !isHostTerminator(pattern, i)) {
+            return null;
+        }
+        return toLowerCaseAscii(host.toString());
+    }
+
+    /**
+     * Determine whether the pattern at the given index only allows the host to be followed by
+     * the end of input, a port or a path.
+     */
+    private static boolean isHostTerminator(final String pattern, final int index) {
+        if (index >= pattern.length() || index == pattern.length() - 1 && pattern.charAt(index) == '$') {
+            return true;
+        }
+        final char c = pattern.charAt(index);
+        int next = -1;
+        if (c == '/' || c == ':') {
+            next = index + 1;
+        } else if (c == '\\' && index + 1 < pattern.length()
+                && (pattern.charAt(index + 1) == '/' || pattern.charAt(index + 1) == ':')) {
+            next = index + 2;
+        } else if (c == '(') {
+            final int close = findClosingParenthesis(pattern, index);
+            if (close < 0) {
+                return false;
+            }
+            final String group = pattern.substring(index + 1, close);
+            if (group.indexOf('|') >= 0 || !isHostTerminator(group, 0)) {
+                return false;
+            }
+            final int after = close + 1;
+            if (after < pattern.length() && (pattern.charAt(after) == '?' || pattern.charAt(after) == '*')) {
+                return isHostTerminator(pattern, after + 1);
+            }
+            return after >= pattern.length() || pattern.charAt(after) != '{';
+        }
+        return next > 0 && (next >= pattern.length() || "?*{".indexOf(pattern.charAt(next)) < 0);
+    }
+
+    private static int findClosingParenthesis(final String pattern, final int open) {
+        int depth = 0;
+        for (int i = open; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(pattern, i);
+                if (i < 0) {
+                    return -1;
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        int depth = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(pattern, i);
+                if (i < 0) {
+                    return true;
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipCharacterClass(final String pattern, final int open) {
+        int depth = 0;
+        for (int i = open; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String extractHost(final String serviceId) {
+        final int separator = serviceId.indexOf(SCHEME_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        final int start = separator + SCHEME_SEPARATOR.length();
+        int end = start;
+        while (end < serviceId.length() && serviceId.charAt(end) != '/' && serviceId.charAt(end) != ':') {
+            end++;
+        }
+        return serviceId.substring(start, end);
+    }
+
+    private static boolean isRegexMatchingType(final RegisteredService registeredService) {
+        return registeredService instanceof RegexRegisteredService
+                && REGEX_MATCHING_TYPES.computeIfAbsent(registeredService.getClass(), type -> {
+                    try {
+                        return type.getMethod("matches", Service.class).getDeclaringClass() == RegexRegisteredService.class;
+                    } catch (final NoSuchMethodException e) {
+                        return false;
+                    }
+                });
+    }
+
+    private static boolean isEscapedLiteral(final char c) {
+        return c <= Byte.MAX_VALUE && !isAsciiLetterOrDigit(c) && !Character.isWhitespace(c);
+    }
+
+    private static boolean isAsciiLetterOrDigit(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+
+    private static boolean containsLineTerminator(final String value, final int start) {
+        for (int i = start; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toLowerCaseAscii(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                final char[] chars = value.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    if (chars[j] >= 'A' && chars[j] <= 'Z') {
+                        chars[j] = (char) (chars[j] + ('a' - 'A'));
+                    }
+                }
+                return new String(chars);
+            }
+        }
+        return value;
+    }
+
+    private static int[] ensureCapacity(final int[] array, final int count) {
+        return count < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * How a registered service is matched once it has been selected as a candidate.
+     */
+    private enum MatchingStrategy {
+        /** Literal service id, resolved via the exact-match table. */
+        EXACT,
+        /** Literal prefix followed by a wildcard, resolved via the prefix trie. */
+        PREFIX,
+        /** Regular expression evaluated by the registered service itself. */
+        REGEX,
+        /** Registered service type with custom matching logic. */
+        OPAQUE,
+        /** Invalid pattern that never matches. */
+        NEVER
+    }
+
+    /**
+     * Node in the prefix trie, keyed by lower-cased characters.
+     */
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final List<Integer> entries = new ArrayList<>();
+        private int[] positions = EMPTY;
+
+        TrieNode child(final char c) {
+            return this.children.get(c);
+        }
+
+        List<Integer> insert(final String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), k -> new TrieNode());
+            }
+            return node.entries;
+        }
+
+        void compact() {
+            this.positions = toArray(this.entries);
+            this.entries.clear();
+            this.children.values().forEach(TrieNode::compact);
+        }
+    }
+}
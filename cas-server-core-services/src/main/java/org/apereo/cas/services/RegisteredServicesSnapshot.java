@@ -0,0 +1,94 @@
+package org.apereo.cas.services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * This is {@link RegisteredServicesSnapshot}, an immutable and versioned view of the
+ * registered services held by the services manager at a given point in time.
+ * <p>
+ * Services are sorted by their natural order once, when the snapshot is created,
+ * and are indexed by id and by service matching rules. Readers that obtain a snapshot
+ * are guaranteed a consistent view of registered services, regardless of concurrent
+ * updates that may publish newer snapshots.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RegisteredServicesSnapshot {
+
+    private final long version;
+
+    private final List<RegisteredService> services;
+
+    private final Map<Long, RegisteredService> servicesById;
+
+    private final RegisteredServiceMatchingIndex matchingIndex;
+
+    /**
+     * Instantiates a new snapshot.
+     *
+     * @param version            the version of this snapshot
+     * @param registeredServices the registered services, in no particular order
+     * @param matchingCacheSize  the size of the service matching cache
+     */
+    public RegisteredServicesSnapshot(final long version, final Collection<RegisteredService> registeredServices,
+                                      final long matchingCacheSize) {
+        final TreeSet<RegisteredService> sorted = new TreeSet<>(registeredServices);
+        this.version = version;
+        this.services = Collections.unmodifiableList(Arrays.asList(sorted.toArray(new RegisteredService[sorted.size()])));
+
+        final Map<Long, RegisteredService> byId = new HashMap<>(this.services.size() * 2);
+        this.services.forEach(r -> byId.put(r.getId(), r));
+        this.servicesById = Collections.unmodifiableMap(byId);
+
+        this.matchingIndex = new RegisteredServiceMatchingIndex(this.services, matchingCacheSize);
+    }
+
+    /**
+     * Gets the version of this snapshot. Versions increase monotonically
+     * every time a new snapshot is published.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the registered services sorted by evaluation order.
+     *
+     * @return an unmodifiable list of registered services
+     */
+    public List<RegisteredService> getServices() {
+        return this.services;
+    }
+
+    /**
+     * Find the registered service by its id.
+     *
+     * @param id the id
+     * @return the registered service, or null
+     */
+    public RegisteredService findServiceBy(final long id) {
+        return this.servicesById.get(id);
+    }
+
+    public RegisteredServiceMatchingIndex getMatchingIndex() {
+        return this.matchingIndex;
+    }
+
+    /**
+     * Number of registered services in this snapshot.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.services.size();
+    }
+}
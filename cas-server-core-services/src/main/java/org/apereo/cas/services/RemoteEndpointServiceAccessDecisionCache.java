@@ -0,0 +1,393 @@
+package org.apereo.cas.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apereo.cas.util.http.HttpClient;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.jasig.cas.client.util.URIBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link RemoteEndpointServiceAccessDecisionCache} that carries out and caches
+ * the access decisions of {@link RemoteEndpointServiceAccessStrategy}.
+ * <p>
+ * Decisions are keyed by endpoint, acceptable response codes and principal. Granted decisions
+ * are kept for the configured time to live, and denied decisions for the negative time to live.
+ * Only explicit answers are cached: an acceptable response code grants access, and any other
+ * response code below 500 denies it, except for request timeouts and rate limiting. Failures to reach
+ * the endpoint and the remaining response codes, such as server errors, deny access without being cached. Concurrent lookups of the same decision are
+ * collapsed into a single request, executed on a dedicated pool with a bounded queue; callers wait
+ * for the decision no longer than the timeout of the service, and access is denied once the timeout
+ * passes or if the queue is full.
+ * <p>
+ * Each endpoint is guarded by a circuit breaker. Once an endpoint fails or times out a number of
+ * times in a row, requests to the endpoint are denied without being sent, and a single request
+ * is let through once per delay to probe whether the endpoint has recovered. Each request counts
+ * once towards the breaker, however many callers wait for it.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RemoteEndpointServiceAccessDecisionCache implements DisposableBean {
+    /**
+     * Default timeout, in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 3000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteEndpointServiceAccessDecisionCache.class);
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    private static final long DEFAULT_CIRCUIT_BREAKER_DELAY = 30000;
+
+    private final ConcurrentMap<DecisionKey, PendingDecision> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    private final Cache<DecisionKey, Decision> decisions;
+
+    private final HttpClient httpClient;
+
+    private final ExecutorService executor;
+
+    private final long timeToLive;
+
+    private final long negativeTimeToLive;
+
+    private final long maximumSize;
+
+    private long defaultTimeout = DEFAULT_TIMEOUT;
+
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+    private long circuitBreakerDelay = DEFAULT_CIRCUIT_BREAKER_DELAY;
+
+    /**
+     * Instantiates a new decision cache.
+     *
+     * @param httpClient                  the http client whose wrapped client sends requests to endpoints
+     * @param timeToLiveSeconds           how long granted decisions are cached
+     * @param negativeTimeToLiveSeconds   how long denied decisions are cached
+     * @param maximumSize                 the maximum number of cached decisions
+     * @param threads                     the number of threads that send requests to endpoints
+     * @param queueCapacity               the number of requests that may wait for a thread
+     */
+    public RemoteEndpointServiceAccessDecisionCache(final HttpClient httpClient, final long timeToLiveSeconds,
+                                                    final long negativeTimeToLiveSeconds, final long maximumSize,
+                                                    final int threads, final int queueCapacity) {
+        this.httpClient = httpClient;
+        this.timeToLive = TimeUnit.SECONDS.toMillis(Math.max(timeToLiveSeconds, 0));
+        this.negativeTimeToLive = TimeUnit.SECONDS.toMillis(Math.max(negativeTimeToLiveSeconds, 0));
+        this.maximumSize = maximumSize;
+        this.decisions = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Math.max(this.timeToLive, this.negativeTimeToLive), TimeUnit.MILLISECONDS)
+                .removalListener(notification -> {
+                    if (notification.getCause() == RemovalCause.SIZE) {
+                        this.evictions.increment();
+                    }
+                })
+                .build();
+        final int poolSize = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("remote-endpoint-access-%d")
+                        .setDaemon(true)
+                        .build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void setDefaultTimeout(final long defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Sets how long an endpoint is considered unavailable once its circuit breaker opens.
+     *
+     * @param circuitBreakerDelaySeconds the delay, in seconds
+     */
+    public void setCircuitBreakerDelay(final long circuitBreakerDelaySeconds) {
+        this.circuitBreakerDelay = TimeUnit.SECONDS.toMillis(circuitBreakerDelaySeconds);
+    }
+
+    /**
+     * Determine whether the endpoint grants access to the principal.
+     *
+     * @param endpointUrl             the endpoint url
+     * @param acceptableResponseCodes the response codes that grant access
+     * @param principal               the principal id
+     * @param timeout                 how long to wait for the decision, in milliseconds;
+     *                                the default timeout is used if the value is not positive
+     * @return true if access is granted
+     */
+    public boolean isAccessAllowed(final String endpointUrl, final Set<Integer> acceptableResponseCodes,
+                                   final String principal, final long timeout) {
+        final DecisionKey key = new DecisionKey(endpointUrl, acceptableResponseCodes, principal);
+        final Decision cached = this.decisions.getIfPresent(key);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            this.hits.increment();
+            LOGGER.debug("Using cached decision [{}] of {} for {}", cached.allowed, endpointUrl, principal);
+            return cached.allowed;
+        }
+        this.misses.increment();
+
+        final CircuitBreaker breaker = this.circuitBreakers.computeIfAbsent(endpointUrl, k -> new CircuitBreaker());
+        PendingDecision future = this.inFlight.get(key);
+        if (future == null) {
+            if (!breaker.allowRequest()) {
+                this.shortCircuits.increment();
+                LOGGER.warn("Endpoint {} is unavailable after repeated failures; access is denied for {}", endpointUrl, principal);
+                return false;
+            }
+            final PendingDecision created = new PendingDecision();
+            future = this.inFlight.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                submit(key, created, breaker);
+            }
+        }
+
+        final long wait = timeout > 0 ? timeout : this.defaultTimeout;
+        try {
+            return future.get(wait, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            this.timeouts.increment();
+            future.timedOut = true;
+            LOGGER.warn("Endpoint {} did not respond within {} ms; access is denied for {}", endpointUrl, wait, principal);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Whether any decision has been requested from this cache.
+     *
+     * @return true if the cache is in use
+     */
+    public boolean isInUse() {
+        return this.hits.sum() + this.misses.sum() > 0;
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this cache. Evictions only count decisions
+     * removed because the cache is full; decisions that expire are not counted.
+     *
+     * @return the statistics
+     */
+    public RemoteEndpointServiceAccessDecisionStatistics getStatistics() {
+        final long calls = this.remoteCalls.sum();
+        final long openCircuits = this.circuitBreakers.values().stream().filter(CircuitBreaker::isOpen).count();
+        return new RemoteEndpointServiceAccessDecisionStatistics(this.decisions.size(), this.maximumSize,
+                this.evictions.sum(), this.hits.sum(), this.misses.sum(), calls,
+                this.failures.sum(), this.timeouts.sum(), this.shortCircuits.sum(), openCircuits,
+                calls == 0 ? 0 : this.totalLatency.sum() / calls, this.maxLatency.get());
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private void submit(final DecisionKey key, final PendingDecision future, final CircuitBreaker breaker) {
+        try {
+            this.executor.execute(() -> {
+                final long start = System.nanoTime();
+                try {
+                    final boolean allowed = sendRequest(key);
+                    recordLatency(System.nanoTime() - start);
+                    if (future.timedOut) {
+                        breaker.onFailure(key.endpointUrl);
+                    } else {
+                        breaker.onSuccess(key.endpointUrl);
+                    }
+                    final long ttl = allowed ? this.timeToLive : this.negativeTimeToLive;
+                    if (ttl > 0) {
+                        this.decisions.put(key, new Decision(allowed, System.currentTimeMillis() + ttl));
+                    }
+                    future.complete(allowed);
+                } catch (final Exception e) {
+                    recordLatency(System.nanoTime() - start);
+                    this.failures.increment();
+                    breaker.onFailure(key.endpointUrl);
+                    LOGGER.warn("Endpoint {} failed to answer: {}", key.endpointUrl, e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                    future.complete(false);
+                } finally {
+                    this.inFlight.remove(key, future);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Too many requests to remote endpoints are pending; access to {} is denied for {}", key.endpointUrl, key.principal);
+            this.inFlight.remove(key, future);
+            future.complete(false);
+        }
+    }
+
+    private boolean sendRequest(final DecisionKey key) throws Exception {
+        final URIBuilder builder = new URIBuilder(key.endpointUrl);
+        builder.addParameter("username", key.principal);
+        final HttpGet request = new HttpGet(builder.build());
+        this.remoteCalls.increment();
+        final int responseCode = this.httpClient.getWrappedHttpClient()
+                .execute(request, response -> response.getStatusLine().getStatusCode());
+        LOGGER.debug("Response code received from {} is {}", request.getURI(), responseCode);
+        if (key.acceptableResponseCodes.contains(responseCode)) {
+            return true;
+        }
+        if (!isExplicitRejection(responseCode)) {
+            throw new IOException("Endpoint responded with status code " + responseCode);
+        }
+        return false;
+    }
+
+    private static boolean isExplicitRejection(final int responseCode) {
+        return responseCode >= HttpStatus.SC_OK && responseCode < HttpStatus.SC_INTERNAL_SERVER_ERROR
+                && responseCode != HttpStatus.SC_REQUEST_TIMEOUT && responseCode != SC_TOO_MANY_REQUESTS;
+    }
+
+    private void recordLatency(final long nanos) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        this.totalLatency.add(millis);
+        this.maxLatency.accumulateAndGet(millis, Math::max);
+    }
+
+    /**
+     * The key of a decision.
+     */
+    private static final class DecisionKey {
+        private final String endpointUrl;
+
+        private final Set<Integer> acceptableResponseCodes;
+
+        private final String principal;
+
+        private final int hash;
+
+        DecisionKey(final String endpointUrl, final Set<Integer> acceptableResponseCodes, final String principal) {
+            this.endpointUrl = endpointUrl;
+            this.acceptableResponseCodes = acceptableResponseCodes;
+            this.principal = principal;
+            this.hash = 31 * (31 * endpointUrl.hashCode() + acceptableResponseCodes.hashCode()) + principal.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof DecisionKey)) {
+                return false;
+            }
+            final DecisionKey rhs = (DecisionKey) obj;
+            return this.endpointUrl.equals(rhs.endpointUrl)
+                    && this.principal.equals(rhs.principal)
+                    && this.acceptableResponseCodes.equals(rhs.acceptableResponseCodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * A cached decision, along with the time at which it expires.
+     */
+    private static final class Decision {
+        private final boolean allowed;
+
+        private final long expiresAt;
+
+        Decision(final boolean allowed, final long expiresAt) {
+            this.allowed = allowed;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A decision being requested from an endpoint, and whether any caller gave up waiting for it.
+     */
+    private static final class PendingDecision extends CompletableFuture<Boolean> {
+        private volatile boolean timedOut;
+    }
+
+    /**
+     * Tracks consecutive failures of an endpoint, and the time at which its circuit last opened.
+     */
+    private final class CircuitBreaker {
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        private final AtomicLong openedAt = new AtomicLong();
+
+        boolean isOpen() {
+            return this.consecutiveFailures.get() >= failureThreshold;
+        }
+
+        boolean allowRequest() {
+            if (!isOpen()) {
+                return true;
+            }
+            final long opened = this.openedAt.get();
+            final long now = System.currentTimeMillis();
+            return now - opened >= circuitBreakerDelay && this.openedAt.compareAndSet(opened, now);
+        }
+
+        void onSuccess(final String endpointUrl) {
+            if (this.consecutiveFailures.getAndSet(0) >= failureThreshold) {
+                LOGGER.info("Endpoint {} has recovered; closing its circuit", endpointUrl);
+            }
+        }
+
+        void onFailure(final String endpointUrl) {
+            final int count = this.consecutiveFailures.incrementAndGet();
+            if (count >= failureThreshold) {
+                this.openedAt.set(System.currentTimeMillis());
+                if (count == failureThreshold) {
+                    LOGGER.warn("Endpoint {} failed {} times in a row; opening its circuit for {} ms",
+                            endpointUrl, count, circuitBreakerDelay);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.monitor.AbstractCacheMonitor;
+import org.apereo.cas.monitor.CacheStatistics;
+import org.apereo.cas.monitor.CacheStatus;
+import org.apereo.cas.monitor.StatusCode;
+
+/**
+ * This is {@link RemoteEndpointServiceAccessDecisionMonitor} that reports on the
+ * hit ratio of cached remote access decisions, and on the latency and availability of endpoints.
+ * Until a service that is guarded by a remote endpoint is accessed, the cache is not in use
+ * and the monitor reports an unknown status, which does not affect the overall health of CAS.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RemoteEndpointServiceAccessDecisionMonitor extends AbstractCacheMonitor {
+
+    private final RemoteEndpointServiceAccessDecisionCache decisionCache;
+
+    /**
+     * Instantiates a new monitor.
+     *
+     * @param decisionCache the decision cache that is observed
+     */
+    public RemoteEndpointServiceAccessDecisionMonitor(final RemoteEndpointServiceAccessDecisionCache decisionCache) {
+        this.decisionCache = decisionCache;
+    }
+
+    @Override
+    public CacheStatus observe() {
+        if (!this.decisionCache.isInUse()) {
+            return new CacheStatus(StatusCode.UNKNOWN, "Remote endpoint access decisions are not in use.");
+        }
+        return super.observe();
+    }
+
+    @Override
+    protected CacheStatistics[] getStatistics() {
+        return new CacheStatistics[]{this.decisionCache.getStatistics()};
+    }
+}
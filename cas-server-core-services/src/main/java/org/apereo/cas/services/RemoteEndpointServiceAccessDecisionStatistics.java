@@ -0,0 +1,145 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.monitor.CacheStatistics;
+
+/**
+ * Statistics of {@link RemoteEndpointServiceAccessDecisionCache}. In addition to the size of the cache,
+ * statistics report hits and misses, the number of requests sent to endpoints along with their latency,
+ * and the number of requests that failed, timed out or were denied by an open circuit.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RemoteEndpointServiceAccessDecisionStatistics implements CacheStatistics {
+    private static final int PERCENTAGE_VALUE = 100;
+
+    private final long size;
+    private final long capacity;
+    private final long evictions;
+    private final long hitCount;
+    private final long missCount;
+    private final long remoteCallCount;
+    private final long failureCount;
+    private final long timeoutCount;
+    private final long shortCircuitCount;
+    private final long openCircuitCount;
+    private final long averageLatency;
+    private final long maximumLatency;
+
+    /**
+     * Instantiates new statistics.
+     *
+     * @param size              the number of cached decisions
+     * @param capacity          the maximum number of cached decisions
+     * @param evictions         the number of evicted decisions
+     * @param hitCount          the number of decisions served from the cache
+     * @param missCount         the number of decisions not found in the cache
+     * @param remoteCallCount   the number of requests sent to endpoints
+     * @param failureCount      the number of requests that failed
+     * @param timeoutCount      the number of decisions that were not received in time
+     * @param shortCircuitCount the number of decisions denied by an open circuit
+     * @param openCircuitCount  the number of endpoints whose circuit is open
+     * @param averageLatency    the average latency of endpoints, in milliseconds
+     * @param maximumLatency    the maximum latency of endpoints, in milliseconds
+     */
+    public RemoteEndpointServiceAccessDecisionStatistics(final long size, final long capacity, final long evictions,
+                                                         final long hitCount, final long missCount,
+                                                         final long remoteCallCount, final long failureCount,
+                                                         final long timeoutCount, final long shortCircuitCount,
+                                                         final long openCircuitCount, final long averageLatency,
+                                                         final long maximumLatency) {
+        this.size = size;
+        this.capacity = capacity;
+        this.evictions = evictions;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.remoteCallCount = remoteCallCount;
+        this.failureCount = failureCount;
+        this.timeoutCount = timeoutCount;
+        this.shortCircuitCount = shortCircuitCount;
+        this.openCircuitCount = openCircuitCount;
+        this.averageLatency = averageLatency;
+        this.maximumLatency = maximumLatency;
+    }
+
+    @Override
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public int getPercentFree() {
+        if (this.capacity == 0) {
+            return 0;
+        }
+        return (int) ((this.capacity - this.size) * PERCENTAGE_VALUE / this.capacity);
+    }
+
+    @Override
+    public String getName() {
+        return "remoteEndpointAccessDecisions";
+    }
+
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    public long getRemoteCallCount() {
+        return this.remoteCallCount;
+    }
+
+    public long getFailureCount() {
+        return this.failureCount;
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount;
+    }
+
+    public long getShortCircuitCount() {
+        return this.shortCircuitCount;
+    }
+
+    public long getOpenCircuitCount() {
+        return this.openCircuitCount;
+    }
+
+    public long getAverageLatency() {
+        return this.averageLatency;
+    }
+
+    public long getMaximumLatency() {
+        return this.maximumLatency;
+    }
+
+    @Override
+    public void toString(final StringBuilder builder) {
+        builder.append(getName()).append(':');
+        builder.append(this.size).append(" items, ");
+        builder.append(getPercentFree()).append("% free, ");
+        builder.append(this.evictions).append(" evictions, ");
+        builder.append(this.hitCount).append(" hits, ");
+        builder.append(this.missCount).append(" misses, ");
+        builder.append(this.remoteCallCount).append(" remote calls, ");
+        builder.append(this.failureCount).append(" failures, ");
+        builder.append(this.timeoutCount).append(" timeouts, ");
+        builder.append(this.shortCircuitCount).append(" short-circuited, ");
+        builder.append(this.openCircuitCount).append(" open circuits, ");
+        builder.append(this.averageLatency).append("ms average latency, ");
+        builder.append(this.maximumLatency).append("ms maximum latency");
+    }
+}
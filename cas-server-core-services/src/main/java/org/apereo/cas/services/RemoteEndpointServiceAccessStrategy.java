@@ -3,22 +3,23 @@ package org.apereo.cas.services;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apereo.cas.util.http.HttpClient;
-import org.jasig.cas.client.util.URIBuilder;
 import org.apereo.cas.util.ApplicationContextProvider;
-import org.apereo.cas.util.http.HttpMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
-import java.net.URL;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RemoteEndpointServiceAccessStrategy} that reaches out
  * to a remote endpoint, passing the CAS principal id to determine if access is allowed.
  * If the status code returned in the final response is not accepted by the policy here,
  * access shall be denied.
+ * <p>
+ * Decisions are obtained through {@link RemoteEndpointServiceAccessDecisionCache}, which caches them
+ * and bounds the time spent waiting on the endpoint by the timeout of this strategy, if one is defined.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -33,21 +34,18 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
 
     private String acceptableResponseCodes;
 
+    private long timeout;
+
+    private transient volatile Set<Integer> parsedResponseCodes;
+
     @Override
     public boolean doPrincipalAttributesAllowServiceAccess(final String principal,
                                                            final Map<String, Object> principalAttributes) {
         try {
             if (super.doPrincipalAttributesAllowServiceAccess(principal, principalAttributes)) {
-                final HttpClient client = ApplicationContextProvider.getApplicationContext()
-                        .getBean("noRedirectHttpClient", HttpClient.class);
-
-                final URIBuilder builder = new URIBuilder(this.endpointUrl);
-                builder.addParameter("username", principal);
-                final URL url = builder.build().toURL();
-                final HttpMessage message = client.sendMessageToEndPoint(url);
-                LOGGER.debug("Message received from {} is {}", url, message);
-                return message != null && StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes)
-                        .contains(message.getResponseCode());
+                final RemoteEndpointServiceAccessDecisionCache decisions = ApplicationContextProvider.getApplicationContext()
+                        .getBean("remoteEndpointServiceAccessDecisionCache", RemoteEndpointServiceAccessDecisionCache.class);
+                return decisions.isAccessAllowed(this.endpointUrl, getParsedResponseCodes(), principal, this.timeout);
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -56,6 +54,20 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
         return false;
     }
 
+    private Set<Integer> getParsedResponseCodes() {
+        Set<Integer> codes = this.parsedResponseCodes;
+        if (codes == null) {
+            codes = StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes)
+                    .stream()
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .map(Integer::valueOf)
+                    .collect(Collectors.toSet());
+            this.parsedResponseCodes = codes;
+        }
+        return codes;
+    }
+
     public String getEndpointUrl() {
         return endpointUrl;
     }
@@ -70,6 +82,21 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
 
     public void setAcceptableResponseCodes(final String acceptableResponseCodes) {
         this.acceptableResponseCodes = acceptableResponseCodes;
+        this.parsedResponseCodes = null;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets how long to wait for the decision of the endpoint, in milliseconds.
+     * The default timeout applies if the value is not positive.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(final long timeout) {
+        this.timeout = timeout;
     }
 
 
@@ -89,6 +116,7 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
                 .appendSuper(super.equals(obj))
                 .append(this.endpointUrl, rhs.endpointUrl)
                 .append(this.acceptableResponseCodes, rhs.acceptableResponseCodes)
+                .append(this.timeout, rhs.timeout)
                 .isEquals();
     }
 
@@ -98,6 +126,7 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
                 .appendSuper(super.hashCode())
                 .append(endpointUrl)
                 .append(acceptableResponseCodes)
+                .append(timeout)
                 .toHashCode();
     }
 
@@ -108,6 +137,7 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
                 .appendSuper(super.toString())
                 .append("endpointUrl", endpointUrl)
                 .append("acceptableResponseCodes", acceptableResponseCodes)
+                .append("timeout", timeout)
                 .toString();
     }
 }
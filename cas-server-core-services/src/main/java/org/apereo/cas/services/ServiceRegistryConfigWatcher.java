@@ -10,12 +10,17 @@ import org.springframework.context.ApplicationEventPublisher;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -23,31 +28,51 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 /**
  * This is {@link ServiceRegistryConfigWatcher} that watches the json config directory
  * for changes and promptly attempts to reload the CAS service registry configuration.
+ * <p>
+ * Events are coalesced: once an event is received, the watcher keeps collecting events
+ * until the directory has been quiet for the configured quiet period, or until the batch
+ * has been open for {@value #MAX_QUIET_PERIODS_PER_BATCH} quiet periods. Events in a batch
+ * are de-duplicated by path, and each batch results in at most one reload and a single
+ * {@link CasRegisteredServicesRefreshEvent}.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
  */
 class ServiceRegistryConfigWatcher implements Runnable, Closeable {
+    /**
+     * Default quiet period, in milliseconds.
+     */
+    static final long DEFAULT_QUIET_PERIOD = 1000;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceRegistryConfigWatcher.class);
 
+    private static final int MAX_QUIET_PERIODS_PER_BATCH = 10;
+
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final Lock readLock = this.lock.readLock();
 
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong reloadsPerformed = new AtomicLong();
+
     private final WatchService watcher;
 
     private final ResourceBasedServiceRegistryDao serviceRegistryDao;
 
-    private ApplicationEventPublisher applicationEventPublisher;
+    private volatile ApplicationEventPublisher applicationEventPublisher;
+
+    private volatile long quietPeriod = DEFAULT_QUIET_PERIOD;
 
     /**
      * Instantiates a new Json service registry config watcher.
      *
      * @param serviceRegistryDao the registry to callback
+     * @param eventPublisher     the event publisher, which may be provided later
      */
     ServiceRegistryConfigWatcher(final ResourceBasedServiceRegistryDao serviceRegistryDao,
                                  final ApplicationEventPublisher eventPublisher) {
@@ -57,35 +82,66 @@ class ServiceRegistryConfigWatcher implements Runnable, Closeable {
             final WatchEvent.Kind[] kinds = new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY};
             LOGGER.debug("Created service registry watcher for events of type {}", kinds);
             this.serviceRegistryDao.getWatchableResource().register(this.watcher, kinds);
-            
+
             this.applicationEventPublisher = eventPublisher;
         } catch (final IOException e) {
             throw Throwables.propagate(e);
         }
     }
 
+    public void setApplicationEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    public void setQuietPeriod(final long quietPeriod) {
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * Gets the number of watch events received for the service registry directory.
+     *
+     * @return the events received
+     */
+    public long getEventsReceived() {
+        return this.eventsReceived.get();
+    }
+
+    /**
+     * Gets the number of reloads performed by the watcher that applied changes to the registry.
+     * Registries that detect changes on their own count the changes they apply instead.
+     *
+     * @return the reloads performed
+     */
+    public long getReloadsPerformed() {
+        return this.reloadsPerformed.get();
+    }
+
     @Override
     public void run() {
         if (this.running.compareAndSet(false, true)) {
             while (this.running.get()) {
-                // wait for key to be signaled
-                WatchKey key = null;
+                final Map<Path, WatchEvent.Kind<?>> batch = new LinkedHashMap<>();
+                boolean valid;
                 try {
-                    key = this.watcher.take();
-                    handleEvent(key);
-                } catch (final InterruptedException e) {
-                    return;
-                } finally {
-                    /*
-                        Reset the key -- this step is critical to receive
-                        further watch events. If the key is no longer valid, the directory
-                        is inaccessible so exit the loop.
-                     */
-                    final boolean valid = key != null && key.reset();
-                    if (!valid) {
-                        LOGGER.warn("Directory key is no longer valid. Quitting watcher service");
-                        break;
+                    // wait for key to be signaled
+                    valid = collectEvents(this.watcher.take(), batch);
+                    final long quiet = Math.max(this.quietPeriod, 0);
+                    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(quiet * MAX_QUIET_PERIODS_PER_BATCH);
+                    while (valid) {
+                        final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                        final WatchKey key = remaining > 0 ? this.watcher.poll(Math.min(quiet, remaining), TimeUnit.MILLISECONDS) : null;
+                        if (key == null) {
+                            break;
+                        }
+                        valid = collectEvents(key, batch);
                     }
+                } catch (final InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                }
+                handleEvents(batch);
+                if (!valid) {
+                    LOGGER.warn("Directory key is no longer valid. Quitting watcher service");
+                    break;
                 }
             }
         }
@@ -93,59 +149,92 @@ class ServiceRegistryConfigWatcher implements Runnable, Closeable {
     }
 
     /**
-     * Handle event.
+     * Collect the pending events of the key into the batch, keeping the latest event kind per path.
+     * The key is reset once its events are collected; this step is critical to receive further watch events.
      *
-     * @param key the key
+     * @param key   the key
+     * @param batch the batch
+     * @return false if the key is no longer valid, in which case the directory is inaccessible
      */
-    private void handleEvent(final WatchKey key) {
-        this.readLock.lock();
-        try {
-            //The filename is the context of the event.
-            key.pollEvents().stream().filter(event -> event.count() <= 1).forEach(event -> {
-                final WatchEvent.Kind kind = event.kind();
-
+    private boolean collectEvents(final WatchKey key, final Map<Path, WatchEvent.Kind<?>> batch) {
+        final Path parent = (Path) key.watchable();
+        key.pollEvents().forEach(event -> {
+            this.eventsReceived.addAndGet(event.count());
+            if (event.kind() == OVERFLOW) {
+                LOGGER.debug("Watch events were lost or discarded for [{}]", parent);
+                batch.put(parent, OVERFLOW);
+            } else {
                 //The filename is the context of the event.
                 final WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                final Path filename = ev.context();
-
-                final Path parent = (Path) key.watchable();
-                final Path fullPath = parent.resolve(filename);
-                final File file = fullPath.toFile();
+                final Path fullPath = parent.resolve(ev.context());
+                LOGGER.trace("Detected event [{}] on file [{}]", event.kind(), fullPath);
+                batch.remove(fullPath);
+                batch.put(fullPath, event.kind());
+            }
+        });
+        return key.reset();
+    }
 
-                LOGGER.trace("Detected event [{}] on file [{}]. Loading change...", kind, file);
-                if (kind.name().equals(ENTRY_CREATE.name()) && file.exists()) {
-                    handleCreateEvent(file);
-                } else if (kind.name().equals(ENTRY_DELETE.name())) {
+    /**
+     * Handle a batch of events. If the registry is able to detect changes on its own,
+     * a single refresh event is published for the batch and the services manager applies
+     * the changes incrementally. Otherwise, changed files are loaded individually, and any
+     * deletion causes a full reload of the registry.
+     *
+     * @param batch the batch
+     */
+    private void handleEvents(final Map<Path, WatchEvent.Kind<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        this.readLock.lock();
+        try {
+            LOGGER.debug("Processing {} change(s) to the service registry directory", batch.size());
+            if (this.serviceRegistryDao instanceof IncrementalServiceRegistryDao) {
+                publishRefreshEvent();
+            } else {
+                final boolean changed;
+                if (batch.containsValue(ENTRY_DELETE) || batch.containsValue(OVERFLOW)) {
                     handleDeleteEvent();
-                } else if (kind.name().equals(ENTRY_MODIFY.name()) && file.exists()) {
-                    handleModifyEvent(file);
+                    changed = true;
+                } else {
+                    changed = batch.keySet().stream()
+                            .map(Path::toFile)
+                            .filter(File::exists)
+                            .map(this::handleModifyEvent)
+                            .reduce(false, Boolean::logicalOr);
+                }
+                if (changed) {
+                    this.reloadsPerformed.incrementAndGet();
+                    publishRefreshEvent();
                 }
-            });
+            }
+            LOGGER.debug("Received {} service registry watch event(s) so far", this.eventsReceived.get());
         } finally {
             this.readLock.unlock();
         }
     }
 
     /**
-     * Handle modify event.
+     * Handle modify or create event.
      *
      * @param file the file
+     * @return true if the service definition has changed
      */
-    private void handleModifyEvent(final File file) {
+    private boolean handleModifyEvent(final File file) {
         final RegisteredService newService = this.serviceRegistryDao.load(file);
         if (newService == null) {
             LOGGER.warn("New service definition could not be loaded from [{}]", file.getAbsolutePath());
-        } else {
-            final RegisteredService oldService = this.serviceRegistryDao.findServiceById(newService.getId());
-
-            if (!newService.equals(oldService)) {
-                this.serviceRegistryDao.update(newService);
-                this.applicationEventPublisher.publishEvent(new CasRegisteredServicesRefreshEvent(this));
-            } else {
-                LOGGER.debug("Service [{}] loaded from [{}] is identical to the existing entry. Entry may have already been saved "
-                        + "in the event processing pipeline", newService.getId(), file.getName());
-            }
+            return false;
         }
+        final RegisteredService oldService = this.serviceRegistryDao.findServiceById(newService.getId());
+        if (newService.equals(oldService)) {
+            LOGGER.debug("Service [{}] loaded from [{}] is identical to the existing entry. Entry may have already been saved "
+                    + "in the event processing pipeline", newService.getId(), file.getName());
+            return false;
+        }
+        this.serviceRegistryDao.update(newService);
+        return true;
     }
 
     /**
@@ -153,34 +242,20 @@ class ServiceRegistryConfigWatcher implements Runnable, Closeable {
      */
     private void handleDeleteEvent() {
         this.serviceRegistryDao.load();
-        this.applicationEventPublisher.publishEvent(new CasRegisteredServicesRefreshEvent(this));
     }
 
-    /**
-     * Handle create event.
-     *
-     * @param file the file
-     */
-    private void handleCreateEvent(final File file) {
-        //load the entry and add it to the map
-        final RegisteredService service = this.serviceRegistryDao.load(file);
-        if (service == null) {
-            LOGGER.warn("No service definition was loaded from [{}]", file);
-            return;
-        }
-        if (this.serviceRegistryDao.findServiceById(service.getId()) != null) {
-            LOGGER.warn("Found a service definition [{}] with a duplicate id [{}] in [{}]. "
-                            + "This will overwrite previous service definitions and is likely a "
-                            + "configuration problem. Make sure all services have a unique id and try again.",
-                    service.getServiceId(), service.getId(), file.getAbsolutePath());
-
+    private void publishRefreshEvent() {
+        final ApplicationEventPublisher publisher = this.applicationEventPublisher;
+        if (publisher == null) {
+            LOGGER.debug("No event publisher is available to signal a refresh of registered services");
+        } else {
+            publisher.publishEvent(new CasRegisteredServicesRefreshEvent(this));
         }
-        this.serviceRegistryDao.update(service);
-        this.applicationEventPublisher.publishEvent(new CasRegisteredServicesRefreshEvent(this));
     }
 
     @Override
     public void close() {
+        this.running.set(false);
         IOUtils.closeQuietly(this.watcher);
     }
 }
@@ -0,0 +1,57 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.monitor.AbstractNamedMonitor;
+import org.apereo.cas.monitor.Status;
+import org.apereo.cas.monitor.StatusCode;
+import org.springframework.aop.framework.Advised;
+
+/**
+ * This is {@link ServiceRegistryWatcherMonitor} that reports on the number of watch events
+ * received for a resource-based service registry directory, and on the number of reloads
+ * that applied changes to registered services.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ServiceRegistryWatcherMonitor extends AbstractNamedMonitor<Status> {
+
+    private final ServiceRegistryDao serviceRegistryDao;
+
+    /**
+     * Instantiates a new monitor.
+     *
+     * @param serviceRegistryDao the service registry that is observed
+     */
+    public ServiceRegistryWatcherMonitor(final ServiceRegistryDao serviceRegistryDao) {
+        this.serviceRegistryDao = serviceRegistryDao;
+    }
+
+    @Override
+    public Status observe() {
+        try {
+            final AbstractResourceBasedServiceRegistryDao dao = getResourceBasedServiceRegistryDao();
+            if (dao == null) {
+                return new Status(StatusCode.UNKNOWN, "Service registry is not backed by a watched directory");
+            }
+            return new Status(StatusCode.OK, String.format("%d watch event(s) received, %d reload(s) applied, %d service(s) loaded",
+                    dao.getWatchEventsReceived(), dao.getReloadsApplied(), dao.size()));
+        } catch (final Exception e) {
+            logger.debug(e.getMessage(), e);
+            return new Status(StatusCode.ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the observed registry, looking past refreshable proxies to the current target.
+     *
+     * @return the registry, or null if it is not resource-based
+     * @throws Exception if the proxy target cannot be obtained
+     */
+    private AbstractResourceBasedServiceRegistryDao getResourceBasedServiceRegistryDao() throws Exception {
+        Object dao = this.serviceRegistryDao;
+        if (dao instanceof Advised) {
+            dao = ((Advised) dao).getTargetSource().getTarget();
+        }
+        return dao instanceof AbstractResourceBasedServiceRegistryDao ? (AbstractResourceBasedServiceRegistryDao) dao : null;
+    }
+}
@@ -15,7 +15,9 @@ import org.apereo.cas.services.DefaultServicesManagerImplTests;
 import org.apereo.cas.services.InMemoryServiceRegistryDaoImplTests;
 import org.apereo.cas.services.PrincipalAttributeRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.RegexRegisteredServiceTests;
+import org.apereo.cas.services.RegisteredServiceMatchingIndexTests;
 import org.apereo.cas.services.RegisteredServiceAuthenticationHandlerResolverTests;
+import org.apereo.cas.services.ServiceRegistryConfigWatcherTests;
 import org.apereo.cas.services.SimpleServiceTests;
 import org.apereo.cas.services.TimeBasedRegisteredServiceAccessStrategyTests;
 import org.apereo.cas.services.UnauthorizedProxyingExceptionTests;
@@ -36,12 +38,15 @@ import org.junit.runners.Suite;
         HttpBasedServiceCredentialTests.class,
         AnonymousRegisteredServiceUsernameAttributeProviderTests.class,
         DefaultRegisteredServiceAccessStrategyTests.class,
+        RemoteEndpointServiceAccessDecisionCacheTests.class,
         DefaultRegisteredServiceUsernameProviderTests.class,
         DefaultServicesManagerImplTests.class,
         InMemoryServiceRegistryDaoImplTests.class,
         PrincipalAttributeRegisteredServiceUsernameProviderTests.class,
         RegexRegisteredServiceTests.class,
+        RegisteredServiceMatchingIndexTests.class,
         RegisteredServiceAuthenticationHandlerResolverTests.class,
+        ServiceRegistryConfigWatcherTests.class,
         SimpleServiceTests.class,
         TimeBasedRegisteredServiceAccessStrategyTests.class,
         UnauthorizedProxyingExceptionTests.class,
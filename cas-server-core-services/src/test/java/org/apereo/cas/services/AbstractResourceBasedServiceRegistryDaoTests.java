@@ -4,13 +4,16 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdGenerator;
 import org.apereo.cas.services.support.RegisteredServiceRegexAttributeFilter;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -389,4 +392,81 @@ public abstract class AbstractResourceBasedServiceRegistryDaoTests {
         final RegisteredServiceProperty prop = r.getProperties().get("field1");
         assertEquals(prop.getValues().size(), 2);
     }
+
+    @Test
+    public void verifyLoadChangesDetectsUpdatesAndDeletions() throws Exception {
+        final IncrementalServiceRegistryDao incremental = (IncrementalServiceRegistryDao) this.dao;
+        this.dao.load();
+        assertTrue(incremental.loadChanges().isEmpty());
+
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setServiceId("^https://incremental.+");
+        r.setName("verifyLoadChanges");
+        r.setId(4246);
+        this.dao.save(r);
+        assertTrue(incremental.loadChanges().isEmpty());
+
+        final File original = ((AbstractResourceBasedServiceRegistryDao) this.dao).makeFile(r);
+        final File renamed = new File(original.getParentFile(), "renamed-" + original.getName());
+        FileUtils.moveFile(original, renamed);
+
+        RegisteredServiceChangeSet changes = incremental.loadChanges();
+        assertEquals(1, changes.getUpdatedServices().size());
+        assertEquals(r.getId(), changes.getUpdatedServices().iterator().next().getId());
+        assertTrue(changes.getDeletedServices().isEmpty());
+
+        FileUtils.forceDelete(renamed);
+        changes = incremental.loadChanges();
+        assertTrue(changes.getUpdatedServices().isEmpty());
+        assertTrue(changes.getDeletedServices().contains(r.getId()));
+        assertNull(this.dao.findServiceById(r.getId()));
+        assertTrue(incremental.loadChanges().isEmpty());
+    }
+
+    @Test
+    public void verifyLoadChangesKeepsDefinitionsOfFilesThatFailToLoad() throws Exception {
+        final IncrementalServiceRegistryDao incremental = (IncrementalServiceRegistryDao) this.dao;
+        this.dao.load();
+
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setServiceId("^https://failing.+");
+        r.setName("verifyLoadChangesKeeps");
+        r.setId(4247);
+        this.dao.save(r);
+        assertTrue(incremental.loadChanges().isEmpty());
+
+        final File file = ((AbstractResourceBasedServiceRegistryDao) this.dao).makeFile(r);
+        FileUtils.write(file, "", StandardCharsets.UTF_8);
+        assertTrue(incremental.loadChanges().isEmpty());
+        assertNotNull(this.dao.findServiceById(r.getId()));
+
+        FileUtils.write(file, "{ not a service definition", StandardCharsets.UTF_8);
+        assertTrue(incremental.loadChanges().isEmpty());
+        assertEquals(r.getServiceId(), this.dao.findServiceById(r.getId()).getServiceId());
+
+        FileUtils.forceDelete(file);
+        assertTrue(incremental.loadChanges().getDeletedServices().contains(r.getId()));
+    }
+
+    @Test
+    public void verifyParallelLoadOfServiceDefinitions() throws Exception {
+        prepTests();
+        ((AbstractResourceBasedServiceRegistryDao) this.dao).setLoadParallelism(4);
+        IntStream.range(0, 50).forEach(i -> {
+            final RegexRegisteredService r = new RegexRegisteredService();
+            r.setServiceId("^https://parallel" + i + ".+");
+            r.setName("verifyParallelLoad" + i);
+            r.setId(5000 + i);
+            if (i == 0) {
+                r.setDescription(StringUtils.repeat('x', 128 * 1024));
+            }
+            this.dao.save(r);
+        });
+
+        final List<RegisteredService> services = this.dao.load();
+        assertEquals(50, services.size());
+        assertEquals(128 * 1024, this.dao.findServiceById(5000).getDescription().length());
+        IntStream.range(0, 50).forEach(i -> assertEquals("^https://parallel" + i + ".+",
+                this.dao.findServiceById(5000 + i).getServiceId()));
+    }
 }
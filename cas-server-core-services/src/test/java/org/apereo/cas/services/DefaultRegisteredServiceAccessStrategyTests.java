@@ -229,6 +229,31 @@ public class DefaultRegisteredServiceAccessStrategyTests {
         assertTrue(authz.doPrincipalAttributesAllowServiceAccess("test", pAttrs));
     }
 
+    @Test
+    public void checkAttributeRulesAreCompiledAgainWhenChanged() {
+        final DefaultRegisteredServiceAccessStrategy authz =
+                new DefaultRegisteredServiceAccessStrategy();
+        authz.setRequireAllAttributes(false);
+        final Map<String, Object> pAttrs = this.getPrincipalAttributes();
+        pAttrs.put("cn", "CAS");
+
+        final Map<String, Set<String>> reqs = new HashMap<>();
+        reqs.put("cn", Sets.newHashSet("cas"));
+        authz.setRequiredAttributes(reqs);
+        assertFalse(authz.doPrincipalAttributesAllowServiceAccess("test", pAttrs));
+
+        authz.setCaseInsensitive(true);
+        assertTrue(authz.doPrincipalAttributesAllowServiceAccess("test", pAttrs));
+
+        reqs.put("cn", Sets.newHashSet("nomatch"));
+        authz.setRequiredAttributes(reqs);
+        assertFalse(authz.doPrincipalAttributesAllowServiceAccess("test", pAttrs));
+
+        authz.setRequiredAttributes(new HashMap<>());
+        authz.setRejectedAttributes(getRejectedAttributes());
+        pAttrs.put("role", Lists.newArrayList("faculty", "staff"));
+        assertFalse(authz.doPrincipalAttributesAllowServiceAccess("test", pAttrs));
+    }
 
     private static Map<String, Set<String>> getRequiredAttributes() {
         final Map<String, Set<String>> map = new HashMap<>();
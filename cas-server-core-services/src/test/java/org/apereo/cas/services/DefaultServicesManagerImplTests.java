@@ -7,6 +7,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -195,6 +197,86 @@ public class DefaultServicesManagerImplTests {
 
     }
 
+    @Test
+    public void verifySnapshotVersionChangesOnUpdates() {
+        final long version = this.defaultServicesManagerImpl.getVersion();
+        final Collection<RegisteredService> services = this.defaultServicesManagerImpl.getAllServices();
+
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName("test");
+        r.setServiceId("test");
+        this.defaultServicesManagerImpl.save(r);
+
+        assertTrue(this.defaultServicesManagerImpl.getVersion() > version);
+        assertEquals(1, services.size());
+        assertEquals(2, this.defaultServicesManagerImpl.getAllServices().size());
+        assertSame(this.defaultServicesManagerImpl.getAllServices(), this.defaultServicesManagerImpl.getAllServices());
+    }
+
+    @Test
+    public void verifyCopyOnWrite() {
+        final RegisteredService copy = this.defaultServicesManagerImpl.findServiceCopyBy(2500);
+        assertNotSame(copy, this.defaultServicesManagerImpl.findServiceBy(2500));
+
+        copy.setEvaluationOrder(1);
+        assertEquals(1000, this.defaultServicesManagerImpl.findServiceBy(2500).getEvaluationOrder());
+
+        this.defaultServicesManagerImpl.save(copy);
+        assertEquals(1, this.defaultServicesManagerImpl.findServiceBy(2500).getEvaluationOrder());
+        assertNull(this.defaultServicesManagerImpl.findServiceCopyBy(1500));
+    }
+
+    @Test
+    public void verifyIncrementalLoadAppliesChanges() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName("incremental");
+        r.setServiceId("incremental");
+
+        final IncrementalInMemoryServiceRegistryDao dao = new IncrementalInMemoryServiceRegistryDao();
+        dao.setRegisteredServices(new ArrayList<>(Collections.singletonList(r)));
+        final DefaultServicesManagerImpl manager = new DefaultServicesManagerImpl(dao);
+        manager.load();
+        assertEquals(1, dao.fullLoads);
+
+        final long version = manager.getVersion();
+        manager.load();
+        assertEquals(1, dao.fullLoads);
+        assertEquals(version, manager.getVersion());
+
+        final RegexRegisteredService r2 = new RegexRegisteredService();
+        r2.setId(3001);
+        r2.setName("incremental2");
+        r2.setServiceId("incremental2");
+        dao.changes = new RegisteredServiceChangeSet(Collections.singletonList(r2), Collections.singletonList(r.getId()));
+        manager.load();
+        assertEquals(1, dao.fullLoads);
+        assertNull(manager.findServiceBy(r.getId()));
+        assertNotNull(manager.findServiceBy(r2.getId()));
+        assertEquals(1, manager.getAllServices().size());
+        assertTrue(manager.getVersion() > version);
+    }
+
+    private static class IncrementalInMemoryServiceRegistryDao extends InMemoryServiceRegistryDaoImpl
+            implements IncrementalServiceRegistryDao {
+        private int fullLoads;
+        private RegisteredServiceChangeSet changes = RegisteredServiceChangeSet.empty();
+
+        @Override
+        public List<RegisteredService> load() {
+            this.fullLoads++;
+            return super.load();
+        }
+
+        @Override
+        public RegisteredServiceChangeSet loadChanges() {
+            final RegisteredServiceChangeSet result = this.changes;
+            this.changes = RegisteredServiceChangeSet.empty();
+            return result;
+        }
+    }
+
     private static class SimpleService implements Service {
 
         /**
@@ -0,0 +1,133 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.mock.MockService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link RegisteredServiceMatchingIndex}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RegisteredServiceMatchingIndexTests {
+
+    private static final String[] PATTERNS = {
+            "https://app\\.example\\.org/exact",
+            "^https://app\\.example\\.org/portal/.*",
+            "https://app.example.org/legacy.*$",
+            "^https?://app\\.example\\.org(:\\d+)?/.*",
+            "https?://www\\.example\\.org/.*",
+            "(https|imaps)://mail\\.example\\.org:\\d+/.*",
+            "https://cdn\\.example\\.org/?.*",
+            "https*://([A-Za-z0-9_-]+\\.)+vt\\.edu/.*",
+            "https://a\\.example\\.org/.*|https://b\\.example\\.org/.*",
+            "(?-i)https://case\\.example\\.org/.*",
+            "ftp://files\\.example\\.org+/.*",
+            "https://[invalid",
+            "exactservice",
+            "^(https?|imaps?)://.*",
+    };
+
+    private static final String[] SERVICES = {
+            "https://app.example.org/exact",
+            "HTTPS://APP.EXAMPLE.ORG/EXACT",
+            "https://app.example.org/exact/more",
+            "https://app.example.org/portal/index.html",
+            "https://app.example.org/legacy",
+            "https://app.example.org/legacy\nhttps://evil.org",
+            "http://app.example.org:8443/path",
+            "http://app.example.org.evil.org/path",
+            "https://www.example.org/",
+            "https://www.example.org",
+            "imaps://mail.example.org:993/inbox",
+            "imaps://mail.example.org/inbox",
+            "https://cdn.example.orgevil.com",
+            "https://cdn.example.org",
+            "https://test-01.service.vt.edu/webapp?a=1",
+            "https://thepiratebay.se?service.vt.edu/webapp?a=1",
+            "https://b.example.org/login",
+            "https://CASE.example.org/login",
+            "https://case.example.org/login",
+            "ftp://files.example.orggg/readme",
+            "https://[invalid",
+            "EXACTSERVICE",
+            "exactservice2",
+            "mailto:someone@example.org",
+            "",
+    };
+
+    private List<RegisteredService> sortedServices;
+
+    @Before
+    public void setUp() {
+        final TreeSet<RegisteredService> services = new TreeSet<>();
+        for (int i = 0; i < PATTERNS.length; i++) {
+            final RegexRegisteredService r = new RegexRegisteredService();
+            r.setId(i);
+            r.setName("service-" + i);
+            r.setServiceId(PATTERNS[i]);
+            r.setEvaluationOrder(i % 3 == 0 ? PATTERNS.length - i : i);
+            services.add(r);
+        }
+        this.sortedServices = new ArrayList<>(services);
+    }
+
+    @Test
+    public void verifyIndexMatchesLinearEvaluation() {
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(this.sortedServices);
+        Arrays.stream(SERVICES).forEach(id -> {
+            final Service service = new MockService(id);
+            assertEquals(id, findLinear(service), index.find(service));
+        });
+    }
+
+    @Test
+    public void verifyCachedResultsAreConsistent() {
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(this.sortedServices, 2);
+        for (int i = 0; i < 3; i++) {
+            Arrays.stream(SERVICES).forEach(id -> {
+                final Service service = new MockService(id);
+                assertEquals(id, findLinear(service), index.find(service));
+            });
+        }
+    }
+
+    @Test
+    public void verifyEvaluationOrderIsHonored() {
+        final RegexRegisteredService catchAll = new RegexRegisteredService();
+        catchAll.setId(100);
+        catchAll.setName("catch-all");
+        catchAll.setServiceId("^https://.*");
+        catchAll.setEvaluationOrder(0);
+
+        final RegexRegisteredService exact = new RegexRegisteredService();
+        exact.setId(101);
+        exact.setName("exact");
+        exact.setServiceId("https://app\\.example\\.org/exact");
+        exact.setEvaluationOrder(1);
+
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(
+                new ArrayList<>(new TreeSet<>(Arrays.asList(exact, catchAll))));
+        assertEquals(catchAll, index.find(new MockService("https://app.example.org/exact")));
+    }
+
+    @Test
+    public void verifyNullService() {
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(this.sortedServices);
+        assertNull(index.find(null));
+        assertEquals(PATTERNS.length, index.size());
+    }
+
+    private RegisteredService findLinear(final Service service) {
+        return this.sortedServices.stream().filter(r -> r.matches(service)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,254 @@
+package org.apereo.cas.services;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.monitor.StatusCode;
+import org.apereo.cas.util.http.HttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RemoteEndpointServiceAccessDecisionCacheTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RemoteEndpointServiceAccessDecisionCacheTests {
+    private static final String ENDPOINT = "http://localhost:8755/access";
+
+    private static final Set<Integer> CODES = ImmutableSet.of(200, 202);
+
+    private org.apache.http.client.HttpClient wrappedClient;
+
+    private RemoteEndpointServiceAccessDecisionCache cache;
+
+    @Before
+    public void setUp() {
+        this.wrappedClient = mock(org.apache.http.client.HttpClient.class);
+        final HttpClient client = mock(HttpClient.class);
+        when(client.getWrappedHttpClient()).thenReturn(this.wrappedClient);
+        this.cache = new RemoteEndpointServiceAccessDecisionCache(client, 60, 60, 100, 4, 100);
+    }
+
+    @After
+    public void tearDown() {
+        this.cache.destroy();
+    }
+
+    @Test
+    public void verifyGrantedDecisionIsCached() throws Exception {
+        respondWith(200);
+        assertTrue(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        assertTrue(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        verify(this.wrappedClient, times(1)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+
+        final RemoteEndpointServiceAccessDecisionStatistics stats = this.cache.getStatistics();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getRemoteCallCount());
+    }
+
+    @Test
+    public void verifyDeniedDecisionIsCached() throws Exception {
+        respondWith(403);
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        verify(this.wrappedClient, times(1)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifyDecisionsAreKeyedByPrincipal() throws Exception {
+        respondWith(200);
+        assertTrue(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        assertTrue(this.cache.isAccessAllowed(ENDPOINT, CODES, "other", 1000));
+        verify(this.wrappedClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifyConcurrentLookupsCollapse() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 200;
+        });
+
+        final ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(() -> this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 5000)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(this.wrappedClient, times(1)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifySlowEndpointTimesOut() throws Exception {
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return 200;
+        });
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 50));
+        assertEquals(1, this.cache.getStatistics().getTimeoutCount());
+    }
+
+    @Test
+    public void verifyTimedOutCallersCountAsSingleFailure() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 200;
+        });
+        this.cache.setFailureThreshold(2);
+
+        final ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(() -> this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 50)));
+            }
+            for (final Future<Boolean> result : results) {
+                assertFalse(result.get());
+            }
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+        final RemoteEndpointServiceAccessDecisionStatistics stats = this.cache.getStatistics();
+        assertEquals(5, stats.getTimeoutCount());
+        assertEquals(0, stats.getOpenCircuitCount());
+    }
+
+    @Test
+    public void verifyRequestsAreRejectedOnceQueueIsFull() throws Exception {
+        final HttpClient client = mock(HttpClient.class);
+        when(client.getWrappedHttpClient()).thenReturn(this.wrappedClient);
+        final RemoteEndpointServiceAccessDecisionCache bounded = new RemoteEndpointServiceAccessDecisionCache(client, 60, 60, 100, 1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return 200;
+        });
+        try {
+            assertFalse(bounded.isAccessAllowed(ENDPOINT, CODES, "user1", 1));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertFalse(bounded.isAccessAllowed(ENDPOINT, CODES, "user2", 1));
+
+            final long start = System.nanoTime();
+            assertFalse(bounded.isAccessAllowed(ENDPOINT, CODES, "user3", 10000));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        } finally {
+            release.countDown();
+            bounded.destroy();
+        }
+    }
+
+    @Test
+    public void verifyCircuitOpensAfterFailures() throws Exception {
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class)))
+                .thenThrow(new IOException("Connection refused"));
+        this.cache.setFailureThreshold(2);
+        this.cache.setCircuitBreakerDelay(60);
+
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "user1", 1000));
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "user2", 1000));
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "user3", 1000));
+        verify(this.wrappedClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+
+        final RemoteEndpointServiceAccessDecisionStatistics stats = this.cache.getStatistics();
+        assertEquals(2, stats.getFailureCount());
+        assertEquals(1, stats.getShortCircuitCount());
+        assertEquals(1, stats.getOpenCircuitCount());
+    }
+
+    @Test
+    public void verifyServerErrorsAreNotCachedAndOpenCircuit() throws Exception {
+        respondWith(503);
+        this.cache.setFailureThreshold(2);
+        this.cache.setCircuitBreakerDelay(60);
+
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        verify(this.wrappedClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+
+        final RemoteEndpointServiceAccessDecisionStatistics stats = this.cache.getStatistics();
+        assertEquals(2, stats.getFailureCount());
+        assertEquals(1, stats.getOpenCircuitCount());
+    }
+
+    @Test
+    public void verifyRecoveredEndpointGrantsAccess() throws Exception {
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenReturn(500, 200);
+        assertFalse(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+        assertTrue(this.cache.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+    }
+
+    @Test
+    public void verifyExpiredDecisionsAreNotEvictions() throws Exception {
+        respondWith(200);
+        final HttpClient client = mock(HttpClient.class);
+        when(client.getWrappedHttpClient()).thenReturn(this.wrappedClient);
+        final RemoteEndpointServiceAccessDecisionCache expiring = new RemoteEndpointServiceAccessDecisionCache(client, 1, 1, 100, 1, 10);
+        try {
+            final RemoteEndpointServiceAccessDecisionMonitor monitor = new RemoteEndpointServiceAccessDecisionMonitor(expiring);
+            ReflectionTestUtils.setField(monitor, "casProperties", new CasConfigurationProperties());
+            assertEquals(StatusCode.UNKNOWN, monitor.observe().getCode());
+
+            assertTrue(expiring.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+            Thread.sleep(1500);
+            assertTrue(expiring.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+            verify(this.wrappedClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+
+            assertEquals(0, expiring.getStatistics().getEvictions());
+            assertEquals(StatusCode.OK, monitor.observe().getCode());
+        } finally {
+            expiring.destroy();
+        }
+    }
+
+    @Test
+    public void verifyDecisionsRemovedWhenFullAreEvictions() throws Exception {
+        respondWith(200);
+        final HttpClient client = mock(HttpClient.class);
+        when(client.getWrappedHttpClient()).thenReturn(this.wrappedClient);
+        final RemoteEndpointServiceAccessDecisionCache bounded = new RemoteEndpointServiceAccessDecisionCache(client, 60, 60, 1, 1, 10);
+        try {
+            assertTrue(bounded.isAccessAllowed(ENDPOINT, CODES, "casuser", 1000));
+            assertTrue(bounded.isAccessAllowed(ENDPOINT, CODES, "other", 1000));
+            assertEquals(1, bounded.getStatistics().getEvictions());
+        } finally {
+            bounded.destroy();
+        }
+    }
+
+    private void respondWith(final int code) throws Exception {
+        when(this.wrappedClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenReturn(code);
+    }
+}
@@ -0,0 +1,125 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.support.events.CasRegisteredServicesRefreshEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link ServiceRegistryConfigWatcher}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ServiceRegistryConfigWatcherTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ApplicationEventPublisher publisher;
+
+    private CountDownLatch published;
+
+    private ServiceRegistryConfigWatcher watcher;
+
+    private Thread thread;
+
+    @Before
+    public void setUp() throws Exception {
+        this.published = new CountDownLatch(1);
+        this.publisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> {
+            this.published.countDown();
+            return null;
+        }).when(this.publisher).publishEvent(any(CasRegisteredServicesRefreshEvent.class));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (this.watcher != null) {
+            this.watcher.close();
+            this.thread.interrupt();
+            this.thread.join();
+        }
+    }
+
+    @Test
+    public void verifyEventsAreCoalescedIntoSingleRefresh() throws Exception {
+        final ResourceBasedServiceRegistryDao dao = mock(ResourceBasedServiceRegistryDao.class,
+                withSettings().extraInterfaces(IncrementalServiceRegistryDao.class));
+        final AtomicLong eventsAtRefresh = new AtomicLong();
+        doAnswer(invocation -> {
+            eventsAtRefresh.set(this.watcher.getEventsReceived());
+            this.published.countDown();
+            return null;
+        }).when(this.publisher).publishEvent(any(CasRegisteredServicesRefreshEvent.class));
+        startWatcher(dao, 2000);
+
+        for (int i = 0; i < 20; i++) {
+            final File file = new File(this.folder.getRoot(), "service-" + i + ".json");
+            Files.write(file.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+            Files.write(file.toPath(), "{ }".getBytes(StandardCharsets.UTF_8));
+        }
+        assertTrue(this.published.await(30, TimeUnit.SECONDS));
+
+        assertTrue(eventsAtRefresh.get() >= 20);
+        verify(this.publisher, times(1)).publishEvent(any(CasRegisteredServicesRefreshEvent.class));
+        assertEquals(0, this.watcher.getReloadsPerformed());
+    }
+
+    @Test
+    public void verifyOnlyReloadsThatApplyChangesAreCounted() throws Exception {
+        final ResourceBasedServiceRegistryDao dao = mock(ResourceBasedServiceRegistryDao.class);
+        final RegexRegisteredService unchanged = new RegexRegisteredService();
+        unchanged.setId(1);
+        unchanged.setServiceId("^https://unchanged.example.org");
+        final RegexRegisteredService changed = new RegexRegisteredService();
+        changed.setId(2);
+        changed.setServiceId("^https://changed.example.org");
+
+        final File unchangedFile = new File(this.folder.getRoot(), "unchanged-1.json");
+        final File changedFile = new File(this.folder.getRoot(), "changed-2.json");
+        final CountDownLatch unchangedLoaded = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            unchangedLoaded.countDown();
+            return unchanged;
+        }).when(dao).load(unchangedFile);
+        doReturn(changed).when(dao).load(changedFile);
+        doReturn(unchanged).when(dao).findServiceById(1);
+        startWatcher(dao, 100);
+
+        Files.write(unchangedFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+        assertTrue(unchangedLoaded.await(30, TimeUnit.SECONDS));
+        Files.write(changedFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+        assertTrue(this.published.await(30, TimeUnit.SECONDS));
+
+        verify(dao).update(changed);
+        verify(dao, never()).update(unchanged);
+        verify(this.publisher, times(1)).publishEvent(any(CasRegisteredServicesRefreshEvent.class));
+        assertEquals(1, this.watcher.getReloadsPerformed());
+    }
+
+    private void startWatcher(final ResourceBasedServiceRegistryDao dao, final long quietPeriod) {
+        final Path directory = this.folder.getRoot().toPath();
+        doReturn(directory).when(dao).getWatchableResource();
+        this.watcher = new ServiceRegistryConfigWatcher(dao, null);
+        this.watcher.setApplicationEventPublisher(this.publisher);
+        this.watcher.setQuietPeriod(quietPeriod);
+        this.thread = new Thread(this.watcher);
+        this.thread.start();
+    }
+}
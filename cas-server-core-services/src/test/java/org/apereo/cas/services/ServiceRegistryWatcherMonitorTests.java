@@ -0,0 +1,38 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.monitor.Status;
+import org.apereo.cas.monitor.StatusCode;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link ServiceRegistryWatcherMonitor}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ServiceRegistryWatcherMonitorTests {
+
+    @Test
+    public void verifyResourceBasedRegistryIsObserved() {
+        final AbstractResourceBasedServiceRegistryDao dao = mock(AbstractResourceBasedServiceRegistryDao.class);
+        when(dao.getWatchEventsReceived()).thenReturn(12L);
+        when(dao.getReloadsApplied()).thenReturn(3L);
+        when(dao.size()).thenReturn(5L);
+
+        final ProxyFactory factory = new ProxyFactory(dao);
+        factory.addInterface(ServiceRegistryDao.class);
+        final Status status = new ServiceRegistryWatcherMonitor((ServiceRegistryDao) factory.getProxy()).observe();
+        assertEquals(StatusCode.OK, status.getCode());
+        assertEquals("12 watch event(s) received, 3 reload(s) applied, 5 service(s) loaded", status.getDescription());
+    }
+
+    @Test
+    public void verifyOtherRegistriesAreNotObserved() {
+        final Status status = new ServiceRegistryWatcherMonitor(new InMemoryServiceRegistryDaoImpl()).observe();
+        assertEquals(StatusCode.UNKNOWN, status.getCode());
+    }
+}
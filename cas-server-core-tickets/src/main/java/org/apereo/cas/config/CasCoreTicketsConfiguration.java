@@ -152,6 +152,7 @@ public class CasCoreTicketsConfiguration {
                 casProperties.getTicket().getRegistry().getInMemory().getLoadFactor(),
                 casProperties.getTicket().getRegistry().getInMemory().getConcurrency());
         r.setCipherExecutor(cipherExecutor);
+        r.setExpirationRecheckInterval(casProperties.getTicket().getRegistry().getCleaner().getExpirationRecheckInterval());
         return r;
     }
 
@@ -70,6 +70,15 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name="SERVICES_GRANTED_ACCESS_TO", nullable=false, length = Integer.MAX_VALUE)
     private HashMap<String, Service> services = new HashMap<>();
 
+    /**
+     * The most recent service ticket granted to each normalized service path.
+     * Rebuilt from {@link #services} once the ticket is deserialized.
+     */
+    private transient Map<String, String> servicePaths;
+
+    /** Read-only snapshot of {@link #services}, taken on first read after a change. */
+    private transient volatile Map<String, Service> servicesSnapshot;
+
     /** The {@link TicketGrantingTicket} this is associated with. */
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
     private TicketGrantingTicket ticketGrantingTicket;
@@ -167,18 +176,28 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         final List<Authentication> authentications = getChainedAuthentications();
         service.setPrincipal(authentications.get(authentications.size()-1).getPrincipal());
 
-        if (onlyTrackMostRecentSession) {
-            final String path = normalizePath(service);
-            final Collection<Service> existingServices = this.services.values();
-            // loop on existing services
-            existingServices.stream()
-                    .filter(existingService -> path.equals(normalizePath(existingService)))
-                    .findFirst().ifPresent(existingService -> {
-                        existingServices.remove(existingService);
-                        LOGGER.trace("Removed previous tickets for service: {}", existingService);
-                    });
+        final String path = normalizePath(service);
+        final String previousId = servicePaths().put(path, id);
+        if (onlyTrackMostRecentSession && previousId != null) {
+            final Service existingService = this.services.remove(previousId);
+            LOGGER.trace("Removed previous tickets for service: {}", existingService);
         }
         this.services.put(id, service);
+        this.servicesSnapshot = null;
+    }
+
+    /**
+     * Index of the most recent service ticket granted to each normalized service path,
+     * so the previous session of a service is found without scanning all services.
+     *
+     * @return the index
+     */
+    private Map<String, String> servicePaths() {
+        if (this.servicePaths == null) {
+            this.servicePaths = new HashMap<>(this.services.size());
+            this.services.forEach((ticketId, existingService) -> this.servicePaths.put(normalizePath(existingService), ticketId));
+        }
+        return this.servicePaths;
     }
 
     /**
@@ -199,13 +218,24 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * Gets an immutable map of service ticket and services accessed by this ticket-granting ticket.
      * Unlike {@link java.util.Collections#unmodifiableMap(java.util.Map)},
      * which is a view of a separate map which can still change, an instance of {@link ImmutableMap}
-     * contains its own data and will never change.
+     * contains its own data and will never change. The map is shared by all callers
+     * until services of this ticket change, so reading services does not copy them every time.
      *
      * @return an immutable map of service ticket and services accessed by this ticket-granting ticket.
     */
     @Override
-    public synchronized Map<String, Service> getServices() {
-        return ImmutableMap.copyOf(this.services);
+    public Map<String, Service> getServices() {
+        Map<String, Service> snapshot = this.servicesSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.servicesSnapshot;
+                if (snapshot == null) {
+                    snapshot = ImmutableMap.copyOf(this.services);
+                    this.servicesSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
     }
 
     @Override
@@ -217,8 +247,10 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * Remove all services of the TGT (at logout).
      */
     @Override
-    public void removeAllServices() {
+    public synchronized void removeAllServices() {
         this.services.clear();
+        this.servicePaths = null;
+        this.servicesSnapshot = null;
     }
 
     /**
@@ -14,7 +14,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -97,16 +101,71 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             }
 
             logger.debug("Removing children of ticket [{}] from the registry.", ticket.getId());
-            final TicketGrantingTicket tgt = (TicketGrantingTicket) ticket;
-            deleteChildren(tgt);
-
-            final Collection<ProxyGrantingTicket> proxyGrantingTickets = tgt.getProxyGrantingTickets();
-            proxyGrantingTickets.stream().map(Ticket::getId).forEach(this::deleteTicket);
+            final Set<String> relatedTicketIds = new LinkedHashSet<>();
+            collectRelatedTicketIds(Collections.singleton((TicketGrantingTicket) ticket), relatedTicketIds);
+            relatedTicketIds.remove(ticketId);
+            if (!relatedTicketIds.isEmpty()) {
+                final int count = deleteSingleTickets(relatedTicketIds);
+                logger.debug("Removed {} of {} children of ticket [{}]", count, relatedTicketIds.size(), ticketId);
+            }
         }
         logger.debug("Removing ticket [{}] from the registry.", ticket);
         return deleteSingleTicket(ticketId);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched in bulk so that related tickets of ticket-granting tickets
+     * can be determined, and all tickets are then removed in bulk via
+     * {@link #deleteSingleTickets(Collection)}.</p>
+     */
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        final Collection<Ticket> tickets = getTickets(ticketIds);
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        final Set<String> ids = new LinkedHashSet<>();
+        tickets.stream().map(Ticket::getId).forEach(ids::add);
+        final List<TicketGrantingTicket> ticketGrantingTickets = tickets.stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .collect(Collectors.toList());
+        collectRelatedTicketIds(ticketGrantingTickets, ids);
+        logger.debug("Removing {} tickets from the registry", ids.size());
+        return deleteSingleTickets(ids);
+    }
+
+    /**
+     * Collect the ids of service tickets and proxy-granting tickets that descend from the given
+     * ticket-granting tickets. Proxy-granting tickets are fetched from the registry in bulk,
+     * once for every level of proxying.
+     *
+     * @param ticketGrantingTickets the ticket-granting tickets
+     * @param ids                   the collected ticket ids
+     */
+    private void collectRelatedTicketIds(final Collection<TicketGrantingTicket> ticketGrantingTickets, final Set<String> ids) {
+        final Set<String> proxyGrantingTicketIds = new LinkedHashSet<>();
+        ticketGrantingTickets.forEach(tgt -> {
+            final Map<String, Service> services = tgt.getServices();
+            if (services != null) {
+                ids.addAll(services.keySet());
+            }
+            tgt.getProxyGrantingTickets().stream()
+                    .map(Ticket::getId)
+                    .filter(id -> !ids.contains(id))
+                    .forEach(proxyGrantingTicketIds::add);
+        });
+        if (proxyGrantingTicketIds.isEmpty()) {
+            return;
+        }
+        final List<TicketGrantingTicket> proxyGrantingTickets = getTickets(proxyGrantingTicketIds).stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .collect(Collectors.toList());
+        proxyGrantingTickets.forEach(pgt -> ids.add(pgt.getId()));
+        collectRelatedTicketIds(proxyGrantingTickets, ids);
+    }
 
     /**
      * Delete TGT's service tickets.
@@ -117,14 +176,30 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         // delete service tickets
         final Map<String, Service> services = ticket.getServices();
         if (services != null && !services.isEmpty()) {
-            services.keySet().stream().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    logger.debug("Removed ticket [{}]", ticketId);
-                } else {
-                    logger.debug("Unable to remove ticket [{}]", ticketId);
-                }
-            });
+            final int count = deleteSingleTickets(services.keySet());
+            logger.debug("Removed {} of {} service tickets of [{}]", count, services.size(), ticket.getId());
+        }
+    }
+
+    /**
+     * Delete the given ticket instances from the store, without removing related tickets.
+     * Registries that support multi-key operations should override this method to
+     * remove all tickets in as few round trips as possible.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets that were removed
+     */
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        int count = 0;
+        for (final String ticketId : ticketIds) {
+            if (deleteSingleTicket(ticketId)) {
+                logger.debug("Removed ticket [{}]", ticketId);
+                count++;
+            } else {
+                logger.debug("Unable to remove ticket [{}]", ticketId);
+            }
         }
+        return count;
     }
 
     /**
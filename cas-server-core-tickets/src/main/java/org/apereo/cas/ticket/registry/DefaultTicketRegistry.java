@@ -1,28 +1,58 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the TicketRegistry that is backed by a ConcurrentHashMap.
+ * <p>
+ * The registry maintains counters of ticket-granting and service tickets, an index of
+ * ticket-granting tickets by principal id, and an index of child tickets by the id of
+ * their ticket-granting ticket. Counters and indexes are updated while the ticket entry
+ * is being added or removed, so that they remain consistent with the contents of the registry
+ * and can be queried without scanning all tickets. Tickets are also tracked in a
+ * {@link TicketExpirationIndex} so that expired tickets can be located without a full scan.
  *
  * @author Scott Battaglia
  * @since 3.0.0
  */
-public class DefaultTicketRegistry extends AbstractTicketRegistry {
+public class DefaultTicketRegistry extends AbstractTicketRegistry implements ExpirationIndexedTicketRegistry {
 
     /**
      * A HashMap to contain the tickets.
      */
     private Map<String, Ticket> cache;
 
+    /**
+     * Ticket-granting ticket ids indexed by principal id.
+     */
+    private final Map<String, Set<String>> ticketGrantingTicketsByPrincipal = new ConcurrentHashMap<>();
+
+    /**
+     * Child ticket ids indexed by the id of the ticket-granting ticket that granted them.
+     */
+    private final Map<String, Set<String>> ticketsByTicketGrantingTicket = new ConcurrentHashMap<>();
+
+    private final LongAdder sessionCount = new LongAdder();
+
+    private final LongAdder serviceTicketCount = new LongAdder();
+
+    private final TicketExpirationIndex expirationIndex = new TicketExpirationIndex();
+
     /**
      * Instantiates a new default ticket registry.
      */
@@ -49,12 +79,27 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         this.cache = new ConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel);
     }
 
+    /**
+     * Sets the interval after which tickets whose expiration policy yields no due time are examined again.
+     *
+     * @param recheckInterval the interval, in milliseconds
+     */
+    public void setExpirationRecheckInterval(final long recheckInterval) {
+        this.expirationIndex.setRecheckInterval(recheckInterval);
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         Assert.notNull(ticket, "ticket cannot be null");
 
         logger.debug("Added ticket [{}] to registry.", ticket.getId());
-        this.cache.put(ticket.getId(), ticket);
+        this.cache.compute(ticket.getId(), (id, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(ticket);
+            return ticket;
+        });
     }
 
     @Override
@@ -68,7 +113,17 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        return this.cache.remove(ticketId) != null;
+        if (ticketId == null) {
+            return false;
+        }
+        final boolean[] removed = {false};
+        this.cache.computeIfPresent(ticketId, (id, ticket) -> {
+            unindex(ticket);
+            this.ticketsByTicketGrantingTicket.remove(id);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
 
@@ -79,12 +134,73 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long sessionCount() {
-        return this.cache.values().stream().filter(t -> t instanceof TicketGrantingTicket).count();
+        return this.sessionCount.sum();
     }
 
     @Override
     public long serviceTicketCount() {
-        return this.cache.values().stream().filter(t -> t instanceof ServiceTicket).count();
+        return this.serviceTicketCount.sum();
+    }
+
+    @Override
+    public Collection<Ticket> getExpiredTickets(final int limit) {
+        return getExpiredTickets(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets tickets whose expiration is due at the given time and that have expired.
+     *
+     * @param limit the maximum number of tickets to return
+     * @param now   the current time in milliseconds since the epoch
+     * @return the expired tickets, up to the given limit
+     */
+    Collection<Ticket> getExpiredTickets(final int limit, final long now) {
+        final List<Ticket> expired = new ArrayList<>();
+        List<String> due = this.expirationIndex.pollDue(now, limit);
+        while (!due.isEmpty()) {
+            due.forEach(ticketId -> this.cache.computeIfPresent(ticketId, (id, ticket) -> {
+                if (ticket.isExpired()) {
+                    expired.add(ticket);
+                    this.expirationIndex.reschedule(id, now);
+                } else {
+                    this.expirationIndex.schedule(ticket, now);
+                }
+                return ticket;
+            }));
+            if (expired.size() >= limit) {
+                break;
+            }
+            due = this.expirationIndex.pollDue(now, limit - expired.size());
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the ticket-granting tickets that are held by the given principal.
+     * Proxy-granting tickets are not included.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets
+     */
+    public Collection<TicketGrantingTicket> getTicketGrantingTickets(final String principalId) {
+        return this.ticketGrantingTicketsByPrincipal.getOrDefault(principalId, Collections.emptySet())
+                .stream()
+                .map(this::getTicket)
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the ids of tickets that were granted by the given ticket-granting ticket
+     * and that are still present in the registry.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @return the child ticket ids
+     */
+    public Collection<String> getChildTicketIds(final String ticketGrantingTicketId) {
+        return Collections.unmodifiableSet(
+                this.ticketsByTicketGrantingTicket.getOrDefault(ticketGrantingTicketId, Collections.emptySet()));
     }
 
     @Override
@@ -96,4 +212,64 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
     protected boolean needsCallback() {
         return false;
     }
+
+    private void index(final Ticket ticket) {
+        this.expirationIndex.schedule(ticket);
+        if (ticket instanceof TicketGrantingTicket) {
+            this.sessionCount.increment();
+            final String principalId = getPrincipalId((TicketGrantingTicket) ticket);
+            if (principalId != null) {
+                addToIndex(this.ticketGrantingTicketsByPrincipal, principalId, ticket.getId());
+            }
+        } else if (ticket instanceof ServiceTicket) {
+            this.serviceTicketCount.increment();
+        }
+        final TicketGrantingTicket parent = ticket.getGrantingTicket();
+        if (parent != null) {
+            addToIndex(this.ticketsByTicketGrantingTicket, parent.getId(), ticket.getId());
+        }
+    }
+
+    private void unindex(final Ticket ticket) {
+        this.expirationIndex.remove(ticket.getId());
+        if (ticket instanceof TicketGrantingTicket) {
+            this.sessionCount.decrement();
+            final String principalId = getPrincipalId((TicketGrantingTicket) ticket);
+            if (principalId != null) {
+                removeFromIndex(this.ticketGrantingTicketsByPrincipal, principalId, ticket.getId());
+            }
+        } else if (ticket instanceof ServiceTicket) {
+            this.serviceTicketCount.decrement();
+        }
+        final TicketGrantingTicket parent = ticket.getGrantingTicket();
+        if (parent != null) {
+            removeFromIndex(this.ticketsByTicketGrantingTicket, parent.getId(), ticket.getId());
+        }
+    }
+
+    private static String getPrincipalId(final TicketGrantingTicket ticket) {
+        if (ticket instanceof ProxyGrantingTicket) {
+            return null;
+        }
+        final Authentication authentication = ticket.getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
+            return null;
+        }
+        return authentication.getPrincipal().getId();
+    }
+
+    private static void addToIndex(final Map<String, Set<String>> index, final String key, final String ticketId) {
+        index.compute(key, (k, ids) -> {
+            final Set<String> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            result.add(ticketId);
+            return result;
+        });
+    }
+
+    private static void removeFromIndex(final Map<String, Set<String>> index, final String key, final String ticketId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
 }
@@ -1,11 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.collect.Iterators;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.util.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +15,34 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.support.SpringBeanAutowiringSupport;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
+ * <p>
+ * Expired tickets are removed in batches. If the ticket registry keeps track of upcoming
+ * expirations, only tickets that are due are examined; otherwise, all tickets are examined.
+ * Logout operations for expired ticket-granting tickets are handed over to a bounded executor
+ * before the batch is removed. The cleaner waits for them no longer than the logout timeout,
+ * so that slow single logout callbacks do not hold up the cleanup process. Tickets are only removed
+ * once their logout has completed: tickets whose logout is still running are kept, and are removed
+ * by a later run, so that logout operations never work with tickets that have been removed
+ * or with state that belongs to a transaction that is over.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -26,6 +51,8 @@ import java.util.stream.Collectors;
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultTicketRegistryCleaner.class);
 
+    private static final int LOGOUT_QUEUE_CAPACITY = 10_000;
+
     @Autowired
     private CasConfigurationProperties casProperties;
     
@@ -34,6 +61,10 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     private TicketRegistry ticketRegistry;
     
     private LockingStrategy lockingStrategy;
+
+    private ExecutorService logoutExecutor;
+
+    private final Map<String, Future<?>> pendingLogouts = new ConcurrentHashMap<>();
     
     @Scheduled(initialDelayString = "${cas.ticket.registry.cleaner.startDelay:20000}",
                fixedDelayString = "${cas.ticket.registry.cleaner.repeatInterval:60000}")
@@ -62,25 +93,14 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
 
             LOGGER.info("Beginning ticket cleanup...");
 
-            final Collection<Ticket> ticketsToRemove = ticketRegistry.getTickets()
-                    .stream()
-                    .filter(t -> t.isExpired())
-                    .collect(Collectors.toSet());
-            LOGGER.debug("{} expired tickets found.", ticketsToRemove.size());
-
-            for (final Ticket ticket : ticketsToRemove) {
-                if (ticket instanceof TicketGrantingTicket) {
-                    LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
-                    logoutManager.performLogout((TicketGrantingTicket) ticket);
-                    ticketRegistry.deleteTicket(ticket.getId());
-                } else if (ticket instanceof ServiceTicket) {
-                    LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
-                    ticketRegistry.deleteTicket(ticket.getId());
-                } else {
-                    LOGGER.warn("Unknown ticket type [{} found to clean", ticket.getClass().getSimpleName());
-                }
+            final int batchSize = Math.max(1, casProperties.getTicket().getRegistry().getCleaner().getBatchSize());
+            int count = removeLoggedOutTickets();
+            if (this.ticketRegistry instanceof ExpirationIndexedTicketRegistry) {
+                count += cleanExpiredTickets((ExpirationIndexedTicketRegistry) this.ticketRegistry, batchSize);
+            } else {
+                count += cleanAllTickets(batchSize);
             }
-            LOGGER.info("{} expired tickets removed.", ticketsToRemove.size());
+            LOGGER.info("{} expired tickets removed.", count);
 
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -91,6 +111,181 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
         }
     }
 
+    /**
+     * Remove expired tickets that are due, as tracked by the registry, in batches.
+     *
+     * @param registry  the registry
+     * @param batchSize the batch size
+     * @return the number of tickets removed
+     */
+    private int cleanExpiredTickets(final ExpirationIndexedTicketRegistry registry, final int batchSize) {
+        int count = 0;
+        Collection<Ticket> batch;
+        do {
+            batch = registry.getExpiredTickets(batchSize);
+            LOGGER.debug("{} expired tickets found in batch.", batch.size());
+            count += cleanTickets(batch);
+        } while (batch.size() >= batchSize && !Thread.currentThread().isInterrupted());
+        return count;
+    }
+
+    /**
+     * Examine all tickets in the registry, and remove those that have expired.
+     * Tickets are streamed from the registry one page at a time, and each batch of expired
+     * tickets is collected before it is removed, so that removals do not interfere with the page
+     * that is being examined. Expired tickets that are missed because removals shifted subsequent
+     * pages are removed on the next run.
+     *
+     * @param batchSize the batch size
+     * @return the number of tickets removed
+     */
+    private int cleanAllTickets(final int batchSize) {
+        int count = 0;
+        try (Stream<Ticket> tickets = this.ticketRegistry.streamTickets(Ticket.class, batchSize)) {
+            final Iterator<List<Ticket>> batches = Iterators.partition(tickets.filter(Ticket::isExpired).iterator(), batchSize);
+            while (batches.hasNext() && !Thread.currentThread().isInterrupted()) {
+                final List<Ticket> batch = batches.next();
+                final int removed = cleanTickets(batch);
+                count += removed;
+                LOGGER.debug("Removed batch of {} expired tickets.", removed);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Perform logout for expired ticket-granting tickets, and then remove the batch of
+     * expired tickets from the registry with a single bulk operation. Ticket-granting tickets
+     * whose logout does not complete within the logout timeout are kept for a later run.
+     *
+     * @param tickets the tickets
+     * @return the number of tickets removed
+     */
+    private int cleanTickets(final Collection<Ticket> tickets) {
+        final List<String> ticketIds = new ArrayList<>(tickets.size());
+        final Map<String, Future<?>> logouts = new LinkedHashMap<>();
+        tickets.forEach(ticket -> {
+            if (ticket instanceof TicketGrantingTicket) {
+                if (this.pendingLogouts.containsKey(ticket.getId())) {
+                    LOGGER.debug("Logout for expired ticket-granting ticket [{}] is still running", ticket.getId());
+                } else {
+                    LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+                    logouts.put(ticket.getId(), performLogout((TicketGrantingTicket) ticket));
+                }
+            } else if (ticket instanceof ServiceTicket) {
+                LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
+                ticketIds.add(ticket.getId());
+            } else {
+                LOGGER.warn("Unknown ticket type [{} found to clean", ticket.getClass().getSimpleName());
+            }
+        });
+        awaitLogouts(logouts.values());
+        logouts.forEach((ticketId, logout) -> {
+            if (logout.isDone()) {
+                ticketIds.add(ticketId);
+            } else {
+                this.pendingLogouts.put(ticketId, logout);
+            }
+        });
+        if (!ticketIds.isEmpty()) {
+            this.ticketRegistry.deleteTickets(ticketIds);
+        }
+        return ticketIds.size();
+    }
+
+    /**
+     * Remove ticket-granting tickets whose logout was still running on a previous run
+     * and has since completed.
+     *
+     * @return the number of tickets removed
+     */
+    private int removeLoggedOutTickets() {
+        final List<String> ticketIds = new ArrayList<>();
+        this.pendingLogouts.forEach((ticketId, logout) -> {
+            if (logout.isDone() && this.pendingLogouts.remove(ticketId, logout)) {
+                ticketIds.add(ticketId);
+            }
+        });
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        LOGGER.debug("Removing {} expired ticket-granting tickets whose logout has completed", ticketIds.size());
+        this.ticketRegistry.deleteTickets(ticketIds);
+        return ticketIds.size();
+    }
+
+    /**
+     * Hand over the logout for the ticket to the logout executor. Logout operates on a copy
+     * of the ticket, taken on the cleaner thread, so that it does not share objects
+     * that the registry or its transaction may still be managing.
+     *
+     * @param ticket the ticket
+     * @return the logout operation
+     */
+    private Future<?> performLogout(final TicketGrantingTicket ticket) {
+        final TicketGrantingTicket snapshot = SerializationUtils.deserialize(SerializationUtils.serialize(ticket));
+        return getLogoutExecutor().submit(() -> {
+            try {
+                this.logoutManager.performLogout(snapshot);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to perform logout for expired ticket-granting ticket [{}]", snapshot.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Wait for the logout operations of a batch, up to the logout timeout.
+     * Operations that are still running carry on in the background.
+     *
+     * @param logouts the logout operations
+     */
+    private void awaitLogouts(final Collection<Future<?>> logouts) {
+        final long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(Math.max(0, casProperties.getTicket().getRegistry().getCleaner().getLogoutTimeout()));
+        for (final Future<?> logout : logouts) {
+            try {
+                logout.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e) {
+                LOGGER.warn("Logout for expired ticket-granting tickets did not complete in time; "
+                        + "their tickets are removed once logout completes");
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the executor that runs logout operations. The executor uses a bounded queue;
+     * when it fills up, logout operations run on the cleaner thread, which slows down
+     * cleanup instead of dropping logout operations.
+     *
+     * @return the logout executor
+     */
+    private synchronized ExecutorService getLogoutExecutor() {
+        if (this.logoutExecutor == null) {
+            final int threads = Math.max(1, casProperties.getTicket().getRegistry().getCleaner().getLogoutConcurrency());
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(LOGOUT_QUEUE_CAPACITY), new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            this.logoutExecutor = executor;
+        }
+        return this.logoutExecutor;
+    }
+
+    /**
+     * Shut down the logout executor, allowing pending logout operations to complete.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (this.logoutExecutor != null) {
+            this.logoutExecutor.shutdown();
+        }
+    }
+
     /**
      * Indicates whether the registry supports automatic ticket cleanup.
      * Generally, a registry that is able to return a collection of available
@@ -0,0 +1,235 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketExpirationIndex}, an index of ticket ids ordered by the time
+ * at which tickets are next due to be examined for expiration.
+ * <p>
+ * The due time of a ticket is estimated from its expiration policy, based on the
+ * ticket's creation time and time-to-live as well as its last-used time and time-to-idle.
+ * Remember-me policies are resolved to the policy that applies to the ticket. Tickets whose
+ * policy yields no due time in the future, such as policies without a positive time-to-live
+ * or time-to-idle, are examined again once the recheck interval passes.
+ * Whether the ticket has expired is always decided by the ticket itself.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class TicketExpirationIndex {
+
+    /**
+     * Default recheck interval, in milliseconds.
+     */
+    public static final long DEFAULT_RECHECK_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Entry> entriesByTicketId = new ConcurrentHashMap<>();
+
+    private volatile long recheckInterval;
+
+    /**
+     * Instantiates a new ticket expiration index.
+     */
+    public TicketExpirationIndex() {
+        this(DEFAULT_RECHECK_INTERVAL);
+    }
+
+    /**
+     * Instantiates a new ticket expiration index.
+     *
+     * @param recheckInterval the interval, in milliseconds, after which tickets are examined again
+     */
+    public TicketExpirationIndex(final long recheckInterval) {
+        this.recheckInterval = recheckInterval;
+    }
+
+    /**
+     * Sets the interval after which tickets without a due time are examined again.
+     * Tickets that are already tracked keep their due time.
+     *
+     * @param recheckInterval the interval, in milliseconds
+     */
+    public void setRecheckInterval(final long recheckInterval) {
+        this.recheckInterval = recheckInterval;
+    }
+
+    /**
+     * Track the ticket for expiration, replacing any previous entry for the same ticket.
+     *
+     * @param ticket the ticket
+     */
+    public void schedule(final Ticket ticket) {
+        schedule(ticket, System.currentTimeMillis());
+    }
+
+    /**
+     * Track the ticket for expiration, replacing any previous entry for the same ticket.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in milliseconds since the epoch
+     */
+    public void schedule(final Ticket ticket, final long now) {
+        schedule(ticket.getId(), getDueTime(ticket, now));
+    }
+
+    /**
+     * Track the ticket for another examination after the recheck interval,
+     * replacing any previous entry for the same ticket.
+     *
+     * @param ticketId the ticket id
+     * @param now      the current time in milliseconds since the epoch
+     */
+    public void reschedule(final String ticketId, final long now) {
+        schedule(ticketId, now + this.recheckInterval);
+    }
+
+    /**
+     * Track the ticket for expiration at the given time, replacing any previous entry for the same ticket.
+     *
+     * @param ticketId the ticket id
+     * @param dueTime  the time in milliseconds since the epoch
+     */
+    public void schedule(final String ticketId, final long dueTime) {
+        this.entriesByTicketId.compute(ticketId, (id, previous) -> {
+            if (previous != null) {
+                this.entries.remove(previous);
+            }
+            final Entry entry = new Entry(dueTime, id);
+            this.entries.add(entry);
+            return entry;
+        });
+    }
+
+    /**
+     * Stop tracking the ticket.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        this.entriesByTicketId.computeIfPresent(ticketId, (id, previous) -> {
+            this.entries.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Remove and return the ids of tickets that are due for examination,
+     * in order of their due time.
+     *
+     * @param now   the current time in milliseconds since the epoch
+     * @param limit the maximum number of ticket ids to return
+     * @return the ticket ids
+     */
+    public List<String> pollDue(final long now, final int limit) {
+        final List<String> due = new ArrayList<>();
+        final Iterator<Entry> it = this.entries.iterator();
+        while (due.size() < limit && it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.dueTime > now) {
+                break;
+            }
+            if (this.entriesByTicketId.remove(entry.ticketId, entry)) {
+                this.entries.remove(entry);
+                due.add(entry.ticketId);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Number of tickets tracked.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.entriesByTicketId.size();
+    }
+
+    /**
+     * Estimate when the ticket is next due to be examined for expiration: the earliest time,
+     * still to come, at which its time-to-live or time-to-idle runs out. If there is none,
+     * the ticket is due once the recheck interval passes. Time-to-live and time-to-idle values
+     * of the expiration policy are interpreted as milliseconds.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in milliseconds since the epoch
+     * @return the due time in milliseconds since the epoch
+     */
+    long getDueTime(final Ticket ticket, final long now) {
+        ExpirationPolicy policy = ticket.getExpirationPolicy();
+        if (policy instanceof RememberMeDelegatingExpirationPolicy && ticket instanceof TicketState) {
+            policy = ((RememberMeDelegatingExpirationPolicy) policy).getExpirationPolicy((TicketState) ticket);
+        }
+        long dueTime = Long.MAX_VALUE;
+        if (policy != null) {
+            dueTime = getDueTime(ticket.getCreationTime(), policy.getTimeToLive(), now);
+            if (ticket instanceof TicketState) {
+                dueTime = Math.min(dueTime, getDueTime(((TicketState) ticket).getLastTimeUsed(), policy.getTimeToIdle(), now));
+            }
+        }
+        if (dueTime == Long.MAX_VALUE) {
+            return now + this.recheckInterval;
+        }
+        return dueTime;
+    }
+
+    private static long getDueTime(final ZonedDateTime start, final Long duration, final long now) {
+        if (start == null || duration == null || duration <= 0) {
+            return Long.MAX_VALUE;
+        }
+        final long startTime = start.toInstant().toEpochMilli();
+        if (duration >= Long.MAX_VALUE - startTime) {
+            return Long.MAX_VALUE;
+        }
+        final long dueTime = startTime + duration;
+        return dueTime > now ? dueTime : Long.MAX_VALUE;
+    }
+
+    /**
+     * An entry in the index, ordered by due time and then by ticket id.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final long dueTime;
+        private final String ticketId;
+
+        Entry(final long dueTime, final String ticketId) {
+            this.dueTime = dueTime;
+            this.ticketId = ticketId;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            final int result = Long.compare(this.dueTime, other.dueTime);
+            return result != 0 ? result : this.ticketId.compareTo(other.ticketId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry other = (Entry) obj;
+            return this.dueTime == other.dueTime && this.ticketId.equals(other.ticketId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(this.dueTime) + this.ticketId.hashCode();
+        }
+    }
+}
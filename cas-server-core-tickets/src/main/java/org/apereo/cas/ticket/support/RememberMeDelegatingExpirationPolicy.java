@@ -65,6 +65,22 @@ public class RememberMeDelegatingExpirationPolicy extends AbstractCasExpirationP
         return false;
     }
 
+    /**
+     * Gets the policy that decides whether the ticket has expired, depending on
+     * whether the ticket is associated with a remember-me authentication.
+     *
+     * @param ticketState the ticket state
+     * @return the policy, or null if either policy is not defined
+     */
+    public ExpirationPolicy getExpirationPolicy(final TicketState ticketState) {
+        if (this.rememberMeExpirationPolicy == null || this.sessionExpirationPolicy == null) {
+            return null;
+        }
+        final Boolean b = (Boolean) ticketState.getAuthentication().getAttributes()
+                .get(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME);
+        return b == null || b.equals(Boolean.FALSE) ? this.sessionExpirationPolicy : this.rememberMeExpirationPolicy;
+    }
+
     @Override
     public Long getTimeToLive() {
         if (this.rememberMeExpirationPolicy != null) {
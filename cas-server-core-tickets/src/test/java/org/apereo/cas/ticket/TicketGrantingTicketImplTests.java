@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.TestUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.mock.MockService;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.SerializationUtils;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
 import org.junit.Assert;
@@ -301,4 +302,53 @@ public class TicketGrantingTicketImplTests {
 
         assertEquals(2, t.getServices().size());
     }
+
+    @Test
+    public void verifyMostRecentSessionIsTrackedAfterSerialization() {
+        final TicketGrantingTicket t = new TicketGrantingTicketImpl("test", null, null,
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        t.grantServiceTicket(
+                this.uniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                org.apereo.cas.services.TestUtils.getService("http://host.com/webapp1"),
+                new NeverExpiresExpirationPolicy(),
+                null,
+                true);
+
+        final TicketGrantingTicket copy = SerializationUtils.deserialize(SerializationUtils.serialize(t));
+        final String id = this.uniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+        copy.grantServiceTicket(id,
+                org.apereo.cas.services.TestUtils.getService("http://host.com/webapp1?test=true"),
+                new NeverExpiresExpirationPolicy(),
+                null,
+                true);
+
+        assertEquals(1, copy.getServices().size());
+        assertTrue(copy.getServices().containsKey(id));
+    }
+
+    @Test
+    public void verifyServicesAreNotCopiedUntilChanged() {
+        final TicketGrantingTicket t = new TicketGrantingTicketImpl("test", null, null,
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        t.grantServiceTicket(
+                this.uniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                org.apereo.cas.services.TestUtils.getService("http://host.com/webapp1"),
+                new NeverExpiresExpirationPolicy(),
+                null,
+                true);
+        final Map<String, Service> services = t.getServices();
+        assertSame(services, t.getServices());
+
+        t.grantServiceTicket(
+                this.uniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                org.apereo.cas.services.TestUtils.getService("http://host.com/webapp2"),
+                new NeverExpiresExpirationPolicy(),
+                null,
+                true);
+        assertEquals(1, services.size());
+        assertEquals(2, t.getServices().size());
+
+        t.removeAllServices();
+        assertTrue(t.getServices().isEmpty());
+    }
 }
@@ -6,13 +6,20 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -201,6 +208,31 @@ public abstract class AbstractTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyStreamTicketsByType() {
+        for (int i = 0; i < TICKETS_IN_REGISTRY; i++) {
+            final TicketGrantingTicket ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-STREAM-" + i,
+                    TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+            final ServiceTicket st = ticketGrantingTicket.grantServiceTicket("ST-STREAM-" + i,
+                    org.apereo.cas.services.TestUtils.getService(),
+                    new NeverExpiresExpirationPolicy(), null, true);
+            this.ticketRegistry.addTicket(ticketGrantingTicket);
+            this.ticketRegistry.addTicket(st);
+        }
+
+        try (Stream<TicketGrantingTicket> tickets = this.ticketRegistry.streamTickets(TicketGrantingTicket.class, 3)) {
+            final Set<String> ids = tickets.map(Ticket::getId).collect(Collectors.toSet());
+            assertEquals(TICKETS_IN_REGISTRY, ids.size());
+            assertTrue(ids.stream().allMatch(id -> id.startsWith("TGT-STREAM-")));
+        }
+        try (Stream<ServiceTicket> tickets = this.ticketRegistry.streamTickets(ServiceTicket.class, 3)) {
+            assertEquals(TICKETS_IN_REGISTRY, tickets.count());
+        }
+        try (Stream<Ticket> tickets = this.ticketRegistry.streamTickets(Ticket.class, 1)) {
+            assertEquals(TICKETS_IN_REGISTRY * 2, tickets.count());
+        }
+    }
+
     @Test
     public void verifyDeleteTicketWithChildren() {
         try {
@@ -239,4 +271,26 @@ public abstract class AbstractTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyBulkOperations() throws Exception {
+        final Service service = org.apereo.cas.services.TestUtils.getService("TGT_BULK_TEST");
+        final TicketGrantingTicket tgt1 = new TicketGrantingTicketImpl("TGT-BULK-1",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final TicketGrantingTicket tgt2 = new TicketGrantingTicketImpl("TGT-BULK-2",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st1 = tgt1.grantServiceTicket("ST-BULK-1", service, new NeverExpiresExpirationPolicy(), null, false);
+        final ServiceTicket st2 = tgt1.grantServiceTicket("ST-BULK-2", service, new NeverExpiresExpirationPolicy(), null, false);
+        final ProxyGrantingTicket pgt = st1.grantProxyGrantingTicket("PGT-BULK-1",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ProxyTicket pt = pgt.grantProxyTicket("PT-BULK-1", service, new NeverExpiresExpirationPolicy(), false);
+
+        this.ticketRegistry.addTickets(Arrays.asList(tgt1, tgt2, st1, st2, pgt, pt));
+
+        assertEquals(3, this.ticketRegistry.getTickets(Arrays.asList(tgt1.getId(), st2.getId(), pt.getId(), "ST-UNKNOWN")).size());
+        assertEquals(6, this.ticketRegistry.deleteTickets(Arrays.asList(tgt1.getId(), tgt2.getId())));
+        assertTrue(this.ticketRegistry.getTickets(Arrays.asList(tgt1.getId(), tgt2.getId(), st1.getId(), st2.getId(),
+                pgt.getId(), pt.getId())).isEmpty());
+        assertEquals(0, this.ticketRegistry.deleteTickets(Collections.singleton(tgt1.getId())));
+    }
+
 }
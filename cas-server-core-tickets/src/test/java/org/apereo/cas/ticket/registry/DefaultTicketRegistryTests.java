@@ -1,5 +1,11 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -22,4 +28,68 @@ public class DefaultTicketRegistryTests extends AbstractTicketRegistryTests {
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10F, 5));
     }
+
+    @Test
+    public void verifyCountsAndIndexesAreMaintained() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+                TestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy());
+        final TicketGrantingTicket tgt2 = new TicketGrantingTicketImpl("TGT-2",
+                TestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt.grantServiceTicket("ST-1", org.apereo.cas.services.TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), null, true);
+        registry.addTicket(tgt);
+        registry.addTicket(tgt2);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+
+        assertEquals(2, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+        assertEquals(2, registry.getTicketGrantingTickets("casuser").size());
+        assertTrue(registry.getTicketGrantingTickets("unknown").isEmpty());
+        assertTrue(registry.getChildTicketIds(tgt.getId()).contains(st.getId()));
+
+        assertTrue(registry.deleteTicket(tgt.getId()));
+        assertFalse(registry.deleteTicket(st.getId()));
+        assertEquals(1, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+        assertEquals(1, registry.getTicketGrantingTickets("casuser").size());
+        assertTrue(registry.getChildTicketIds(tgt.getId()).isEmpty());
+
+        assertTrue(registry.deleteTicket(tgt2.getId()));
+        assertEquals(0, registry.sessionCount());
+        assertTrue(registry.getTicketGrantingTickets("casuser").isEmpty());
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreFoundWithoutScan() throws Exception {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        for (int i = 0; i < 5; i++) {
+            registry.addTicket(new TicketGrantingTicketImpl("TGT-EXPIRED-" + i,
+                    TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        }
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-ACTIVE",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        final long now = System.currentTimeMillis() + TicketExpirationIndex.DEFAULT_RECHECK_INTERVAL;
+
+        assertEquals(3, registry.getExpiredTickets(3, now).size());
+        assertEquals(2, registry.getExpiredTickets(3, now).size());
+        assertTrue(registry.getExpiredTickets(3, now).isEmpty());
+        assertEquals(6, registry.getTickets().size());
+    }
+
+    @Test
+    public void verifyExpiredTicketsThatAreNotRemovedAreFoundAgain() throws Exception {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-EXPIRED",
+                TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        final long now = System.currentTimeMillis() + TicketExpirationIndex.DEFAULT_RECHECK_INTERVAL;
+
+        assertEquals(1, registry.getExpiredTickets(10, now).size());
+        assertTrue(registry.getExpiredTickets(10, now).isEmpty());
+        assertEquals(1, registry.getExpiredTickets(10, now + TicketExpirationIndex.DEFAULT_RECHECK_INTERVAL).size());
+
+        registry.deleteTicket("TGT-EXPIRED");
+        assertTrue(registry.getExpiredTickets(10, now + 2 * TicketExpirationIndex.DEFAULT_RECHECK_INTERVAL).isEmpty());
+    }
 }
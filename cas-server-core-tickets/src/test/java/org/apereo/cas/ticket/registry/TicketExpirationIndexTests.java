@@ -0,0 +1,92 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link TicketExpirationIndex}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class TicketExpirationIndexTests {
+
+    @Test
+    public void verifyTicketsArePolledInOrderOfDueTime() {
+        final TicketExpirationIndex index = new TicketExpirationIndex();
+        index.schedule("TGT-3", 300);
+        index.schedule("TGT-1", 100);
+        index.schedule("TGT-2", 200);
+        index.schedule("TGT-4", 400);
+
+        assertEquals(Arrays.asList("TGT-1", "TGT-2"), index.pollDue(300, 2));
+        assertEquals(Collections.singletonList("TGT-3"), index.pollDue(300, 10));
+        assertTrue(index.pollDue(300, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void verifyRescheduleAndRemove() {
+        final TicketExpirationIndex index = new TicketExpirationIndex();
+        index.schedule("TGT-1", 100);
+        index.schedule("TGT-1", 500);
+        index.schedule("TGT-2", 100);
+        index.remove("TGT-2");
+
+        assertTrue(index.pollDue(400, 10).isEmpty());
+        assertEquals(Collections.singletonList("TGT-1"), index.pollDue(500, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void verifyDueTimeEstimate() {
+        final TicketExpirationIndex index = new TicketExpirationIndex(1000);
+        final TicketGrantingTicketImpl hardTimeout = new TicketGrantingTicketImpl("TGT-1",
+                TestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(500));
+        final long created = hardTimeout.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(created + 500, index.getDueTime(hardTimeout, created));
+        assertEquals(created + 6000 + 1000, index.getDueTime(hardTimeout, created + 6000));
+
+        final TicketGrantingTicketImpl neverExpires = new TicketGrantingTicketImpl("TGT-2",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final long neverExpiresCreated = neverExpires.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(neverExpiresCreated + Integer.MAX_VALUE, index.getDueTime(neverExpires, neverExpiresCreated));
+
+        final TicketGrantingTicketImpl longLived = new TicketGrantingTicketImpl("TGT-3",
+                TestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(60000));
+        final long longLivedCreated = longLived.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(longLivedCreated + 60000, index.getDueTime(longLived, longLivedCreated));
+    }
+
+    @Test
+    public void verifyDueTimeWithoutPolicyEstimate() {
+        final TicketExpirationIndex index = new TicketExpirationIndex(1000);
+        final TicketGrantingTicketImpl alwaysExpires = new TicketGrantingTicketImpl("TGT-1",
+                TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy());
+        final long created = alwaysExpires.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(created + 1000, index.getDueTime(alwaysExpires, created));
+
+        index.setRecheckInterval(5000);
+        assertEquals(created + 5000, index.getDueTime(alwaysExpires, created));
+    }
+
+    @Test
+    public void verifyDueTimeOfRememberMePolicy() {
+        final RememberMeDelegatingExpirationPolicy policy = new RememberMeDelegatingExpirationPolicy();
+        policy.setSessionExpirationPolicy(new HardTimeoutExpirationPolicy(500));
+        policy.setRememberMeExpirationPolicy(new HardTimeoutExpirationPolicy(60000));
+        final TicketGrantingTicketImpl session = new TicketGrantingTicketImpl("TGT-1", TestUtils.getAuthentication(), policy);
+        final long created = session.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(created + 500, new TicketExpirationIndex().getDueTime(session, created));
+    }
+}
@@ -38,6 +38,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * An abstract implementation of the {@link CentralAuthenticationService} that provides access to
@@ -206,6 +207,14 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
         }
         return c;
     }
+
+    @Timed(name = "STREAM_TICKETS_TIMER")
+    @Metered(name = "STREAM_TICKETS_METER")
+    @Counted(name = "STREAM_TICKETS_COUNTER", monotonic = true)
+    @Override
+    public <T extends Ticket> Stream<T> streamTickets(final Class<T> type, final int pageSize) {
+        return this.ticketRegistry.streamTickets(type, pageSize);
+    }
     
     /**
      * Gets the authentication satisfied by policy.
@@ -1,10 +1,10 @@
 package org.apereo.cas.audit.config;
 
+import org.apereo.cas.audit.support.JdbcBatchAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.inspektr.audit.AuditTrailManager;
-import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
 import org.apereo.inspektr.audit.support.MaxAgeWhereClauseMatchCriteria;
 import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,8 +37,8 @@ public class CasSupportJdbcAuditConfiguration {
 
     @Bean(name = {"jdbcAuditTrailManager", "auditTrailManager"})
     public AuditTrailManager jdbcAuditTrailManager() {
-        final JdbcAuditTrailManager t =
-                new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
+        final JdbcBatchAuditTrailManager t =
+                new JdbcBatchAuditTrailManager(inspektrAuditTransactionTemplate());
         t.setCleanupCriteria(auditCleanupCriteria());
         t.setDataSource(inspektrAuditTrailDataSource());
         return t;
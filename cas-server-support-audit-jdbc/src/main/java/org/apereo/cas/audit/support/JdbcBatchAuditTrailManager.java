@@ -0,0 +1,91 @@
+package org.apereo.cas.audit.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.audit.spi.BatchAuditTrailManager;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * This is {@link JdbcBatchAuditTrailManager} that records batches of audit records
+ * with a single JDBC batch insert, inside one transaction. Single audit records
+ * are recorded as {@link JdbcAuditTrailManager} does.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class JdbcBatchAuditTrailManager extends JdbcAuditTrailManager implements BatchAuditTrailManager {
+
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+            + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int DEFAULT_COLUMN_LENGTH = 100;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private String tableName = "COM_AUDIT_TRAIL";
+
+    private int columnLength = DEFAULT_COLUMN_LENGTH;
+
+    /**
+     * Instantiates a new JDBC batch audit trail manager.
+     *
+     * @param transactionTemplate the transaction template
+     */
+    public JdbcBatchAuditTrailManager(final TransactionTemplate transactionTemplate) {
+        super(transactionTemplate);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void setTableName(final String tableName) {
+        super.setTableName(tableName);
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void setColumnLength(final int columnLength) {
+        super.setColumnLength(columnLength);
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    public void record(final List<AuditActionContext> contexts) {
+        if (contexts.isEmpty()) {
+            return;
+        }
+        final String sql = String.format(INSERT_SQL_TEMPLATE, this.tableName);
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                getJdbcTemplate().batchUpdate(sql, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                        final AuditActionContext context = contexts.get(i);
+                        ps.setString(1, StringUtils.left(context.getPrincipal(), columnLength));
+                        ps.setString(2, context.getClientIpAddress());
+                        ps.setString(3, context.getServerIpAddress());
+                        ps.setString(4, StringUtils.left(context.getResourceOperatedUpon(), columnLength));
+                        ps.setString(5, StringUtils.left(context.getActionPerformed(), columnLength));
+                        ps.setString(6, context.getApplicationCode());
+                        ps.setTimestamp(7, new Timestamp(context.getWhenActionWasPerformed().getTime()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return contexts.size();
+                    }
+                });
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import com.couchbase.client.java.AsyncBucket;
 import com.couchbase.client.java.document.SerializableDocument;
 import com.couchbase.client.java.view.DefaultView;
 import com.couchbase.client.java.view.View;
@@ -14,6 +15,7 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.springframework.beans.factory.annotation.Autowired;
+import rx.Observable;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -107,6 +109,27 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Documents are fetched in bulk through the asynchronous bucket API,
+     * so that all requests are in flight at the same time.</p>
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        try {
+            final AsyncBucket bucket = this.couchbase.bucket().async();
+            return Observable.from(ticketIds)
+                    .map(this::encodeTicketId)
+                    .flatMap(id -> bucket.get(id, SerializableDocument.class))
+                    .map(document -> decodeTicket((Ticket) document.content()))
+                    .toList()
+                    .toBlocking()
+                    .single();
+        } catch (final Exception e) {
+            logger.error("Failed fetching {}: {}", ticketIds, e);
+            return new ArrayList<>();
+        }
+    }
 
     /**
      * Starts the couchbase client.
@@ -164,6 +187,27 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Documents are removed in bulk through the asynchronous bucket API,
+     * so that all requests are in flight at the same time.</p>
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        logger.debug("Deleting tickets {}", ticketIds);
+        try {
+            final AsyncBucket bucket = this.couchbase.bucket().async();
+            return Observable.from(ticketIds)
+                    .flatMap(id -> bucket.remove(id).onErrorResumeNext(Observable.empty()))
+                    .count()
+                    .toBlocking()
+                    .single();
+        } catch (final Exception e) {
+            logger.error("Failed deleting {}: {}", ticketIds, e);
+            return 0;
+        }
+    }
+
     private int runQuery(final String prefix) {
         final ViewResult allKeys = this.couchbase.bucket().query(
                 ViewQuery.from(UTIL_DOCUMENT, VIEW_NAME_ALL_TICKETS)
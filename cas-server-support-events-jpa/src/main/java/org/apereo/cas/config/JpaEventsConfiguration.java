@@ -3,8 +3,8 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.Beans;
-import org.apereo.cas.support.events.dao.CasEventRepository;
 import org.apereo.cas.support.events.jpa.JpaCasEventRepository;
+import org.apereo.cas.support.events.jpa.JpaCasEventTimestampBackfillJob;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -31,6 +31,7 @@ import javax.sql.DataSource;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @EnableTransactionManagement(proxyTargetClass = true)
 public class JpaEventsConfiguration {
+    private static final int BACKFILL_BATCH_SIZE = 500;
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -107,7 +108,12 @@ public class JpaEventsConfiguration {
 
 
     @Bean
-    public CasEventRepository casEventRepository() {
+    public JpaCasEventRepository casEventRepository() {
         return new JpaCasEventRepository();
     }
+
+    @Bean
+    public Runnable casEventTimestampBackfillJob() {
+        return new JpaCasEventTimestampBackfillJob(casEventRepository(), BACKFILL_BATCH_SIZE);
+    }
 }
@@ -1,16 +1,27 @@
 package org.apereo.cas.support.events.jpa;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * This is {@link JpaCasEventRepository} that stores event data into a RDBMS database.
+ * Batches of events are saved in a single transaction, so that inserts may be grouped
+ * into JDBC batches of the configured batch size. Paging and time-range queries rely on the
+ * event timestamp column; events stored before that column was introduced are backfilled
+ * from their timestamp property by {@link #backfillEventTimestamps(long, int)}, which
+ * {@link JpaCasEventTimestampBackfillJob} runs in the background once the server has started.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -18,7 +29,8 @@ import java.util.Collection;
 @EnableTransactionManagement(proxyTargetClass = true)
 @Transactional(readOnly = false, transactionManager = "transactionManagerEvents")
 public class JpaCasEventRepository extends AbstractCasEventRepository {
-    
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaCasEventRepository.class);
+
     @PersistenceContext(unitName = "eventsEntityManagerFactory")
     private EntityManager entityManager;
 
@@ -29,7 +41,52 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
     
     @Override
     public void save(final CasEvent event) {
-        this.entityManager.merge(event);
+        this.entityManager.persist(event);
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this.entityManager::persist);
+    }
+
+    /**
+     * Backfill the timestamp column of a batch of events that were stored without one,
+     * from their timestamp property. Events whose property is missing or invalid are given
+     * the epoch as their timestamp, so that they are not examined again.
+     *
+     * @param afterId   only events whose identifier is greater than this one are considered
+     * @param batchSize the maximum number of events to backfill
+     * @return the identifier of the last event considered, or -1 if no events remain
+     */
+    public long backfillEventTimestamps(final long afterId, final int batchSize) {
+        final List<CasEvent> events = this.entityManager.createQuery("SELECT r FROM CasEvent r "
+                + "WHERE r.timestamp IS NULL AND r.id > :id ORDER BY r.id", CasEvent.class)
+                .setParameter("id", afterId)
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (events.isEmpty()) {
+            return -1;
+        }
+        final List<Long> invalid = new ArrayList<>();
+        events.forEach(event -> {
+            final String timestamp = event.get("timestamp");
+            if (NumberUtils.isDigits(timestamp)) {
+                event.putTimestamp(Long.valueOf(timestamp));
+            } else {
+                LOGGER.warn("Event [{}] has no valid timestamp [{}] and is recorded at the epoch", event.getId(), timestamp);
+                invalid.add(getIdentifier(event));
+            }
+        });
+        if (!invalid.isEmpty()) {
+            this.entityManager.createQuery("UPDATE CasEvent r SET r.timestamp = 0 WHERE r.id IN :ids")
+                    .setParameter("ids", invalid)
+                    .executeUpdate();
+        }
+        return events.stream().mapToLong(this::getIdentifier).max().getAsLong();
+    }
+
+    private long getIdentifier(final CasEvent event) {
+        return (Long) this.entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(event);
     }
 
     @Override
@@ -42,4 +99,41 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
         return this.entityManager.createQuery("select r from CasEvent r where r.principalId = :principalId",
                 CasEvent.class).setParameter("principalId", id).getResultList();
     }
+
+    @Override
+    public Collection<CasEvent> load(final int offset, final int limit) {
+        return this.entityManager.createQuery("SELECT r FROM CasEvent r ORDER BY r.timestamp, r.id", CasEvent.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime from, final ZonedDateTime to) {
+        return this.entityManager.createQuery("SELECT r FROM CasEvent r "
+                + "WHERE r.timestamp >= :from AND r.timestamp < :to ORDER BY r.timestamp, r.id", CasEvent.class)
+                .setParameter("from", from.toInstant().toEpochMilli())
+                .setParameter("to", to.toInstant().toEpochMilli())
+                .getResultList();
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final int offset, final int limit) {
+        return this.entityManager.createQuery("SELECT r FROM CasEvent r WHERE r.principalId = :principalId "
+                + "ORDER BY r.timestamp, r.id", CasEvent.class)
+                .setParameter("principalId", id)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime from, final ZonedDateTime to) {
+        return this.entityManager.createQuery("SELECT r FROM CasEvent r WHERE r.principalId = :principalId "
+                + "AND r.timestamp >= :from AND r.timestamp < :to ORDER BY r.timestamp, r.id", CasEvent.class)
+                .setParameter("principalId", id)
+                .setParameter("from", from.toInstant().toEpochMilli())
+                .setParameter("to", to.toInstant().toEpochMilli())
+                .getResultList();
+    }
 }
@@ -0,0 +1,65 @@
+package org.apereo.cas.support.events.jpa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * This is {@link JpaCasEventTimestampBackfillJob} that fills in the timestamp column of events
+ * stored before the column was introduced, so that paging and time-range queries find them.
+ * <p>
+ * The job runs in the background after the server has started, rather than holding up startup.
+ * Once every event has a timestamp, later runs do nothing. A run that fails is attempted again
+ * on the next schedule.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class JpaCasEventTimestampBackfillJob implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaCasEventTimestampBackfillJob.class);
+
+    private final JpaCasEventRepository repository;
+
+    private final int batchSize;
+
+    private volatile boolean completed;
+
+    /**
+     * Instantiates a new backfill job.
+     *
+     * @param repository the repository whose events are backfilled
+     * @param batchSize  the number of events backfilled in a single transaction
+     */
+    public JpaCasEventTimestampBackfillJob(final JpaCasEventRepository repository, final int batchSize) {
+        this.repository = repository;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${cas.events.jpa.backfillStartDelay:30000}",
+            fixedDelayString = "${cas.events.jpa.backfillRepeatInterval:300000}")
+    public void run() {
+        if (this.completed) {
+            return;
+        }
+        try {
+            long count = 0;
+            long lastId = this.repository.backfillEventTimestamps(0, this.batchSize);
+            while (lastId >= 0 && !Thread.currentThread().isInterrupted()) {
+                count++;
+                lastId = this.repository.backfillEventTimestamps(lastId, this.batchSize);
+            }
+            this.completed = lastId < 0;
+            if (count > 0) {
+                LOGGER.info("Backfilled timestamps of stored events in {} batch(es)", count);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Timestamps of stored events could not be backfilled: {}", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    public boolean isCompleted() {
+        return this.completed;
+    }
+}
@@ -2,16 +2,25 @@ package org.apereo.cas.support.events.jpa;
 
 import org.apereo.cas.config.JpaEventsConfiguration;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
+import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.dao.CasEventRepository;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.SpringApplicationConfiguration;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
 /**
  * Test cases for {@link JpaCasEventRepository}.
  *
@@ -26,7 +35,46 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class JpaCasEventRepositoryTests extends AbstractCasEventRepositoryTests {
 
     @Autowired
-    private CasEventRepository repository;
+    private JpaCasEventRepository repository;
+
+    @Test
+    @DirtiesContext
+    public void verifyEventTimestampsAreBackfilled() {
+        final CasEvent event = new CasEvent();
+        event.setType("legacy");
+        event.setPrincipalId("legacyuser");
+        event.put("timestamp", "1000");
+        this.repository.save(event);
+
+        final ZonedDateTime from = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0), ZoneOffset.UTC);
+        final ZonedDateTime to = ZonedDateTime.ofInstant(Instant.ofEpochMilli(2000), ZoneOffset.UTC);
+        assertTrue(this.repository.getEventsForPrincipal("legacyuser", from, to).isEmpty());
+
+        long lastId = this.repository.backfillEventTimestamps(0, 1);
+        while (lastId >= 0) {
+            lastId = this.repository.backfillEventTimestamps(lastId, 1);
+        }
+        assertEquals(1, this.repository.getEventsForPrincipal("legacyuser", from, to).size());
+    }
+
+    @Test
+    @DirtiesContext
+    public void verifyEventsWithoutValidTimestampsAreMarked() {
+        final CasEvent event = new CasEvent();
+        event.setType("legacy");
+        event.setPrincipalId("invaliduser");
+        event.put("timestamp", "invalid");
+        this.repository.save(event);
+
+        final JpaCasEventTimestampBackfillJob job = new JpaCasEventTimestampBackfillJob(this.repository, 10);
+        job.run();
+        assertTrue(job.isCompleted());
+        assertEquals(-1, this.repository.backfillEventTimestamps(0, 10));
+
+        final ZonedDateTime from = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0), ZoneOffset.UTC);
+        final ZonedDateTime to = ZonedDateTime.ofInstant(Instant.ofEpochMilli(1), ZoneOffset.UTC);
+        assertEquals(1, this.repository.getEventsForPrincipal("invaliduser", from, to).size());
+    }
 
     @Override
     public CasEventRepository getRepositoryInstance() {
@@ -1,17 +1,26 @@
 package org.apereo.cas.support.events.mongo;
 
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
 import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link MongoDbCasEventRepository} that stores event data into a mongodb database.
+ * Events are inserted with a random identifier, and batches of events are inserted at once.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -78,7 +87,18 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public void save(final CasEvent event) {
-        this.mongoTemplate.save(event, this.collectionName);
+        saveAll(Collections.singletonList(event));
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        final List<DBObject> documents = events.stream().map(event -> {
+            final DBObject document = new BasicDBObject();
+            this.mongoTemplate.getConverter().write(event, document);
+            document.put("_id", ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+            return document;
+        }).collect(Collectors.toList());
+        this.mongoTemplate.getCollection(this.collectionName).insert(documents);
     }
 
     @Override
@@ -92,4 +112,34 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         query.addCriteria(Criteria.where("principalId").is(id));
         return this.mongoTemplate.find(query, CasEvent.class, this.collectionName);
     }
+
+    @Override
+    public Collection<CasEvent> load(final int offset, final int limit) {
+        final Query query = new Query().with(new Sort(Sort.Direction.ASC, "timestamp")).skip(offset).limit(limit);
+        return this.mongoTemplate.find(query, CasEvent.class, this.collectionName);
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime from, final ZonedDateTime to) {
+        final Query query = new Query(timestampBetween(from, to)).with(new Sort(Sort.Direction.ASC, "timestamp"));
+        return this.mongoTemplate.find(query, CasEvent.class, this.collectionName);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final int offset, final int limit) {
+        final Query query = new Query(Criteria.where("principalId").is(id))
+                .with(new Sort(Sort.Direction.ASC, "timestamp")).skip(offset).limit(limit);
+        return this.mongoTemplate.find(query, CasEvent.class, this.collectionName);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime from, final ZonedDateTime to) {
+        final Query query = new Query(timestampBetween(from, to).and("principalId").is(id))
+                .with(new Sort(Sort.Direction.ASC, "timestamp"));
+        return this.mongoTemplate.find(query, CasEvent.class, this.collectionName);
+    }
+
+    private static Criteria timestampBetween(final ZonedDateTime from, final ZonedDateTime to) {
+        return Criteria.where("timestamp").gte(from.toInstant().toEpochMilli()).lt(to.toInstant().toEpochMilli());
+    }
 }
@@ -1,8 +1,12 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
@@ -13,9 +17,17 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -86,44 +98,115 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are stored asynchronously, each with its own time-to-live, and the
+     * operations are awaited together so that they are pipelined to the cluster.</p>
+     */
+    @Override
+    public void addTickets(final Collection<Ticket> tickets) {
+        final List<Future<Ticket>> futures = tickets.stream()
+                .map(ticket -> {
+                    logger.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
+                    final Ticket encTicket = encodeTicket(ticket);
+                    return this.registry.putAsync(encTicket.getId(), encTicket,
+                            ticket.getExpirationPolicy().getTimeToLive(), TimeUnit.SECONDS);
+                })
+                .collect(Collectors.toList());
+        try {
+            for (final Future<Ticket> future : futures) {
+                future.get();
+            }
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         final String encTicketId = encodeTicketId(ticketId);
         return decodeTicket(this.registry.get(encTicketId));
     }
 
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        final Set<String> keys = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toSet());
+        return this.registry.getAll(keys).values().stream().map(this::decodeTicket).collect(Collectors.toList());
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         return this.registry.remove(ticketId) != null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are removed by an entry processor that runs on the owners of the given keys,
+     * which requires a single invocation per partition rather than one per ticket.</p>
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        final Map<String, Object> results = this.registry.executeOnKeys(new HashSet<>(ticketIds), new RemoveTicketEntryProcessor());
+        return (int) results.values().stream().filter(Boolean.TRUE::equals).count();
+    }
+
     @Override
     public Collection<Ticket> getTickets() {
-        final Collection<Ticket> collection = new HashSet<>();
+        try (Stream<Ticket> tickets = streamTickets(Ticket.class, this.pageSize)) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
 
-        final Lock lock = this.hazelcastInstance.getLock(getClass().getName());
-        lock.lock();
-        try {
-            final PagingPredicate pagingPredicate = new PagingPredicate(this.pageSize);
-            for (Collection<Ticket> entrySet = this.registry.values(pagingPredicate);
-                 !entrySet.isEmpty();
-                 pagingPredicate.nextPage(), entrySet = this.registry.values(pagingPredicate)) {
-                collection.addAll(entrySet.stream().map(this::decodeTicket).collect(Collectors.toList()));
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched one page at a time via a {@link PagingPredicate} as the stream
+     * is consumed. The type restriction is evaluated by the cluster members, unless tickets
+     * are encrypted in which case it can only be applied once tickets are decoded.
+     * Pages are not fetched under a cluster-wide lock; tickets added or removed while the
+     * stream is consumed may or may not be observed.</p>
+     */
+    @Override
+    public <T extends Ticket> Stream<T> streamTickets(final Class<T> type, final int pageSize) {
+        final PagingPredicate pagingPredicate = isCipherExecutorEnabled()
+                ? new PagingPredicate(pageSize)
+                : new PagingPredicate(Predicates.instanceOf(type), pageSize);
+        final IMap<String, Ticket> map = this.registry;
+
+        final Iterator<Collection<Ticket>> pages = new AbstractIterator<Collection<Ticket>>() {
+            private boolean first = true;
+
+            @Override
+            protected Collection<Ticket> computeNext() {
+                if (!this.first) {
+                    pagingPredicate.nextPage();
+                }
+                this.first = false;
+                final Collection<Ticket> page = map.values(pagingPredicate);
+                return page.isEmpty() ? endOfData() : page;
             }
-        } finally {
-            lock.unlock();
-        }
-        return collection;
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(Collection::stream)
+                .map(this::decodeTicket)
+                .filter(type::isInstance)
+                .map(type::cast);
     }
 
     @Override
     public long sessionCount() {
-        return getTickets().stream().filter(t -> t instanceof TicketGrantingTicket).count();
+        try (Stream<TicketGrantingTicket> tickets = streamTickets(TicketGrantingTicket.class, this.pageSize)) {
+            return tickets.count();
+        }
     }
 
     @Override
     public long serviceTicketCount() {
-        return getTickets().stream().filter(t -> t instanceof ServiceTicket).count();
+        try (Stream<ServiceTicket> tickets = streamTickets(ServiceTicket.class, this.pageSize)) {
+            return tickets.count();
+        }
     }
 
     /**
@@ -151,4 +234,18 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
     public void close() throws IOException {
         shutdown();
     }
+
+    /**
+     * Entry processor that removes ticket entries, and reports whether an entry was present.
+     */
+    private static class RemoveTicketEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+        private static final long serialVersionUID = -2513349614447839637L;
+
+        @Override
+        public Object process(final Map.Entry<String, Ticket> entry) {
+            final boolean present = entry.getValue() != null;
+            entry.setValue(null);
+            return present;
+        }
+    }
 }
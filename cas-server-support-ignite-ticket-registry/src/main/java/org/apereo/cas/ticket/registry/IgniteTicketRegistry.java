@@ -23,6 +23,8 @@ import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toList;
 
@@ -116,6 +118,28 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(cursor.getAll().stream().map(Cache.Entry::getValue).collect(toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched lazily from the cache nodes through a {@link ScanQuery} cursor,
+     * one page at a time as the stream is consumed. The type restriction is evaluated on
+     * the cache nodes, unless tickets are encrypted in which case it can only be applied
+     * once tickets are decoded. Closing the stream closes the underlying cursor.</p>
+     */
+    @Override
+    public <T extends Ticket> Stream<T> streamTickets(final Class<T> type, final int pageSize) {
+        final ScanQuery<String, Ticket> query = isCipherExecutorEnabled()
+                ? new ScanQuery<>()
+                : new ScanQuery<>((key, t) -> type.isInstance(t));
+        query.setPageSize(pageSize);
+        final QueryCursor<Cache.Entry<String, Ticket>> cursor = this.ticketIgniteCache.query(query);
+        return StreamSupport.stream(cursor.spliterator(), false)
+                .onClose(cursor::close)
+                .map(Cache.Entry::getValue)
+                .map(this::decodeTicket)
+                .filter(type::isInstance)
+                .map(type::cast);
+    }
+
     public void setTicketIgniteCache(final IgniteCache<String, Ticket> ticketIgniteCache) {
         this.ticketIgniteCache = ticketIgniteCache;
     }
@@ -219,12 +243,16 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long sessionCount() {
-        return getTickets().stream().filter(t -> t instanceof TicketGrantingTicket).count();
+        try (Stream<TicketGrantingTicket> tickets = streamTickets(TicketGrantingTicket.class, ScanQuery.DFLT_PAGE_SIZE)) {
+            return tickets.count();
+        }
     }
 
     @Override
     public long serviceTicketCount() {
-        return getTickets().stream().filter(t -> t instanceof ServiceTicket).count();
+        try (Stream<ServiceTicket> tickets = streamTickets(ServiceTicket.class, ScanQuery.DFLT_PAGE_SIZE)) {
+            return tickets.count();
+        }
     }
 
     /**
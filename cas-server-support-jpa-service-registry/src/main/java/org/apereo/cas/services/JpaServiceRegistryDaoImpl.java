@@ -7,7 +7,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ServiceRegistryDao based on JPA.
@@ -18,13 +22,23 @@ import java.util.List;
  */
 @EnableTransactionManagement(proxyTargetClass = true)
 @Transactional(transactionManager = "transactionManagerServiceReg", readOnly = false)
-public class JpaServiceRegistryDaoImpl implements ServiceRegistryDao {
+public class JpaServiceRegistryDaoImpl implements IncrementalServiceRegistryDao {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JpaServiceRegistryDaoImpl.class);
-    
+
+    private static final int QUERY_BATCH_SIZE = 500;
+
+    private static final Long NOT_MODIFIED = 0L;
+
     @PersistenceContext(unitName = "serviceEntityManagerFactory")
     private EntityManager entityManager;
 
+    /**
+     * Map of service id to the modification time of the service
+     * as of the last load.
+     */
+    private Map<Long, Long> modifications = new ConcurrentHashMap<>();
+
     @Override
     public boolean delete(final RegisteredService registeredService) {
         if (this.entityManager.contains(registeredService)) {
@@ -32,12 +46,59 @@ public class JpaServiceRegistryDaoImpl implements ServiceRegistryDao {
         } else {
             this.entityManager.remove(this.entityManager.merge(registeredService));
         }
+        this.modifications.remove(registeredService.getId());
         return true;
     }
 
     @Override
     public List<RegisteredService> load() {
-        return this.entityManager.createQuery("select r from AbstractRegisteredService r", RegisteredService.class).getResultList();
+        final List<RegisteredService> list = this.entityManager.createQuery("select r from AbstractRegisteredService r",
+                RegisteredService.class).getResultList();
+        final Map<Long, Long> temp = new ConcurrentHashMap<>();
+        list.forEach(r -> temp.put(r.getId(), getLastModified(r)));
+        this.modifications = temp;
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Changes are detected by only querying the identifier and the modification time of each
+     * service definition, which are compared against what was recorded on the last load.
+     * Only new or changed service definitions are then fetched in full.
+     */
+    @Override
+    public RegisteredServiceChangeSet loadChanges() {
+        final List<Object[]> rows = this.entityManager.createQuery(
+                "select r.id, r.lastModified from AbstractRegisteredService r", Object[].class).getResultList();
+
+        final Map<Long, Long> current = new ConcurrentHashMap<>();
+        final List<Long> changedIds = new ArrayList<>();
+        rows.forEach(row -> {
+            final Long id = (Long) row[0];
+            final Long lastModified = row[1] == null ? NOT_MODIFIED : (Long) row[1];
+            current.put(id, lastModified);
+            if (!lastModified.equals(this.modifications.get(id))) {
+                changedIds.add(id);
+            }
+        });
+
+        final List<Long> deleted = this.modifications.keySet().stream()
+                .filter(id -> !current.containsKey(id))
+                .collect(Collectors.toList());
+
+        final List<RegisteredService> updated = new ArrayList<>(changedIds.size());
+        for (int i = 0; i < changedIds.size(); i += QUERY_BATCH_SIZE) {
+            final List<Long> batch = changedIds.subList(i, Math.min(i + QUERY_BATCH_SIZE, changedIds.size()));
+            updated.addAll(this.entityManager.createQuery("select r from AbstractRegisteredService r where r.id in :ids",
+                    RegisteredService.class).setParameter("ids", batch).getResultList());
+        }
+        this.modifications = current;
+
+        if (updated.isEmpty() && deleted.isEmpty()) {
+            return RegisteredServiceChangeSet.empty();
+        }
+        LOGGER.debug("Detected {} updated and {} deleted service definitions", updated.size(), deleted.size());
+        return new RegisteredServiceChangeSet(updated, deleted);
     }
 
     @Override
@@ -60,6 +121,13 @@ public class JpaServiceRegistryDaoImpl implements ServiceRegistryDao {
         return this.entityManager.createQuery("select count(r) from AbstractRegisteredService r", Long.class).getSingleResult();
     }
 
+    private static Long getLastModified(final RegisteredService r) {
+        if (r instanceof AbstractRegisteredService && ((AbstractRegisteredService) r).getLastModified() != null) {
+            return ((AbstractRegisteredService) r).getLastModified();
+        }
+        return NOT_MODIFIED;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
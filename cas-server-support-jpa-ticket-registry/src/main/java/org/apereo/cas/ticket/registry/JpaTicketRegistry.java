@@ -1,5 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
 import org.apereo.cas.support.oauth.ticket.OAuthToken;
 import org.apereo.cas.support.oauth.ticket.accesstoken.AccessToken;
 import org.apereo.cas.support.oauth.ticket.code.OAuthCode;
@@ -16,10 +18,19 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
@@ -36,6 +47,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     private static final String TABLE_OAUTH_TICKETS = OAuthCodeImpl.class.getSimpleName();
     private static final String TABLE_SERVICE_TICKETS = ServiceTicketImpl.class.getSimpleName();
     private static final String TABLE_TICKET_GRANTING_TICKETS = TicketGrantingTicketImpl.class.getSimpleName();
+
+    /**
+     * Maximum number of ids bound to a single {@code IN} clause, which some databases limit.
+     */
+    private static final int MAX_IDS_PER_QUERY = 500;
     
     private boolean lockTgt = true;
     
@@ -121,6 +137,86 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return tickets;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Ticket ids are grouped by the table that holds them, based on their prefix,
+     * and every table is queried once for all of its ids.</p>
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        final List<Ticket> tickets = new ArrayList<>(ticketIds.size());
+        groupByTable(ticketIds).forEach((table, ids) -> Lists.partition(ids, MAX_IDS_PER_QUERY).forEach(partition ->
+                tickets.addAll(this.entityManager.createQuery("select t from " + table + " t where t.id in :ids", Ticket.class)
+                        .setParameter("ids", partition)
+                        .getResultList())));
+        return tickets;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched from each table that may hold tickets of the given type,
+     * one page at a time as the stream is consumed. Pages are selected by the id of the last
+     * ticket in the previous page rather than by offset, so that tickets removed while
+     * the stream is consumed do not cause other tickets to be skipped.</p>
+     * <p>When the stream is consumed within a transaction, pending changes are flushed and the
+     * tickets of the previous page are detached before each page after the first, so that tickets
+     * of earlier pages do not accumulate in the persistence context. Other entities the transaction
+     * manages are left alone, unless they are streamed as well.</p>
+     */
+    @Override
+    public <T extends Ticket> Stream<T> streamTickets(final Class<T> type, final int pageSize) {
+        return Stream.of(TicketGrantingTicketImpl.class, ServiceTicketImpl.class)
+                .filter(table -> isStoredIn(type, table))
+                .flatMap(table -> streamTable(table, pageSize))
+                .filter(type::isInstance)
+                .map(type::cast);
+    }
+
+    /**
+     * Determine whether any entity persisted in the table of the given entity class
+     * may be of the requested ticket type.
+     *
+     * @param type  the ticket type
+     * @param table the entity class that owns the table
+     * @return true if the table may hold tickets of the requested type
+     */
+    private boolean isStoredIn(final Class<?> type, final Class<? extends Ticket> table) {
+        return this.entityManager.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(table::isAssignableFrom)
+                .anyMatch(entity -> type.isAssignableFrom(entity) || entity.isAssignableFrom(type));
+    }
+
+    private <E extends Ticket> Stream<E> streamTable(final Class<E> table, final int pageSize) {
+        final EntityManager em = this.entityManager;
+        final String query = "select t from " + table.getSimpleName() + " t where t.id > :id order by t.id";
+        final Iterator<List<E>> pages = new AbstractIterator<List<E>>() {
+            private String lastId = "";
+
+            private List<E> previousPage = Collections.emptyList();
+
+            @Override
+            protected List<E> computeNext() {
+                if (!this.previousPage.isEmpty() && em.isJoinedToTransaction()) {
+                    em.flush();
+                    this.previousPage.forEach(em::detach);
+                }
+                final List<E> page = em.createQuery(query, table)
+                        .setParameter("id", this.lastId)
+                        .setMaxResults(pageSize)
+                        .getResultList();
+                if (page.isEmpty()) {
+                    return endOfData();
+                }
+                this.lastId = page.get(page.size() - 1).getId();
+                this.previousPage = page;
+                return page;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
+    }
+
     @Override
     protected boolean needsCallback() {
         return false;
@@ -159,6 +255,89 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return failureCount == 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are removed with bulk {@code DELETE} statements, ordered so that
+     * referencing rows are removed before the rows they reference. Service tickets that
+     * belong to any of the given ticket-granting tickets are removed as well. Pending changes
+     * are flushed first, and the removed tickets are detached afterwards, since bulk statements
+     * bypass the persistence context.</p>
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        this.entityManager.flush();
+        final Map<String, List<String>> idsByTable = groupByTable(ticketIds);
+        final List<String> ticketGrantingTicketIds = idsByTable.getOrDefault(TABLE_TICKET_GRANTING_TICKETS, Collections.emptyList());
+        final List<String> serviceTicketIds = new ArrayList<>(idsByTable.getOrDefault(TABLE_SERVICE_TICKETS, Collections.emptyList()));
+        for (final List<String> partition : Lists.partition(ticketGrantingTicketIds, MAX_IDS_PER_QUERY)) {
+            serviceTicketIds.addAll(this.entityManager.createQuery("select s.id from " + TABLE_SERVICE_TICKETS
+                    + " s where s.ticketGrantingTicket.id in :ids", String.class).setParameter("ids", partition).getResultList());
+        }
+
+        int count = executeBulkDelete("delete from " + TABLE_OAUTH_TICKETS + " o where o.id in :ids",
+                idsByTable.getOrDefault(TABLE_OAUTH_TICKETS, Collections.emptyList()));
+        count += executeBulkDelete("delete from " + TABLE_SERVICE_TICKETS + " s where s.id in :ids",
+                idsByTable.getOrDefault(TABLE_SERVICE_TICKETS, Collections.emptyList()));
+        count += executeBulkDelete("delete from " + TABLE_SERVICE_TICKETS + " s where s.ticketGrantingTicket.id in :ids",
+                ticketGrantingTicketIds);
+        count += executeBulkDelete("delete from " + TABLE_TICKET_GRANTING_TICKETS + " t where t.id in :ids",
+                ticketGrantingTicketIds.stream()
+                        .filter(id -> id.startsWith(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX))
+                        .collect(Collectors.toList()));
+        count += executeBulkDelete("delete from " + TABLE_TICKET_GRANTING_TICKETS + " t where t.id in :ids",
+                ticketGrantingTicketIds.stream()
+                        .filter(id -> !id.startsWith(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX))
+                        .collect(Collectors.toList()));
+        logger.debug("Removed {} tickets from the registry", count);
+
+        detachTickets(OAuthCodeImpl.class, idsByTable.getOrDefault(TABLE_OAUTH_TICKETS, Collections.emptyList()));
+        detachTickets(ServiceTicketImpl.class, serviceTicketIds);
+        detachTickets(TicketGrantingTicketImpl.class, ticketGrantingTicketIds);
+        return count;
+    }
+
+    /**
+     * Detach removed tickets from the persistence context, so that later lookups
+     * in the same transaction do not return them. References to tickets that are not
+     * managed are created without loading them, and are detached right away.
+     *
+     * @param type      the entity type
+     * @param ticketIds the ticket ids
+     */
+    private void detachTickets(final Class<? extends Ticket> type, final Collection<String> ticketIds) {
+        ticketIds.forEach(id -> this.entityManager.detach(this.entityManager.getReference(type, id)));
+    }
+
+    private int executeBulkDelete(final String query, final List<String> ids) {
+        int count = 0;
+        for (final List<String> partition : Lists.partition(ids, MAX_IDS_PER_QUERY)) {
+            count += this.entityManager.createQuery(query).setParameter("ids", partition).executeUpdate();
+        }
+        return count;
+    }
+
+    /**
+     * Group ticket ids by the name of the entity whose table holds them.
+     *
+     * @param ticketIds the ticket ids
+     * @return the ticket ids by entity name
+     */
+    private static Map<String, List<String>> groupByTable(final Collection<String> ticketIds) {
+        return ticketIds.stream().distinct().collect(Collectors.groupingBy(ticketId -> {
+            if (ticketId.startsWith(TicketGrantingTicket.PREFIX)
+                    || ticketId.startsWith(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX)) {
+                return TABLE_TICKET_GRANTING_TICKETS;
+            }
+            if (ticketId.startsWith(OAuthCode.PREFIX) || ticketId.startsWith(AccessToken.PREFIX)) {
+                return TABLE_OAUTH_TICKETS;
+            }
+            return TABLE_SERVICE_TICKETS;
+        }));
+    }
+
     /**
      * Gets ticket query result list.
      *
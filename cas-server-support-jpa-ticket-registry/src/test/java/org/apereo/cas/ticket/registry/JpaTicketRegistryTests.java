@@ -31,13 +31,20 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -75,6 +82,9 @@ public class JpaTicketRegistryTests {
     @Qualifier("jpaTicketRegistry")
     private TicketRegistry jpaTicketRegistry;
 
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
     @Test
     public void verifyTicketCreationAndDeletion() throws Exception {
         // TGT
@@ -165,6 +175,96 @@ public class JpaTicketRegistryTests {
     }
 
 
+    @Test
+    public void verifyStreamTicketsInPages() throws Exception {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(grantServiceTicketInTransaction(newTgt).getId());
+        }
+        final ServiceTicket st = (ServiceTicket) getTicketInTransaction(ids.get(0));
+        final ProxyGrantingTicket pgt = grantProxyGrantingTicketInTransaction(st);
+
+        final Set<String> sts = new TransactionTemplate(txManager).execute(status -> {
+            try (Stream<ServiceTicket> tickets = jpaTicketRegistry.streamTickets(ServiceTicket.class, 2)) {
+                return tickets.map(Ticket::getId).collect(Collectors.toSet());
+            }
+        });
+        assertTrue(sts.containsAll(ids));
+        assertFalse(sts.contains(newTgt.getId()));
+
+        final Set<String> pgts = new TransactionTemplate(txManager).execute(status -> {
+            try (Stream<ProxyGrantingTicket> tickets = jpaTicketRegistry.streamTickets(ProxyGrantingTicket.class, 2)) {
+                return tickets.map(Ticket::getId).collect(Collectors.toSet());
+            }
+        });
+        assertTrue(pgts.contains(pgt.getId()));
+        assertFalse(pgts.contains(newTgt.getId()));
+    }
+
+
+    @Test
+    public void verifyStreamedPagesAreDetached() throws Exception {
+        TicketGrantingTicket tgt = null;
+        for (int i = 0; i < 5; i++) {
+            tgt = newTGT();
+            addTicketInTransaction(tgt);
+        }
+        final String serviceTicketId = grantServiceTicketInTransaction(tgt).getId();
+        new TransactionTemplate(txManager).execute(status -> {
+            final Ticket serviceTicket = jpaTicketRegistry.getTicket(serviceTicketId);
+            try (Stream<TicketGrantingTicket> tickets = jpaTicketRegistry.streamTickets(TicketGrantingTicket.class, 2)) {
+                final Iterator<TicketGrantingTicket> it = tickets.iterator();
+                final TicketGrantingTicket first = it.next();
+                assertTrue(entityManager.contains(first));
+                it.next();
+                it.next();
+                assertFalse(entityManager.contains(first));
+            }
+            assertTrue(entityManager.contains(serviceTicket));
+            return null;
+        });
+    }
+
+
+    @Test
+    public void verifyBulkTicketDeletion() throws Exception {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+        final ServiceTicket st = grantServiceTicketInTransaction(newTgt);
+        final ServiceTicket st2 = grantServiceTicketInTransaction(newTgt);
+        final ProxyGrantingTicket pgt = grantProxyGrantingTicketInTransaction(st);
+        final ProxyTicket pt = grantProxyTicketInTransaction(pgt);
+        final TicketGrantingTicket otherTgt = newTGT();
+        addTicketInTransaction(otherTgt);
+        final List<String> ids = Arrays.asList(newTgt.getId(), st.getId(), st2.getId(), pgt.getId(), pt.getId(), otherTgt.getId());
+
+        final int found = new TransactionTemplate(txManager).execute(status -> jpaTicketRegistry.getTickets(ids).size());
+        assertEquals(ids.size(), found);
+
+        final int removed = new TransactionTemplate(txManager).execute(status ->
+                jpaTicketRegistry.deleteTickets(Arrays.asList(newTgt.getId(), otherTgt.getId())));
+        assertEquals(ids.size(), removed);
+        ids.forEach(id -> assertNull(getTicketInTransaction(id)));
+    }
+
+    @Test
+    public void verifyBulkDeletedTicketsAreNotFoundInSameTransaction() throws Exception {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+        final ServiceTicket st = grantServiceTicketInTransaction(newTgt);
+        new TransactionTemplate(txManager).execute(status -> {
+            assertNotNull(jpaTicketRegistry.getTicket(newTgt.getId()));
+            assertNotNull(jpaTicketRegistry.getTicket(st.getId()));
+            assertEquals(2, jpaTicketRegistry.deleteSingleTickets(Collections.singletonList(newTgt.getId())));
+            assertNull(jpaTicketRegistry.getTicket(newTgt.getId()));
+            assertNull(jpaTicketRegistry.getTicket(st.getId()));
+            return null;
+        });
+    }
+
+
     static TicketGrantingTicket newTGT() {
         final Principal principal = new DefaultPrincipalFactory().createPrincipal(
                 "bob", Collections.singletonMap("displayName", (Object) "Bob"));
@@ -29,6 +29,8 @@ public class JsonServiceRegistryConfiguration {
                     new JsonServiceRegistryDao(
                             casProperties.getServiceRegistry().getConfig().getLocation(),
                             casProperties.getServiceRegistry().isWatcherEnabled());
+            dao.setLoadParallelism(casProperties.getServiceRegistry().getLoadParallelism());
+            dao.setWatcherQuietPeriod(casProperties.getServiceRegistry().getWatcherQuietPeriod());
             return dao;
         } catch (final Throwable e) {
             throw Throwables.propagate(e);
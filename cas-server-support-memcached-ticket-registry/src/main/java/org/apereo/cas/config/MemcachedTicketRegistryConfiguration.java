@@ -60,7 +60,10 @@ public class MemcachedTicketRegistryConfiguration {
 
     @Bean
     public KryoTranscoder kryoTranscoder() {
-        return new KryoTranscoder();
+        final KryoTranscoder transcoder = new KryoTranscoder();
+        transcoder.setRegistrationRequired(casProperties.getTicket().getRegistry().getMemcached().isKryoRegistrationRequired());
+        transcoder.setBufferSize(casProperties.getTicket().getRegistry().getMemcached().getKryoBufferSize());
+        return transcoder;
     }
 
     
@@ -6,6 +6,12 @@ import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * Key-value ticket registry implementation that stores tickets in memcached keyed on the ticket ID.
@@ -79,6 +85,64 @@ public class MemCacheTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Add operations are issued asynchronously and awaited together, so that
+     * they are pipelined over the memcached connections.</p>
+     */
+    @Override
+    public void addTickets(final Collection<Ticket> ticketsToAdd) {
+        if (this.client == null) {
+            logger.debug("No memcached client is found in the configuration.");
+            return;
+        }
+
+        final Map<Ticket, Future<Boolean>> operations = new LinkedHashMap<>(ticketsToAdd.size());
+        ticketsToAdd.stream().map(this::encodeTicket).forEach(ticket -> {
+            logger.debug("Adding ticket {}", ticket);
+            operations.put(ticket, this.client.add(ticket.getId(), getTimeout(ticket), ticket));
+        });
+        operations.forEach((ticket, operation) -> {
+            try {
+                if (!operation.get()) {
+                    logger.error("Failed to add {}", ticket);
+                }
+            } catch (final InterruptedException e) {
+                logger.warn("Interrupted while waiting for response to async add operation for ticket {}."
+                        + "Cannot determine whether add was successful.", ticket);
+            } catch (final Exception e) {
+                logger.error("Failed adding {}", ticket, e);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Delete operations are issued asynchronously and awaited together, so that
+     * they are pipelined over the memcached connections.</p>
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        if (this.client == null) {
+            logger.debug("No memcached client is defined.");
+            return 0;
+        }
+
+        final Map<String, Future<Boolean>> operations = new LinkedHashMap<>(ticketIds.size());
+        ticketIds.forEach(ticketId -> operations.put(ticketId, this.client.delete(ticketId)));
+        int count = 0;
+        for (final Map.Entry<String, Future<Boolean>> operation : operations.entrySet()) {
+            try {
+                if (operation.getValue().get()) {
+                    count++;
+                }
+            } catch (final Exception e) {
+                logger.error("Ticket not found or is already removed. Failed deleting {}", operation.getKey(), e);
+            }
+        }
+        return count;
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
@@ -109,6 +173,29 @@ public class MemCacheTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched with a single multi-get operation.</p>
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        if (this.client == null) {
+            logger.debug("No memcached client is configured.");
+            return Collections.emptyList();
+        }
+
+        final List<String> keys = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toList());
+        try {
+            return this.client.getBulk(keys).values().stream()
+                    .map(Ticket.class::cast)
+                    .map(this::decodeTicket)
+                    .collect(Collectors.toList());
+        } catch (final Exception e) {
+            logger.error("Failed fetching {} ", keys, e);
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * {@inheritDoc}
      * This operation is not supported.
@@ -4,10 +4,16 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.pool.KryoPool;
 import com.esotericsoftware.kryo.serializers.DefaultSerializers;
+import com.esotericsoftware.kryo.serializers.FieldSerializer;
+import de.javakaffee.kryoserializers.ArraysAsListSerializer;
 import de.javakaffee.kryoserializers.CollectionsEmptyListSerializer;
 import de.javakaffee.kryoserializers.CollectionsEmptyMapSerializer;
 import de.javakaffee.kryoserializers.CollectionsEmptySetSerializer;
+import de.javakaffee.kryoserializers.CollectionsSingletonListSerializer;
+import de.javakaffee.kryoserializers.CollectionsSingletonMapSerializer;
+import de.javakaffee.kryoserializers.CollectionsSingletonSetSerializer;
 import de.javakaffee.kryoserializers.EnumMapSerializer;
 import de.javakaffee.kryoserializers.EnumSetSerializer;
 import de.javakaffee.kryoserializers.KryoReflectionFactorySupport;
@@ -21,18 +27,34 @@ import de.javakaffee.kryoserializers.guava.ImmutableMultimapSerializer;
 import de.javakaffee.kryoserializers.guava.ImmutableSetSerializer;
 import net.spy.memcached.CachedData;
 import net.spy.memcached.transcoders.Transcoder;
+import org.apereo.cas.DefaultMessageDescriptor;
+import org.apereo.cas.authentication.AccountDisabledException;
+import org.apereo.cas.authentication.AccountPasswordMustChangeException;
 import org.apereo.cas.authentication.BasicCredentialMetaData;
+import org.apereo.cas.authentication.BasicIdentifiableCredential;
+import org.apereo.cas.authentication.DefaultAuthentication;
 import org.apereo.cas.authentication.DefaultHandlerResult;
+import org.apereo.cas.authentication.HttpBasedServiceCredential;
+import org.apereo.cas.authentication.InvalidLoginLocationException;
+import org.apereo.cas.authentication.InvalidLoginTimeException;
+import org.apereo.cas.authentication.OneTimePasswordCredential;
+import org.apereo.cas.authentication.PreventedException;
+import org.apereo.cas.authentication.RememberMeUsernamePasswordCredential;
 import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.NullPrincipal;
 import org.apereo.cas.authentication.principal.SimplePrincipal;
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
+import org.apereo.cas.authentication.support.PasswordExpiringWarningMessageDescriptor;
 import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.ticket.ProxyGrantingTicketImpl;
+import org.apereo.cas.ticket.ProxyTicketImpl;
 import org.apereo.cas.ticket.ServiceTicketImpl;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.registry.support.kryo.serial.RegisteredServiceSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.SimpleWebApplicationServiceSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.URLSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.ZonedDateTimeTranscoder;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
@@ -40,28 +62,43 @@ import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
 import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
 import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
-import org.apereo.cas.authentication.DefaultAuthentication;
 
 import javax.annotation.PostConstruct;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import javax.security.auth.login.AccountExpiredException;
+import javax.security.auth.login.AccountLockedException;
+import javax.security.auth.login.AccountNotFoundException;
+import javax.security.auth.login.CredentialExpiredException;
+import javax.security.auth.login.FailedLoginException;
+import java.io.Serializable;
 import java.net.URI;
 import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
  * {@link net.spy.memcached.MemcachedClient} transcoder implementation based on Kryo fast serialization framework
  * suited for efficient serialization of tickets.
+ * <p>
+ * Kryo instances are not thread-safe; each encoding or decoding operation borrows an instance
+ * from a pool, and encodes into an output buffer reused by the calling thread.
+ * Ticket, authentication and principal classes are registered with fixed ids, which are
+ * part of the encoded form and must never be changed or reused once assigned.
  *
  * @author Marvin S. Addison
  * @since 3.0.0
@@ -70,15 +107,44 @@ import java.util.regex.Pattern;
 public class KryoTranscoder implements Transcoder<Object> {
 
     /**
-     * Kryo serializer.
+     * Initial size of the buffer objects are encoded into.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * Buffers that grew beyond this size while encoding are not reused.
      */
-    private Kryo kryo = new KryoReflectionFactorySupport();
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Kryo serializer, configured like the pooled instances.
+     */
+    private final Kryo kryo = new KryoReflectionFactorySupport();
 
     /**
      * Map of class to serializer that handles it.
      */
     private Map<Class<?>, Serializer> serializerMap;
 
+    /**
+     * Map of class to the factory of the serializer that handles it, applied to each Kryo instance.
+     */
+    private Map<Class<?>, Function<Kryo, Serializer>> serializerFactories;
+
+    /**
+     * Whether classes must be registered in order to be encoded.
+     */
+    private boolean registrationRequired;
+
+    /**
+     * Initial size of the buffer objects are encoded into.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private KryoPool kryoPool;
+
+    private ThreadLocal<Output> outputs;
+
     /**
      * Creates a Kryo-based transcoder.
      */
@@ -88,73 +154,65 @@ public class KryoTranscoder implements Transcoder<Object> {
     /**
      * Sets a map of additional types that should be regisetered with Kryo,
      * for example GoogleAccountsService and OpenIdService.
+     * Serializer instances are shared by all pooled Kryo instances, and must be thread-safe.
+     * Serializers bound to a Kryo instance, such as {@link FieldSerializer}, are rejected;
+     * use {@link #setSerializerFactories(Map)} for those instead.
+     * Types are registered in the order of their class names, so that ids match across nodes.
      *
      * @param map Map of class to the serializer instance that handles it.
      */
     public void setSerializerMap(final Map<Class<?>, Serializer> map) {
+        if (map != null) {
+            map.forEach((type, serializer) -> {
+                if (serializer instanceof FieldSerializer) {
+                    throw new IllegalArgumentException("Serializer for " + type.getName()
+                            + " is bound to a Kryo instance; register a serializer factory instead");
+                }
+            });
+        }
         this.serializerMap = map;
     }
 
     /**
-     * Initialize and register classes with kryo.
+     * Sets a map of additional types that should be registered with Kryo, along with
+     * the factory of the serializer that handles each of them. Each pooled Kryo instance
+     * gets serializers of its own, created by applying the factory to that instance.
+     * Types are registered in the order of their class names, along with those of the serializer map.
+     *
+     * @param factories Map of class to the factory of the serializer that handles it.
      */
-    @PostConstruct
-    public void initialize() {
-        // Register types we know about and do not require external configuration
-        this.kryo.register(ArrayList.class);
-        this.kryo.register(BasicCredentialMetaData.class);
-        this.kryo.register(Class.class, new DefaultSerializers.ClassSerializer());
-        this.kryo.register(ZonedDateTime.class, new ZonedDateTimeTranscoder());
-        this.kryo.register(HardTimeoutExpirationPolicy.class);
-        this.kryo.register(HashMap.class);
-        this.kryo.register(LinkedHashMap.class);
-        this.kryo.register(HashSet.class);
-        this.kryo.register(DefaultHandlerResult.class);
-        this.kryo.register(DefaultAuthentication.class);
-        this.kryo.register(MultiTimeUseOrTimeoutExpirationPolicy.class);
-        this.kryo.register(NeverExpiresExpirationPolicy.class);
-        this.kryo.register(RememberMeDelegatingExpirationPolicy.class);
-        this.kryo.register(ServiceTicketImpl.class);
-        this.kryo.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer());
-        this.kryo.register(ThrottledUseAndTimeoutExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketImpl.class);
-        this.kryo.register(TimeoutExpirationPolicy.class);
-        this.kryo.register(UsernamePasswordCredential.class);
-        this.kryo.register(SimplePrincipal.class);
-        this.kryo.register(URL.class, new URLSerializer());
-        this.kryo.register(URI.class, new URISerializer());
-        this.kryo.register(Pattern.class, new RegexSerializer());
-        this.kryo.register(UUID.class, new UUIDSerializer());
-        this.kryo.register(EnumMap.class, new EnumMapSerializer());
-        this.kryo.register(EnumSet.class, new EnumSetSerializer());
-
-        // we add these ones for tests only
-        this.kryo.register(RegexRegisteredService.class, new RegisteredServiceSerializer());
-
-
-        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
-        UnmodifiableCollectionsSerializer.registerSerializers(this.kryo);
-        ImmutableListSerializer.registerSerializers(this.kryo);
-        ImmutableSetSerializer.registerSerializers(this.kryo);
-        ImmutableMapSerializer.registerSerializers(this.kryo);
-        ImmutableMultimapSerializer.registerSerializers(this.kryo);
+    public void setSerializerFactories(final Map<Class<?>, Function<Kryo, Serializer>> factories) {
+        this.serializerFactories = factories;
+    }
 
-        this.kryo.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer());
-        this.kryo.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer());
-        this.kryo.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer());
+    /**
+     * Sets whether classes must be registered in order to be encoded.
+     * When enabled, encoding an object of a class that is neither registered by default
+     * nor present in the serializer map fails, instead of writing its fully-qualified class name.
+     *
+     * @param registrationRequired whether registration is required
+     */
+    public void setRegistrationRequired(final boolean registrationRequired) {
+        this.registrationRequired = registrationRequired;
+    }
 
-        // Register other types
-        if (this.serializerMap != null) {
-            this.serializerMap.forEach(this.kryo::register);
-        }
+    /**
+     * Sets the initial size of the buffer objects are encoded into.
+     *
+     * @param bufferSize the buffer size, in bytes
+     */
+    public void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
 
-        // don't reinit the registered classes after every write or read
-        this.kryo.setAutoReset(false);
-        // don't replace objects by references
-        this.kryo.setReferences(false);
-        // Catchall for any classes not explicitly registered
-        this.kryo.setRegistrationRequired(false);
+    /**
+     * Initialize and register classes with kryo.
+     */
+    @PostConstruct
+    public void initialize() {
+        configure(this.kryo);
+        this.kryoPool = new KryoPool.Builder(() -> configure(new KryoReflectionFactorySupport())).softReferences().build();
+        this.outputs = ThreadLocal.withInitial(() -> new Output(this.bufferSize, getMaxSize()));
     }
 
     /**
@@ -170,22 +228,25 @@ public class KryoTranscoder implements Transcoder<Object> {
 
     @Override
     public CachedData encode(final Object obj) {
-        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        try (final Output output = new Output(byteStream)) {
-            this.kryo.writeClassAndObject(output, obj);
-            output.flush();
-            final byte[] bytes = byteStream.toByteArray();
+        final Output output = this.outputs.get();
+        try {
+            final byte[] bytes = this.kryoPool.run(k -> {
+                k.writeClassAndObject(output, obj);
+                return output.toBytes();
+            });
             return new CachedData(0, bytes, bytes.length);
+        } finally {
+            if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+                this.outputs.remove();
+            } else {
+                output.clear();
+            }
         }
     }
 
     @Override
     public Object decode(final CachedData d) {
-        final byte[] bytes = d.getData();
-        try (final Input input = new Input(new ByteArrayInputStream(bytes))) {
-            final Object obj = this.kryo.readClassAndObject(input);
-            return obj;
-        }
+        return this.kryoPool.run(k -> k.readClassAndObject(new Input(d.getData())));
     }
 
     /**
@@ -199,11 +260,119 @@ public class KryoTranscoder implements Transcoder<Object> {
     }
 
     /**
-     * Gets the kryo object that provides encoding and decoding services for this instance.
+     * Gets a kryo object configured like the instances that provide encoding and decoding services
+     * for this instance. It is not used by the transcoder itself, and is not thread-safe.
      *
      * @return Underlying Kryo instance.
+     * @deprecated Serializers must not be bound to this instance; use {@link #setSerializerFactories(Map)}.
      */
+    @Deprecated
     public Kryo getKryo() {
         return this.kryo;
     }
+
+    /**
+     * Register classes with the given kryo instance.
+     *
+     * @param k the kryo instance
+     * @return the configured instance
+     */
+    private Kryo configure(final Kryo k) {
+        // Java types
+        k.register(ArrayList.class, 100);
+        k.register(LinkedList.class, 101);
+        k.register(HashMap.class, 102);
+        k.register(LinkedHashMap.class, 103);
+        k.register(TreeMap.class, 104);
+        k.register(HashSet.class, 105);
+        k.register(LinkedHashSet.class, 106);
+        k.register(TreeSet.class, 107);
+        k.register(Class.class, new DefaultSerializers.ClassSerializer(), 108);
+        k.register(ZonedDateTime.class, new ZonedDateTimeTranscoder(), 109);
+        k.register(URL.class, new URLSerializer(), 110);
+        k.register(URI.class, new URISerializer(), 111);
+        k.register(Pattern.class, new RegexSerializer(), 112);
+        k.register(UUID.class, new UUIDSerializer(), 113);
+        k.register(EnumMap.class, new EnumMapSerializer(), 114);
+        k.register(EnumSet.class, new EnumSetSerializer(), 115);
+        k.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer(), 116);
+        k.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer(), 117);
+        k.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer(), 118);
+        k.register(Collections.singletonList(null).getClass(), new CollectionsSingletonListSerializer(), 119);
+        k.register(Collections.singletonMap(null, null).getClass(), new CollectionsSingletonMapSerializer(), 120);
+        k.register(Collections.singleton(null).getClass(), new CollectionsSingletonSetSerializer(), 121);
+        k.register(Arrays.asList().getClass(), new ArraysAsListSerializer(), 122);
+        k.register(Object[].class, 123);
+        k.register(String[].class, 124);
+        k.register(Serializable[].class, 125);
+
+        // Authentication failures, recorded by class
+        k.register(AccountNotFoundException.class, 130);
+        k.register(FailedLoginException.class, 131);
+        k.register(AccountLockedException.class, 132);
+        k.register(AccountExpiredException.class, 133);
+        k.register(CredentialExpiredException.class, 134);
+        k.register(AccountDisabledException.class, 135);
+        k.register(AccountPasswordMustChangeException.class, 136);
+        k.register(InvalidLoginLocationException.class, 137);
+        k.register(InvalidLoginTimeException.class, 138);
+        k.register(PreventedException.class, 139);
+
+        // Authentication and principals
+        k.register(DefaultAuthentication.class, 140);
+        k.register(DefaultHandlerResult.class, 141);
+        k.register(BasicCredentialMetaData.class, 142);
+        k.register(SimplePrincipal.class, 143);
+        k.register(NullPrincipal.class, 144);
+        k.register(UsernamePasswordCredential.class, 145);
+        k.register(RememberMeUsernamePasswordCredential.class, 146);
+        k.register(HttpBasedServiceCredential.class, 147);
+        k.register(OneTimePasswordCredential.class, 148);
+        k.register(BasicIdentifiableCredential.class, 149);
+        k.register(DefaultMessageDescriptor.class, 150);
+        k.register(PasswordExpiringWarningMessageDescriptor.class, 151);
+        k.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer(), 152);
+
+        // Tickets and expiration policies
+        k.register(TicketGrantingTicketImpl.class, 180);
+        k.register(ServiceTicketImpl.class, 181);
+        k.register(ProxyGrantingTicketImpl.class, 182);
+        k.register(ProxyTicketImpl.class, 183);
+        k.register(AlwaysExpiresExpirationPolicy.class, 184);
+        k.register(HardTimeoutExpirationPolicy.class, 185);
+        k.register(MultiTimeUseOrTimeoutExpirationPolicy.class, 186);
+        k.register(NeverExpiresExpirationPolicy.class, 187);
+        k.register(RememberMeDelegatingExpirationPolicy.class, 188);
+        k.register(ThrottledUseAndTimeoutExpirationPolicy.class, 189);
+        k.register(TicketGrantingTicketExpirationPolicy.class, 190);
+        k.register(TimeoutExpirationPolicy.class, 191);
+
+        // we add these ones for tests only
+        k.register(RegexRegisteredService.class, new RegisteredServiceSerializer(), 220);
+
+        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
+        UnmodifiableCollectionsSerializer.registerSerializers(k);
+        ImmutableListSerializer.registerSerializers(k);
+        ImmutableSetSerializer.registerSerializers(k);
+        ImmutableMapSerializer.registerSerializers(k);
+        ImmutableMultimapSerializer.registerSerializers(k);
+
+        // Register other types
+        final Map<Class<?>, Serializer> serializers = new HashMap<>();
+        if (this.serializerMap != null) {
+            serializers.putAll(this.serializerMap);
+        }
+        if (this.serializerFactories != null) {
+            this.serializerFactories.forEach((type, factory) -> serializers.put(type, factory.apply(k)));
+        }
+        serializers.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getKey().getName()))
+                .forEach(entry -> k.register(entry.getKey(), entry.getValue()));
+
+        // don't replace objects by references
+        k.setReferences(false);
+        // Catchall for any classes not explicitly registered, unless registration is required
+        k.setRegistrationRequired(this.registrationRequired);
+        return k;
+    }
 }
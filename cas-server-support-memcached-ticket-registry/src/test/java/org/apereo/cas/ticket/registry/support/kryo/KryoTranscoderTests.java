@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry.support.kryo;
 
+import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.serializers.FieldSerializer;
 import net.spy.memcached.CachedData;
@@ -27,6 +28,7 @@ import org.junit.Test;
 import javax.security.auth.login.AccountNotFoundException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -37,6 +39,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.junit.Assert.*;
 
@@ -63,14 +70,14 @@ public class KryoTranscoderTests {
 
     public KryoTranscoderTests() {
         transcoder = new KryoTranscoder();
-        final Map<Class<?>, Serializer> serializerMap = new HashMap<>();
-        serializerMap.put(
+        final Map<Class<?>, Function<Kryo, Serializer>> serializerFactories = new HashMap<>();
+        serializerFactories.put(
                 MockServiceTicket.class,
-                new FieldSerializer(transcoder.getKryo(), MockServiceTicket.class));
-        serializerMap.put(
+                kryo -> new FieldSerializer(kryo, MockServiceTicket.class));
+        serializerFactories.put(
                 MockTicketGrantingTicket.class,
-                new FieldSerializer(transcoder.getKryo(), MockTicketGrantingTicket.class));
-        transcoder.setSerializerMap(serializerMap);
+                kryo -> new FieldSerializer(kryo, MockTicketGrantingTicket.class));
+        transcoder.setSerializerFactories(serializerFactories);
         transcoder.initialize();
 
         this.principalAttributes = new HashMap<>();
@@ -79,6 +86,83 @@ public class KryoTranscoderTests {
 
     @Test
     public void verifyEncodeDecodeTGTImpl() throws Exception {
+        final TicketGrantingTicket expectedTGT = newTicketGrantingTicket();
+
+        final ServiceTicket ticket = expectedTGT.grantServiceTicket(ST_ID,
+                TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), null, true);
+        CachedData result = transcoder.encode(expectedTGT);
+        final TicketGrantingTicket resultTicket = (TicketGrantingTicket) transcoder.decode(result);
+
+        assertEquals(expectedTGT, resultTicket);
+        result = transcoder.encode(ticket);
+        final ServiceTicket resultStTicket = (ServiceTicket) transcoder.decode(result);
+        assertEquals(ticket, resultStTicket);
+
+    }
+
+    @Test
+    public void verifyEncodeDecodeWithRegistrationRequired() throws Exception {
+        final KryoTranscoder requiredTranscoder = new KryoTranscoder();
+        requiredTranscoder.setRegistrationRequired(true);
+        requiredTranscoder.initialize();
+
+        final TicketGrantingTicket expectedTGT = newTicketGrantingTicket();
+        final ServiceTicket ticket = expectedTGT.grantServiceTicket(ST_ID,
+                TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), null, true);
+
+        final CachedData result = requiredTranscoder.encode(expectedTGT);
+        final TicketGrantingTicket resultTicket = (TicketGrantingTicket) requiredTranscoder.decode(result);
+        assertEquals(expectedTGT, resultTicket);
+        assertEquals(expectedTGT.getAuthentication().getPrincipal(), resultTicket.getAuthentication().getPrincipal());
+        assertEquals(ticket, requiredTranscoder.decode(requiredTranscoder.encode(ticket)));
+        assertFalse(new String(result.getData(), StandardCharsets.ISO_8859_1).contains("org.apereo.cas"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyUnregisteredClassIsRejectedWithRegistrationRequired() throws Exception {
+        final KryoTranscoder requiredTranscoder = new KryoTranscoder();
+        requiredTranscoder.setRegistrationRequired(true);
+        requiredTranscoder.initialize();
+        requiredTranscoder.encode(new MockTicketGrantingTicket(USERNAME));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyKryoBoundSerializerIsRejected() throws Exception {
+        new KryoTranscoder().setSerializerMap(Collections.singletonMap(MockServiceTicket.class,
+                new FieldSerializer(new Kryo(), MockServiceTicket.class)));
+    }
+
+    @Test
+    public void verifyEncodeDecodeConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        final TicketGrantingTicket expectedTGT = newTicketGrantingTicket();
+                        final TicketGrantingTicket resultTicket =
+                                (TicketGrantingTicket) transcoder.decode(transcoder.encode(expectedTGT));
+                        assertEquals(expectedTGT, resultTicket);
+                        assertEquals(expectedTGT.getAuthentication().getAttributes(),
+                                resultTicket.getAuthentication().getAttributes());
+                        final TicketGrantingTicket mockTGT = new MockTicketGrantingTicket(USERNAME);
+                        assertEquals(mockTGT, transcoder.decode(transcoder.encode(mockTGT)));
+                    }
+                    return 200;
+                }));
+            }
+            for (final Future<Integer> result : results) {
+                assertEquals(200, result.get(30, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TicketGrantingTicket newTicketGrantingTicket() {
         final Credential userPassCredential = new UsernamePasswordCredential(USERNAME, PASSWORD);
         final AuthenticationBuilder bldr = new DefaultAuthenticationBuilder(
                 new DefaultPrincipalFactory()
@@ -91,23 +175,10 @@ public class KryoTranscoderTests {
                 new AcceptUsersAuthenticationHandler(),
                 new BasicCredentialMetaData(userPassCredential)));
 
-        final TicketGrantingTicket expectedTGT =
-                new TicketGrantingTicketImpl(TGT_ID,
-                        TestUtils.getService(),
-                        null, bldr.build(),
-                        new NeverExpiresExpirationPolicy());
-
-        final ServiceTicket ticket = expectedTGT.grantServiceTicket(ST_ID,
+        return new TicketGrantingTicketImpl(TGT_ID,
                 TestUtils.getService(),
-                new NeverExpiresExpirationPolicy(), null, true);
-        CachedData result = transcoder.encode(expectedTGT);
-        final TicketGrantingTicket resultTicket = (TicketGrantingTicket) transcoder.decode(result);
-
-        assertEquals(expectedTGT, resultTicket);
-        result = transcoder.encode(ticket);
-        final ServiceTicket resultStTicket = (ServiceTicket) transcoder.decode(result);
-        assertEquals(ticket, resultStTicket);
-
+                null, bldr.build(),
+                new NeverExpiresExpirationPolicy());
     }
 
     @Test
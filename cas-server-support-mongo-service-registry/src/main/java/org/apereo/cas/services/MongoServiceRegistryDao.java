@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -8,7 +10,11 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * <p>Implementation of {@code ServiceRegistryDao} that uses a MongoDb repository as the backend
@@ -21,16 +27,30 @@ import java.util.List;
  * @author Misagh Moayyed
  * @since 4.1
  */
-public class MongoServiceRegistryDao implements ServiceRegistryDao {
+public class MongoServiceRegistryDao implements IncrementalServiceRegistryDao {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoServiceRegistryDao.class);
 
+    private static final String FIELD_ID = "_id";
+
+    private static final String FIELD_LAST_MODIFIED = "lastModified";
+
+    private static final int QUERY_BATCH_SIZE = 500;
+
+    private static final Long NOT_MODIFIED = 0L;
+
     private String collectionName;
 
     private boolean dropCollection;
 
     private MongoOperations mongoTemplate;
 
+    /**
+     * Map of service id to the modification time of the service
+     * as of the last load.
+     */
+    private Map<Long, Long> modifications = new ConcurrentHashMap<>();
+
     /**
      * Ctor.
      *
@@ -73,6 +93,7 @@ public class MongoServiceRegistryDao implements ServiceRegistryDao {
     public boolean delete(final RegisteredService svc) {
         if (this.findServiceById(svc.getId()) != null) {
             this.mongoTemplate.remove(svc, this.collectionName);
+            this.modifications.remove(svc.getId());
             LOGGER.debug("Removed registered service: {}", svc);
             return true;
         }
@@ -87,7 +108,54 @@ public class MongoServiceRegistryDao implements ServiceRegistryDao {
 
     @Override
     public List<RegisteredService> load() {
-        return this.mongoTemplate.findAll(RegisteredService.class, this.collectionName);
+        final List<RegisteredService> list = this.mongoTemplate.findAll(RegisteredService.class, this.collectionName);
+        final Map<Long, Long> temp = new ConcurrentHashMap<>();
+        list.forEach(r -> temp.put(r.getId(), getLastModified(r)));
+        this.modifications = temp;
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Changes are detected by only retrieving the identifier and the modification time of each
+     * service document, which are compared against what was recorded on the last load.
+     * Only new or changed service documents are then fetched and converted.
+     */
+    @Override
+    public RegisteredServiceChangeSet loadChanges() {
+        final Map<Long, Long> current = new ConcurrentHashMap<>();
+        final List<Long> changedIds = new ArrayList<>();
+
+        try (DBCursor cursor = this.mongoTemplate.getCollection(this.collectionName)
+                .find(new BasicDBObject(), new BasicDBObject(FIELD_LAST_MODIFIED, 1))) {
+            cursor.forEach(document -> {
+                final Long id = ((Number) document.get(FIELD_ID)).longValue();
+                final Object value = document.get(FIELD_LAST_MODIFIED);
+                final Long lastModified = value == null ? NOT_MODIFIED : ((Number) value).longValue();
+                current.put(id, lastModified);
+                if (!lastModified.equals(this.modifications.get(id))) {
+                    changedIds.add(id);
+                }
+            });
+        }
+
+        final List<Long> deleted = this.modifications.keySet().stream()
+                .filter(id -> !current.containsKey(id))
+                .collect(Collectors.toList());
+
+        final List<RegisteredService> updated = new ArrayList<>(changedIds.size());
+        for (int i = 0; i < changedIds.size(); i += QUERY_BATCH_SIZE) {
+            final List<Long> batch = changedIds.subList(i, Math.min(i + QUERY_BATCH_SIZE, changedIds.size()));
+            updated.addAll(this.mongoTemplate.find(new Query(Criteria.where("id").in(batch)),
+                    RegisteredService.class, this.collectionName));
+        }
+        this.modifications = current;
+
+        if (updated.isEmpty() && deleted.isEmpty()) {
+            return RegisteredServiceChangeSet.empty();
+        }
+        LOGGER.debug("Detected {} updated and {} deleted service definitions", updated.size(), deleted.size());
+        return new RegisteredServiceChangeSet(updated, deleted);
     }
 
     @Override
@@ -95,11 +163,21 @@ public class MongoServiceRegistryDao implements ServiceRegistryDao {
         if (svc.getId() == AbstractRegisteredService.INITIAL_IDENTIFIER_VALUE) {
             ((AbstractRegisteredService) svc).setId(svc.hashCode());
         }
+        if (svc instanceof AbstractRegisteredService) {
+            ((AbstractRegisteredService) svc).setLastModified(System.currentTimeMillis());
+        }
         this.mongoTemplate.save(svc, this.collectionName);
         LOGGER.debug("Saved registered service: {}", svc);
         return this.findServiceById(svc.getId());
     }
 
+    private static Long getLastModified(final RegisteredService r) {
+        if (r instanceof AbstractRegisteredService && ((AbstractRegisteredService) r).getLastModified() != null) {
+            return ((AbstractRegisteredService) r).getLastModified();
+        }
+        return NOT_MODIFIED;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
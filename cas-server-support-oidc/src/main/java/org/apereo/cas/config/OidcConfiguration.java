@@ -17,6 +17,7 @@ import org.apereo.cas.support.oauth.web.OAuth20CallbackAuthorizeViewResolver;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.OidcAuthorizationRequestSupport;
+import org.apereo.cas.util.OidcJsonWebKeyStore;
 import org.apereo.cas.web.OidcAccessTokenController;
 import org.apereo.cas.web.OidcAccessTokenResponseGenerator;
 import org.apereo.cas.web.OidcAuthorizeController;
@@ -36,6 +37,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -104,6 +106,9 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     @Qualifier("defaultOAuthCodeFactory")
     private OAuthCodeFactory defaultOAuthCodeFactory;
 
+    @Autowired
+    private ResourceLoader resourceLoader;
+
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
         registry.addInterceptor(oidcInterceptor())
@@ -223,12 +228,19 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
         final OidcAccessTokenResponseGenerator gen = new OidcAccessTokenResponseGenerator();
 
         gen.setIssuer(properties.getIssuer());
-        gen.setJwksFile(properties.getJwksFile());
+        gen.setJsonWebKeyStore(oidcJsonWebKeyStore());
         gen.setSkew(properties.getSkew());
 
         return gen;
     }
 
+    @Bean
+    @RefreshScope
+    public OidcJsonWebKeyStore oidcJsonWebKeyStore() {
+        return new OidcJsonWebKeyStore(servicesManager, resourceLoader,
+                properties.getJwksFile(), properties.getJwksCacheInSeconds());
+    }
+
     @Bean
     public OidcAuthorizationRequestSupport oidcAuthorizationRequestSupport() {
         final OidcAuthorizationRequestSupport s = new OidcAuthorizationRequestSupport();
@@ -0,0 +1,231 @@
+package org.apereo.cas.util;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link OidcJsonWebKeyStore} that keeps parsed JSON web key sets in memory.
+ * Key sets are loaded from the global JWKS file and from the JWKS resources of OIDC
+ * registered services. Each resource is parsed once, so private keys are ready for signing,
+ * and is parsed again only once the resource is modified. Resources are checked for modifications
+ * at most once per refresh interval.
+ * <p>
+ * The store also maintains the public JWKS document published by CAS, pre-serialized along with
+ * its entity tag. The document is rebuilt when the service registry changes, or when a key set
+ * changes once the refresh interval has passed.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class OidcJsonWebKeyStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OidcJsonWebKeyStore.class);
+
+    private final ConcurrentMap<String, KeySetEntry> keySets = new ConcurrentHashMap<>();
+
+    private final ServicesManager servicesManager;
+
+    private final ResourceLoader resourceLoader;
+
+    private final Resource jwksFile;
+
+    private final long refreshIntervalMillis;
+
+    private volatile JsonWebKeySetDocument document;
+
+    /**
+     * Instantiates a new key store.
+     *
+     * @param servicesManager        the services manager
+     * @param resourceLoader         the resource loader
+     * @param jwksFile               the global JWKS file
+     * @param refreshIntervalSeconds the interval at which resources are checked for modifications
+     */
+    public OidcJsonWebKeyStore(final ServicesManager servicesManager, final ResourceLoader resourceLoader,
+                               final Resource jwksFile, final long refreshIntervalSeconds) {
+        this.servicesManager = servicesManager;
+        this.resourceLoader = resourceLoader;
+        this.jwksFile = jwksFile;
+        this.refreshIntervalMillis = TimeUnit.SECONDS.toMillis(refreshIntervalSeconds);
+    }
+
+    /**
+     * Gets the key set to use for the given service. The key set of the service is used
+     * if one is defined and can be loaded, otherwise the global key set is used.
+     *
+     * @param service the service
+     * @return the json web key set
+     */
+    public Optional<JsonWebKeySet> getJsonWebKeySet(final OidcRegisteredService service) {
+        JsonWebKeySet jsonWebKeySet = null;
+        if (StringUtils.isNotBlank(service.getJwks())) {
+            LOGGER.debug("Loading JWKS from {}", service.getJwks());
+            jsonWebKeySet = getKeySet(service.getJwks());
+        }
+        if (jsonWebKeySet == null) {
+            LOGGER.debug("Loading default JWKS from {}", this.jwksFile);
+            jsonWebKeySet = getDefaultKeySet();
+        }
+        return Optional.ofNullable(jsonWebKeySet);
+    }
+
+    /**
+     * Gets the public JWKS document that combines the global key set
+     * with the key sets of all OIDC registered services.
+     *
+     * @return the document
+     */
+    public JsonWebKeySetDocument getPublicJsonWebKeySet() {
+        final long version = this.servicesManager.getVersion();
+        final JsonWebKeySetDocument current = this.document;
+        if (current != null && current.servicesVersion == version
+                && System.currentTimeMillis() - current.createdAt < this.refreshIntervalMillis) {
+            return current;
+        }
+
+        final List<JsonWebKeySet> sets = new ArrayList<>();
+        final JsonWebKeySet defaultKeySet = getDefaultKeySet();
+        if (defaultKeySet != null) {
+            sets.add(defaultKeySet);
+        }
+        this.servicesManager.getAllServices()
+                .stream()
+                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+                .map(s -> ((OidcRegisteredService) s).getJwks())
+                .distinct()
+                .map(this::getKeySet)
+                .filter(set -> set != null)
+                .forEach(sets::add);
+
+        final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet();
+        sets.forEach(set -> set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey));
+        final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+
+        final JsonWebKeySetDocument doc = new JsonWebKeySetDocument(body, version);
+        if (current == null || !current.getEntityTag().equals(doc.getEntityTag())) {
+            LOGGER.debug("Rebuilt JWKS document with {} key(s) and entity tag {}",
+                    jsonWebKeySet.getJsonWebKeys().size(), doc.getEntityTag());
+        }
+        this.document = doc;
+        return doc;
+    }
+
+    /**
+     * Gets the interval at which resources are checked for modifications, in milliseconds.
+     *
+     * @return the refresh interval
+     */
+    public long getRefreshInterval() {
+        return this.refreshIntervalMillis;
+    }
+
+    private JsonWebKeySet getDefaultKeySet() {
+        if (this.jwksFile == null) {
+            return null;
+        }
+        final KeySetEntry entry = this.keySets.computeIfAbsent(this.jwksFile.getDescription(), k -> new KeySetEntry(this.jwksFile));
+        return entry.getKeySet(this.refreshIntervalMillis);
+    }
+
+    private JsonWebKeySet getKeySet(final String location) {
+        final KeySetEntry entry = this.keySets.computeIfAbsent(location, k -> new KeySetEntry(this.resourceLoader.getResource(k)));
+        return entry.getKeySet(this.refreshIntervalMillis);
+    }
+
+    /**
+     * A parsed key set, along with the modification time of the resource it was parsed from.
+     */
+    private static class KeySetEntry {
+        private final Resource resource;
+
+        private volatile JsonWebKeySet keySet;
+
+        private long lastModified = Long.MIN_VALUE;
+
+        private volatile long checkedAt = Long.MIN_VALUE;
+
+        KeySetEntry(final Resource resource) {
+            this.resource = resource;
+        }
+
+        JsonWebKeySet getKeySet(final long refreshIntervalMillis) {
+            if (this.checkedAt != Long.MIN_VALUE && System.currentTimeMillis() - this.checkedAt < refreshIntervalMillis) {
+                return this.keySet;
+            }
+            return refresh(refreshIntervalMillis);
+        }
+
+        private synchronized JsonWebKeySet refresh(final long refreshIntervalMillis) {
+            final long now = System.currentTimeMillis();
+            if (this.checkedAt != Long.MIN_VALUE && now - this.checkedAt < refreshIntervalMillis) {
+                return this.keySet;
+            }
+            final long modified = getLastModified();
+            if (modified == this.lastModified && this.keySet != null) {
+                this.checkedAt = now;
+                return this.keySet;
+            }
+            try (InputStream in = this.resource.getInputStream()) {
+                this.keySet = new JsonWebKeySet(IOUtils.toString(in, "UTF-8"));
+                LOGGER.debug("Loaded {} key(s) from {}", this.keySet.getJsonWebKeys().size(), this.resource);
+            } catch (final Exception e) {
+                LOGGER.warn("JWKS could not be loaded from {}: {}", this.resource, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+            this.lastModified = modified;
+            this.checkedAt = now;
+            return this.keySet;
+        }
+
+        private long getLastModified() {
+            try {
+                return this.resource.lastModified();
+            } catch (final IOException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The public JWKS document, serialized once along with its entity tag.
+     */
+    public static class JsonWebKeySetDocument {
+        private final String body;
+
+        private final String entityTag;
+
+        private final long servicesVersion;
+
+        private final long createdAt = System.currentTimeMillis();
+
+        JsonWebKeySetDocument(final String body, final long servicesVersion) {
+            this.body = body;
+            this.entityTag = '"' + DigestUtils.sha(body) + '"';
+            this.servicesVersion = servicesVersion;
+        }
+
+        public String getBody() {
+            return this.body;
+        }
+
+        public String getEntityTag() {
+            return this.entityTag;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.apereo.cas.web;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.collect.Sets;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.OidcConstants;
 import org.apereo.cas.authentication.Authentication;
@@ -14,6 +13,7 @@ import org.apereo.cas.support.oauth.OAuthConstants;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.ticket.accesstoken.AccessToken;
 import org.apereo.cas.support.oauth.ticket.refreshtoken.RefreshToken;
+import org.apereo.cas.util.OidcJsonWebKeyStore;
 import org.jose4j.jwa.AlgorithmConstraints;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
@@ -24,7 +24,6 @@ import org.jose4j.lang.JoseException;
 import org.pac4j.core.context.J2EContext;
 import org.pac4j.core.profile.ProfileManager;
 import org.pac4j.core.profile.UserProfile;
-import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -43,7 +42,7 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
     
     private int skew;
 
-    private Resource jwksFile;
+    private OidcJsonWebKeyStore jsonWebKeyStore;
 
     @Override
     protected void generateJsonInternal(final HttpServletRequest request,
@@ -156,26 +155,7 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
      * @throws Exception the exception
      */
     protected Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcRegisteredService service) throws Exception {
-        JsonWebKeySet jsonWebKeySet = null;
-        try {
-            if (StringUtils.isNotBlank(service.getJwks())) {
-                logger.debug("Loading JWKS from {}", service.getJwks());
-                final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                jsonWebKeySet = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), "UTF-8"));
-            }
-        } catch (final Exception e) {
-            logger.debug(e.getMessage(), e);
-        } finally {
-            if (jsonWebKeySet == null) {
-                logger.debug("Loading default JWKS from {}", this.jwksFile);
-                
-                if (this.jwksFile != null) {
-                    final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), "UTF-8");
-                    jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-                }
-            }
-        }
-        return jsonWebKeySet != null ? Optional.of(jsonWebKeySet) : Optional.empty();
+        return this.jsonWebKeyStore.getJsonWebKeySet(service);
     }
 
     public void setIssuer(final String issuer) {
@@ -186,8 +166,8 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
         this.skew = skew;
     }
 
-    public void setJwksFile(final Resource jwksFile) {
-        this.jwksFile = jwksFile;
+    public void setJsonWebKeyStore(final OidcJsonWebKeyStore jsonWebKeyStore) {
+        this.jsonWebKeyStore = jsonWebKeyStore;
     }
 }
 
@@ -1,18 +1,14 @@
 package org.apereo.cas.web;
 
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.OidcConstants;
-import org.apereo.cas.services.OidcRegisteredService;
-import org.apereo.cas.services.ServicesManager;
-import org.jooq.lambda.Unchecked;
-import org.jose4j.jwk.JsonWebKey;
-import org.jose4j.jwk.JsonWebKeySet;
+import org.apereo.cas.util.OidcJsonWebKeyStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,9 +19,14 @@ import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcJwksController}.
+ * <p>
+ * The key set is served from the {@link OidcJsonWebKeyStore} pre-serialized, along with
+ * an entity tag so that relying parties may poll the endpoint using conditional requests.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -34,16 +35,9 @@ import javax.servlet.http.HttpServletResponse;
 @Controller("oidcJwksController")
 public class OidcJwksController {
 
-    /**
-     * The Resource loader.
-     */
     @Autowired
-    protected ResourceLoader resourceLoader;
-    
-    private Resource jwksFile;
-
-    @javax.annotation.Resource(name="servicesManager")
-    private ServicesManager servicesManager;
+    @Qualifier("oidcJsonWebKeyStore")
+    private OidcJsonWebKeyStore jsonWebKeyStore;
 
     /**
      * Handle request for jwk set.
@@ -60,21 +54,47 @@ public class OidcJwksController {
                                                         final HttpServletResponse response,
                                                         final Model model) throws Exception {
 
-        final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), "UTF-8");
-        final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(jsonJwks);
+        final OidcJsonWebKeyStore.JsonWebKeySetDocument document = this.jsonWebKeyStore.getPublicJsonWebKeySet();
+        final CacheControl cacheControl = CacheControl.maxAge(this.jsonWebKeyStore.getRefreshInterval(), TimeUnit.MILLISECONDS);
+
+        if (isNotModified(request, document.getEntityTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.getEntityTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(document.getEntityTag())
+                .cacheControl(cacheControl)
+                .body(document.getBody());
+    }
+
+    /**
+     * Determine whether any of the entity tags listed by the {@code If-None-Match} headers of the request
+     * matches the given entity tag. Tags are compared as a whole, and weak tags match their strong counterpart.
+     *
+     * @param request   the request
+     * @param entityTag the entity tag of the current document
+     * @return true if the client holds the current document
+     */
+    private static boolean isNotModified(final HttpServletRequest request, final String entityTag) {
+        final Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        while (headers.hasMoreElements()) {
+            for (final String tag : StringUtils.split(headers.nextElement(), ',')) {
+                final String value = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(value) || value.equals(entityTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        this.servicesManager.getAllServices()
-                .stream()
-                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                .forEach(
-                        Unchecked.consumer(s -> {
-                            final OidcRegisteredService service = (OidcRegisteredService) s;
-                            final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                            final JsonWebKeySet set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), "UTF-8"));
-                            set.getJsonWebKeys().forEach(k -> jsonWebKeySet.addJsonWebKey(k));
-                        }));
-        final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        return new ResponseEntity<>(body, HttpStatus.OK);
+    public void setJsonWebKeyStore(final OidcJsonWebKeyStore jsonWebKeyStore) {
+        this.jsonWebKeyStore = jsonWebKeyStore;
     }
 }
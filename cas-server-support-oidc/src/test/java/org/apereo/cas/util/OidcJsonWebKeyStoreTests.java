@@ -0,0 +1,114 @@
+package org.apereo.cas.util;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcJsonWebKeyStoreTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class OidcJsonWebKeyStoreTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ServicesManager servicesManager;
+
+    private File jwksFile;
+
+    @Before
+    public void setUp() throws Exception {
+        this.servicesManager = mock(ServicesManager.class);
+        when(this.servicesManager.getAllServices()).thenReturn(Collections.emptyList());
+        this.jwksFile = this.folder.newFile("keystore.jwks");
+        writeKeySet(this.jwksFile, "default", 1000);
+    }
+
+    @Test
+    public void verifyKeySetIsReparsedWhenModified() throws Exception {
+        final OidcJsonWebKeyStore store = newStore(0);
+        final OidcRegisteredService service = new OidcRegisteredService();
+        assertEquals("default", getKeyId(store, service));
+
+        writeKeySet(this.jwksFile, "unchanged", 1000);
+        assertEquals("default", getKeyId(store, service));
+
+        writeKeySet(this.jwksFile, "rotated", 2000);
+        assertEquals("rotated", getKeyId(store, service));
+    }
+
+    @Test
+    public void verifyDefaultKeySetIsUsedWhenServiceKeySetIsMissing() throws Exception {
+        final OidcJsonWebKeyStore store = newStore(0);
+        final OidcRegisteredService service = new OidcRegisteredService();
+        service.setJwks(new File(this.folder.getRoot(), "missing.jwks").toURI().toString());
+        assertEquals("default", getKeyId(store, service));
+
+        final File serviceFile = this.folder.newFile("service.jwks");
+        writeKeySet(serviceFile, "service", 1000);
+        service.setJwks(serviceFile.toURI().toString());
+        assertEquals("service", getKeyId(store, service));
+    }
+
+    @Test
+    public void verifyDocumentIsRebuiltWhenServicesChange() throws Exception {
+        final OidcJsonWebKeyStore store = newStore(3600);
+        when(this.servicesManager.getVersion()).thenReturn(1L);
+        final OidcJsonWebKeyStore.JsonWebKeySetDocument first = store.getPublicJsonWebKeySet();
+        assertSame(first, store.getPublicJsonWebKeySet());
+        assertTrue(first.getBody().contains("default"));
+        assertFalse(first.getBody().contains("\"d\""));
+
+        final File serviceFile = this.folder.newFile("service.jwks");
+        writeKeySet(serviceFile, "service", 1000);
+        final OidcRegisteredService service = new OidcRegisteredService();
+        service.setJwks(serviceFile.toURI().toString());
+        when(this.servicesManager.getAllServices()).thenReturn(Collections.<RegisteredService>singletonList(service));
+        assertSame(first, store.getPublicJsonWebKeySet());
+
+        when(this.servicesManager.getVersion()).thenReturn(2L);
+        final OidcJsonWebKeyStore.JsonWebKeySetDocument second = store.getPublicJsonWebKeySet();
+        assertNotSame(first, second);
+        assertNotEquals(first.getEntityTag(), second.getEntityTag());
+        assertTrue(second.getBody().contains("default"));
+        assertTrue(second.getBody().contains("service"));
+    }
+
+    private OidcJsonWebKeyStore newStore(final long refreshIntervalSeconds) {
+        return new OidcJsonWebKeyStore(this.servicesManager, new DefaultResourceLoader(),
+                new FileSystemResource(this.jwksFile), refreshIntervalSeconds);
+    }
+
+    private static String getKeyId(final OidcJsonWebKeyStore store, final OidcRegisteredService service) {
+        return store.getJsonWebKeySet(service).get().getJsonWebKeys().get(0).getKeyId();
+    }
+
+    private static void writeKeySet(final File file, final String keyId, final long lastModified) throws Exception {
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(2048);
+        key.setKeyId(keyId);
+        FileUtils.write(file, new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE),
+                StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(lastModified));
+    }
+}
@@ -0,0 +1,98 @@
+package org.apereo.cas.web;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.util.OidcJsonWebKeyStore;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcJwksControllerTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class OidcJwksControllerTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OidcJwksController controller;
+
+    private String entityTag;
+
+    @Before
+    public void setUp() throws Exception {
+        final ServicesManager servicesManager = mock(ServicesManager.class);
+        when(servicesManager.getAllServices()).thenReturn(Collections.emptyList());
+        final File jwksFile = this.folder.newFile("keystore.jwks");
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(2048);
+        key.setKeyId("default");
+        FileUtils.write(jwksFile, new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE),
+                StandardCharsets.UTF_8);
+
+        final OidcJsonWebKeyStore store = new OidcJsonWebKeyStore(servicesManager, new DefaultResourceLoader(),
+                new FileSystemResource(jwksFile), 60);
+        this.controller = new OidcJwksController();
+        this.controller.setJsonWebKeyStore(store);
+        this.entityTag = store.getPublicJsonWebKeySet().getEntityTag();
+    }
+
+    @Test
+    public void verifyKeySetIsServedWithCacheHeaders() throws Exception {
+        final ResponseEntity<String> response = handle(null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("default"));
+        assertFalse(response.getBody().contains("\"d\""));
+        assertEquals(this.entityTag, response.getHeaders().getETag());
+        assertEquals("max-age=60", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void verifyMatchingEntityTagIsNotModified() throws Exception {
+        final ResponseEntity<String> response = handle("\"other\", " + this.entityTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(this.entityTag, response.getHeaders().getETag());
+        assertEquals("max-age=60", response.getHeaders().getCacheControl());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, handle("W/" + this.entityTag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, handle("*").getStatusCode());
+    }
+
+    @Test
+    public void verifyEntityTagsAreComparedExactly() throws Exception {
+        final String unquoted = this.entityTag.substring(1, this.entityTag.length() - 1);
+        assertEquals(HttpStatus.OK, handle('"' + unquoted.substring(1) + '"').getStatusCode());
+        assertEquals(HttpStatus.OK, handle('"' + unquoted + "-gzip\"").getStatusCode());
+        assertEquals(HttpStatus.OK, handle("\"x" + this.entityTag + "x\"").getStatusCode());
+    }
+
+    private ResponseEntity<String> handle(final String ifNoneMatch) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return this.controller.handleRequestInternal(request, new MockHttpServletResponse(), null);
+    }
+}
@@ -21,6 +21,10 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Implementation of a RadiusServer that utilizes the JRadius packages available
  * at <a href="http://jradius.sf.net">http://jradius.sf.net</a>.
@@ -30,7 +34,7 @@ import org.slf4j.LoggerFactory;
  * @author Misagh Moayyed
  * @since 3.1
  */
-public class JRadiusServerImpl implements RadiusServer {
+public class JRadiusServerImpl implements RadiusServer, AutoCloseable {
 
     /**
      * Default retry count, {@value}.
@@ -65,7 +69,19 @@ public class JRadiusServerImpl implements RadiusServer {
     private long nasRealPort = -1;
     
     private long nasPortType = -1;
-    
+
+    /** Reusable clients; when absent, a client is created for every request. */
+    private RadiusClientPool clientPool;
+
+    /** Number of consecutive failures after which the server is considered down. */
+    private int failureThreshold = 3;
+
+    /** Time the server is considered down for, in milliseconds, before it is tried again. */
+    private long retryInterval = 30000;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long downUntil;
     
     /** Load the dictionary implementation. */
     static {
@@ -115,14 +131,16 @@ public class JRadiusServerImpl implements RadiusServer {
             attributeList.add(new Attr_NASPortType(this.nasPortType));
         }
         
-        RadiusClient client = null;
+        final RadiusClient client = borrowClient();
+        boolean reusable = false;
         try {
-            client = this.radiusClientFactory.newInstance();
             final AccessRequest request = new AccessRequest(client, attributeList);
             final RadiusPacket response = client.authenticate(
                     request,
                     RadiusClient.getAuthProtocol(this.protocol.getName()),
                     this.retries);
+            reusable = true;
+            markAvailable();
 
             LOGGER.debug("RADIUS response from {}: {}",
                     client.getRemoteInetAddress().getCanonicalHostName(),
@@ -135,14 +153,91 @@ public class JRadiusServerImpl implements RadiusServer {
                         acceptedResponse.getIdentifier(),
                         acceptedResponse.getAttributes().getAttributeList());
             }
-        } finally {
-            if (client != null) {
-                client.close();
+        } catch (final Exception e) {
+            if (isInterruption(e)) {
+                LOGGER.debug("RADIUS request to {} was abandoned", this.radiusClientFactory);
+            } else {
+                markFailed();
             }
+            throw e;
+        } finally {
+            releaseClient(client, reusable);
         }
         return null;
     }
 
+    /**
+     * The server is unavailable once it has failed to answer {@link #setFailureThreshold(int)} requests in a row,
+     * until the retry interval has passed. The next request then probes the server again.
+     *
+     * @return true if the server is available
+     */
+    @Override
+    public boolean isAvailable() {
+        return System.currentTimeMillis() >= this.downUntil;
+    }
+
+    /**
+     * Close idle pooled clients.
+     */
+    @Override
+    public void close() {
+        if (this.clientPool != null) {
+            this.clientPool.close();
+        }
+    }
+
+    /**
+     * Borrow a client. Failing to borrow one from the pool is a local condition
+     * and does not count against the availability of the server.
+     */
+    private RadiusClient borrowClient() throws Exception {
+        return this.clientPool != null ? this.clientPool.borrow() : this.radiusClientFactory.newInstance();
+    }
+
+    private void releaseClient(final RadiusClient client, final boolean reusable) {
+        if (this.clientPool != null) {
+            this.clientPool.release(client, reusable);
+        } else {
+            client.close();
+        }
+    }
+
+    /**
+     * Whether the request failed because the calling thread gave up on it, such as a hedged
+     * request that lost the race to another server, rather than because the server failed to answer.
+     */
+    private static boolean isInterruption(final Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof InterruptedException
+                    || (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException))) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private void markAvailable() {
+        if (this.consecutiveFailures.getAndSet(0) > 0 || this.downUntil != 0) {
+            this.downUntil = 0;
+            LOGGER.debug("RADIUS server {} is available", this.radiusClientFactory);
+        }
+    }
+
+    private void markFailed() {
+        final int failures = this.consecutiveFailures.incrementAndGet();
+        if (failures >= this.failureThreshold) {
+            this.downUntil = System.currentTimeMillis() + this.retryInterval;
+            LOGGER.warn("RADIUS server {} failed {} consecutive requests and is skipped for {} ms",
+                    this.radiusClientFactory, failures, this.retryInterval);
+        }
+    }
+
     
     /**
      * Sets the nas ip address.
@@ -225,6 +320,33 @@ public class JRadiusServerImpl implements RadiusServer {
     }
 
 
+    /**
+     * Sets the pool of reusable clients.
+     *
+     * @param clientPool the client pool
+     */
+    public void setClientPool(final RadiusClientPool clientPool) {
+        this.clientPool = clientPool;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which the server is considered down.
+     *
+     * @param failureThreshold the failure threshold
+     */
+    public void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+    }
+
+    /**
+     * Sets the time the server is considered down for, before it is tried again.
+     *
+     * @param retryInterval the retry interval, in milliseconds
+     */
+    public void setRetryInterval(final long retryInterval) {
+        this.retryInterval = Math.max(retryInterval, 0);
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -238,6 +360,8 @@ public class JRadiusServerImpl implements RadiusServer {
                 .append("nasIdentifier", this.nasIdentifier)
                 .append("nasRealPort", this.nasRealPort)
                 .append("nasPortType", this.nasPortType)
+                .append("clientPool", this.clientPool)
+                .append("available", isAvailable())
                 .toString();
     }
 }
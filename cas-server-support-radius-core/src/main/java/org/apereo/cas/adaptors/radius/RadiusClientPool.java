@@ -0,0 +1,142 @@
+package org.apereo.cas.adaptors.radius;
+
+import net.jradius.client.RadiusClient;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link RadiusClientPool} that keeps a bounded number of {@link RadiusClient}
+ * instances of a single server, so that sockets are reused across authentication attempts.
+ * <p>
+ * At most {@code maxSize} clients are lent out at a time; callers wait up to the borrow timeout
+ * for a client to be returned. Clients that fail are discarded rather than returned,
+ * since their socket may still receive the late response of an earlier request.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RadiusClientPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RadiusClientPool.class);
+
+    private final RadiusClientFactory factory;
+
+    private final BlockingQueue<RadiusClient> idle;
+
+    private final Semaphore permits;
+
+    private final long borrowTimeout;
+
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new pool.
+     *
+     * @param factory       the factory that creates clients
+     * @param maxSize       the number of clients lent out at a time
+     * @param borrowTimeout the time to wait for a client, in milliseconds
+     */
+    public RadiusClientPool(final RadiusClientFactory factory, final int maxSize, final long borrowTimeout) {
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(Math.max(maxSize, 1));
+        this.permits = new Semaphore(Math.max(maxSize, 1), true);
+        this.borrowTimeout = Math.max(borrowTimeout, 0);
+    }
+
+    /**
+     * Borrow an idle client, or create one if none is idle.
+     *
+     * @return the client
+     * @throws IOException if no client becomes available in time, or if one cannot be created
+     */
+    public RadiusClient borrow() throws IOException {
+        if (this.closed) {
+            throw new IOException("RADIUS client pool is closed");
+        }
+        try {
+            if (!this.permits.tryAcquire(this.borrowTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No RADIUS client became available within " + this.borrowTimeout + " ms");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a RADIUS client", e);
+        }
+        final RadiusClient client = this.idle.poll();
+        if (client != null) {
+            return client;
+        }
+        try {
+            return this.factory.newInstance();
+        } catch (final IOException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a client to the pool.
+     *
+     * @param client   the client
+     * @param reusable whether the client may be lent out again; clients that are not reusable are closed
+     */
+    public void release(final RadiusClient client, final boolean reusable) {
+        try {
+            if (!reusable || this.closed || !this.idle.offer(client)) {
+                closeQuietly(client);
+            }
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Number of clients waiting to be lent out.
+     *
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * Number of clients that may be lent out before callers have to wait.
+     *
+     * @return the available count
+     */
+    public int getAvailableCount() {
+        return this.permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        RadiusClient client;
+        while ((client = this.idle.poll()) != null) {
+            closeQuietly(client);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("factory", this.factory)
+                .append("idle", this.idle.size())
+                .append("available", this.permits.availablePermits())
+                .toString();
+    }
+
+    private static void closeQuietly(final RadiusClient client) {
+        try {
+            client.close();
+        } catch (final Exception e) {
+            LOGGER.debug("Failed to close RADIUS client: {}", e.getMessage());
+        }
+    }
+}
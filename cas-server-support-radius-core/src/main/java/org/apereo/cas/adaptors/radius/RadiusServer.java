@@ -31,4 +31,13 @@ public interface RadiusServer {
      */
     RadiusResponse authenticate(String username, String password) throws Exception;
 
+    /**
+     * Whether the server is believed to be able to answer requests.
+     * Servers that are known to be down are skipped, as long as another server is available.
+     *
+     * @return true if the server is available
+     */
+    default boolean isAvailable() {
+        return true;
+    }
 }
@@ -1,15 +1,26 @@
 package org.apereo.cas.adaptors.radius;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.jradius.packet.attribute.RadiusAttribute;
 import org.apereo.cas.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.security.auth.login.FailedLoginException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RadiusUtils}.
@@ -21,6 +32,16 @@ public final class RadiusUtils {
 
     private static Logger LOGGER = LoggerFactory.getLogger(RadiusUtils.class);
 
+    private static final int HEDGE_THREADS = 32;
+
+    /**
+     * Sends hedged requests. Once every thread is busy, requests are sent by the calling thread.
+     */
+    private static final ExecutorService HEDGE_EXECUTOR = new ThreadPoolExecutor(0, HEDGE_THREADS,
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("radius-hedge-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
     private RadiusUtils() {}
     
     /**
@@ -39,22 +60,57 @@ public final class RadiusUtils {
                                                                             final boolean failoverOnAuthenticationFailure,
                                                                             final boolean failoverOnException) 
                             throws Exception {
-        for (final RadiusServer radiusServer : servers) {
+        return authenticate(username, password, servers, failoverOnAuthenticationFailure, failoverOnException, 0);
+    }
+
+    /**
+     * Authenticate against the servers in order, skipping servers that are known to be down
+     * unless no server is available.
+     * <p>
+     * With a positive hedge delay, the request is also sent to the next server whenever the previous one
+     * has not answered within the delay, and the first accepted response wins. Hedged requests may reach more
+     * than one server, which matters to one-time tokens that a server consumes once it has seen them.
+     *
+     * @param username                        the username
+     * @param password                        the password
+     * @param servers                         the servers
+     * @param failoverOnAuthenticationFailure the failover on authentication failure
+     * @param failoverOnException             the failover on exception
+     * @param hedgeDelay                      the time to wait for a server before trying the next one,
+     *                                        in milliseconds; 0 to try servers one after the other
+     * @return the pair
+     * @throws Exception the exception
+     */
+    public static Pair<Boolean, Optional<Map<String, Object>>> authenticate(final String username, final String password,
+                                                                            final List<RadiusServer> servers,
+                                                                            final boolean failoverOnAuthenticationFailure,
+                                                                            final boolean failoverOnException,
+                                                                            final long hedgeDelay)
+                            throws Exception {
+        final List<RadiusServer> candidates = servers.stream().filter(RadiusServer::isAvailable).collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            LOGGER.warn("No RADIUS server is known to be available; trying all servers");
+            candidates.addAll(servers);
+        }
+        if (hedgeDelay > 0 && candidates.size() > 1) {
+            return authenticateHedged(username, password, candidates, failoverOnAuthenticationFailure,
+                    failoverOnException, hedgeDelay);
+        }
+
+        for (final RadiusServer radiusServer : candidates) {
             LOGGER.debug("Attempting to authenticate {} at {}", username, radiusServer);
             try {
                 final RadiusResponse response = radiusServer.authenticate(username, password);
                 if (response != null) {
-                    final Map<String, Object> attributes = new HashMap<>();
-                    for (final RadiusAttribute attribute : response.getAttributes()) {
-                        attributes.put(attribute.getAttributeName(), attribute.getValue().toString());
-                    }
-                    return new Pair<>(Boolean.TRUE, Optional.of(attributes));
+                    return success(response);
                 }
 
                 if (!failoverOnAuthenticationFailure) {
                     throw new FailedLoginException("Radius authentication failed for user " + username);
                 }
                 LOGGER.debug("failoverOnAuthenticationFailure enabled -- trying next server");
+            } catch (final FailedLoginException e) {
+                throw e;
             } catch (final Exception e) {
                 if (!failoverOnException) {
                     throw e;
@@ -62,6 +118,68 @@ public final class RadiusUtils {
                 LOGGER.warn("failoverOnException enabled -- trying next server.", e);
             }
         }
-        return new Pair<>(Boolean.TRUE, Optional.empty());
+        return new Pair<>(Boolean.FALSE, Optional.empty());
+    }
+
+    private static Pair<Boolean, Optional<Map<String, Object>>> authenticateHedged(final String username, final String password,
+                                                                                   final List<RadiusServer> servers,
+                                                                                   final boolean failoverOnAuthenticationFailure,
+                                                                                   final boolean failoverOnException,
+                                                                                   final long hedgeDelay)
+                            throws Exception {
+        final CompletionService<RadiusResponse> completionService = new ExecutorCompletionService<>(HEDGE_EXECUTOR);
+        final List<Future<RadiusResponse>> futures = new ArrayList<>(servers.size());
+        try {
+            int completed = 0;
+            futures.add(submit(completionService, servers.get(0), username, password));
+            while (completed < futures.size()) {
+                final boolean more = futures.size() < servers.size();
+                final Future<RadiusResponse> future = more
+                        ? completionService.poll(hedgeDelay, TimeUnit.MILLISECONDS)
+                        : completionService.take();
+                if (future == null) {
+                    LOGGER.debug("No RADIUS response within {} ms -- sending hedged request to next server", hedgeDelay);
+                    futures.add(submit(completionService, servers.get(futures.size()), username, password));
+                    continue;
+                }
+                completed++;
+                try {
+                    final RadiusResponse response = future.get();
+                    if (response != null) {
+                        return success(response);
+                    }
+                    if (!failoverOnAuthenticationFailure) {
+                        throw new FailedLoginException("Radius authentication failed for user " + username);
+                    }
+                    LOGGER.debug("failoverOnAuthenticationFailure enabled -- trying next server");
+                } catch (final ExecutionException e) {
+                    final Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    if (!failoverOnException) {
+                        throw cause;
+                    }
+                    LOGGER.warn("failoverOnException enabled -- trying next server.", cause);
+                }
+                if (completed == futures.size() && futures.size() < servers.size()) {
+                    futures.add(submit(completionService, servers.get(futures.size()), username, password));
+                }
+            }
+            return new Pair<>(Boolean.FALSE, Optional.empty());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static Future<RadiusResponse> submit(final CompletionService<RadiusResponse> completionService,
+                                                 final RadiusServer server, final String username, final String password) {
+        LOGGER.debug("Attempting to authenticate {} at {}", username, server);
+        return completionService.submit(() -> server.authenticate(username, password));
+    }
+
+    private static Pair<Boolean, Optional<Map<String, Object>>> success(final RadiusResponse response) {
+        final Map<String, Object> attributes = new HashMap<>();
+        for (final RadiusAttribute attribute : response.getAttributes()) {
+            attributes.put(attribute.getAttributeName(), attribute.getValue().toString());
+        }
+        return new Pair<>(Boolean.TRUE, Optional.of(attributes));
     }
 }
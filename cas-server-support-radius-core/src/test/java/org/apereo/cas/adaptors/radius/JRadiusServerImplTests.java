@@ -1,12 +1,16 @@
 package org.apereo.cas.adaptors.radius;
 
+import net.jradius.client.RadiusClient;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.io.IOException;
+
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit test for {@link JRadiusServerImpl}.
@@ -29,4 +33,22 @@ public class JRadiusServerImplTests {
     public void verifyAuthenticate() {
         assertNotNull(this.radiusServer);
     }
+
+    @Test
+    public void verifyPoolExhaustionDoesNotMarkServerDown() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenAnswer(invocation -> mock(RadiusClient.class));
+        final RadiusClientPool pool = new RadiusClientPool(factory, 1, 10);
+        final JRadiusServerImpl server = new JRadiusServerImpl(RadiusProtocol.PAP, factory);
+        server.setClientPool(pool);
+        server.setFailureThreshold(1);
+
+        pool.borrow();
+        try {
+            server.authenticate("casuser", "Mellon");
+            fail("Expected an exception");
+        } catch (final IOException e) {
+            assertTrue(server.isAvailable());
+        }
+    }
 }
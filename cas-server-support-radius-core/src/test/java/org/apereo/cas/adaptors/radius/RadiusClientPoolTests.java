@@ -0,0 +1,65 @@
+package org.apereo.cas.adaptors.radius;
+
+import net.jradius.client.RadiusClient;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RadiusClientPoolTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RadiusClientPoolTests {
+
+    @Test
+    public void verifyClientsAreReused() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenAnswer(invocation -> mock(RadiusClient.class));
+        final RadiusClientPool pool = new RadiusClientPool(factory, 2, 100);
+
+        final RadiusClient client = pool.borrow();
+        pool.release(client, true);
+        assertSame(client, pool.borrow());
+        verify(factory, times(1)).newInstance();
+    }
+
+    @Test
+    public void verifyFailedClientsAreDiscarded() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenAnswer(invocation -> mock(RadiusClient.class));
+        final RadiusClientPool pool = new RadiusClientPool(factory, 2, 100);
+
+        final RadiusClient client = pool.borrow();
+        pool.release(client, false);
+        verify(client).close();
+        assertEquals(0, pool.getIdleCount());
+        assertNotSame(client, pool.borrow());
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyPoolIsBounded() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenAnswer(invocation -> mock(RadiusClient.class));
+        final RadiusClientPool pool = new RadiusClientPool(factory, 1, 50);
+        pool.borrow();
+        pool.borrow();
+    }
+
+    @Test
+    public void verifyPermitIsReturnedWhenCreationFails() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenThrow(new IOException("Unreachable"));
+        final RadiusClientPool pool = new RadiusClientPool(factory, 1, 50);
+        try {
+            pool.borrow();
+            fail("Expected an exception");
+        } catch (final IOException e) {
+            assertEquals(1, pool.getAvailableCount());
+        }
+    }
+}
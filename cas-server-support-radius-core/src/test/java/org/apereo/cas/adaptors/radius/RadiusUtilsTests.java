@@ -0,0 +1,155 @@
+package org.apereo.cas.adaptors.radius;
+
+import org.apereo.cas.util.Pair;
+import org.junit.Test;
+
+import javax.security.auth.login.FailedLoginException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RadiusUtilsTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class RadiusUtilsTests {
+
+    @Test
+    public void verifyFailoverOnException() throws Exception {
+        final StubRadiusServer failing = new StubRadiusServer(0, new IOException("Unreachable"));
+        final StubRadiusServer accepting = new StubRadiusServer(0, null);
+
+        final Pair<Boolean, Optional<Map<String, Object>>> result =
+                RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(failing, accepting), false, true);
+        assertTrue(result.getFirst());
+        assertEquals(1, failing.attempts.get());
+        assertEquals(1, accepting.attempts.get());
+    }
+
+    @Test
+    public void verifyAllServersFailing() throws Exception {
+        final StubRadiusServer failing = new StubRadiusServer(0, new IOException("Unreachable"));
+        final Pair<Boolean, Optional<Map<String, Object>>> result =
+                RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(failing, failing), false, true);
+        assertFalse(result.getFirst());
+        assertEquals(2, failing.attempts.get());
+    }
+
+    @Test(expected = FailedLoginException.class)
+    public void verifyRejectWithoutFailover() throws Exception {
+        final StubRadiusServer rejecting = new StubRadiusServer(0, null);
+        rejecting.reject = true;
+        RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(rejecting, new StubRadiusServer(0, null)), false, true);
+    }
+
+    @Test
+    public void verifyUnavailableServersAreSkipped() throws Exception {
+        final StubRadiusServer down = new StubRadiusServer(0, null);
+        down.available = false;
+        final StubRadiusServer up = new StubRadiusServer(0, null);
+
+        assertTrue(RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(down, up), false, false).getFirst());
+        assertEquals(0, down.attempts.get());
+        assertEquals(1, up.attempts.get());
+
+        up.available = false;
+        assertTrue(RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(down, up), false, false).getFirst());
+        assertEquals(1, down.attempts.get());
+    }
+
+    @Test
+    public void verifyHedgedRequestIsSentToSlowServer() throws Exception {
+        final StubRadiusServer slow = new StubRadiusServer(5000, null);
+        final StubRadiusServer fast = new StubRadiusServer(0, null);
+
+        final long start = System.currentTimeMillis();
+        final Pair<Boolean, Optional<Map<String, Object>>> result =
+                RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(slow, fast), false, true, 50);
+        assertTrue(result.getFirst());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(1, fast.attempts.get());
+        assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void verifyHedgedRequestFailsOverImmediately() throws Exception {
+        final StubRadiusServer failing = new StubRadiusServer(0, new IOException("Unreachable"));
+        final StubRadiusServer accepting = new StubRadiusServer(0, null);
+
+        final long start = System.currentTimeMillis();
+        assertTrue(RadiusUtils.authenticate("casuser", "Mellon", Arrays.asList(failing, accepting), false, true, 5000).getFirst());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void verifyServerIsMarkedDownAfterConsecutiveFailures() throws Exception {
+        final RadiusClientFactory factory = mock(RadiusClientFactory.class);
+        when(factory.newInstance()).thenThrow(new IOException("Unreachable"));
+        final JRadiusServerImpl server = new JRadiusServerImpl(RadiusProtocol.PAP, factory);
+        server.setFailureThreshold(2);
+        server.setRetryInterval(100);
+
+        assertTrue(server.isAvailable());
+        for (int i = 0; i < 2; i++) {
+            try {
+                server.authenticate("casuser", "Mellon");
+                fail("Expected an exception");
+            } catch (final IOException e) {
+                assertTrue(i < 1 ? server.isAvailable() : !server.isAvailable());
+            }
+        }
+        Thread.sleep(200);
+        assertTrue(server.isAvailable());
+    }
+
+    private static class StubRadiusServer implements RadiusServer {
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        private final long delay;
+
+        private final Exception exception;
+
+        private volatile boolean available = true;
+
+        private volatile boolean reject;
+
+        StubRadiusServer(final long delay, final Exception exception) {
+            this.delay = delay;
+            this.exception = exception;
+        }
+
+        @Override
+        public RadiusResponse authenticate(final String username, final String password) throws Exception {
+            this.attempts.incrementAndGet();
+            if (this.delay > 0) {
+                try {
+                    Thread.sleep(this.delay);
+                } catch (final InterruptedException e) {
+                    this.interrupted.countDown();
+                    throw e;
+                }
+            }
+            if (this.exception != null) {
+                throw this.exception;
+            }
+            return this.reject ? null : new RadiusResponse(2, 1, new ArrayList<>());
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return this.available;
+        }
+    }
+}
@@ -31,6 +31,7 @@ public class RadiusTokenAuthenticationHandler extends AbstractPreAndPostProcessi
     private List<RadiusServer> servers;
     private boolean failoverOnException;
     private boolean failoverOnAuthenticationFailure;
+    private long hedgeDelay;
 
     /**
      * Instantiates a new Radius authentication handler.
@@ -56,7 +57,7 @@ public class RadiusTokenAuthenticationHandler extends AbstractPreAndPostProcessi
 
             final Pair<Boolean, Optional<Map<String, Object>>> result =
                     RadiusUtils.authenticate(username, password, this.servers,
-                            this.failoverOnAuthenticationFailure, this.failoverOnException);
+                            this.failoverOnAuthenticationFailure, this.failoverOnException, this.hedgeDelay);
             if (result.getFirst()) {
                 return createHandlerResult(credential, this.principalFactory.createPrincipal(username, result.getSecond().get()),
                         new ArrayList<>());
@@ -115,4 +116,12 @@ public class RadiusTokenAuthenticationHandler extends AbstractPreAndPostProcessi
     public void setFailoverOnAuthenticationFailure(final boolean failoverOnAuthenticationFailure) {
         this.failoverOnAuthenticationFailure = failoverOnAuthenticationFailure;
     }
+
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public void setHedgeDelay(final long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.adaptors.radius.JRadiusServerImpl;
 import org.apereo.cas.adaptors.radius.RadiusClientFactory;
+import org.apereo.cas.adaptors.radius.RadiusClientPool;
 import org.apereo.cas.adaptors.radius.RadiusProtocol;
 import org.apereo.cas.adaptors.radius.authentication.RadiusMultifactorAuthenticationProvider;
 import org.apereo.cas.adaptors.radius.authentication.RadiusTokenAuthenticationHandler;
@@ -137,6 +138,13 @@ public class RadiusMultifactorConfiguration {
         impl.setNasRealPort(casProperties.getAuthn().getMfa().getRadius().getServer().getNasRealPort());
         impl.setNasIpAddress(casProperties.getAuthn().getMfa().getRadius().getServer().getNasIpAddress());
         impl.setNasIpv6Address(casProperties.getAuthn().getMfa().getRadius().getServer().getNasIpv6Address());
+        impl.setFailureThreshold(casProperties.getAuthn().getMfa().getRadius().getServer().getFailureThreshold());
+        impl.setRetryInterval(casProperties.getAuthn().getMfa().getRadius().getServer().getRetryInterval());
+        if (casProperties.getAuthn().getMfa().getRadius().getServer().getClientPoolSize() > 0) {
+            impl.setClientPool(new RadiusClientPool(factory,
+                    casProperties.getAuthn().getMfa().getRadius().getServer().getClientPoolSize(),
+                    casProperties.getAuthn().getMfa().getRadius().getServer().getClientPoolTimeout()));
+        }
 
         list.add(impl);
         return list;
@@ -161,6 +169,7 @@ public class RadiusMultifactorConfiguration {
         a.setFailoverOnAuthenticationFailure(
                 casProperties.getAuthn().getMfa().getRadius().isFailoverOnAuthenticationFailure());
         a.setFailoverOnException(casProperties.getAuthn().getMfa().getRadius().isFailoverOnException());
+        a.setHedgeDelay(casProperties.getAuthn().getMfa().getRadius().getHedgeDelay());
 
         return a;
     }
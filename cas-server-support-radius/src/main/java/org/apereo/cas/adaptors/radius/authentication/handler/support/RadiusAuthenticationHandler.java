@@ -38,6 +38,12 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
      */
     private boolean failoverOnAuthenticationFailure;
 
+    /**
+     * Time to wait for a RadiusServer to respond before the request is also
+     * sent to the next one, in milliseconds. Disabled when 0.
+     */
+    private long hedgeDelay;
+
     /**
      * Instantiates a new Radius authentication handler.
      */
@@ -56,7 +62,7 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
 
             final Pair<Boolean, Optional<Map<String, Object>>> result =
                     RadiusUtils.authenticate(username, password, this.servers, 
-                            this.failoverOnAuthenticationFailure, this.failoverOnException);
+                            this.failoverOnAuthenticationFailure, this.failoverOnException, this.hedgeDelay);
             if (result.getFirst()) {
                 return createHandlerResult(credential, this.principalFactory.createPrincipal(username, result.getSecond().get()),
                         new ArrayList<>());
@@ -89,6 +95,16 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
         this.failoverOnException = failoverOnException;
     }
 
+    /**
+     * Sets the time to wait for a RadiusServer to respond before the request is also
+     * sent to the next configured RadiusServer.
+     *
+     * @param hedgeDelay the hedge delay in milliseconds, or 0 to disable hedged requests.
+     */
+    public void setHedgeDelay(final long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
     public void setServers(final List<RadiusServer> servers) {
         this.servers = servers;
     }
@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.adaptors.radius.JRadiusServerImpl;
 import org.apereo.cas.adaptors.radius.RadiusClientFactory;
+import org.apereo.cas.adaptors.radius.RadiusClientPool;
 import org.apereo.cas.adaptors.radius.RadiusProtocol;
 import org.apereo.cas.adaptors.radius.authentication.handler.support.RadiusAuthenticationHandler;
 import org.apereo.cas.authentication.AuthenticationHandler;
@@ -89,6 +90,13 @@ public class RadiusConfiguration {
         impl.setNasRealPort(casProperties.getAuthn().getRadius().getServer().getNasRealPort());
         impl.setNasIpAddress(casProperties.getAuthn().getRadius().getServer().getNasIpAddress());
         impl.setNasIpv6Address(casProperties.getAuthn().getRadius().getServer().getNasIpv6Address());
+        impl.setFailureThreshold(casProperties.getAuthn().getRadius().getServer().getFailureThreshold());
+        impl.setRetryInterval(casProperties.getAuthn().getRadius().getServer().getRetryInterval());
+        if (casProperties.getAuthn().getRadius().getServer().getClientPoolSize() > 0) {
+            impl.setClientPool(new RadiusClientPool(factory,
+                    casProperties.getAuthn().getRadius().getServer().getClientPoolSize(),
+                    casProperties.getAuthn().getRadius().getServer().getClientPoolTimeout()));
+        }
 
         return impl;
     }
@@ -112,6 +120,7 @@ public class RadiusConfiguration {
 
         h.setFailoverOnAuthenticationFailure(casProperties.getAuthn().getRadius().isFailoverOnAuthenticationFailure());
         h.setFailoverOnException(casProperties.getAuthn().getRadius().isFailoverOnException());
+        h.setHedgeDelay(casProperties.getAuthn().getRadius().getHedgeDelay());
         h.setServers(radiusServers());
 
         if (passwordEncoder != null) {
@@ -4,7 +4,6 @@ import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.principal.Principal;
-import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
@@ -25,6 +24,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * SSO Report web controller that produces JSON data for the view.
@@ -40,6 +40,7 @@ public class SingleSignOnSessionsReportController {
     private static final String VIEW_SSO_SESSIONS = "monitoring/viewSsoSessions";
     private static final String STATUS = "status";
     private static final String TICKET_GRANTING_TICKET = "ticketGrantingTicket";
+    private static final int TICKETS_PAGE_SIZE = 500;
 
     private enum SsoSessionReportOptions {
         ALL("all"),
@@ -119,40 +120,47 @@ public class SingleSignOnSessionsReportController {
         final Collection<Map<String, Object>> activeSessions = new ArrayList<>();
         final ISOStandardDateFormat dateFormat = new ISOStandardDateFormat();
 
-        for (final Ticket ticket : getNonExpiredTicketGrantingTickets()) {
-            final TicketGrantingTicket tgt = (TicketGrantingTicket) ticket;
-
-            if (option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null) {
-                continue;
-            }
+        try (Stream<TicketGrantingTicket> tickets = getNonExpiredTicketGrantingTickets()) {
+            tickets.filter(tgt -> option != SsoSessionReportOptions.DIRECT || tgt.getProxiedBy() == null)
+                    .forEach(tgt -> activeSessions.add(getActiveSsoSession(tgt, option, dateFormat)));
+        }
+        return activeSessions;
+    }
 
-            final Authentication authentication = tgt.getAuthentication();
-            final Principal principal = authentication.getPrincipal();
-
-            final Map<String, Object> sso = new HashMap<>(SsoSessionAttributeKeys.values().length);
-            sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
-            sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
-            sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
-                    dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
-            sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
-            sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
-            sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
-            sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
-
-            if (option != SsoSessionReportOptions.DIRECT) {
-                if (tgt.getProxiedBy() != null) {
-                    sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
-                    sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
-                } else {
-                    sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
-                }
+    /**
+     * Gets the sso session attributes of a ticket-granting ticket.
+     *
+     * @param tgt        the ticket-granting ticket
+     * @param option     the option
+     * @param dateFormat the date format
+     * @return the sso session
+     */
+    private static Map<String, Object> getActiveSsoSession(final TicketGrantingTicket tgt, final SsoSessionReportOptions option,
+                                                           final ISOStandardDateFormat dateFormat) {
+        final Authentication authentication = tgt.getAuthentication();
+        final Principal principal = authentication.getPrincipal();
+
+        final Map<String, Object> sso = new HashMap<>(SsoSessionAttributeKeys.values().length);
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
+                dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
+        sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
+        sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
+        sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
+
+        if (option != SsoSessionReportOptions.DIRECT) {
+            if (tgt.getProxiedBy() != null) {
+                sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
+                sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
+            } else {
+                sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
             }
-
-            sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
-
-            activeSessions.add(sso);
         }
-        return activeSessions;
+
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
+        return sso;
     }
 
     /**
@@ -160,13 +168,9 @@ public class SingleSignOnSessionsReportController {
      *
      * @return the non expired ticket granting tickets
      */
-    private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
-        return this.centralAuthenticationService.getTickets(ticket -> {
-            if (ticket instanceof TicketGrantingTicket) {
-                return !ticket.isExpired();
-            }
-            return false;
-        });
+    private Stream<TicketGrantingTicket> getNonExpiredTicketGrantingTickets() {
+        return this.centralAuthenticationService.streamTickets(TicketGrantingTicket.class, TICKETS_PAGE_SIZE)
+                .filter(ticket -> !ticket.isExpired());
     }
 
     /**
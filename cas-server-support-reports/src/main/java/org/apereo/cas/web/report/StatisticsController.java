@@ -4,7 +4,6 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.servlets.HealthCheckServlet;
 import com.codahale.metrics.servlets.MetricsServlet;
-import com.google.common.base.Predicates;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
@@ -25,9 +24,10 @@ import javax.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author Scott Battaglia
@@ -39,6 +39,8 @@ public class StatisticsController implements ServletContextAware {
 
     private static final int NUMBER_OF_BYTES_IN_A_KILOBYTE = 1024;
 
+    private static final int TICKETS_PAGE_SIZE = 500;
+
     private static final String MONITORING_VIEW_STATISTICS = "monitoring/viewStatistics";
 
     private transient Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -107,21 +109,22 @@ public class StatisticsController implements ServletContextAware {
         int expiredTgts = 0;
         int expiredSts = 0;
 
-        final Collection<Ticket> tickets =
-                this.centralAuthenticationService.getTickets(Predicates.<Ticket>alwaysTrue());
-
-        for (final Ticket ticket : tickets) {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    expiredSts++;
-                } else {
-                    unexpiredSts++;
-                }
-            } else {
-                if (ticket.isExpired()) {
-                    expiredTgts++;
+        try (Stream<Ticket> tickets = this.centralAuthenticationService.streamTickets(Ticket.class, TICKETS_PAGE_SIZE)) {
+            final Iterator<Ticket> it = tickets.iterator();
+            while (it.hasNext()) {
+                final Ticket ticket = it.next();
+                if (ticket instanceof ServiceTicket) {
+                    if (ticket.isExpired()) {
+                        expiredSts++;
+                    } else {
+                        unexpiredSts++;
+                    }
                 } else {
-                    unexpiredTgts++;
+                    if (ticket.isExpired()) {
+                        expiredTgts++;
+                    } else {
+                        unexpiredTgts++;
+                    }
                 }
             }
         }
@@ -4,6 +4,7 @@ import net.shibboleth.utilities.java.support.xml.BasicParserPool;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.monitor.Monitor;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlIdPEntityIdValidationServiceSelectionStrategy;
@@ -11,6 +12,7 @@ import org.apereo.cas.support.saml.services.SamlIdPSingleLogoutServiceLogoutUrlB
 import org.apereo.cas.support.saml.services.idp.metadata.cache.ChainingMetadataResolverCacheLoader;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.DefaultSamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataCacheMonitor;
 import org.apereo.cas.support.saml.web.idp.metadata.SamlIdpMetadataAndCertificatesGenerationService;
 import org.apereo.cas.support.saml.web.idp.metadata.ShibbolethIdpMetadataAndCertificatesGenerationService;
 import org.apereo.cas.support.saml.web.idp.profile.SLOPostProfileHandlerController;
@@ -170,10 +172,16 @@ public class SamlIdPConfiguration {
                 new DefaultSamlRegisteredServiceCachingMetadataResolver();
         r.setChainingMetadataResolverCacheLoader(chainingMetadataResolverCacheLoader());
         r.setMetadataCacheExpirationMinutes(casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes());
-        r.setChainingMetadataResolverCacheLoader(chainingMetadataResolverCacheLoader());
+        r.setMetadataCacheMaximumSize(casProperties.getAuthn().getSamlIdp().getMetadata().getCacheMaximumSize());
+        r.setMetadataCacheRefreshThreads(casProperties.getAuthn().getSamlIdp().getMetadata().getCacheRefreshThreads());
         return r;
     }
 
+    @Bean
+    public Monitor samlRegisteredServiceMetadataCacheMonitor() {
+        return new SamlRegisteredServiceMetadataCacheMonitor(defaultSamlRegisteredServiceCachingMetadataResolver());
+    }
+
     @Bean
     @RefreshScope
     public SamlProfileSamlResponseBuilder samlProfileSamlResponseBuilder() {
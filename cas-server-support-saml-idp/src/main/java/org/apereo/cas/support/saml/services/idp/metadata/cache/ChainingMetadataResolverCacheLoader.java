@@ -66,8 +66,6 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
     
     private long metadataCacheExpirationMinutes;
 
-    private transient Object lock = new Object();
-
     private boolean failFastInitialization = true;
     
     private boolean requireValidMetadata = true;
@@ -96,11 +94,9 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
                         + " with metadata location " + service.getMetadataLocation());
             }
 
-            synchronized (this.lock) {
-                metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
-                metadataResolver.setResolvers(metadataResolvers);
-                metadataResolver.initialize();
-            }
+            metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
+            metadataResolver.setResolvers(metadataResolvers);
+            metadataResolver.initialize();
             return metadataResolver;
         } catch (final Exception e) {
             throw new SamlException(e.getMessage(), e);
@@ -1,19 +1,32 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apereo.cas.monitor.CacheStatistics;
+import org.apereo.cas.monitor.GuavaCacheStatistics;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a Guava cache. It basically is a fancy wrapper around Guava, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Resolvers are cached per metadata source, as described by {@link SamlRegisteredServiceCacheKey},
+ * so that services sharing the same metadata aggregate share a single parsed resolver.
+ * Cached resolvers are refreshed in the background once the expiration period has passed;
+ * the existing resolver continues to be served until the refresh completes, and is kept
+ * if the refresh fails.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -21,12 +34,20 @@ import java.util.concurrent.TimeUnit;
 public class DefaultSamlRegisteredServiceCachingMetadataResolver
         implements SamlRegisteredServiceCachingMetadataResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSamlRegisteredServiceCachingMetadataResolver.class);
-    
+
+    private static final String CACHE_NAME = "samlMetadataResolverCache";
+
     private long metadataCacheExpirationMinutes;
-    
+
+    private long metadataCacheMaximumSize = 1000;
+
+    private int metadataCacheRefreshThreads = 2;
+
     private ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
 
-    private LoadingCache<SamlRegisteredService, ChainingMetadataResolver> cache;
+    private LoadingCache<SamlRegisteredServiceCacheKey, ChainingMetadataResolver> cache;
+
+    private ExecutorService refreshExecutor;
 
     /**
      * Instantiates a new Saml registered service caching metadata resolver.
@@ -34,10 +55,36 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
     public DefaultSamlRegisteredServiceCachingMetadataResolver() {}
     
 
+    /**
+     * Build the cache and its refresh executor.
+     */
     @PostConstruct
-    private void init() {
-        this.cache = CacheBuilder.newBuilder().maximumSize(1)
-                .expireAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES).build(this.chainingMetadataResolverCacheLoader);
+    public void init() {
+        this.refreshExecutor = Executors.newFixedThreadPool(Math.max(this.metadataCacheRefreshThreads, 1),
+                new ThreadFactoryBuilder().setNameFormat("saml-metadata-refresh-%d").setDaemon(true).build());
+
+        final CacheLoader<SamlRegisteredServiceCacheKey, ChainingMetadataResolver> loader =
+                new CacheLoader<SamlRegisteredServiceCacheKey, ChainingMetadataResolver>() {
+                    @Override
+                    public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey key) throws Exception {
+                        return chainingMetadataResolverCacheLoader.load(key.getService());
+                    }
+                };
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(this.metadataCacheMaximumSize)
+                .refreshAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build(CacheLoader.asyncReloading(loader, this.refreshExecutor));
+    }
+
+    /**
+     * Stop the background refresh of cached resolvers.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (this.refreshExecutor != null) {
+            this.refreshExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -45,7 +92,7 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
         ChainingMetadataResolver resolver = null;
         try {
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
-            resolver = this.cache.get(service);
+            resolver = this.cache.get(new SamlRegisteredServiceCacheKey(service));
             return resolver;
         } catch (final Exception e) {
             throw new IllegalArgumentException("Metadata resolver could not be located from metadata " 
@@ -60,6 +107,14 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
         }
     }
 
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        if (this.cache == null) {
+            return null;
+        }
+        return new GuavaCacheStatistics(this.cache, this.metadataCacheMaximumSize, CACHE_NAME);
+    }
+
     public void setChainingMetadataResolverCacheLoader(final ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader) {
         this.chainingMetadataResolverCacheLoader = chainingMetadataResolverCacheLoader;
     }
@@ -67,4 +122,12 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
     public void setMetadataCacheExpirationMinutes(final long metadataCacheExpirationMinutes) {
         this.metadataCacheExpirationMinutes = metadataCacheExpirationMinutes;
     }
+
+    public void setMetadataCacheMaximumSize(final long metadataCacheMaximumSize) {
+        this.metadataCacheMaximumSize = metadataCacheMaximumSize;
+    }
+
+    public void setMetadataCacheRefreshThreads(final int metadataCacheRefreshThreads) {
+        this.metadataCacheRefreshThreads = metadataCacheRefreshThreads;
+    }
 }
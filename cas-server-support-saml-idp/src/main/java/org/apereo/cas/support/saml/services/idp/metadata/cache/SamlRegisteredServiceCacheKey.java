@@ -0,0 +1,89 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+
+/**
+ * This is {@link SamlRegisteredServiceCacheKey} that identifies a metadata resolver in the cache.
+ * Keys are compared by the settings that determine how metadata is resolved and validated,
+ * namely the metadata location, the metadata signature location and the metadata maximum validity.
+ * Services that point at the same metadata aggregate share a single parsed resolver.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class SamlRegisteredServiceCacheKey {
+
+    private final String metadataLocation;
+
+    private final String metadataSignatureLocation;
+
+    private final long metadataMaxValidity;
+
+    private final SamlRegisteredService service;
+
+    /**
+     * Instantiates a new cache key.
+     *
+     * @param service the service whose metadata is to be resolved
+     */
+    public SamlRegisteredServiceCacheKey(final SamlRegisteredService service) {
+        this.service = service;
+        this.metadataLocation = service.getMetadataLocation();
+        this.metadataSignatureLocation = service.getMetadataSignatureLocation();
+        this.metadataMaxValidity = service.getMetadataMaxValidity();
+    }
+
+    /**
+     * Gets the service whose metadata is to be resolved. Since keys are shared between services
+     * with the same metadata settings, this is the first service that requested the key.
+     *
+     * @return the service
+     */
+    public SamlRegisteredService getService() {
+        return this.service;
+    }
+
+    public String getMetadataLocation() {
+        return this.metadataLocation;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        final SamlRegisteredServiceCacheKey rhs = (SamlRegisteredServiceCacheKey) obj;
+        return new EqualsBuilder()
+                .append(this.metadataLocation, rhs.metadataLocation)
+                .append(this.metadataSignatureLocation, rhs.metadataSignatureLocation)
+                .append(this.metadataMaxValidity, rhs.metadataMaxValidity)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(this.metadataLocation)
+                .append(this.metadataSignatureLocation)
+                .append(this.metadataMaxValidity)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("metadataLocation", this.metadataLocation)
+                .append("metadataSignatureLocation", this.metadataSignatureLocation)
+                .append("metadataMaxValidity", this.metadataMaxValidity)
+                .toString();
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
+import org.apereo.cas.monitor.CacheStatistics;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 
@@ -20,4 +21,13 @@ public interface SamlRegisteredServiceCachingMetadataResolver {
      * @return the chaining metadata resolver
      */
     ChainingMetadataResolver resolve(SamlRegisteredService service);
+
+    /**
+     * Gets statistics of the metadata cache.
+     *
+     * @return the cache statistics, or null if the resolver does not keep statistics
+     */
+    default CacheStatistics getCacheStatistics() {
+        return null;
+    }
 }
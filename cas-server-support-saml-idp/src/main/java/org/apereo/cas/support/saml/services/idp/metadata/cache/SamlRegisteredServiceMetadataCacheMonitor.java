@@ -0,0 +1,34 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.monitor.AbstractCacheMonitor;
+import org.apereo.cas.monitor.CacheStatistics;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataCacheMonitor} that reports on the
+ * size, hit ratio and load times of the SAML metadata resolver cache.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class SamlRegisteredServiceMetadataCacheMonitor extends AbstractCacheMonitor {
+
+    private final SamlRegisteredServiceCachingMetadataResolver resolver;
+
+    /**
+     * Instantiates a new monitor.
+     *
+     * @param resolver the metadata resolver whose cache is observed
+     */
+    public SamlRegisteredServiceMetadataCacheMonitor(final SamlRegisteredServiceCachingMetadataResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected CacheStatistics[] getStatistics() {
+        final CacheStatistics statistics = this.resolver.getCacheStatistics();
+        if (statistics == null) {
+            return null;
+        }
+        return new CacheStatistics[]{statistics};
+    }
+}
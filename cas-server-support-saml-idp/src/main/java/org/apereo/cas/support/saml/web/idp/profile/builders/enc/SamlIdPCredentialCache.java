@@ -0,0 +1,89 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.opensaml.security.x509.BasicX509Credential;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * This is {@link SamlIdPCredentialCache} that holds the key material of the identity provider
+ * once it has been read and parsed. The backing files are checked for modifications
+ * on every access, and the credential is reloaded only once a file is modified,
+ * which allows keys and certificates to be rotated without restarts. If the modified
+ * files cannot be loaded, the previous credential continues to be served.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class SamlIdPCredentialCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SamlIdPCredentialCache.class);
+
+    private final Callable<BasicX509Credential> loader;
+
+    private final File[] files;
+
+    private volatile Entry entry;
+
+    /**
+     * Instantiates a new credential cache.
+     *
+     * @param loader the loader that reads and parses the credential
+     * @param files  the files the credential is read from
+     */
+    public SamlIdPCredentialCache(final Callable<BasicX509Credential> loader, final File... files) {
+        this.loader = loader;
+        this.files = files;
+    }
+
+    /**
+     * Gets the credential, loading it if files have been modified since it was last loaded.
+     *
+     * @return the credential
+     * @throws Exception if the credential cannot be loaded and no previous credential is available
+     */
+    public BasicX509Credential getCredential() throws Exception {
+        final long[] lastModified = getLastModified();
+        final Entry current = this.entry;
+        if (current != null && Arrays.equals(current.lastModified, lastModified)) {
+            return current.credential;
+        }
+        synchronized (this) {
+            if (this.entry != null && Arrays.equals(this.entry.lastModified, lastModified)) {
+                return this.entry.credential;
+            }
+            try {
+                LOGGER.debug("Loading credential from {}", Arrays.toString(this.files));
+                this.entry = new Entry(this.loader.call(), lastModified);
+            } catch (final Exception e) {
+                if (this.entry == null) {
+                    throw e;
+                }
+                LOGGER.warn("Credential could not be reloaded from {}; continuing with the previous credential: {}",
+                        Arrays.toString(this.files), e.getMessage());
+                this.entry = new Entry(this.entry.credential, lastModified);
+            }
+            return this.entry.credential;
+        }
+    }
+
+    private long[] getLastModified() {
+        final long[] lastModified = new long[this.files.length];
+        for (int i = 0; i < this.files.length; i++) {
+            lastModified[i] = this.files[i].lastModified();
+        }
+        return lastModified;
+    }
+
+    private static class Entry {
+        private final BasicX509Credential credential;
+        private final long[] lastModified;
+
+        Entry(final BasicX509Credential credential, final long[] lastModified) {
+            this.credential = credential;
+            this.lastModified = lastModified;
+        }
+    }
+}
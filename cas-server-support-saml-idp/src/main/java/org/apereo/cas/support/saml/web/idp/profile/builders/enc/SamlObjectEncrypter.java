@@ -1,6 +1,11 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
@@ -36,9 +41,15 @@ import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This is {@link SamlObjectEncrypter}.
+ * <p>
+ * Encryption key material is loaded once and reloaded only when the key or certificate files
+ * are modified. The encryption configuration is built once, and key encryption credentials
+ * are memoized per SSO descriptor of the service provider and encryption credential.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -68,7 +79,16 @@ public class SamlObjectEncrypter {
 
     @Autowired
     private CasConfigurationProperties casProperties;
-    
+
+    private final Cache<SPSSODescriptor, Pair<Credential, Optional<Credential>>> keyEncryptionCredentialCache =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    private volatile SamlIdPCredentialCache encryptionCredentialCache;
+
+    private volatile Credential encryptionCredential;
+
+    private volatile BasicEncryptionConfiguration encryptionConfiguration;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -159,7 +179,9 @@ public class SamlObjectEncrypter {
     }
 
     /**
-     * Gets key encryption credential.
+     * Gets key encryption credential. Credentials are memoized per SSO descriptor of the service provider
+     * along with the encryption credential of the identity provider they were resolved with, and are
+     * resolved again once that encryption credential changes.
      *
      * @param peerEntityId the peer entity id
      * @param adaptor      the adaptor
@@ -170,6 +192,79 @@ public class SamlObjectEncrypter {
     protected Credential getKeyEncryptionCredential(final String peerEntityId,
                                                     final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
                                                     final SamlRegisteredService service) throws Exception {
+        final Credential credential = getEncryptionCredentialCache().getCredential();
+        if (credential != this.encryptionCredential) {
+            this.keyEncryptionCredentialCache.invalidateAll();
+            this.encryptionCredential = credential;
+        }
+        final SPSSODescriptor descriptor = adaptor.getSsoDescriptor();
+        final Pair<Credential, Optional<Credential>> cached;
+        try {
+            cached = this.keyEncryptionCredentialCache.get(descriptor,
+                    () -> Pair.of(credential, Optional.ofNullable(resolveKeyEncryptionCredential(peerEntityId, adaptor, credential))));
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+        if (cached.getLeft() == credential) {
+            return cached.getRight().orElse(null);
+        }
+        // the entry was resolved with an encryption credential that has since been replaced
+        final Credential keyEncryptionCredential = resolveKeyEncryptionCredential(peerEntityId, adaptor, credential);
+        this.keyEncryptionCredentialCache.put(descriptor, Pair.of(credential, Optional.ofNullable(keyEncryptionCredential)));
+        return keyEncryptionCredential;
+    }
+
+    /**
+     * Resolve key encryption credential from the metadata of the service provider.
+     *
+     * @param peerEntityId         the peer entity id
+     * @param adaptor              the adaptor
+     * @param encryptionCredential the encryption credential of the identity provider
+     * @return the key encryption credential
+     * @throws Exception the exception
+     */
+    protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                        final Credential encryptionCredential) throws Exception {
+        final MetadataCredentialResolver kekCredentialResolver = new MetadataCredentialResolver();
+
+        final StaticKeyInfoCredentialResolver keyinfoResolver = new StaticKeyInfoCredentialResolver(encryptionCredential);
+        kekCredentialResolver.setKeyInfoCredentialResolver(keyinfoResolver);
+
+        final BasicRoleDescriptorResolver roleDescriptorResolver = new BasicRoleDescriptorResolver(adaptor.getMetadataResolver());
+        roleDescriptorResolver.initialize();
+
+        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
+        kekCredentialResolver.initialize();
+
+        final CriteriaSet criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EncryptionConfigurationCriterion(getEncryptionConfiguration()));
+        criteriaSet.add(new EntityIdCriterion(peerEntityId));
+        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
+
+        logger.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
+        return kekCredentialResolver.resolveSingle(criteriaSet);
+    }
+
+    /**
+     * Gets the encryption configuration, which is built once.
+     *
+     * @return the encryption configuration
+     */
+    protected BasicEncryptionConfiguration getEncryptionConfiguration() {
+        if (this.encryptionConfiguration == null) {
+            this.encryptionConfiguration = buildEncryptionConfiguration();
+        }
+        return this.encryptionConfiguration;
+    }
+
+    /**
+     * Build encryption configuration.
+     *
+     * @return the encryption configuration
+     */
+    protected BasicEncryptionConfiguration buildEncryptionConfiguration() {
         final BasicEncryptionConfiguration config =
                 DefaultSecurityConfigurationBootstrap.buildDefaultEncryptionConfiguration();
 
@@ -193,31 +288,26 @@ public class SamlObjectEncrypter {
         logger.debug("Encryption key algorithms: [{}]", config.getKeyTransportEncryptionAlgorithms());
         logger.debug("Signature data algorithms: [{}]", config.getDataEncryptionAlgorithms());
         logger.debug("Encryption whitelisted algorithms: {}", config.getWhitelistedAlgorithms());
+        return config;
+    }
 
-        final MetadataCredentialResolver kekCredentialResolver = new MetadataCredentialResolver();
-
-        final PrivateKey privateKey = getEncryptionPrivateKey();
-        final X509Certificate certificate = getEncryptionCertificate();
-        final Credential encryptionCredential = new BasicX509Credential(certificate, privateKey);
-        logger.debug("Created encryption credential");
-
-        final StaticKeyInfoCredentialResolver keyinfoResolver = new StaticKeyInfoCredentialResolver(encryptionCredential);
-        kekCredentialResolver.setKeyInfoCredentialResolver(keyinfoResolver);
-
-        final BasicRoleDescriptorResolver roleDescriptorResolver = new BasicRoleDescriptorResolver(adaptor.getMetadataResolver());
-        roleDescriptorResolver.initialize();
-
-        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
-        kekCredentialResolver.initialize();
-
-        final CriteriaSet criteriaSet = new CriteriaSet();
-        criteriaSet.add(new EncryptionConfigurationCriterion(config));
-        criteriaSet.add(new EntityIdCriterion(peerEntityId));
-        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
-        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
-
-        logger.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
-        return kekCredentialResolver.resolveSingle(criteriaSet);
+    /**
+     * Gets the cache that holds the encryption credential.
+     *
+     * @return the encryption credential cache
+     */
+    protected SamlIdPCredentialCache getEncryptionCredentialCache() {
+        if (this.encryptionCredentialCache == null) {
+            synchronized (this) {
+                if (this.encryptionCredentialCache == null) {
+                    this.encryptionCredentialCache = new SamlIdPCredentialCache(
+                            () -> new BasicX509Credential(getEncryptionCertificate(), getEncryptionPrivateKey()),
+                            casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionCertFile(),
+                            casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionKeyFile());
+                }
+            }
+        }
+        return this.encryptionCredentialCache;
     }
 
     /**
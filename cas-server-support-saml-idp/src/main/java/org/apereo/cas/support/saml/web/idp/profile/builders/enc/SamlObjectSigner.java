@@ -1,7 +1,11 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
@@ -51,9 +55,15 @@ import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This is {@link SamlObjectSigner}.
+ * <p>
+ * Signing key material is loaded once and reloaded only when the key or certificate files
+ * are modified. The signature signing configuration is built once per credential, and resolved
+ * signature signing parameters are memoized per role descriptor of the service provider, along with
+ * the configuration they were resolved from so that entries built for a replaced credential are never used.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -85,6 +95,13 @@ public class SamlObjectSigner {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private final Cache<RoleDescriptor, Pair<SignatureSigningConfiguration, SignatureSigningParameters>> signingParametersCache =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    private volatile SamlIdPCredentialCache signingCredentialCache;
+
+    private volatile Pair<Credential, SignatureSigningConfiguration> signingConfiguration;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -205,37 +222,82 @@ public class SamlObjectSigner {
      */
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor) throws SAMLException {
         try {
-            final CriteriaSet criteria = new CriteriaSet();
-            criteria.add(new SignatureSigningConfigurationCriterion(getSignatureSigningConfiguration()));
-            criteria.add(new RoleDescriptorCriterion(descriptor));
-            final SAMLMetadataSignatureSigningParametersResolver resolver = new SAMLMetadataSignatureSigningParametersResolver();
-            logger.debug("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
-
-            final SignatureSigningParameters params = resolver.resolveSingle(criteria);
-            if (params == null) {
-                throw new SAMLException("No signature signing parameter is available");
+            final SignatureSigningConfiguration config = getSignatureSigningConfiguration();
+            final Pair<SignatureSigningConfiguration, SignatureSigningParameters> cached = this.signingParametersCache.get(descriptor,
+                    () -> Pair.of(config, resolveSignatureSigningParameters(descriptor, config)));
+            if (cached.getLeft() == config) {
+                return cached.getRight();
             }
-
-            logger.debug("Created signature signing parameters."
-                            + "\nSignature algorithm: [{}]"
-                            + "\nSignature canonicalization algorithm: [{}]"
-                            + "\nSignature reference digest methods: [{}]",
-                    params.getSignatureAlgorithm(), params.getSignatureCanonicalizationAlgorithm(),
-                    params.getSignatureReferenceDigestMethod());
-
+            // the entry was resolved for a signing credential that has since been replaced
+            final SignatureSigningParameters params = resolveSignatureSigningParameters(descriptor, config);
+            this.signingParametersCache.put(descriptor, Pair.of(config, params));
             return params;
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            throw new SAMLException(e.getCause().getMessage(), e);
         } catch (final Exception e) {
             throw new SAMLException(e.getMessage(), e);
         }
     }
 
     /**
-     * Gets signature signing configuration.
+     * Resolve signature signing parameters for the given role descriptor.
+     *
+     * @param descriptor the descriptor
+     * @param config     the signature signing configuration
+     * @return the signature signing parameters
+     * @throws Exception the exception
+     */
+    protected SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                           final SignatureSigningConfiguration config)
+            throws Exception {
+        final CriteriaSet criteria = new CriteriaSet();
+        criteria.add(new SignatureSigningConfigurationCriterion(config));
+        criteria.add(new RoleDescriptorCriterion(descriptor));
+        final SAMLMetadataSignatureSigningParametersResolver resolver = new SAMLMetadataSignatureSigningParametersResolver();
+        logger.debug("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
+
+        final SignatureSigningParameters params = resolver.resolveSingle(criteria);
+        if (params == null) {
+            throw new SAMLException("No signature signing parameter is available");
+        }
+
+        logger.debug("Created signature signing parameters."
+                        + "\nSignature algorithm: [{}]"
+                        + "\nSignature canonicalization algorithm: [{}]"
+                        + "\nSignature reference digest methods: [{}]",
+                params.getSignatureAlgorithm(), params.getSignatureCanonicalizationAlgorithm(),
+                params.getSignatureReferenceDigestMethod());
+
+        return params;
+    }
+
+    /**
+     * Gets signature signing configuration. The configuration is rebuilt only when the signing
+     * credential changes, in which case previously resolved signing parameters are discarded.
      *
      * @return the signature signing configuration
      * @throws Exception the exception
      */
     protected SignatureSigningConfiguration getSignatureSigningConfiguration() throws Exception {
+        final Credential credential = getSigningCredentialCache().getCredential();
+        final Pair<Credential, SignatureSigningConfiguration> current = this.signingConfiguration;
+        if (current != null && current.getLeft() == credential) {
+            return current.getRight();
+        }
+        final SignatureSigningConfiguration config = buildSignatureSigningConfiguration(credential);
+        this.signingConfiguration = Pair.of(credential, config);
+        this.signingParametersCache.invalidateAll();
+        return config;
+    }
+
+    /**
+     * Build signature signing configuration.
+     *
+     * @param credential the signing credential
+     * @return the signature signing configuration
+     * @throws Exception the exception
+     */
+    protected SignatureSigningConfiguration buildSignatureSigningConfiguration(final Credential credential) throws Exception {
         final BasicSignatureSigningConfiguration config =
                 DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration();
 
@@ -268,17 +330,33 @@ public class SamlObjectSigner {
         logger.debug("Signature signing whitelisted algorithms: {}", config.getWhitelistedAlgorithms());
         logger.debug("Signature signing reference digest methods: [{}]", config.getSignatureReferenceDigestMethods());
 
-        final PrivateKey privateKey = getSigningPrivateKey();
-        final X509Certificate certificate = getSigningCertificate();
-
         final List<Credential> creds = new ArrayList<>();
-        creds.add(new BasicX509Credential(certificate, privateKey));
+        creds.add(credential);
         config.setSigningCredentials(creds);
         logger.debug("Signature signing credentials configured");
 
         return config;
     }
 
+    /**
+     * Gets the cache that holds the signing credential.
+     *
+     * @return the signing credential cache
+     */
+    protected SamlIdPCredentialCache getSigningCredentialCache() {
+        if (this.signingCredentialCache == null) {
+            synchronized (this) {
+                if (this.signingCredentialCache == null) {
+                    this.signingCredentialCache = new SamlIdPCredentialCache(
+                            () -> new BasicX509Credential(getSigningCertificate(), getSigningPrivateKey()),
+                            casProperties.getAuthn().getSamlIdp().getMetadata().getSigningCertFile(),
+                            casProperties.getAuthn().getSamlIdp().getMetadata().getSigningKeyFile());
+                }
+            }
+        }
+        return this.signingCredentialCache;
+    }
+
     /**
      * Gets signing certificate.
      *
@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml;
 
+import org.apereo.cas.support.saml.services.idp.metadata.cache.DefaultSamlRegisteredServiceCachingMetadataResolverTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPCredentialCacheTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -10,7 +12,8 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-
+        DefaultSamlRegisteredServiceCachingMetadataResolverTests.class,
+        SamlIdPCredentialCacheTests.class
 })
 public class AllTestsSuite {
 }
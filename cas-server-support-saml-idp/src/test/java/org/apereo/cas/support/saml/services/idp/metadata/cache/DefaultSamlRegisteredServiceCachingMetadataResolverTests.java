@@ -0,0 +1,89 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.monitor.CacheStatistics;
+import org.apereo.cas.monitor.GuavaCacheStatistics;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link DefaultSamlRegisteredServiceCachingMetadataResolver}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class DefaultSamlRegisteredServiceCachingMetadataResolverTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DefaultSamlRegisteredServiceCachingMetadataResolver resolver;
+
+    @Before
+    public void setUp() {
+        this.resolver = new DefaultSamlRegisteredServiceCachingMetadataResolver();
+        this.resolver.setMetadataCacheExpirationMinutes(30);
+        this.resolver.setMetadataCacheMaximumSize(10);
+        this.resolver.setChainingMetadataResolverCacheLoader(new ChainingMetadataResolverCacheLoader() {
+            @Override
+            public ChainingMetadataResolver load(final SamlRegisteredService service) throws Exception {
+                loads.incrementAndGet();
+                return new ChainingMetadataResolver();
+            }
+        });
+        this.resolver.init();
+    }
+
+    @After
+    public void tearDown() {
+        this.resolver.destroy();
+    }
+
+    @Test
+    public void verifyServicesShareMetadataAggregate() {
+        final ChainingMetadataResolver first = this.resolver.resolve(newService("sp1", "classpath:/federation.xml"));
+        final ChainingMetadataResolver second = this.resolver.resolve(newService("sp2", "classpath:/federation.xml"));
+        assertSame(first, second);
+        assertEquals(1, this.loads.get());
+
+        final ChainingMetadataResolver third = this.resolver.resolve(newService("sp3", "classpath:/other.xml"));
+        assertNotSame(first, third);
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    public void verifySignatureLocationIsPartOfKey() {
+        final SamlRegisteredService signed = newService("sp1", "classpath:/federation.xml");
+        signed.setMetadataSignatureLocation("classpath:/federation.crt");
+        final ChainingMetadataResolver first = this.resolver.resolve(signed);
+        final ChainingMetadataResolver second = this.resolver.resolve(newService("sp2", "classpath:/federation.xml"));
+        assertNotSame(first, second);
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    public void verifyCacheStatistics() {
+        this.resolver.resolve(newService("sp1", "classpath:/federation.xml"));
+        this.resolver.resolve(newService("sp2", "classpath:/federation.xml"));
+
+        final CacheStatistics statistics = this.resolver.getCacheStatistics();
+        assertTrue(statistics instanceof GuavaCacheStatistics);
+        assertEquals(1, statistics.getSize());
+        assertEquals(10, statistics.getCapacity());
+        assertEquals(1, ((GuavaCacheStatistics) statistics).getHitCount());
+        assertEquals(1, ((GuavaCacheStatistics) statistics).getMissCount());
+    }
+
+    private static SamlRegisteredService newService(final String name, final String metadataLocation) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName(name);
+        service.setServiceId(name);
+        service.setMetadataLocation(metadataLocation);
+        return service;
+    }
+}
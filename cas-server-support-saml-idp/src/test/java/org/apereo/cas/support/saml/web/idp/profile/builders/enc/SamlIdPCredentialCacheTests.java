@@ -0,0 +1,79 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensaml.security.x509.BasicX509Credential;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for {@link SamlIdPCredentialCache}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class SamlIdPCredentialCacheTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void verifyCredentialIsLoadedOnce() throws Exception {
+        final File key = this.folder.newFile("idp.key");
+        final AtomicInteger loads = new AtomicInteger();
+        final SamlIdPCredentialCache cache = new SamlIdPCredentialCache(() -> {
+            loads.incrementAndGet();
+            return mock(BasicX509Credential.class);
+        }, key);
+
+        final BasicX509Credential credential = cache.getCredential();
+        assertSame(credential, cache.getCredential());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void verifyCredentialIsReloadedWhenFileIsModified() throws Exception {
+        final File key = this.folder.newFile("idp.key");
+        final AtomicInteger loads = new AtomicInteger();
+        final SamlIdPCredentialCache cache = new SamlIdPCredentialCache(() -> {
+            loads.incrementAndGet();
+            return mock(BasicX509Credential.class);
+        }, key);
+
+        final BasicX509Credential credential = cache.getCredential();
+        assertTrue(key.setLastModified(key.lastModified() - 10000));
+        assertNotSame(credential, cache.getCredential());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void verifyPreviousCredentialIsKeptIfReloadFails() throws Exception {
+        final File key = this.folder.newFile("idp.key");
+        final AtomicInteger loads = new AtomicInteger();
+        final SamlIdPCredentialCache cache = new SamlIdPCredentialCache(() -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IllegalStateException("Key is not readable");
+            }
+            return mock(BasicX509Credential.class);
+        }, key);
+
+        final BasicX509Credential credential = cache.getCredential();
+        assertTrue(key.setLastModified(key.lastModified() - 10000));
+        assertSame(credential, cache.getCredential());
+        assertSame(credential, cache.getCredential());
+        assertEquals(2, loads.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyInitialLoadFailureIsReported() throws Exception {
+        final SamlIdPCredentialCache cache = new SamlIdPCredentialCache(() -> {
+            throw new IllegalStateException("Key is not readable");
+        }, this.folder.newFile("idp.key"));
+        cache.getCredential();
+    }
+}
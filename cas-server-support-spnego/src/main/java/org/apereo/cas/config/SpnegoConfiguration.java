@@ -8,11 +8,13 @@ import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.spnego.SpnegoProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.spnego.authentication.handler.support.JcifsConfig;
 import org.apereo.cas.support.spnego.authentication.handler.support.JcifsSpnegoAuthenticationHandler;
 import org.apereo.cas.support.spnego.authentication.handler.support.NtlmAuthenticationHandler;
 import org.apereo.cas.support.spnego.authentication.principal.SpnegoPrincipalResolver;
+import org.apereo.cas.support.spnego.util.ReverseDnsResolver;
 import org.apereo.cas.support.spnego.web.flow.SpnegoCredentialsAction;
 import org.apereo.cas.support.spnego.web.flow.SpnegoNegociateCredentialsAction;
 import org.apereo.cas.support.spnego.web.flow.client.BaseSpnegoKnownClientSystemsFilterAction;
@@ -20,7 +22,12 @@ import org.apereo.cas.support.spnego.web.flow.client.HostNameSpnegoKnownClientSy
 import org.apereo.cas.support.spnego.web.flow.client.LdapSpnegoKnownClientSystemsFilterAction;
 import org.apereo.services.persondir.IPersonAttributeDao;
 import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DefaultConnectionFactory;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.pool.BlockingConnectionPool;
+import org.ldaptive.pool.PoolConfig;
+import org.ldaptive.pool.PooledConnectionFactory;
+import org.ldaptive.pool.SearchValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -30,6 +37,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.webflow.execution.Action;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.Map;
 
 /**
@@ -69,6 +77,8 @@ public class SpnegoConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private BlockingConnectionPool connectionPool;
+
     @RefreshScope
     @Bean
     public Authentication spnegoAuthentication() {
@@ -169,6 +179,13 @@ public class SpnegoConfiguration {
         return a;
     }
 
+    @Bean
+    public ReverseDnsResolver reverseDnsResolver() {
+        final SpnegoProperties spnego = casProperties.getAuthn().getSpnego();
+        return new ReverseDnsResolver(spnego.getDnsThreads(), spnego.getDnsCacheSize(),
+                spnego.getDnsCacheTtl(), spnego.getDnsNegativeCacheTtl());
+    }
+
     @Bean
     @RefreshScope
     public Action baseSpnegoClientAction() {
@@ -178,6 +195,7 @@ public class SpnegoConfiguration {
         a.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         a.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         a.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        a.setReverseDnsResolver(reverseDnsResolver());
         return a;
     }
 
@@ -189,22 +207,63 @@ public class SpnegoConfiguration {
         a.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         a.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         a.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        a.setReverseDnsResolver(reverseDnsResolver());
         return a;
     }
 
     @Bean
     @RefreshScope
     public Action ldapSpnegoClientAction() {
+        final SpnegoProperties.Ldap ldap = casProperties.getAuthn().getSpnego().getLdap();
         final LdapSpnegoKnownClientSystemsFilterAction l =
-                new LdapSpnegoKnownClientSystemsFilterAction(this.connectionFactory,
+                new LdapSpnegoKnownClientSystemsFilterAction(spnegoClientActionPooledConnectionFactory(),
                         this.searchRequest, casProperties.getAuthn().getSpnego().getSpnegoAttributeName());
+        l.enableDecisionCache(ldap.getCacheTtl(), ldap.getNegativeCacheTtl(), ldap.getCacheSize());
 
         l.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         l.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         l.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        l.setReverseDnsResolver(reverseDnsResolver());
         return l;
     }
 
+    /**
+     * Pool connections of the configured connection factory, unless it is already pooled.
+     * The pool outlives refreshes of the client action, and is closed on shutdown.
+     *
+     * @return the connection factory
+     */
+    private synchronized ConnectionFactory spnegoClientActionPooledConnectionFactory() {
+        final SpnegoProperties.Ldap ldap = casProperties.getAuthn().getSpnego().getLdap();
+        if (!ldap.isPooled() || !(this.connectionFactory instanceof DefaultConnectionFactory)) {
+            return this.connectionFactory;
+        }
+        if (this.connectionPool == null) {
+            final PoolConfig pc = new PoolConfig();
+            pc.setMinPoolSize(ldap.getMinPoolSize());
+            pc.setMaxPoolSize(ldap.getMaxPoolSize());
+            pc.setValidatePeriodically(ldap.isValidatePeriodically());
+            pc.setValidatePeriod(ldap.getValidatePeriod());
+
+            final BlockingConnectionPool pool = new BlockingConnectionPool(pc, (DefaultConnectionFactory) this.connectionFactory);
+            pool.setBlockWaitTime(ldap.getBlockWaitTime());
+            pool.setValidator(new SearchValidator());
+            pool.setFailFastInitialize(false);
+            pool.setName("spnego-client-action");
+            pool.initialize();
+            this.connectionPool = pool;
+        }
+        return new PooledConnectionFactory(this.connectionPool);
+    }
+
+    @PreDestroy
+    protected synchronized void closeConnectionPool() {
+        if (this.connectionPool != null) {
+            this.connectionPool.close();
+            this.connectionPool = null;
+        }
+    }
+
     @PostConstruct
     protected void initializeRootApplicationContext() {
         authenticationHandlersResolvers.put(spnegoHandler(), spnegoPrincipalResolver());
@@ -0,0 +1,167 @@
+package org.apereo.cas.support.spnego.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * This is {@link ReverseDnsResolver} that resolves the host names of client systems
+ * on behalf of all login requests, rather than starting a new thread for every lookup.
+ * <p>
+ * Lookups run on a bounded pool of threads. Resolved host names are cached for a while,
+ * and addresses that do not resolve are remembered for a shorter while, so the same
+ * workstation is not looked up on every login. Concurrent requests for the same address
+ * share a single lookup. A lookup that does not complete within the timeout of the caller
+ * carries on in the background, and its result is cached for the requests that follow.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ReverseDnsResolver implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReverseDnsResolver.class);
+
+    private final ExecutorService executor;
+
+    private final Cache<String, String> resolved;
+
+    private final Cache<String, String> unresolved;
+
+    private final ConcurrentMap<String, CompletableFuture<String>> lookups = new ConcurrentHashMap<>();
+
+    private final Function<String, String> lookup;
+
+    /**
+     * Instantiates a new resolver that looks up addresses via {@link ReverseDNSRunnable}.
+     *
+     * @param threads       the number of threads that run lookups
+     * @param cacheSize     the number of addresses remembered
+     * @param positiveTtl   how long resolved host names are remembered, in milliseconds
+     * @param negativeTtl   how long addresses that did not resolve are remembered, in milliseconds
+     */
+    public ReverseDnsResolver(final int threads, final long cacheSize, final long positiveTtl, final long negativeTtl) {
+        this(threads, cacheSize, positiveTtl, negativeTtl, ReverseDnsResolver::lookup);
+    }
+
+    /**
+     * Instantiates a new resolver.
+     *
+     * @param threads       the number of threads that run lookups
+     * @param cacheSize     the number of addresses remembered
+     * @param positiveTtl   how long resolved host names are remembered, in milliseconds
+     * @param negativeTtl   how long addresses that did not resolve are remembered, in milliseconds
+     * @param lookup        resolves an address, or returns the address itself if it cannot be resolved
+     */
+    public ReverseDnsResolver(final int threads, final long cacheSize, final long positiveTtl, final long negativeTtl,
+                              final Function<String, String> lookup) {
+        final int poolSize = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 100),
+                new ThreadFactoryBuilder().setNameFormat("spnego-reverse-dns-%d").setDaemon(true).build());
+        this.resolved = CacheBuilder.newBuilder().maximumSize(cacheSize)
+                .expireAfterWrite(Math.max(positiveTtl, 0), TimeUnit.MILLISECONDS).build();
+        this.unresolved = CacheBuilder.newBuilder().maximumSize(cacheSize)
+                .expireAfterWrite(Math.max(negativeTtl, 0), TimeUnit.MILLISECONDS).build();
+        this.lookup = lookup;
+    }
+
+    /**
+     * Resolve the host name of the given address.
+     *
+     * @param remoteIp the remote ip
+     * @param timeout  how long to wait for the lookup, in milliseconds
+     * @return the host name, or the address itself if it does not resolve in time
+     */
+    public String resolve(final String remoteIp, final long timeout) {
+        final String hostName = this.resolved.getIfPresent(remoteIp);
+        if (hostName != null) {
+            LOGGER.trace("Found cached host name {} for {}", hostName, remoteIp);
+            return hostName;
+        }
+        if (this.unresolved.getIfPresent(remoteIp) != null) {
+            LOGGER.trace("{} is known not to resolve", remoteIp);
+            return remoteIp;
+        }
+
+        try {
+            return submit(remoteIp).get(Math.max(timeout, 0), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.debug("Lookup of {} did not complete within {} ms. Defaulting to IP.", remoteIp, timeout);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Too many reverse DNS lookups are pending. Defaulting to IP {}.", remoteIp);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Lookup of {} was interrupted. Defaulting to IP.", remoteIp);
+        } catch (final ExecutionException e) {
+            LOGGER.debug("Lookup of {} failed. Defaulting to IP.", remoteIp, e);
+        }
+        return remoteIp;
+    }
+
+    /**
+     * Number of lookups in progress.
+     *
+     * @return the number of lookups
+     */
+    public int getPendingLookups() {
+        return this.lookups.size();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.executor.shutdownNow();
+    }
+
+    private CompletableFuture<String> submit(final String remoteIp) {
+        final CompletableFuture<String> created = new CompletableFuture<>();
+        final CompletableFuture<String> existing = this.lookups.putIfAbsent(remoteIp, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            this.executor.execute(() -> {
+                try {
+                    final String hostName = this.lookup.apply(remoteIp);
+                    if (StringUtils.isBlank(hostName) || hostName.equals(remoteIp)) {
+                        this.unresolved.put(remoteIp, remoteIp);
+                        created.complete(remoteIp);
+                    } else {
+                        this.resolved.put(remoteIp, hostName);
+                        created.complete(hostName);
+                    }
+                } catch (final Exception e) {
+                    this.unresolved.put(remoteIp, remoteIp);
+                    created.completeExceptionally(e);
+                } finally {
+                    this.lookups.remove(remoteIp, created);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            created.completeExceptionally(e);
+            this.lookups.remove(remoteIp, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private static String lookup(final String remoteIp) {
+        final ReverseDNSRunnable revDNS = new ReverseDNSRunnable(remoteIp);
+        revDNS.run();
+        return revDNS.get();
+    }
+}
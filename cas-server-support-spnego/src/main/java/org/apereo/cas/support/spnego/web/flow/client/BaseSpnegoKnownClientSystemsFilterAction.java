@@ -3,6 +3,7 @@ package org.apereo.cas.support.spnego.web.flow.client;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apereo.cas.support.spnego.util.ReverseDNSRunnable;
+import org.apereo.cas.support.spnego.util.ReverseDnsResolver;
 import org.apereo.cas.web.support.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,9 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
 
     /** Timeout for DNS Requests. **/
     private long timeout;
+
+    /** Resolver shared by all requests for reverse DNS lookups. **/
+    private ReverseDnsResolver reverseDnsResolver;
     
     /**
      * Instantiates a new Base.
@@ -191,13 +195,29 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
     }
 
     /**
-     * Convenience method to perform a reverse DNS lookup. Threads the request
+     * Set the resolver that performs reverse DNS lookups on behalf of all requests,
+     * and caches their results.
+     * @param reverseDnsResolver the reverse dns resolver
+     */
+    public void setReverseDnsResolver(final ReverseDnsResolver reverseDnsResolver) {
+        this.reverseDnsResolver = reverseDnsResolver;
+    }
+
+    /**
+     * Convenience method to perform a reverse DNS lookup. Hands the request
+     * to the shared {@link ReverseDnsResolver} if one is defined; otherwise threads the request
      * through a custom Runnable class in order to prevent inordinately long
      * user waits while performing reverse lookup.
      * @param remoteIp the remote ip
      * @return the remote host name
      */
     protected String getRemoteHostName(final String remoteIp) {
+        if (this.reverseDnsResolver != null) {
+            final String remoteHostName = this.reverseDnsResolver.resolve(remoteIp, this.timeout);
+            logger.debug("Found remote host name {}.", remoteHostName);
+            return remoteHostName;
+        }
+
         final ReverseDNSRunnable revDNS = new ReverseDNSRunnable(remoteIp);
 
         final Thread t = new Thread(revDNS);
@@ -1,6 +1,8 @@
 package org.apereo.cas.support.spnego.web.flow.client;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.ldaptive.Connection;
 import org.ldaptive.ConnectionFactory;
@@ -11,12 +13,20 @@ import org.ldaptive.Response;
 import org.ldaptive.ResultCode;
 import org.ldaptive.SearchOperation;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchFilter;
 import org.ldaptive.SearchResult;
 import org.ldaptive.Operation;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Peek into an LDAP server and check for the existence of an attribute
  * in order to target invocation of spnego.
+ * <p>
+ * The connection factory may be pooled, in which case connections are borrowed
+ * from and returned to the pool. Once the decision cache is enabled, the decision
+ * for a host is remembered, so repeat logins from the same host skip the search.
+ * Hosts that may not use spnego are remembered for a separate, usually shorter, time.
  * @author Misagh Moayyed
  * @author Sean Baker
  * @since 4.1
@@ -27,6 +37,9 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
 
     private ConnectionFactory connectionFactory;
     private SearchRequest searchRequest;
+
+    private Cache<String, Boolean> allowedHosts;
+    private Cache<String, Boolean> deniedHosts;
     
     public LdapSpnegoKnownClientSystemsFilterAction() {}
     
@@ -46,9 +59,25 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
         this.searchRequest = searchRequest;
     }
 
+    /**
+     * Remember the decision for each host, so the directory is not searched
+     * on every login from the same host.
+     *
+     * @param ttl         how long hosts that may use spnego are remembered, in milliseconds
+     * @param negativeTtl how long hosts that may not use spnego are remembered, in milliseconds
+     * @param maximumSize the number of hosts remembered
+     */
+    public void enableDecisionCache(final long ttl, final long negativeTtl, final long maximumSize) {
+        this.allowedHosts = CacheBuilder.newBuilder().maximumSize(maximumSize)
+                .expireAfterWrite(Math.max(ttl, 0), TimeUnit.MILLISECONDS).build();
+        this.deniedHosts = CacheBuilder.newBuilder().maximumSize(maximumSize)
+                .expireAfterWrite(Math.max(negativeTtl, 0), TimeUnit.MILLISECONDS).build();
+    }
+
     /**
      * Create and open a connection to ldap
      * via the given config and provider.
+     * Connections borrowed from a pool are already open.
      *
      * @return the connection
      * @throws LdapException the ldap exception
@@ -56,7 +85,9 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
     protected Connection createConnection() throws LdapException {
         logger.debug("Establishing a connection...");
         final Connection connection = this.connectionFactory.getConnection();
-        connection.open();
+        if (!connection.isOpen()) {
+            connection.open();
+        }
         return connection;
     }
 
@@ -93,21 +124,40 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
      * @return the boolean
      */
     protected boolean executeSearchForSpnegoAttribute(final String remoteIp) {
-        Connection connection = null;
         final String remoteHostName = getRemoteHostName(remoteIp);
         logger.debug("Resolved remote hostname {} based on ip {}",
                 remoteHostName, remoteIp);
 
+        if (this.allowedHosts != null) {
+            if (this.allowedHosts.getIfPresent(remoteHostName) != null) {
+                logger.debug("Found cached decision to do spnego for {}", remoteHostName);
+                return true;
+            }
+            if (this.deniedHosts.getIfPresent(remoteHostName) != null) {
+                logger.debug("Found cached decision not to do spnego for {}", remoteHostName);
+                return false;
+            }
+        }
+
+        final boolean result = searchForSpnegoAttribute(remoteHostName);
+        if (this.allowedHosts != null) {
+            (result ? this.allowedHosts : this.deniedHosts).put(remoteHostName, Boolean.TRUE);
+        }
+        return result;
+    }
+
+    private boolean searchForSpnegoAttribute(final String remoteHostName) {
+        Connection connection = null;
         try {
             connection = createConnection();
             final Operation searchOperation = new SearchOperation(connection);
-            this.searchRequest.getSearchFilter().setParameter(0, remoteHostName);
+            final SearchRequest request = newSearchRequest(remoteHostName);
 
             logger.debug("Using search filter {} on baseDn {}",
-                    this.searchRequest.getSearchFilter().format(),
-                    this.searchRequest.getBaseDn());
+                    request.getSearchFilter().format(),
+                    request.getBaseDn());
 
-            final Response<SearchResult> searchResult = searchOperation.execute(this.searchRequest);
+            final Response<SearchResult> searchResult = searchOperation.execute(request);
             if (searchResult.getResultCode() == ResultCode.SUCCESS) {
                 return processSpnegoAttribute(searchResult);
             }
@@ -124,6 +174,37 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
         }
     }
 
+    /**
+     * Copy the configured search request with the filter parameterized for the given host,
+     * as the configured request is shared by concurrent logins.
+     *
+     * @param remoteHostName the remote host name
+     * @return the search request
+     */
+    private SearchRequest newSearchRequest(final String remoteHostName) {
+        final SearchFilter filter = new SearchFilter(this.searchRequest.getSearchFilter().getFilter());
+        this.searchRequest.getSearchFilter().getParameters().forEach(filter::setParameter);
+        filter.setParameter(0, remoteHostName);
+
+        final SearchRequest request = new SearchRequest();
+        request.setBaseDn(this.searchRequest.getBaseDn());
+        request.setSearchFilter(filter);
+        request.setReturnAttributes(this.searchRequest.getReturnAttributes());
+        request.setBinaryAttributes(this.searchRequest.getBinaryAttributes());
+        request.setSearchScope(this.searchRequest.getSearchScope());
+        request.setDerefAliases(this.searchRequest.getDerefAliases());
+        request.setSizeLimit(this.searchRequest.getSizeLimit());
+        request.setTimeLimit(this.searchRequest.getTimeLimit());
+        request.setTypesOnly(this.searchRequest.getTypesOnly());
+        request.setSortBehavior(this.searchRequest.getSortBehavior());
+        request.setSearchEntryHandlers(this.searchRequest.getSearchEntryHandlers());
+        request.setSearchReferenceHandlers(this.searchRequest.getSearchReferenceHandlers());
+        request.setControls(this.searchRequest.getControls());
+        request.setReferralHandler(this.searchRequest.getReferralHandler());
+        request.setIntermediateResponseHandlers(this.searchRequest.getIntermediateResponseHandlers());
+        return request;
+    }
+
     /**
      * Verify spnego attribute value.
      *
@@ -4,6 +4,7 @@ package org.apereo.cas.support.spnego;
 import org.apereo.cas.support.spnego.authentication.handler.support.JcifsSpnegoAuthenticationHandlerTests;
 import org.apereo.cas.support.spnego.authentication.principal.SpnegoCredentialsTests;
 import org.apereo.cas.support.spnego.authentication.principal.SpnegoCredentialsToPrincipalResolverTests;
+import org.apereo.cas.support.spnego.util.ReverseDnsResolverTests;
 import org.apereo.cas.support.spnego.web.flow.client.AllSpnegoKnownClientSystemsFilterActionTest;
 import org.apereo.cas.support.spnego.web.flow.client.LdapSpnegoKnownClientSystemsFilterActionTests;
 import org.junit.runner.RunWith;
@@ -20,7 +21,8 @@ import org.junit.runners.Suite;
         SpnegoCredentialsTests.class,
         SpnegoCredentialsToPrincipalResolverTests.class,
         AllSpnegoKnownClientSystemsFilterActionTest.class,
-        LdapSpnegoKnownClientSystemsFilterActionTests.class
+        LdapSpnegoKnownClientSystemsFilterActionTests.class,
+        ReverseDnsResolverTests.class
 })
 public class AllTestsSuite {
 }
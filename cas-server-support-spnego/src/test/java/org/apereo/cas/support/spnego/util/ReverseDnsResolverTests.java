@@ -0,0 +1,135 @@
+package org.apereo.cas.support.spnego.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ReverseDnsResolverTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ReverseDnsResolverTests {
+
+    private ReverseDnsResolver resolver;
+
+    @After
+    public void tearDown() throws Exception {
+        if (this.resolver != null) {
+            this.resolver.destroy();
+        }
+    }
+
+    @Test
+    public void verifyHostNamesAreCached() {
+        final AtomicInteger lookups = new AtomicInteger();
+        this.resolver = new ReverseDnsResolver(2, 100, 60000, 60000, ip -> {
+            lookups.incrementAndGet();
+            return "host.example.org";
+        });
+        assertEquals("host.example.org", this.resolver.resolve("10.0.0.1", 1000));
+        assertEquals("host.example.org", this.resolver.resolve("10.0.0.1", 1000));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void verifyUnresolvedAddressesAreCached() {
+        final AtomicInteger lookups = new AtomicInteger();
+        this.resolver = new ReverseDnsResolver(2, 100, 60000, 60000, ip -> {
+            lookups.incrementAndGet();
+            return ip;
+        });
+        assertEquals("10.0.0.1", this.resolver.resolve("10.0.0.1", 1000));
+        assertEquals("10.0.0.1", this.resolver.resolve("10.0.0.1", 1000));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void verifyConcurrentLookupsAreShared() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        this.resolver = new ReverseDnsResolver(4, 100, 60000, 60000, ip -> {
+            lookups.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "host.example.org";
+        });
+
+        final List<String> results = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                final String hostName = this.resolver.resolve("10.0.0.1", 5000);
+                synchronized (results) {
+                    results.add(hostName);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        while (lookups.get() == 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertEquals(1, lookups.get());
+        assertEquals(8, results.size());
+        assertTrue(results.stream().allMatch("host.example.org"::equals));
+    }
+
+    @Test
+    public void verifySlowLookupDefaultsToAddressAndIsCachedLater() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        this.resolver = new ReverseDnsResolver(1, 100, 60000, 60000, ip -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "host.example.org";
+        });
+        assertEquals("10.0.0.1", this.resolver.resolve("10.0.0.1", 50));
+        release.countDown();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (this.resolver.getPendingLookups() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("host.example.org", this.resolver.resolve("10.0.0.1", 0));
+    }
+
+    @Test
+    public void verifyRejectedLookupDefaultsToAddress() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        this.resolver = new ReverseDnsResolver(1, 1000, 60000, 60000, ip -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "host.example.org";
+        });
+        for (int i = 0; i <= 100; i++) {
+            this.resolver.resolve("10.0.1." + i, 0);
+        }
+        final long start = System.currentTimeMillis();
+        assertEquals("10.0.2.1", this.resolver.resolve("10.0.2.1", 5000));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(101, this.resolver.getPendingLookups());
+        release.countDown();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.ldaptive.ConnectionFactory;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.pool.PooledConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.SpringApplicationConfiguration;
@@ -19,6 +20,8 @@ import org.springframework.webflow.context.servlet.ServletExternalContext;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.test.MockRequestContext;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -34,6 +37,10 @@ public class LdapSpnegoKnownClientSystemsFilterActionTests extends AbstractLdapT
     @Qualifier("provisioningConnectionFactory")
     private ConnectionFactory connectionFactory;
 
+    @Autowired
+    @Qualifier("pooledLdapConnectionFactory")
+    private PooledConnectionFactory pooledConnectionFactory;
+
     @Autowired
     private SearchRequest searchRequest;
 
@@ -58,4 +65,37 @@ public class LdapSpnegoKnownClientSystemsFilterActionTests extends AbstractLdapT
         final Event ev = action.doExecute(ctx);
         assertEquals(ev.getId(), new EventFactorySupport().yes(this).getId());
     }
+
+    @Test
+    public void ensureLdapDecisionIsCached() {
+        final AtomicInteger connections = new AtomicInteger();
+        final LdapSpnegoKnownClientSystemsFilterAction action =
+                new LdapSpnegoKnownClientSystemsFilterAction(() -> {
+                    connections.incrementAndGet();
+                    return this.connectionFactory.getConnection();
+                }, this.searchRequest, "mail");
+        action.enableDecisionCache(60000, 60000, 100);
+
+        for (int i = 0; i < 3; i++) {
+            final MockRequestContext ctx = new MockRequestContext();
+            final MockHttpServletRequest req = new MockHttpServletRequest();
+            req.setRemoteAddr("localhost");
+            ctx.setExternalContext(new ServletExternalContext(new MockServletContext(), req, new MockHttpServletResponse()));
+            assertEquals(new EventFactorySupport().yes(this).getId(), action.doExecute(ctx).getId());
+        }
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    public void ensurePooledConnectionsAreUsedAsBorrowed() {
+        final LdapSpnegoKnownClientSystemsFilterAction action =
+                new LdapSpnegoKnownClientSystemsFilterAction(this.pooledConnectionFactory, this.searchRequest, "mail");
+        for (int i = 0; i < 3; i++) {
+            final MockRequestContext ctx = new MockRequestContext();
+            final MockHttpServletRequest req = new MockHttpServletRequest();
+            req.setRemoteAddr("localhost");
+            ctx.setExternalContext(new ServletExternalContext(new MockServletContext(), req, new MockHttpServletResponse()));
+            assertEquals(new EventFactorySupport().yes(this).getId(), action.doExecute(ctx).getId());
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package org.apereo.cas.web.support;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * This is {@link HazelcastThrottledSubmissionCountersRepository} that keeps failure counters
+ * in a distributed Hazelcast map, keyed by time bucket. Counters are added on the member
+ * that owns the bucket, so concurrent contributions of CAS nodes are never lost.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class HazelcastThrottledSubmissionCountersRepository implements ThrottledSubmissionCountersRepository {
+
+    private final IMap<Long, long[]> counters;
+
+    /**
+     * Instantiates a new repository.
+     *
+     * @param hazelcastInstance the hazelcast instance
+     * @param mapName           the name of the map that holds counters
+     */
+    public HazelcastThrottledSubmissionCountersRepository(final HazelcastInstance hazelcastInstance, final String mapName) {
+        this.counters = hazelcastInstance.getMap(mapName);
+    }
+
+    @Override
+    public void add(final long bucket, final long[] delta) {
+        this.counters.executeOnKey(bucket, new AddCountersEntryProcessor(delta));
+    }
+
+    @Override
+    public Map<Long, long[]> get(final Collection<Long> buckets) {
+        return this.counters.getAll(new HashSet<>(buckets));
+    }
+
+    @Override
+    public void remove(final long bucket) {
+        this.counters.delete(bucket);
+    }
+
+    /**
+     * Adds counters to the counters of a bucket, element-wise.
+     */
+    private static class AddCountersEntryProcessor extends AbstractEntryProcessor<Long, long[]> {
+        private static final long serialVersionUID = -2727003924758542427L;
+
+        private final long[] delta;
+
+        AddCountersEntryProcessor(final long[] delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        public Object process(final Map.Entry<Long, long[]> entry) {
+            final long[] current = entry.getValue();
+            final long[] sum = current == null || current.length != this.delta.length
+                    ? new long[this.delta.length] : current.clone();
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += this.delta[i];
+            }
+            entry.setValue(sum);
+            return null;
+        }
+    }
+}
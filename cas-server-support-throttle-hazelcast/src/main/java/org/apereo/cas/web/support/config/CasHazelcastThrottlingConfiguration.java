@@ -0,0 +1,59 @@
+package org.apereo.cas.web.support.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
+import org.apereo.cas.web.support.DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.DistributedThrottledSubmissionSynchronizer;
+import org.apereo.cas.web.support.HazelcastThrottledSubmissionCountersRepository;
+import org.apereo.cas.web.support.ThrottledSubmissionCountersRepository;
+import org.apereo.cas.web.support.ThrottledSubmissionSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasHazelcastThrottlingConfiguration}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+@Configuration("casHazelcastThrottlingConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasHazelcastThrottlingConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Autowired
+    @Qualifier("hazelcast")
+    private HazelcastInstance hazelcastInstance;
+
+    @Bean
+    public ThrottledSubmissionCountersRepository hazelcastThrottledSubmissionCountersRepository() {
+        return new HazelcastThrottledSubmissionCountersRepository(this.hazelcastInstance,
+                casProperties.getAuthn().getThrottle().getDistributed().getMapName());
+    }
+
+    @Bean(name = {"distributedIpAddressUsernameThrottle", "authenticationThrottle"})
+    public DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter distributedIpAddressUsernameThrottle() {
+        final ThrottleProperties throttle = casProperties.getAuthn().getThrottle();
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter bean =
+                new DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
+                        hazelcastThrottledSubmissionCountersRepository(),
+                        new ThrottledSubmissionSketch(throttle.getDistributed().getSketchDepth(),
+                                throttle.getDistributed().getSketchWidth()),
+                        throttle.getDistributed().getBucketsPerRange());
+        bean.setUsernameParameter(throttle.getUsernameParameter());
+        bean.setFailureThreshold(throttle.getFailure().getThreshold());
+        bean.setFailureRangeInSeconds(throttle.getFailure().getRangeSeconds());
+        return bean;
+    }
+
+    @Bean
+    public Runnable distributedThrottleSynchronizer() {
+        return new DistributedThrottledSubmissionSynchronizer(distributedIpAddressUsernameThrottle());
+    }
+}
@@ -0,0 +1,64 @@
+package org.apereo.cas.web.support;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastThrottledSubmissionCountersRepositoryTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class HazelcastThrottledSubmissionCountersRepositoryTests {
+
+    private static HazelcastInstance hazelcastInstance;
+
+    @BeforeClass
+    public static void setUp() {
+        final Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void verifyCountersAreAdded() throws Exception {
+        final HazelcastThrottledSubmissionCountersRepository repository =
+                new HazelcastThrottledSubmissionCountersRepository(hazelcastInstance, "counters-add");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> repository.add(10, new long[]{1, 2, 0}));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        final Map<Long, long[]> counters = repository.get(Arrays.asList(10L, 11L));
+        assertEquals(1, counters.size());
+        assertArrayEquals(new long[]{100, 200, 0}, counters.get(10L));
+    }
+
+    @Test
+    public void verifyCountersAreRemoved() {
+        final HazelcastThrottledSubmissionCountersRepository repository =
+                new HazelcastThrottledSubmissionCountersRepository(hazelcastInstance, "counters-remove");
+        repository.add(10, new long[]{1});
+        repository.remove(10);
+        assertTrue(repository.get(Arrays.asList(10L)).isEmpty());
+    }
+}
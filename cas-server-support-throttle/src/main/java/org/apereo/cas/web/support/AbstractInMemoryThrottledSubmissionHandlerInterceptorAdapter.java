@@ -1,17 +1,14 @@
 package org.apereo.cas.web.support;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.Iterator;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
  * of IP Addresses to number of failures to authenticate.
+ * <p>
+ * Failures are tracked by {@link ThrottledSubmissionTokenBuckets}, which holds a token bucket
+ * per key in a fixed amount of memory.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -20,51 +17,50 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
         extends AbstractThrottledSubmissionHandlerInterceptorAdapter
         implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+    private int capacity = ThrottledSubmissionTokenBuckets.DEFAULT_CAPACITY;
 
-    private ConcurrentMap<String, ZonedDateTime> ipMap = new ConcurrentHashMap<>();
+    private int burst = 1;
+
+    private ThrottledSubmissionTokenBuckets buckets;
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        final long emissionInterval = Math.round(TimeUnit.SECONDS.toMillis(1) / getThresholdRate());
+        this.buckets = new ThrottledSubmissionTokenBuckets(this.capacity, emissionInterval, this.burst);
+        logger.debug("Tracking failures in {} buckets, each refilling every {} ms and holding {} failure(s)",
+                this.buckets.getCapacity(), emissionInterval, this.burst);
+    }
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        final ZonedDateTime last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        return this.buckets.exceedsThreshold(constructKey(request), System.currentTimeMillis());
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
-        this.ipMap.put(constructKey(request), ZonedDateTime.now(ZoneOffset.UTC));
+        this.buckets.recordSubmissionFailure(constructKey(request), System.currentTimeMillis());
     }
     
     /**
-     * This class relies on an external configuration to clean it up.
-     * It ignores the threshold data in the parent class.
+     * Release the buckets that have refilled.
+     * Memory is bounded regardless, so this only makes slots available ahead of time.
      */
     @Override
     public void decrement() {
         logger.info("Beginning audit cleanup...");
-
-        final Set<Entry<String, ZonedDateTime>> keys = this.ipMap.entrySet();
-        logger.debug("Decrementing counts for throttler.  Starting key count: {}", keys.size());
-
-        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
-        for (final Iterator<Entry<String, ZonedDateTime>> iter = keys.iterator(); iter.hasNext();) {
-            final Entry<String, ZonedDateTime> entry = iter.next();
-            if (submissionRate(now, entry.getValue()) < getThresholdRate()) {
-                logger.trace("Removing entry for key {}", entry.getKey());
-                iter.remove();
-            }
-        }
+        final long now = System.currentTimeMillis();
+        final int released = this.buckets.release(now);
+        logger.debug("Released {} bucket(s) for throttler. {} of {} bucket(s) remain in use, {} evicted so far",
+                released, this.buckets.size(now), this.buckets.getCapacity(), this.buckets.getEvictions());
         logger.debug("Done decrementing count for throttler.");
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setBurst(final int burst) {
+        this.burst = burst;
     }
 }
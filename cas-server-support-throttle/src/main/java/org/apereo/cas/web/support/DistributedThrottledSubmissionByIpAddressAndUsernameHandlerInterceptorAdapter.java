@@ -0,0 +1,315 @@
+package org.apereo.cas.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Throttles failed logins by IP address and username across all nodes of a CAS cluster.
+ * If no username is submitted, failed logins are throttled by IP address.
+ * <p>
+ * The failure range is divided into time buckets, and failures of each bucket are counted
+ * by a count-min sketch. Failures are recorded locally, without a round-trip to a shared store.
+ * Periodically, each node adds the failures it has recorded since to the counters held by
+ * {@link ThrottledSubmissionCountersRepository}, and fetches the counters of the whole cluster.
+ * The oldest bucket is weighted by the portion of it that still falls within the range,
+ * which approximates a sliding window.
+ * <p>
+ * Sketches may overestimate, but never underestimate, the failures of a key, so a submission is
+ * throttled once its estimated number of failures reaches the failure threshold. Submissions are
+ * decided from counters held by this node alone; the repository is never reached on the login path.
+ * If the repository is unavailable, the counters of the cluster last fetched are kept, along with
+ * the failures recorded by this node since. Sketches should be wide enough for the failures expected
+ * within the range, and a warning is logged when the expected overestimate reaches the threshold.
+ * <p>
+ * Failures recorded by other nodes are visible once both nodes have synchronized. Nodes are
+ * expected to keep their clocks synchronized, as buckets are aligned on the epoch.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter
+        extends AbstractThrottledSubmissionHandlerInterceptorAdapter {
+
+    private final ThrottledSubmissionCountersRepository repository;
+
+    private final ThrottledSubmissionSketch sketch;
+
+    private final int bucketsPerRange;
+
+    private long bucketDuration;
+
+    private Bucket[] buckets;
+
+    private volatile Map<Long, long[]> remoteCounters = Collections.emptyMap();
+
+    private final Queue<Long> expiredBuckets = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Instantiates a new throttle.
+     *
+     * @param repository      the repository that holds counters of the cluster
+     * @param sketch          the layout of the sketches
+     * @param bucketsPerRange the number of buckets that divide the failure range
+     */
+    public DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
+            final ThrottledSubmissionCountersRepository repository, final ThrottledSubmissionSketch sketch,
+            final int bucketsPerRange) {
+        this.repository = repository;
+        this.sketch = sketch;
+        this.bucketsPerRange = Math.max(bucketsPerRange, 1);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        this.bucketDuration = Math.max(TimeUnit.SECONDS.toMillis(getFailureRangeInSeconds()) / this.bucketsPerRange, 1);
+        this.buckets = new Bucket[this.bucketsPerRange + 1];
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new Bucket(this.sketch.size());
+        }
+        logger.debug("Counting failures in {} buckets of {} ms, with sketches of {} counters",
+                this.bucketsPerRange, this.bucketDuration, this.sketch.size());
+    }
+
+    /**
+     * Construct key to be used by the throttling agent to track requests.
+     *
+     * @param request the request
+     * @return the key
+     */
+    public String constructKey(final HttpServletRequest request) {
+        final String ipAddress = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        final String username = StringUtils.isBlank(getUsernameParameter()) ? null : request.getParameter(getUsernameParameter());
+        if (StringUtils.isBlank(username)) {
+            return ipAddress;
+        }
+        return ipAddress + ';' + username.toLowerCase();
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        final String key = constructKey(request);
+        final long now = System.currentTimeMillis();
+        return estimate(key, now) >= getFailureThreshold();
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        final long now = System.currentTimeMillis();
+        final long epoch = now / this.bucketDuration;
+        Bucket bucket = bucketFor(epoch);
+        if (bucket == null) {
+            logger.debug("Clock is behind bucket {}, which counts the failure instead", epoch);
+            bucket = this.buckets[(int) (epoch % this.buckets.length)];
+        }
+        final String key = constructKey(request);
+        for (final int index : this.sketch.indexes(key)) {
+            bucket.counters.incrementAndGet(index);
+        }
+    }
+
+    /**
+     * Contribute failures recorded by this node to the counters of the cluster,
+     * and fetch the counters of the cluster. Counters of buckets that have expired are removed.
+     * Failures to reach the repository are logged, and the counters of the cluster last fetched
+     * are kept until the repository is available again.
+     */
+    public void synchronize() {
+        final long now = System.currentTimeMillis();
+        final long current = now / this.bucketDuration;
+        final List<Long> epochs = new ArrayList<>();
+        final Map<Long, long[]> published = new HashMap<>();
+        try {
+            for (long epoch = current - this.bucketsPerRange; epoch <= current; epoch++) {
+                final Bucket bucket = bucketFor(epoch);
+                if (bucket == null) {
+                    continue;
+                }
+                final long[] delta = bucket.delta(epoch);
+                if (delta != null) {
+                    this.repository.add(epoch, delta);
+                    bucket.markPublished(epoch, delta);
+                }
+                final long[] own = bucket.published(epoch);
+                if (own != null) {
+                    epochs.add(epoch);
+                    published.put(epoch, own);
+                }
+            }
+
+            final Map<Long, long[]> totals = this.repository.get(epochs);
+            final Map<Long, long[]> remote = new HashMap<>(totals.size());
+            totals.forEach((epoch, counters) -> {
+                final long[] own = published.get(epoch);
+                final long[] others = new long[this.sketch.size()];
+                for (int i = 0; i < others.length && i < counters.length; i++) {
+                    others[i] = Math.max(counters[i] - (own == null ? 0 : own[i]), 0);
+                }
+                remote.put(epoch, others);
+            });
+            this.remoteCounters = remote;
+        } catch (final Exception e) {
+            logger.warn("Failure counters of the cluster could not be synchronized: {}", e.getMessage());
+            logger.debug(e.getMessage(), e);
+        }
+        warnIfSaturated(current);
+        removeExpiredBuckets();
+    }
+
+    /**
+     * Does nothing. Counters are synchronized with the cluster by {@link DistributedThrottledSubmissionSynchronizer},
+     * and expired buckets are discarded as the window slides.
+     */
+    @Override
+    public void decrement() {
+    }
+
+    @Override
+    public String getName() {
+        return "distributedIpAddressUsernameThrottle";
+    }
+
+    private double estimate(final String key, final long now) {
+        final long current = now / this.bucketDuration;
+        final double oldestWeight = 1.0 - (double) (now % this.bucketDuration) / this.bucketDuration;
+        final Map<Long, long[]> remote = this.remoteCounters;
+        double estimate = Double.MAX_VALUE;
+        for (final int index : this.sketch.indexes(key)) {
+            double count = 0;
+            for (long epoch = current - this.bucketsPerRange; epoch <= current; epoch++) {
+                final Bucket bucket = this.buckets[(int) (epoch % this.buckets.length)];
+                long value = bucket.epoch == epoch ? bucket.counters.get(index) : 0;
+                final long[] others = remote.get(epoch);
+                if (others != null) {
+                    value += others[index];
+                }
+                count += epoch == current - this.bucketsPerRange ? value * oldestWeight : value;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    /**
+     * Warn if the sketches are too narrow for the failures counted within the range.
+     * Each failure increments one counter per row, so the failures of a bucket are the sum
+     * of any row, and a key is expected to be overestimated by about {@code e * failures / width}.
+     *
+     * @param current the current bucket
+     */
+    private void warnIfSaturated(final long current) {
+        final Map<Long, long[]> remote = this.remoteCounters;
+        long failures = 0;
+        for (long epoch = current - this.bucketsPerRange; epoch <= current; epoch++) {
+            final Bucket bucket = this.buckets[(int) (epoch % this.buckets.length)];
+            final long[] others = remote.get(epoch);
+            for (int i = 0; i < this.sketch.getWidth(); i++) {
+                failures += (bucket.epoch == epoch ? bucket.counters.get(i) : 0) + (others == null ? 0 : others[i]);
+            }
+        }
+        final double overestimate = Math.E * failures / this.sketch.getWidth();
+        if (overestimate >= getFailureThreshold()) {
+            logger.warn("{} failures within the range may overestimate the failures of any key by {}, which reaches the threshold of {}. "
+                    + "Increase the width of the sketch.", failures, (long) overestimate, getFailureThreshold());
+        }
+    }
+
+    private void removeExpiredBuckets() {
+        Long epoch = this.expiredBuckets.poll();
+        while (epoch != null) {
+            try {
+                this.repository.remove(epoch);
+            } catch (final Exception e) {
+                logger.debug("Failure counters of bucket {} could not be removed: {}", epoch, e.getMessage());
+                this.expiredBuckets.add(epoch);
+                return;
+            }
+            epoch = this.expiredBuckets.poll();
+        }
+    }
+
+    private Bucket bucketFor(final long epoch) {
+        final Bucket bucket = this.buckets[(int) (epoch % this.buckets.length)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch > epoch) {
+                    return null;
+                }
+                if (bucket.epoch < epoch) {
+                    final long expired = bucket.epoch;
+                    bucket.reset(epoch);
+                    if (expired >= 0) {
+                        this.expiredBuckets.add(expired);
+                    }
+                }
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Failures counted by this node during a time bucket, along with the portion already published.
+     * As buckets are reused once they expire, publishing is tied to the epoch the delta was taken for,
+     * and is ignored once the bucket has moved on.
+     */
+    private static class Bucket {
+        private final AtomicLongArray counters;
+
+        private long[] published;
+
+        private volatile long epoch = -1;
+
+        Bucket(final int size) {
+            this.counters = new AtomicLongArray(size);
+            this.published = new long[size];
+        }
+
+        synchronized void reset(final long newEpoch) {
+            for (int i = 0; i < this.counters.length(); i++) {
+                this.counters.set(i, 0);
+            }
+            this.published = new long[this.counters.length()];
+            this.epoch = newEpoch;
+        }
+
+        synchronized long[] delta(final long expectedEpoch) {
+            if (this.epoch != expectedEpoch) {
+                return null;
+            }
+            boolean changed = false;
+            final long[] delta = new long[this.counters.length()];
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = this.counters.get(i) - this.published[i];
+                changed |= delta[i] != 0;
+            }
+            return changed ? delta : null;
+        }
+
+        synchronized void markPublished(final long expectedEpoch, final long[] delta) {
+            if (this.epoch != expectedEpoch) {
+                return;
+            }
+            for (int i = 0; i < delta.length; i++) {
+                this.published[i] += delta[i];
+            }
+        }
+
+        synchronized long[] published(final long expectedEpoch) {
+            if (this.epoch != expectedEpoch) {
+                return null;
+            }
+            return this.published.clone();
+        }
+    }
+}
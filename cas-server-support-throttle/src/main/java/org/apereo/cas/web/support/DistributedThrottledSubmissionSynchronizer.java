@@ -0,0 +1,30 @@
+package org.apereo.cas.web.support;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * This is {@link DistributedThrottledSubmissionSynchronizer} that periodically
+ * synchronizes the failure counters of a distributed throttle with the cluster.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class DistributedThrottledSubmissionSynchronizer implements Runnable {
+
+    private final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttlingAdapter;
+
+    public DistributedThrottledSubmissionSynchronizer(
+            final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttlingAdapter) {
+        this.throttlingAdapter = throttlingAdapter;
+    }
+
+    /**
+     * Kicks off the job that synchronizes failure counters.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${cas.authn.throttle.startDelay:10000}",
+            fixedDelayString = "${cas.authn.throttle.distributed.synchronizeInterval:2000}")
+    public void run() {
+        this.throttlingAdapter.synchronize();
+    }
+}
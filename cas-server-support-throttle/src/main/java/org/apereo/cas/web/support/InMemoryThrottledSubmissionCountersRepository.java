@@ -0,0 +1,47 @@
+package org.apereo.cas.web.support;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionCountersRepository} that keeps counters
+ * in memory. It is only shared by the throttles of a single CAS node.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class InMemoryThrottledSubmissionCountersRepository implements ThrottledSubmissionCountersRepository {
+
+    private final ConcurrentMap<Long, long[]> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(final long bucket, final long[] delta) {
+        this.counters.merge(bucket, delta.clone(), (current, added) -> {
+            final long[] sum = current.clone();
+            for (int i = 0; i < sum.length && i < added.length; i++) {
+                sum[i] += added[i];
+            }
+            return sum;
+        });
+    }
+
+    @Override
+    public Map<Long, long[]> get(final Collection<Long> buckets) {
+        final Map<Long, long[]> results = new HashMap<>();
+        buckets.forEach(b -> {
+            final long[] value = this.counters.get(b);
+            if (value != null) {
+                results.put(b, value.clone());
+            }
+        });
+        return results;
+    }
+
+    @Override
+    public void remove(final long bucket) {
+        this.counters.remove(bucket);
+    }
+}
@@ -0,0 +1,38 @@
+package org.apereo.cas.web.support;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link ThrottledSubmissionCountersRepository} that holds the failure counters
+ * of all CAS nodes in a shared store. Counters are arrays of equal length, kept per time bucket,
+ * and are summed element-wise as nodes contribute to them.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public interface ThrottledSubmissionCountersRepository {
+
+    /**
+     * Add counters to the counters of the bucket.
+     *
+     * @param bucket   the time bucket
+     * @param counters the counters to add
+     */
+    void add(long bucket, long[] counters);
+
+    /**
+     * Get the counters of the given buckets.
+     *
+     * @param buckets the time buckets
+     * @return the counters, keyed by bucket; buckets with no counters are omitted
+     */
+    Map<Long, long[]> get(Collection<Long> buckets);
+
+    /**
+     * Remove the counters of a bucket that is no longer used.
+     *
+     * @param bucket the time bucket
+     */
+    void remove(long bucket);
+}
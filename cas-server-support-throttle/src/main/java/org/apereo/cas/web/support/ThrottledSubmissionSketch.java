@@ -0,0 +1,78 @@
+package org.apereo.cas.web.support;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is {@link ThrottledSubmissionSketch} that describes the layout of a count-min sketch
+ * of failed submissions. A sketch is a flat array of {@code depth} rows of {@code width} counters.
+ * Each key increments one counter per row, and the count of a key is estimated as the smallest
+ * of its counters; estimates may exceed but never fall below the actual count.
+ * <p>
+ * Counters are located with a fixed hash function, so that sketches built by different
+ * CAS nodes with the same layout can be summed element-wise.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ThrottledSubmissionSketch {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final int depth;
+
+    private final int width;
+
+    /**
+     * Instantiates a new sketch layout.
+     *
+     * @param depth the number of rows
+     * @param width the number of counters per row
+     */
+    public ThrottledSubmissionSketch(final int depth, final int width) {
+        this.depth = Math.max(depth, 1);
+        this.width = Math.max(width, 1);
+    }
+
+    /**
+     * Number of counters in a sketch.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.depth * this.width;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Locate the counters of the key, one per row.
+     *
+     * @param key the key
+     * @return the positions of the counters in the sketch
+     */
+    public int[] indexes(final String key) {
+        final HashCode hash = HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8);
+        final byte[] bytes = hash.asBytes();
+        final long h1 = hash.asLong();
+        long h2 = 0;
+        for (int i = Long.BYTES; i < bytes.length; i++) {
+            h2 = (h2 << Byte.SIZE) | (bytes[i] & 0xFF);
+        }
+        final int[] indexes = new int[this.depth];
+        for (int row = 0; row < this.depth; row++) {
+            final long combined = h1 + row * h2;
+            indexes[row] = row * this.width + (int) ((combined & Long.MAX_VALUE) % this.width);
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,184 @@
+package org.apereo.cas.web.support;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link ThrottledSubmissionTokenBuckets} that tracks failed submissions per key
+ * in a fixed amount of memory.
+ * <p>
+ * Each key is assigned a token bucket that refills at the threshold rate and holds up to the
+ * configured burst of failures. A bucket is stored as its theoretical arrival time, which is the
+ * time at which the bucket will have fully refilled; a submission exceeds the threshold if the
+ * bucket has no room left for another failure. With a burst of one, a submission is throttled
+ * if it follows the previous failure faster than the threshold rate allows.
+ * <p>
+ * Buckets live in a pair of primitive arrays of fixed capacity, indexed by a seeded 64-bit
+ * fingerprint of the key, and are updated with compare-and-set operations. Keys probe a bounded
+ * number of slots; once those slots are taken, the bucket closest to being refilled is evicted.
+ * Buckets that have refilled carry no state and are reused first, so memory remains bounded
+ * regardless of the number of distinct keys, and no periodic sweep is required.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ThrottledSubmissionTokenBuckets {
+    /**
+     * Default number of buckets.
+     */
+    public static final int DEFAULT_CAPACITY = 100000;
+
+    private static final int PROBES = 8;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final HashFunction hashFunction = Hashing.murmur3_128(new SecureRandom().nextInt());
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final AtomicLongArray fingerprints;
+
+    private final AtomicLongArray arrivalTimes;
+
+    private final int mask;
+
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    /**
+     * Instantiates new buckets.
+     *
+     * @param capacity         the number of buckets, rounded up to a power of two
+     * @param emissionInterval the time it takes for a bucket to refill by one failure, in milliseconds
+     * @param burst            the number of failures a bucket holds
+     */
+    public ThrottledSubmissionTokenBuckets(final int capacity, final long emissionInterval, final int burst) {
+        final int size = Integer.highestOneBit(Math.max(Math.min(capacity, MAXIMUM_CAPACITY), PROBES) - 1) << 1;
+        this.fingerprints = new AtomicLongArray(size);
+        this.arrivalTimes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionInterval = Math.max(emissionInterval, 1);
+        this.burstTolerance = this.emissionInterval * (Math.max(burst, 1) - 1);
+    }
+
+    /**
+     * Determine whether another failure for the key would exceed the threshold.
+     *
+     * @param key the key
+     * @param now the current time, in milliseconds
+     * @return true if the submission should be throttled
+     */
+    public boolean exceedsThreshold(final String key, final long now) {
+        final long fingerprint = fingerprint(key);
+        for (int i = 0; i < PROBES; i++) {
+            final int index = (slot(fingerprint) + i) & this.mask;
+            if (this.fingerprints.get(index) == fingerprint) {
+                return this.arrivalTimes.get(index) - now > this.burstTolerance;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Record a failed submission for the key.
+     *
+     * @param key the key
+     * @param now the current time, in milliseconds
+     */
+    public void recordSubmissionFailure(final String key, final long now) {
+        final long fingerprint = fingerprint(key);
+        int victim = -1;
+        long victimFingerprint = 0;
+        long victimArrivalTime = Long.MAX_VALUE;
+        for (int i = 0; i < PROBES; i++) {
+            final int index = (slot(fingerprint) + i) & this.mask;
+            final long current = this.fingerprints.get(index);
+            if (current == fingerprint) {
+                consume(index, now);
+                return;
+            }
+            final long arrivalTime = current == 0 ? Long.MIN_VALUE : this.arrivalTimes.get(index);
+            if (arrivalTime < victimArrivalTime) {
+                victim = index;
+                victimFingerprint = current;
+                victimArrivalTime = arrivalTime;
+            }
+        }
+        if (this.fingerprints.compareAndSet(victim, victimFingerprint, fingerprint)) {
+            if (victimArrivalTime > now) {
+                this.evictions.increment();
+            }
+            this.arrivalTimes.set(victim, now + this.emissionInterval);
+        }
+    }
+
+    /**
+     * Release buckets that have refilled, so their slots are immediately available.
+     *
+     * @param now the current time, in milliseconds
+     * @return the number of buckets released
+     */
+    public int release(final long now) {
+        int released = 0;
+        for (int i = 0; i < this.fingerprints.length(); i++) {
+            final long fingerprint = this.fingerprints.get(i);
+            if (fingerprint != 0 && this.arrivalTimes.get(i) <= now && this.fingerprints.compareAndSet(i, fingerprint, 0)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Number of buckets that have not refilled yet.
+     *
+     * @param now the current time, in milliseconds
+     * @return the size
+     */
+    public int size(final long now) {
+        int size = 0;
+        for (int i = 0; i < this.fingerprints.length(); i++) {
+            if (this.fingerprints.get(i) != 0 && this.arrivalTimes.get(i) > now) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return this.fingerprints.length();
+    }
+
+    /**
+     * Number of buckets that were evicted before they refilled, to make room for other keys.
+     *
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private void consume(final int index, final long now) {
+        long arrivalTime;
+        long next;
+        do {
+            arrivalTime = this.arrivalTimes.get(index);
+            next = Math.min(Math.max(arrivalTime, now) + this.emissionInterval, now + this.burstTolerance + this.emissionInterval);
+        } while (!this.arrivalTimes.compareAndSet(index, arrivalTime, next));
+    }
+
+    private long fingerprint(final String key) {
+        final long fingerprint = this.hashFunction.hashString(key, StandardCharsets.UTF_8).asLong();
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private int slot(final long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & this.mask;
+    }
+}
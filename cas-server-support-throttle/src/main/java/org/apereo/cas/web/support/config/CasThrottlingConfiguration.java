@@ -77,6 +77,8 @@ public class CasThrottlingConfiguration {
 
     private ThrottledSubmissionHandlerInterceptor
     configureInMemoryInterceptorAdaptor(final AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter interceptorAdapter) {
+        interceptorAdapter.setCapacity(casProperties.getAuthn().getThrottle().getCapacity());
+        interceptorAdapter.setBurst(casProperties.getAuthn().getThrottle().getFailure().getBurst());
         return configureThrottleHandlerInterceptorAdaptor(interceptorAdapter);
     }
 
@@ -11,7 +11,9 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
-        InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class
+        InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
+        ThrottledSubmissionTokenBucketsTests.class,
+        DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,219 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests {
+
+    private static final String IP_ADDRESS = "1.2.3.4";
+
+    private InMemoryThrottledSubmissionCountersRepository repository;
+
+    private DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter node1;
+
+    private DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter node2;
+
+    @Before
+    public void setUp() {
+        ClientInfoHolder.setClientInfo(new ClientInfo(IP_ADDRESS, IP_ADDRESS));
+        this.repository = new InMemoryThrottledSubmissionCountersRepository();
+        this.node1 = newThrottle(this.repository);
+        this.node2 = newThrottle(this.repository);
+    }
+
+    @After
+    public void tearDown() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyThrottleOnSingleNode() {
+        for (int i = 0; i < 5; i++) {
+            assertFalse(this.node1.exceedsThreshold(request("casuser")));
+            this.node1.recordSubmissionFailure(request("casuser"));
+        }
+        assertTrue(this.node1.exceedsThreshold(request("casuser")));
+        assertFalse(this.node1.exceedsThreshold(request("other")));
+    }
+
+    @Test
+    public void verifyThrottleAcrossNodes() {
+        for (int i = 0; i < 3; i++) {
+            this.node1.recordSubmissionFailure(request("casuser"));
+        }
+        for (int i = 0; i < 2; i++) {
+            this.node2.recordSubmissionFailure(request("casuser"));
+        }
+        assertFalse(this.node1.exceedsThreshold(request("casuser")));
+        assertFalse(this.node2.exceedsThreshold(request("casuser")));
+
+        this.node1.synchronize();
+        this.node2.synchronize();
+        assertTrue(this.node2.exceedsThreshold(request("casuser")));
+        this.node1.synchronize();
+        assertTrue(this.node1.exceedsThreshold(request("casuser")));
+    }
+
+    @Test
+    public void verifyFailuresAreNotCountedTwice() {
+        for (int i = 0; i < 4; i++) {
+            this.node1.recordSubmissionFailure(request("casuser"));
+        }
+        this.node1.synchronize();
+        this.node1.synchronize();
+        assertFalse(this.node1.exceedsThreshold(request("casuser")));
+    }
+
+    @Test
+    public void verifyUnavailableRepositoryFallsBackToLocalCounters() {
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttle =
+                newThrottle(new ThrottledSubmissionCountersRepository() {
+                    @Override
+                    public void add(final long bucket, final long[] counters) {
+                        throw new IllegalStateException("Unavailable");
+                    }
+
+                    @Override
+                    public Map<Long, long[]> get(final Collection<Long> buckets) {
+                        throw new IllegalStateException("Unavailable");
+                    }
+
+                    @Override
+                    public void remove(final long bucket) {
+                        throw new IllegalStateException("Unavailable");
+                    }
+                });
+        for (int i = 0; i < 5; i++) {
+            throttle.recordSubmissionFailure(request("casuser"));
+            throttle.synchronize();
+        }
+        assertTrue(throttle.exceedsThreshold(request("casuser")));
+    }
+
+    @Test
+    public void verifyRepositoryOutageKeepsCountersOfCluster() {
+        final AtomicBoolean available = new AtomicBoolean(true);
+        final ThrottledSubmissionCountersRepository outage = new ThrottledSubmissionCountersRepository() {
+            @Override
+            public void add(final long bucket, final long[] counters) {
+                check();
+                repository.add(bucket, counters);
+            }
+
+            @Override
+            public Map<Long, long[]> get(final Collection<Long> buckets) {
+                check();
+                return repository.get(buckets);
+            }
+
+            @Override
+            public void remove(final long bucket) {
+                check();
+                repository.remove(bucket);
+            }
+
+            private void check() {
+                if (!available.get()) {
+                    throw new IllegalStateException("Unavailable");
+                }
+            }
+        };
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttle1 = newThrottle(outage);
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttle2 = newThrottle(outage);
+        for (int i = 0; i < 5; i++) {
+            throttle2.recordSubmissionFailure(request("casuser"));
+        }
+        throttle2.synchronize();
+        throttle1.synchronize();
+        assertTrue(throttle1.exceedsThreshold(request("casuser")));
+
+        available.set(false);
+        throttle1.synchronize();
+        assertTrue(throttle1.exceedsThreshold(request("casuser")));
+        assertFalse(throttle1.exceedsThreshold(request("other")));
+    }
+
+    @Test
+    public void verifyFloodOfDistinctKeysDoesNotThrottleOtherKeys() {
+        final ThrottledSubmissionSketch sketch = new ThrottledSubmissionSketch(4, 2048);
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter attacked = newThrottle(this.repository, sketch);
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter other = newThrottle(this.repository, sketch);
+        for (int i = 0; i < 1000; i++) {
+            attacked.recordSubmissionFailure(request("user" + i));
+        }
+        for (int i = 0; i < 5; i++) {
+            attacked.recordSubmissionFailure(request("casuser"));
+        }
+        attacked.synchronize();
+        other.synchronize();
+
+        assertFalse(attacked.exceedsThreshold(request("unrelated")));
+        assertFalse(other.exceedsThreshold(request("unrelated")));
+        assertFalse(other.exceedsThreshold(request("user1")));
+        assertTrue(attacked.exceedsThreshold(request("casuser")));
+        assertTrue(other.exceedsThreshold(request("casuser")));
+    }
+
+    @Test
+    public void verifyClockSteppedBackKeepsCountingFailures() {
+        final Object[] buckets = (Object[]) ReflectionTestUtils.getField(this.node1, "buckets");
+        for (final Object bucket : buckets) {
+            ReflectionTestUtils.setField(bucket, "epoch", Long.MAX_VALUE);
+        }
+        for (int i = 0; i < 5; i++) {
+            this.node1.recordSubmissionFailure(request("casuser"));
+        }
+        this.node1.synchronize();
+
+        long failures = 0;
+        for (final Object bucket : buckets) {
+            final AtomicLongArray counters = (AtomicLongArray) ReflectionTestUtils.getField(bucket, "counters");
+            for (int i = 0; i < 256; i++) {
+                failures += counters.get(i);
+            }
+        }
+        assertEquals(5, failures);
+    }
+
+    private static DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter newThrottle(
+            final ThrottledSubmissionCountersRepository repository) {
+        return newThrottle(repository, new ThrottledSubmissionSketch(4, 256));
+    }
+
+    private static DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter newThrottle(
+            final ThrottledSubmissionCountersRepository repository, final ThrottledSubmissionSketch sketch) {
+        final DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttle =
+                new DistributedThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(repository, sketch, 6);
+        throttle.setUsernameParameter("username");
+        throttle.setFailureThreshold(5);
+        throttle.setFailureRangeInSeconds(60);
+        throttle.afterPropertiesSet();
+        return throttle;
+    }
+
+    private static MockHttpServletRequest request(final String username) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setParameter("username", username);
+        request.setRemoteAddr(IP_ADDRESS);
+        return request;
+    }
+}
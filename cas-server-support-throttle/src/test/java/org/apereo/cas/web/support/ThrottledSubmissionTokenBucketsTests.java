@@ -0,0 +1,74 @@
+package org.apereo.cas.web.support;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ThrottledSubmissionTokenBucketsTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class ThrottledSubmissionTokenBucketsTests {
+
+    private static final long INTERVAL = 600;
+
+    @Test
+    public void verifyFailuresBelowRateAreAllowed() {
+        final ThrottledSubmissionTokenBuckets buckets = new ThrottledSubmissionTokenBuckets(16, INTERVAL, 1);
+        long now = 1000;
+        for (int i = 0; i < 5; i++) {
+            assertFalse(buckets.exceedsThreshold("key", now));
+            buckets.recordSubmissionFailure("key", now);
+            now += INTERVAL;
+        }
+    }
+
+    @Test
+    public void verifyFailuresAboveRateAreThrottled() {
+        final ThrottledSubmissionTokenBuckets buckets = new ThrottledSubmissionTokenBuckets(16, INTERVAL, 1);
+        buckets.recordSubmissionFailure("key", 1000);
+        assertTrue(buckets.exceedsThreshold("key", 1200));
+        assertFalse(buckets.exceedsThreshold("other", 1200));
+        assertFalse(buckets.exceedsThreshold("key", 1000 + INTERVAL));
+    }
+
+    @Test
+    public void verifyBurstIsAllowed() {
+        final ThrottledSubmissionTokenBuckets buckets = new ThrottledSubmissionTokenBuckets(16, INTERVAL, 3);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(buckets.exceedsThreshold("key", 1000));
+            buckets.recordSubmissionFailure("key", 1000);
+        }
+        assertTrue(buckets.exceedsThreshold("key", 1000));
+        assertFalse(buckets.exceedsThreshold("key", 1000 + INTERVAL));
+    }
+
+    @Test
+    public void verifyMemoryIsBounded() {
+        final ThrottledSubmissionTokenBuckets buckets = new ThrottledSubmissionTokenBuckets(1000, INTERVAL, 1);
+        assertEquals(1024, buckets.getCapacity());
+        for (int i = 0; i < 100000; i++) {
+            buckets.recordSubmissionFailure("10.0." + (i >> 8) + '.' + (i & 0xFF), 1000 + i);
+        }
+        assertEquals(1024, buckets.getCapacity());
+        assertTrue(buckets.size(100000) <= buckets.getCapacity());
+        assertTrue(buckets.getEvictions() > 0);
+
+        buckets.recordSubmissionFailure("key", 100000);
+        assertTrue(buckets.exceedsThreshold("key", 100001));
+    }
+
+    @Test
+    public void verifyRefilledBucketsAreReleased() {
+        final ThrottledSubmissionTokenBuckets buckets = new ThrottledSubmissionTokenBuckets(16, INTERVAL, 1);
+        buckets.recordSubmissionFailure("key1", 1000);
+        buckets.recordSubmissionFailure("key2", 2000);
+        assertEquals(2, buckets.size(1000));
+        assertEquals(1, buckets.release(1000 + INTERVAL));
+        assertEquals(1, buckets.size(1000 + INTERVAL));
+        assertFalse(buckets.exceedsThreshold("key1", 1000 + INTERVAL));
+        assertTrue(buckets.exceedsThreshold("key2", 2000 + INTERVAL - 1));
+    }
+}
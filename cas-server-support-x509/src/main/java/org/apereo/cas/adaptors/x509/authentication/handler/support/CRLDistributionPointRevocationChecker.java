@@ -3,6 +3,7 @@ package org.apereo.cas.adaptors.x509.authentication.handler.support;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
 import org.apereo.cas.adaptors.x509.util.CertUtils;
@@ -12,8 +13,8 @@ import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.DistributionPointName;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.cryptacular.x509.ExtensionReader;
-import org.springframework.core.io.ByteArrayResource;
 
+import javax.annotation.PreDestroy;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -22,27 +23,53 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Performs CRL-based revocation checking by consulting resources defined in
  * the CRLDistributionPoints extension field on the certificate.  Although RFC
  * 2459 allows the distribution point name to have arbitrary meaning, this class
  * expects the name to define an absolute URL, which is the most common
- * implementation.  This implementation caches CRL resources fetched from remote
+ * implementation.  This implementation caches parsed CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. Cached CRLs are refreshed in the background before they expire, so that
+ * revocation checks only wait for CRLs that are not cached yet.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
  */
 public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
-    
+
+    private static final int DEFAULT_FETCH_THREADS = 4;
+
     private Cache crlCache;
     
     private CRLFetcher fetcher;
 
     private boolean throwOnFetchFailure;
 
+    private int fetchThreads = DEFAULT_FETCH_THREADS;
+
+    private long refreshInterval = TimeUnit.HOURS.toMillis(1);
+
+    private long refreshLeadTime = TimeUnit.MINUTES.toMillis(5);
+
+    private long refreshRetryInterval = TimeUnit.MINUTES.toMillis(1);
+
+    private final ConcurrentMap<URI, CompletableFuture<X509CRL>> pendingFetches = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
     /**
      * Used for serialization and auto wiring.
      */
@@ -93,8 +120,48 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    /**
+     * Sets the number of threads that fetch CRLs.
+     *
+     * @param fetchThreads the number of fetch threads
+     */
+    public void setFetchThreads(final int fetchThreads) {
+        this.fetchThreads = Math.max(fetchThreads, 1);
+    }
+
+    /**
+     * Sets the age after which a cached CRL is fetched again in the background,
+     * even if it does not expire yet.
+     *
+     * @param refreshInterval the refresh interval, in milliseconds
+     */
+    public void setRefreshInterval(final long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Sets how long before its next update a cached CRL is fetched again in the background.
+     *
+     * @param refreshLeadTime the refresh lead time, in milliseconds
+     */
+    public void setRefreshLeadTime(final long refreshLeadTime) {
+        this.refreshLeadTime = refreshLeadTime;
+    }
+
+    /**
+     * Sets the time to wait between attempts to refresh the same CRL.
+     *
+     * @param refreshRetryInterval the refresh retry interval, in milliseconds
+     */
+    public void setRefreshRetryInterval(final long refreshRetryInterval) {
+        this.refreshRetryInterval = refreshRetryInterval;
+    }
+
     /**
      * {@inheritDoc}
+     * <p>
+     * Cached CRLs are returned right away, and are fetched again in the background once they are
+     * due for a refresh. CRLs that are not cached are fetched from all distribution points at once.
      *
      * @see AbstractCRLRevocationChecker#getCRL(X509Certificate)
      */
@@ -117,47 +184,33 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         final URI[] urls = getDistributionPoints(cert);
         logger.debug("Distribution points for {}: {}.", CertUtils.toString(cert), Lists.newArrayList(urls));
         final List<X509CRL> listOfLocations = new ArrayList<>(urls.length);
-        boolean stopFetching = false;
+        final List<URI> missing = new ArrayList<>(urls.length);
 
-        try {
-            for (int index = 0; !stopFetching && index < urls.length; index++) {
-                final URI url = urls[index];
-                final Element item = this.crlCache.get(url);
-
-                if (item != null) {
-                    logger.debug("Found CRL in cache for {}", CertUtils.toString(cert));
-                    final byte[] encodedCrl = (byte[]) item.getObjectValue();
-                    final X509CRL crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                    if (crlFetched != null) {
-                        listOfLocations.add(crlFetched);
-                    } else {
-                        logger.warn("Could fetch X509 CRL for {}. Returned value is null", url);
-                    }
-                } else {
-                    logger.debug("CRL for {} is not cached. Fetching and caching...", CertUtils.toString(cert));
-                    try {
-                        final X509CRL crl = this.fetcher.fetch(url);
-                        if (crl != null) {
-                            logger.info("Success. Caching fetched CRL at {}.", url);
-                            addCRL(url, crl);
-                            listOfLocations.add(crl);
-                        }
-                    } catch (final Exception e) {
-                        logger.error("Error fetching CRL at {}", url, e);
-                        if (this.throwOnFetchFailure) {
-                            throw Throwables.propagate(e);
-                        }
-                    }
-                }
+        for (final URI url : urls) {
+            final CachedX509CRL cached = getCachedCRL(url);
+            if (cached == null) {
+                missing.add(url);
+                continue;
+            }
+            logger.debug("Found CRL in cache for {}", CertUtils.toString(cert));
+            refreshIfNecessary(url, cached);
+            listOfLocations.add(cached);
+            if (!this.checkAll) {
+                logger.debug("CRL fetching is configured to not check all locations.");
+                return listOfLocations;
+            }
+        }
 
-                if (!this.checkAll && !listOfLocations.isEmpty()) {
-                    logger.debug("CRL fetching is configured to not check all locations.");
-                    stopFetching = true;
-                }
+        if (!missing.isEmpty()) {
+            logger.debug("CRLs for {} are not cached. Fetching and caching...", CertUtils.toString(cert));
+            try {
+                listOfLocations.addAll(fetchCRLs(missing));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            } catch (final Exception e) {
+                throw Throwables.propagate(e);
             }
-        } catch (final Exception e) {
-            throw Throwables.propagate(e);
         }
 
         logger.debug("Found {} CRLs", listOfLocations.size());
@@ -172,7 +225,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                 return this.crlCache.remove(id);
             }
 
-            this.crlCache.put(new Element(id, crl.getEncoded()));
+            this.crlCache.put(new Element(id, crl instanceof CachedX509CRL ? crl : new CachedX509CRL(crl)));
             return this.crlCache.get(id) != null;
 
         } catch (final Exception e) {
@@ -181,6 +234,134 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         }
     }
 
+    /**
+     * Stops the threads that fetch CRLs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (this.executor != null) {
+                this.executor.shutdownNow();
+            }
+        }
+    }
+
+    private CachedX509CRL getCachedCRL(final URI url) {
+        final Element item = this.crlCache.get(url);
+        if (item != null && item.getObjectValue() instanceof CachedX509CRL) {
+            return (CachedX509CRL) item.getObjectValue();
+        }
+        return null;
+    }
+
+    /**
+     * Fetch the CRL again once it is older than the refresh interval, or once its next update
+     * is close. Refresh attempts of the same CRL are spaced by the refresh retry interval,
+     * so that a distribution point that is down is not fetched on every check.
+     */
+    private void refreshIfNecessary(final URI url, final CachedX509CRL crl) {
+        final long now = System.currentTimeMillis();
+        final boolean stale = now >= crl.getFetchedAt() + this.refreshInterval;
+        final boolean expiring = crl.getNextUpdate() != null && now >= crl.getNextUpdate().getTime() - this.refreshLeadTime;
+        if ((stale || expiring) && crl.claimRefresh(now, this.refreshRetryInterval)) {
+            logger.debug("Refreshing CRL at {} in the background", url);
+            fetchAsync(url);
+        }
+    }
+
+    /**
+     * Fetch CRLs from all given distribution points at once. Unless all locations are to be checked,
+     * the first CRL that is fetched is returned, and other fetches complete in the background.
+     * Failures are only thrown if they leave the check without the CRLs it needs.
+     */
+    private List<X509CRL> fetchCRLs(final List<URI> urls) throws Exception {
+        final List<CompletableFuture<X509CRL>> futures = urls.stream().map(this::fetchAsync).collect(Collectors.toList());
+        final BlockingQueue<CompletableFuture<X509CRL>> completed = new LinkedBlockingQueue<>();
+        futures.forEach(future -> future.whenComplete((crl, e) -> completed.add(future)));
+
+        final List<X509CRL> crls = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            final CompletableFuture<X509CRL> future = completed.take();
+            try {
+                final X509CRL crl = future.join();
+                if (crl != null) {
+                    crls.add(crl);
+                    if (!this.checkAll) {
+                        logger.debug("CRL fetching is configured to not check all locations.");
+                        break;
+                    }
+                }
+            } catch (final CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null && this.throwOnFetchFailure && (this.checkAll || crls.isEmpty())) {
+            throw Throwables.propagate(failure);
+        }
+        return crls;
+    }
+
+    /**
+     * Fetch the CRL of a distribution point on a fetch thread. Callers that ask for a CRL
+     * that is being fetched already share the pending fetch.
+     */
+    private CompletableFuture<X509CRL> fetchAsync(final URI url) {
+        final CompletableFuture<X509CRL> pending = this.pendingFetches.get(url);
+        if (pending != null) {
+            return pending;
+        }
+        final CompletableFuture<X509CRL> future = new CompletableFuture<>();
+        final CompletableFuture<X509CRL> existing = this.pendingFetches.putIfAbsent(url, future);
+        if (existing != null) {
+            return existing;
+        }
+        final Runnable fetch = () -> {
+            try {
+                future.complete(fetchAndCache(url));
+            } catch (final Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                this.pendingFetches.remove(url, future);
+            }
+        };
+        try {
+            getExecutor().execute(fetch);
+        } catch (final RejectedExecutionException e) {
+            fetch.run();
+        }
+        return future;
+    }
+
+    private X509CRL fetchAndCache(final URI url) throws Exception {
+        try {
+            final X509CRL crl = this.fetcher.fetch(url);
+            if (crl == null) {
+                logger.warn("Could fetch X509 CRL for {}. Returned value is null", url);
+                return null;
+            }
+            final CachedX509CRL cached = new CachedX509CRL(crl);
+            logger.info("Success. Caching fetched CRL at {}.", url);
+            addCRL(url, cached);
+            return cached;
+        } catch (final Exception e) {
+            logger.error("Error fetching CRL at {}", url, e);
+            throw e;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(this.fetchThreads, this.fetchThreads,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("crl-fetcher-%d").setDaemon(true).build());
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+        return this.executor;
+    }
 
     /**
      * Gets the distribution points.
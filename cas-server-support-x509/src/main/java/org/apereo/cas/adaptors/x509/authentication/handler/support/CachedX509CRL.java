@@ -0,0 +1,264 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Principal;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.cert.CRLException;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link CachedX509CRL}, a parsed CRL as kept by the CRL cache.
+ * <p>
+ * Revoked entries are indexed by certificate issuer and serial number, so that looking up
+ * a certificate does not scan the entries of large CRLs. The CRL is serialized in its encoded form
+ * and parsed again once read, so that caches that overflow to disk or replicate entries keep working.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class CachedX509CRL extends X509CRL implements Serializable {
+
+    private static final long serialVersionUID = -4324981627436211658L;
+
+    private transient X509CRL crl;
+
+    private transient Map<X500Principal, Map<BigInteger, X509CRLEntry>> revokedCertificates;
+
+    private transient AtomicLong lastRefreshAttempt;
+
+    private final long fetchedAt;
+
+    /**
+     * Instantiates a new cached CRL.
+     *
+     * @param crl the crl
+     */
+    public CachedX509CRL(final X509CRL crl) {
+        this.fetchedAt = System.currentTimeMillis();
+        initialize(crl);
+    }
+
+    /**
+     * Time the CRL was fetched at.
+     *
+     * @return the time, in milliseconds since the epoch
+     */
+    public long getFetchedAt() {
+        return this.fetchedAt;
+    }
+
+    /**
+     * Claim the refresh of this CRL, unless another refresh was attempted within the given interval.
+     *
+     * @param now           the current time, in milliseconds since the epoch
+     * @param retryInterval the time between refresh attempts, in milliseconds
+     * @return true if the caller should refresh the CRL
+     */
+    public boolean claimRefresh(final long now, final long retryInterval) {
+        final long last = this.lastRefreshAttempt.get();
+        return now - last >= retryInterval && this.lastRefreshAttempt.compareAndSet(last, now);
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        return getRevokedCertificate(getIssuerX500Principal(), serialNumber);
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        return getRevokedCertificate(certificate.getIssuerX500Principal(), certificate.getSerialNumber());
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate certificate) {
+        return certificate instanceof X509Certificate && getRevokedCertificate((X509Certificate) certificate) != null;
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        return this.crl.getRevokedCertificates();
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        return this.crl.getEncoded();
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException, NoSuchAlgorithmException,
+            InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException, NoSuchAlgorithmException,
+            InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final Provider sigProvider) throws CRLException, NoSuchAlgorithmException,
+            InvalidKeyException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public int getVersion() {
+        return this.crl.getVersion();
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.crl.getIssuerDN();
+    }
+
+    @Override
+    public X500Principal getIssuerX500Principal() {
+        return this.crl.getIssuerX500Principal();
+    }
+
+    @Override
+    public Date getThisUpdate() {
+        return this.crl.getThisUpdate();
+    }
+
+    @Override
+    public Date getNextUpdate() {
+        return this.crl.getNextUpdate();
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        return this.crl.getTBSCertList();
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return this.crl.getSignature();
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return this.crl.getSigAlgName();
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return this.crl.getSigAlgOID();
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return this.crl.getSigAlgParams();
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return this.crl.hasUnsupportedCriticalExtension();
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return this.crl.getCriticalExtensionOIDs();
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return this.crl.getNonCriticalExtensionOIDs();
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        return this.crl.getExtensionValue(oid);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof CachedX509CRL) {
+            return this.crl.equals(((CachedX509CRL) other).crl);
+        }
+        return this.crl.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.crl.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.crl.toString();
+    }
+
+    private X509CRLEntry getRevokedCertificate(final X500Principal issuer, final BigInteger serialNumber) {
+        final Map<BigInteger, X509CRLEntry> entries = this.revokedCertificates.get(issuer);
+        return entries == null ? null : entries.get(serialNumber);
+    }
+
+    /**
+     * Index revoked entries. Entries of indirect CRLs name the issuer of the certificate;
+     * other entries are issued by the issuer of the CRL.
+     */
+    private void initialize(final X509CRL x509Crl) {
+        this.crl = x509Crl instanceof CachedX509CRL ? ((CachedX509CRL) x509Crl).crl : x509Crl;
+        this.lastRefreshAttempt = new AtomicLong(this.fetchedAt);
+
+        final Map<X500Principal, Map<BigInteger, X509CRLEntry>> index = new HashMap<>();
+        final Set<? extends X509CRLEntry> entries = this.crl.getRevokedCertificates();
+        if (entries != null) {
+            for (final X509CRLEntry entry : entries) {
+                final X500Principal issuer = entry.getCertificateIssuer() != null
+                        ? entry.getCertificateIssuer() : this.crl.getIssuerX500Principal();
+                index.computeIfAbsent(issuer, k -> new HashMap<>()).put(entry.getSerialNumber(), entry);
+            }
+        }
+        this.revokedCertificates = Collections.unmodifiableMap(index);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        try {
+            final byte[] encoded = this.crl.getEncoded();
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        } catch (final CRLException e) {
+            throw new IOException("Failed to encode CRL of " + getIssuerX500Principal(), e);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final byte[] encoded = new byte[in.readInt()];
+        in.readFully(encoded);
+        try {
+            initialize((X509CRL) CertUtils.getCertificateFactory().generateCRL(new ByteArrayInputStream(encoded)));
+        } catch (final CRLException e) {
+            throw new IOException("Failed to parse cached CRL", e);
+        }
+    }
+}
@@ -44,6 +44,7 @@ import org.springframework.webflow.execution.Action;
 import javax.annotation.PostConstruct;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link X509AuthenticationConfiguration}.
@@ -163,6 +164,9 @@ public class X509AuthenticationConfiguration {
                 new CRLDistributionPointRevocationChecker(this.x509CrlCache, this.x509CrlFetcher);
         c.setCheckAll(casProperties.getAuthn().getX509().isCheckAll());
         c.setThrowOnFetchFailure(casProperties.getAuthn().getX509().isThrowOnFetchFailure());
+        c.setFetchThreads(casProperties.getAuthn().getX509().getCrlFetchThreads());
+        c.setRefreshInterval(TimeUnit.SECONDS.toMillis(casProperties.getAuthn().getX509().getRefreshIntervalSeconds()));
+        c.setRefreshLeadTime(TimeUnit.SECONDS.toMillis(casProperties.getAuthn().getX509().getCrlRefreshLeadTimeSeconds()));
         c.setUnavailableCRLPolicy(x509CrlUnavailableRevocationPolicy);
         c.setExpiredCRLPolicy(x509CrlExpiredRevocationPolicy);
         return c;
@@ -0,0 +1,118 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests caching and background refresh of {@link CRLDistributionPointRevocationChecker}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class CRLDistributionPointRevocationCheckerCacheTests {
+
+    private Cache cache;
+
+    private CRLFetcher fetcher;
+
+    private CRLDistributionPointRevocationChecker checker;
+
+    private X509Certificate certificate;
+
+    private X509CRL crl;
+
+    @Before
+    public void setUp() throws Exception {
+        this.cache = new Cache("crlCache-refresh", 100, false, true, 0, 0);
+        CacheManager.getInstance().addCache(this.cache);
+        this.crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        this.fetcher = mock(CRLFetcher.class);
+        when(this.fetcher.fetch(any(URI.class))).thenReturn(this.crl);
+        this.checker = new CRLDistributionPointRevocationChecker(this.cache, this.fetcher);
+        this.checker.init();
+        this.certificate = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+    }
+
+    @After
+    public void tearDown() {
+        this.checker.shutdown();
+        CacheManager.getInstance().removeCache(this.cache.getName());
+    }
+
+    @Test
+    public void verifyParsedCrlIsCached() throws Exception {
+        final List<X509CRL> crls = this.checker.getCRLs(this.certificate);
+        this.checker.getCRLs(this.certificate);
+
+        verify(this.fetcher, times(1)).fetch(any(URI.class));
+        assertEquals(1, crls.size());
+        assertTrue(crls.get(0) instanceof CachedX509CRL);
+        assertSame(crls.get(0), this.checker.getCRLs(this.certificate).get(0));
+    }
+
+    @Test
+    public void verifyStaleCrlIsRefreshedInBackground() throws Exception {
+        this.checker.getCRLs(this.certificate);
+        final X509CRL cached = this.checker.getCRL(this.certificate);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.fetcher.fetch(any(URI.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return this.crl;
+        });
+        this.checker.setRefreshInterval(0);
+        this.checker.setRefreshRetryInterval(0);
+        Thread.sleep(5);
+
+        assertSame(cached, this.checker.getCRL(this.certificate));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertSame(cached, this.checker.getCRL(this.certificate));
+        release.countDown();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (this.checker.getCRL(this.certificate) == cached && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotSame(cached, this.checker.getCRL(this.certificate));
+    }
+
+    @Test
+    public void verifyFailedRefreshKeepsCachedCrl() throws Exception {
+        this.checker.getCRLs(this.certificate);
+        final X509CRL cached = this.checker.getCRL(this.certificate);
+
+        final CountDownLatch attempted = new CountDownLatch(1);
+        when(this.fetcher.fetch(any(URI.class))).thenAnswer(invocation -> {
+            attempted.countDown();
+            throw new IllegalStateException("Unavailable");
+        });
+        this.checker.setRefreshInterval(0);
+        this.checker.setRefreshRetryInterval(0);
+        Thread.sleep(5);
+        this.checker.getCRLs(this.certificate);
+        this.checker.setRefreshRetryInterval(TimeUnit.HOURS.toMillis(1));
+
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        this.checker.getCRLs(this.certificate);
+        this.checker.getCRLs(this.certificate);
+        assertSame(cached, this.checker.getCRL(this.certificate));
+        verify(this.fetcher, times(2)).fetch(any(URI.class));
+    }
+}
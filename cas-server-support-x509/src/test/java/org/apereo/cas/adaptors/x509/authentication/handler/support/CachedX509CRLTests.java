@@ -0,0 +1,62 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CachedX509CRLTests}.
+ *
+ * @author Apereo CAS
+ * @since 5.0.0
+ */
+public class CachedX509CRLTests {
+
+    @Test
+    public void verifyRevokedCertificatesAreIndexed() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        final CachedX509CRL cached = new CachedX509CRL(crl);
+
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+
+        assertNotNull(cached.getRevokedCertificate(revoked));
+        assertEquals(crl.getRevokedCertificate(revoked), cached.getRevokedCertificate(revoked));
+        assertTrue(cached.isRevoked(revoked));
+        assertNull(cached.getRevokedCertificate(valid));
+        assertFalse(cached.isRevoked(valid));
+        for (final BigInteger serial : new BigInteger[] {revoked.getSerialNumber(), valid.getSerialNumber()}) {
+            assertEquals(crl.getRevokedCertificate(serial), cached.getRevokedCertificate(serial));
+        }
+        assertEquals(crl.getNextUpdate(), cached.getNextUpdate());
+        assertEquals(cached, crl);
+    }
+
+    @Test
+    public void verifySerializedCrlIsParsedAgain() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        final CachedX509CRL cached = new CachedX509CRL(crl);
+        final CachedX509CRL copy = SerializationUtils.clone(cached);
+
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        assertEquals(cached, copy);
+        assertEquals(cached.getFetchedAt(), copy.getFetchedAt());
+        assertTrue(copy.isRevoked(revoked));
+    }
+
+    @Test
+    public void verifyRefreshIsClaimedOnce() throws Exception {
+        final CachedX509CRL cached = new CachedX509CRL(new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl")));
+        final long now = cached.getFetchedAt() + 1000;
+        assertFalse(cached.claimRefresh(now, 5000));
+        assertTrue(cached.claimRefresh(now, 1000));
+        assertFalse(cached.claimRefresh(now, 1000));
+    }
+}
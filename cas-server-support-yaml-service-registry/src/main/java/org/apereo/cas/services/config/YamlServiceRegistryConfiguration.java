@@ -30,6 +30,8 @@ public class YamlServiceRegistryConfiguration {
             final YamlServiceRegistryDao dao = new YamlServiceRegistryDao(
                     casProperties.getServiceRegistry().getConfig().getLocation(),
                     casProperties.getServiceRegistry().isWatcherEnabled());
+            dao.setLoadParallelism(casProperties.getServiceRegistry().getLoadParallelism());
+            dao.setWatcherQuietPeriod(casProperties.getServiceRegistry().getWatcherQuietPeriod());
 
             return dao;
         } catch (final Exception e) {